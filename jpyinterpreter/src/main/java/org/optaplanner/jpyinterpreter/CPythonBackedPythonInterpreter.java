@@ -3,7 +3,10 @@ package org.optaplanner.jpyinterpreter;
 import java.io.InputStream;
 import java.io.PrintStream;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Scanner;
@@ -20,6 +23,7 @@ import org.optaplanner.jpyinterpreter.types.errors.PythonTraceback;
 import org.optaplanner.jpyinterpreter.types.numeric.PythonInteger;
 import org.optaplanner.jpyinterpreter.types.wrappers.OpaquePythonReference;
 import org.optaplanner.jpyinterpreter.types.wrappers.PythonObjectWrapper;
+import org.optaplanner.jpyinterpreter.util.WeakValueIdMap;
 import org.optaplanner.jpyinterpreter.util.function.PentaFunction;
 import org.optaplanner.jpyinterpreter.util.function.QuadFunction;
 import org.optaplanner.jpyinterpreter.util.function.TriConsumer;
@@ -32,7 +36,11 @@ public class CPythonBackedPythonInterpreter implements PythonInterpreter {
 
     Map<ModuleSpec, PythonModule> moduleSpecToModuleMap = new HashMap<>();
 
-    public static Map<Number, Object> pythonObjectIdToConvertedObjectMap = new HashMap<>();
+    /**
+     * Maps CPython ids to the Java objects they were converted to.
+     * Entries are evicted once their converted object is no longer referenced anywhere else.
+     */
+    private static volatile WeakValueIdMap<Object> pythonObjectIdToConvertedObjectMap = new WeakValueIdMap<>();
 
     public static Function<OpaquePythonReference, Number> lookupPythonReferenceIdPythonFunction;
 
@@ -42,6 +50,7 @@ public class CPythonBackedPythonInterpreter implements PythonInterpreter {
     public static BiFunction<OpaquePythonReference, String, OpaquePythonReference[]> lookupPointerArrayForAttributeOnPythonReferencePythonFunction;
 
     public static TriFunction<OpaquePythonReference, String, Map<Number, PythonLikeObject>, PythonLikeObject> lookupAttributeOnPythonReferenceWithMapPythonFunction;
+    public static TriFunction<List<OpaquePythonReference>, String[], Map<Number, PythonLikeObject>, PythonLikeObject[]> lookupAttributesOnPythonReferencesWithMapPythonFunction;
     public static TriConsumer<OpaquePythonReference, String, Object> setAttributeOnPythonReferencePythonFunction;
     public static BiConsumer<OpaquePythonReference, String> deleteAttributeOnPythonReferencePythonFunction;
     public static BiFunction<OpaquePythonReference, Map<Number, PythonLikeObject>, Map<String, PythonLikeObject>> lookupDictOnPythonReferencePythonFunction;
@@ -50,6 +59,23 @@ public class CPythonBackedPythonInterpreter implements PythonInterpreter {
     public static PentaFunction<String, Map<String, PythonLikeObject>, Map<String, PythonLikeObject>, List<String>, Long, PythonModule> importModuleFunction;
     public static QuadFunction<OpaquePythonReference, Map<String, PythonLikeObject>, PythonLikeTuple, PythonString, PythonObjectWrapper> createFunctionFromCodeFunction;
 
+    public static WeakValueIdMap<Object> getPythonObjectIdToConvertedObjectMap() {
+        return pythonObjectIdToConvertedObjectMap;
+    }
+
+    /**
+     * Replaces the map returned by {@link #getPythonObjectIdToConvertedObjectMap()} with an empty one,
+     * so conversions from a previous scope (such as a previous solver run) are not reused.
+     * Holders of the previous map can keep using it.
+     *
+     * @return the new map
+     */
+    public static WeakValueIdMap<Object> newPythonObjectIdToConvertedObjectMap() {
+        WeakValueIdMap<Object> out = new WeakValueIdMap<>();
+        pythonObjectIdToConvertedObjectMap = out;
+        return out;
+    }
+
     public CPythonBackedPythonInterpreter() {
         this(System.in, System.out);
     }
@@ -77,6 +103,66 @@ public class CPythonBackedPythonInterpreter implements PythonInterpreter {
         return lookupAttributeOnPythonReferenceWithMapPythonFunction.apply(object, attribute, map);
     }
 
+    /**
+     * Looks up several attributes on several Python objects in a single call.
+     *
+     * @return the values of the attributes, where the value of {@code attributes[j]} on {@code objects.get(i)}
+     *         is at index {@code i * attributes.length + j}
+     */
+    public static PythonLikeObject[] lookupAttributesOnPythonReferences(List<OpaquePythonReference> objects,
+            String[] attributes, Map<Number, PythonLikeObject> map) {
+        if (lookupAttributesOnPythonReferencesWithMapPythonFunction == null) {
+            PythonLikeObject[] out = new PythonLikeObject[objects.size() * attributes.length];
+            int index = 0;
+            for (OpaquePythonReference object : objects) {
+                for (String attribute : attributes) {
+                    out[index++] = lookupAttributeOnPythonReference(object, attribute, map);
+                }
+            }
+            return out;
+        }
+        return lookupAttributesOnPythonReferencesWithMapPythonFunction.apply(objects, attributes, map);
+    }
+
+    /**
+     * Does what {@link CPythonBackedPythonLikeObject#$readFieldsFromCPythonReference()} does on each object,
+     * but looks up the fields of objects with the same class and instance map in a single call.
+     */
+    public static void readFieldsFromCPythonReferences(List<? extends CPythonBackedPythonLikeObject> javaObjects) {
+        Map<Class<?>, Map<Map<Number, PythonLikeObject>, List<CPythonBackedPythonLikeObject>>> classToInstanceMapToObjects =
+                new LinkedHashMap<>();
+        for (CPythonBackedPythonLikeObject javaObject : javaObjects) {
+            if (javaObject.$cpythonReference == null) {
+                continue;
+            }
+            classToInstanceMapToObjects.computeIfAbsent(javaObject.getClass(), ignored -> new IdentityHashMap<>())
+                    .computeIfAbsent(javaObject.$instanceMap, ignored -> new ArrayList<>())
+                    .add(javaObject);
+        }
+
+        classToInstanceMapToObjects.values().forEach(instanceMapToObjects -> instanceMapToObjects.forEach(
+                (instanceMap, javaObjectList) -> {
+                    List<String> attributeNameList = new ArrayList<>();
+                    javaObjectList.get(0).$addCPythonAttributeNames(attributeNameList);
+                    if (attributeNameList.isEmpty()) {
+                        return;
+                    }
+
+                    List<OpaquePythonReference> referenceList = new ArrayList<>(javaObjectList.size());
+                    for (CPythonBackedPythonLikeObject javaObject : javaObjectList) {
+                        referenceList.add(javaObject.$cpythonReference);
+                    }
+                    List<PythonLikeObject> valueList = Arrays.asList(lookupAttributesOnPythonReferences(referenceList,
+                            attributeNameList.toArray(new String[0]), instanceMap));
+
+                    int attributeCount = attributeNameList.size();
+                    for (int i = 0; i < javaObjectList.size(); i++) {
+                        javaObjectList.get(i).$readFieldsFromCPythonValues(
+                                valueList.subList(i * attributeCount, (i + 1) * attributeCount).iterator());
+                    }
+                }));
+    }
+
     public static OpaquePythonReference lookupPointerForAttributeOnPythonReference(OpaquePythonReference object,
             String attribute) {
         return lookupPointerForAttributeOnPythonReferencePythonFunction.apply(object, attribute);
@@ -7,6 +7,7 @@ import java.util.Map;
 import org.objectweb.asm.MethodVisitor;
 import org.objectweb.asm.Opcodes;
 import org.objectweb.asm.Type;
+import org.optaplanner.jpyinterpreter.implementors.UnboxedArithmeticImplementor;
 import org.optaplanner.jpyinterpreter.types.collections.PythonLikeTuple;
 
 public class LocalVariableHelper {
@@ -26,6 +27,11 @@ public class LocalVariableHelper {
     public final int callKeywordsSlot;
     public final Map<Integer, Integer> exceptionTableTargetToSavedStackMap;
 
+    // Python local variables kept unboxed by UnboxedArithmeticImplementor, mapped to the slot and type
+    // (long or double) of their unboxed value
+    final Map<Integer, Integer> unboxedLocalToSlot = new HashMap<>();
+    final Map<Integer, Type> unboxedLocalToType = new HashMap<>();
+
     int usedLocals;
 
     public LocalVariableHelper(Type[] parameters, PythonCompiledFunction compiledFunction) {
@@ -89,6 +95,8 @@ public class LocalVariableHelper {
                 pythonFreeVariablesStart, pythonLocalVariablesSlotEnd,
                 pythonBoundVariables, pythonFreeVariables, boundCellIndexToVariableIndex, currentExceptionVariableSlot,
                 callKeywordsSlot, exceptionTableTargetToSavedStackMap);
+        out.unboxedLocalToSlot.putAll(unboxedLocalToSlot);
+        out.unboxedLocalToType.putAll(unboxedLocalToType);
         out.usedLocals = usedLocals;
         return out;
     }
@@ -158,6 +166,33 @@ public class LocalVariableHelper {
 
     public void readLocal(MethodVisitor methodVisitor, int local) {
         methodVisitor.visitVarInsn(Opcodes.ALOAD, getPythonLocalVariableSlot(local));
+        if (unboxedLocalToType.containsKey(local)) {
+            UnboxedArithmeticImplementor.boxUnboxedLocal(methodVisitor, this, local);
+        }
+    }
+
+    /**
+     * Keeps the value of the Python local variable {@code local} in {@code slot} when it is stored unboxed;
+     * see {@link UnboxedArithmeticImplementor#allocateUnboxedLocals}.
+     *
+     * @param local The Python local variable
+     * @param slot The first of the two slots that hold the unboxed value
+     * @param unboxedType {@link Type#LONG_TYPE} or {@link Type#DOUBLE_TYPE}
+     */
+    public void setUnboxedLocal(int local, int slot, Type unboxedType) {
+        unboxedLocalToSlot.put(local, slot);
+        unboxedLocalToType.put(local, unboxedType);
+    }
+
+    /**
+     * @return The type of the unboxed value of {@code local}, or null if {@code local} is always boxed
+     */
+    public Type getUnboxedLocalType(int local) {
+        return unboxedLocalToType.get(local);
+    }
+
+    public int getUnboxedLocalSlot(int local) {
+        return unboxedLocalToSlot.get(local);
     }
 
     public void writeLocal(MethodVisitor methodVisitor, int local) {
@@ -13,6 +13,10 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
 import java.util.function.BiFunction;
 import java.util.function.Consumer;
 import java.util.stream.Collectors;
@@ -29,6 +33,7 @@ import org.optaplanner.jpyinterpreter.implementors.ExceptionImplementor;
 import org.optaplanner.jpyinterpreter.implementors.FunctionImplementor;
 import org.optaplanner.jpyinterpreter.implementors.JavaPythonTypeConversionImplementor;
 import org.optaplanner.jpyinterpreter.implementors.StackManipulationImplementor;
+import org.optaplanner.jpyinterpreter.implementors.UnboxedArithmeticImplementor;
 import org.optaplanner.jpyinterpreter.implementors.VariableImplementor;
 import org.optaplanner.jpyinterpreter.opcodes.Opcode;
 import org.optaplanner.jpyinterpreter.opcodes.OpcodeWithoutSource;
@@ -82,7 +87,7 @@ public class PythonBytecodeToJavaBytecodeTranslator {
     public static final String INTERPRETER_INSTANCE_FIELD_NAME = "__interpreter__";
 
     public static final String PYTHON_WRAPPER_FUNCTION_INSTANCE_FIELD_NAME = "__function__";
-    public static final Map<String, Integer> classNameToSharedInstanceCount = new HashMap<>();
+    public static final Map<String, Integer> classNameToSharedInstanceCount = new ConcurrentHashMap<>();
 
     private static final Logger LOGGER = LoggerFactory.getLogger(PythonBytecodeToJavaBytecodeTranslator.class);
     public static Path classOutputRootPath = InterpreterStartupOptions.classOutputRootPath;
@@ -167,6 +172,34 @@ public class PythonBytecodeToJavaBytecodeTranslator {
                 compiledClass, PythonInterpreter.DEFAULT);
     }
 
+    /**
+     * Translates each function of pythonCompiledFunctionList in parallel on the common {@link ForkJoinPool}.
+     *
+     * @return A future for each function, in the same order as pythonCompiledFunctionList
+     */
+    public static <T> List<CompletableFuture<T>> translateAllPythonBytecode(
+            List<PythonCompiledFunction> pythonCompiledFunctionList,
+            Class<T> javaFunctionalInterfaceType, List<Class<?>> genericTypeArgumentList) {
+        return translateAllPythonBytecode(pythonCompiledFunctionList, javaFunctionalInterfaceType, genericTypeArgumentList,
+                ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Translates each function of pythonCompiledFunctionList in parallel on the given executor.
+     *
+     * @return A future for each function, in the same order as pythonCompiledFunctionList
+     */
+    public static <T> List<CompletableFuture<T>> translateAllPythonBytecode(
+            List<PythonCompiledFunction> pythonCompiledFunctionList,
+            Class<T> javaFunctionalInterfaceType, List<Class<?>> genericTypeArgumentList, Executor executor) {
+        List<CompletableFuture<T>> out = new ArrayList<>(pythonCompiledFunctionList.size());
+        for (PythonCompiledFunction pythonCompiledFunction : pythonCompiledFunctionList) {
+            out.add(CompletableFuture.supplyAsync(() -> translatePythonBytecode(pythonCompiledFunction,
+                    javaFunctionalInterfaceType, genericTypeArgumentList), executor));
+        }
+        return out;
+    }
+
     public static <T> T forceTranslatePythonBytecodeToGenerator(PythonCompiledFunction pythonCompiledFunction,
             Class<T> javaFunctionalInterfaceType) {
         Method methodWithoutGenerics = getFunctionalInterfaceMethod(javaFunctionalInterfaceType);
@@ -242,14 +275,18 @@ public class PythonBytecodeToJavaBytecodeTranslator {
         createFields(classWriter);
         createConstructor(classWriter, internalClassName);
 
-        MethodVisitor methodVisitor = classWriter.visitMethod(Modifier.PUBLIC,
-                methodDescriptor.getMethodName(),
-                methodDescriptor.getMethodDescriptor(),
-                null,
-                null);
+        if (isPythonLikeFunction && hasFixedArityBody(pythonCompiledFunction)) {
+            createFixedArityBody(classWriter, internalClassName, pythonCompiledFunction, isVirtual);
+        } else {
+            MethodVisitor methodVisitor = classWriter.visitMethod(Modifier.PUBLIC,
+                    methodDescriptor.getMethodName(),
+                    methodDescriptor.getMethodDescriptor(),
+                    null,
+                    null);
 
-        translatePythonBytecodeToMethod(methodDescriptor, internalClassName, methodVisitor, pythonCompiledFunction,
-                isPythonLikeFunction, Integer.MAX_VALUE, isVirtual); // TODO: Use actual python version
+            translatePythonBytecodeToMethod(methodDescriptor, internalClassName, methodVisitor, pythonCompiledFunction,
+                    isPythonLikeFunction, Integer.MAX_VALUE, isVirtual); // TODO: Use actual python version
+        }
 
         classWriter.visitEnd();
 
@@ -286,14 +323,19 @@ public class PythonBytecodeToJavaBytecodeTranslator {
         createFields(classWriter);
         createConstructor(classWriter, internalClassName);
 
-        MethodVisitor methodVisitor = classWriter.visitMethod(Modifier.PUBLIC,
-                methodDescriptor.getMethodName(),
-                methodDescriptor.getMethodDescriptor(),
-                null,
-                null);
+        MethodVisitor methodVisitor;
+        if (isPythonLikeFunction && hasFixedArityBody(pythonCompiledFunction)) {
+            createFixedArityBody(classWriter, internalClassName, pythonCompiledFunction, isVirtual);
+        } else {
+            methodVisitor = classWriter.visitMethod(Modifier.PUBLIC,
+                    methodDescriptor.getMethodName(),
+                    methodDescriptor.getMethodDescriptor(),
+                    null,
+                    null);
 
-        translatePythonBytecodeToMethod(methodDescriptor, internalClassName, methodVisitor, pythonCompiledFunction,
-                isPythonLikeFunction, Integer.MAX_VALUE, isVirtual); // TODO: Use actual python version
+            translatePythonBytecodeToMethod(methodDescriptor, internalClassName, methodVisitor, pythonCompiledFunction,
+                    isPythonLikeFunction, Integer.MAX_VALUE, isVirtual); // TODO: Use actual python version
+        }
 
         String withoutGenericsSignature = Type.getMethodDescriptor(methodWithoutGenerics);
         if (!withoutGenericsSignature.equals(methodDescriptor.getMethodDescriptor())) {
@@ -892,13 +934,13 @@ public class PythonBytecodeToJavaBytecodeTranslator {
             // Need to convert co_names to python strings (used in __getattribute__)
             List<PythonString> pythonNameList = new ArrayList<>(pythonCompiledFunction.co_names.size());
             for (String name : pythonCompiledFunction.co_names) {
-                pythonNameList.add(PythonString.valueOf(name));
+                pythonNameList.add(PythonString.intern(name));
             }
             compiledClass.getField(NAMES_STATIC_FIELD_NAME).set(null, pythonNameList);
 
             List<PythonString> pythonVariableNameList = new ArrayList<>(pythonCompiledFunction.co_varnames.size());
             for (String name : pythonCompiledFunction.co_varnames) {
-                pythonVariableNameList.add(PythonString.valueOf(name));
+                pythonVariableNameList.add(PythonString.intern(name));
             }
             compiledClass.getField(VARIABLE_NAMES_STATIC_FIELD_NAME).set(null, pythonVariableNameList);
             // Class cell is set by PythonClassTranslator
@@ -985,6 +1027,87 @@ public class PythonBytecodeToJavaBytecodeTranslator {
         return PythonFunctionType.FUNCTION;
     }
 
+    /**
+     * Returns true if the function can be called without going through its {@link ArgumentSpec} when it is given
+     * exactly as many positional arguments as it has parameters. The body of such functions is put in the
+     * fixed-arity call method for that number of arguments (see {@link PythonLikeFunction#MAX_FIXED_ARITY}),
+     * and {@link PythonLikeFunction#$call} becomes a bridge to it.
+     */
+    private static boolean hasFixedArityBody(PythonCompiledFunction pythonCompiledFunction) {
+        if (pythonCompiledFunction.co_argcount > PythonLikeFunction.MAX_FIXED_ARITY
+                || pythonCompiledFunction.co_kwonlyargcount != 0
+                || pythonCompiledFunction.supportExtraPositionalArgs
+                || pythonCompiledFunction.supportExtraKeywordsArgs
+                || pythonCompiledFunction.methodKind == PythonClassTranslator.PythonMethodKind.VIRTUAL_METHOD
+                || getFunctionType(pythonCompiledFunction) != PythonFunctionType.FUNCTION) {
+            return false;
+        }
+
+        // Annotated parameters are type checked by the argument spec
+        for (PythonLikeType parameterType : pythonCompiledFunction.getParameterTypes()) {
+            if (parameterType != BuiltinTypes.BASE_TYPE) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static void createFixedArityBody(ClassWriter classWriter, String internalClassName,
+            PythonCompiledFunction pythonCompiledFunction, boolean isVirtual) {
+        int argCount = pythonCompiledFunction.co_argcount;
+        MethodDescriptor fixedArityMethodDescriptor = new MethodDescriptor(Type.getInternalName(PythonLikeFunction.class),
+                MethodDescriptor.MethodType.INTERFACE,
+                FunctionImplementor.getFixedArityCallMethodName(argCount),
+                FunctionImplementor.getFixedArityCallMethodDescriptor(argCount));
+
+        MethodVisitor methodVisitor = classWriter.visitMethod(Modifier.PUBLIC,
+                fixedArityMethodDescriptor.getMethodName(),
+                fixedArityMethodDescriptor.getMethodDescriptor(),
+                null,
+                null);
+
+        translatePythonBytecodeToMethod(fixedArityMethodDescriptor, internalClassName, methodVisitor,
+                pythonCompiledFunction, true, Integer.MAX_VALUE, isVirtual); // TODO: Use actual python version
+
+        // $call extracts the arguments using the argument spec (which fills in defaults and raises on bad calls)
+        // and passes them to the fixed-arity call method
+        methodVisitor = classWriter.visitMethod(Modifier.PUBLIC, "$call",
+                Type.getMethodDescriptor(Type.getType(PythonLikeObject.class),
+                        Type.getType(List.class),
+                        Type.getType(Map.class),
+                        Type.getType(PythonLikeObject.class)),
+                null,
+                null);
+        methodVisitor.visitCode();
+
+        methodVisitor.visitVarInsn(Opcodes.ALOAD, 0);
+        methodVisitor.visitFieldInsn(Opcodes.GETFIELD, internalClassName, ARGUMENT_SPEC_INSTANCE_FIELD_NAME,
+                Type.getDescriptor(ArgumentSpec.class));
+        methodVisitor.visitVarInsn(Opcodes.ALOAD, 1);
+        methodVisitor.visitVarInsn(Opcodes.ALOAD, 2);
+        methodVisitor.visitMethodInsn(Opcodes.INVOKEVIRTUAL, Type.getInternalName(ArgumentSpec.class),
+                "extractArgumentList",
+                Type.getMethodDescriptor(Type.getType(List.class), Type.getType(List.class), Type.getType(Map.class)),
+                false);
+        methodVisitor.visitVarInsn(Opcodes.ASTORE, 4);
+
+        methodVisitor.visitVarInsn(Opcodes.ALOAD, 0);
+        for (int i = 0; i < argCount; i++) {
+            methodVisitor.visitVarInsn(Opcodes.ALOAD, 4);
+            methodVisitor.visitLdcInsn(i);
+            methodVisitor.visitMethodInsn(Opcodes.INVOKEINTERFACE, Type.getInternalName(List.class), "get",
+                    Type.getMethodDescriptor(Type.getType(Object.class), Type.INT_TYPE), true);
+            methodVisitor.visitTypeInsn(Opcodes.CHECKCAST, Type.getInternalName(PythonLikeObject.class));
+        }
+        methodVisitor.visitVarInsn(Opcodes.ALOAD, 3);
+        methodVisitor.visitMethodInsn(Opcodes.INVOKEVIRTUAL, internalClassName,
+                fixedArityMethodDescriptor.getMethodName(), fixedArityMethodDescriptor.getMethodDescriptor(), false);
+        methodVisitor.visitInsn(Opcodes.ARETURN);
+
+        methodVisitor.visitMaxs(-1, -1);
+        methodVisitor.visitEnd();
+    }
+
     private static void translatePythonBytecodeToMethod(MethodDescriptor method, String className, MethodVisitor methodVisitor,
             PythonCompiledFunction pythonCompiledFunction, boolean isPythonLikeFunction, int pythonVersion, boolean isVirtual) {
         // Apply Method Adapters, which reorder try blocks and check the bytecode to ensure it valid
@@ -1017,9 +1140,15 @@ public class PythonBytecodeToJavaBytecodeTranslator {
             for (int i = 0; i < localVariableHelper.parameters.length; i++) {
                 JavaPythonTypeConversionImplementor.copyParameter(methodVisitor, localVariableHelper, i);
             }
-        } else {
+        } else if (method.getMethodName().equals("$call")) {
             // Need to move Python parameters from the argument list + keyword list to their variable slots
             movePythonParametersToSlots(methodVisitor, className, pythonCompiledFunction, localVariableHelper);
+        } else {
+            // A fixed-arity call method; the parameters are the Python parameters followed by the caller instance
+            for (int i = 0; i < pythonCompiledFunction.totalArgCount(); i++) {
+                methodVisitor.visitVarInsn(Opcodes.ALOAD, i + 1);
+                methodVisitor.visitVarInsn(Opcodes.ASTORE, localVariableHelper.getPythonLocalVariableSlot(i));
+            }
         }
 
         for (int i = 0; i < localVariableHelper.getNumberOfBoundCells(); i++) {
@@ -1052,6 +1181,7 @@ public class PythonBytecodeToJavaBytecodeTranslator {
 
         FlowGraph flowGraph = FlowGraph.createFlowGraph(functionMetadata, initialStackMetadata, opcodeList);
         List<StackMetadata> stackMetadataForOpcodeIndex = flowGraph.getStackMetadataForOperations();
+        UnboxedArithmeticImplementor.allocateUnboxedLocals(functionMetadata, flowGraph, localVariableHelper);
         writeInstructionsForOpcodes(functionMetadata, stackMetadataForOpcodeIndex, opcodeList);
 
         methodVisitor.visitLabel(end);
@@ -1081,12 +1211,21 @@ public class PythonBytecodeToJavaBytecodeTranslator {
     public static void writeInstructionsForOpcodes(FunctionMetadata functionMetadata,
             List<StackMetadata> stackMetadataForOpcodeIndex, List<Opcode> opcodeList) {
         writeInstructionsForOpcodes(functionMetadata, stackMetadataForOpcodeIndex, opcodeList, ignored -> {
-        });
+        }, true);
     }
 
     public static void writeInstructionsForOpcodes(FunctionMetadata functionMetadata,
             List<StackMetadata> stackMetadataForOpcodeIndex, List<Opcode> opcodeList,
             Consumer<PythonBytecodeInstruction> runAfterLabelAndBeforeArgumentors) {
+        // runAfterLabelAndBeforeArgumentors must see every instruction, so do not merge instructions into
+        // unboxed regions
+        writeInstructionsForOpcodes(functionMetadata, stackMetadataForOpcodeIndex, opcodeList,
+                runAfterLabelAndBeforeArgumentors, false);
+    }
+
+    private static void writeInstructionsForOpcodes(FunctionMetadata functionMetadata,
+            List<StackMetadata> stackMetadataForOpcodeIndex, List<Opcode> opcodeList,
+            Consumer<PythonBytecodeInstruction> runAfterLabelAndBeforeArgumentors, boolean useUnboxedRegions) {
         PythonCompiledFunction pythonCompiledFunction = functionMetadata.pythonCompiledFunction;
         MethodVisitor methodVisitor = functionMetadata.methodVisitor;
         Map<Integer, Label> bytecodeCounterToLabelMap = functionMetadata.bytecodeCounterToLabelMap;
@@ -1163,6 +1302,22 @@ public class PythonBytecodeToJavaBytecodeTranslator {
                 continue;
             }
 
+            if (useUnboxedRegions) {
+                int unboxedRegionEnd = UnboxedArithmeticImplementor.findUnboxedRegionEnd(functionMetadata,
+                        stackMetadataForOpcodeIndex, opcodeList, i,
+                        offset -> bytecodeCounterToLabelMap.containsKey(offset)
+                                || bytecodeIndexToArgumentorsMap.containsKey(offset)
+                                || exceptionTableTryBlockMap.containsKey(offset)
+                                || exceptionTableStartLabelMap.containsKey(offset)
+                                || exceptionTableTargetLabelMap.containsKey(offset));
+                if (unboxedRegionEnd != -1) {
+                    UnboxedArithmeticImplementor.implementUnboxedRegion(functionMetadata, stackMetadataForOpcodeIndex,
+                            opcodeList, i, unboxedRegionEnd);
+                    i = unboxedRegionEnd;
+                    continue;
+                }
+            }
+
             opcodeList.get(i).implement(functionMetadata, stackMetadata);
         }
     }
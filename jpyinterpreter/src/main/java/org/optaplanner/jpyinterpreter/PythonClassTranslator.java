@@ -11,11 +11,13 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.BiConsumer;
 import java.util.stream.Collectors;
 
@@ -51,7 +53,7 @@ import org.optaplanner.jpyinterpreter.types.wrappers.OpaquePythonReference;
 import org.optaplanner.jpyinterpreter.util.arguments.ArgumentSpec;
 
 public class PythonClassTranslator {
-    static Map<FunctionSignature, InterfaceDeclaration> functionSignatureToInterfaceName = new HashMap<>();
+    static Map<FunctionSignature, InterfaceDeclaration> functionSignatureToInterfaceName = new ConcurrentHashMap<>();
 
     // $ is illegal in variables/methods in Python
     public static String TYPE_FIELD_NAME = "$TYPE";
@@ -908,6 +910,8 @@ public class PythonClassTranslator {
     public static void createCPythonOperationMethods(ClassWriter classWriter, String internalClassName,
             String superClassInternalName, Map<String, PythonLikeType> attributeNameToType) {
         createReadFromCPythonReference(classWriter, internalClassName, superClassInternalName, attributeNameToType);
+        createAddCPythonAttributeNames(classWriter, superClassInternalName, attributeNameToType);
+        createReadFromCPythonValues(classWriter, internalClassName, superClassInternalName, attributeNameToType);
         createWriteToCPythonReference(classWriter, internalClassName, superClassInternalName, attributeNameToType);
     }
 
@@ -948,40 +952,60 @@ public class PythonClassTranslator {
                             Type.getType(String.class),
                             Type.getType(Map.class)),
                     false);
+            putCPythonValueInField(methodVisitor, internalClassName, field, attributeNameToType.get(field));
+        }
+        methodVisitor.visitInsn(Opcodes.RETURN);
 
-            boolean isAssignableFromNone = false;
+        methodVisitor.visitMaxs(-1, -1);
+        methodVisitor.visitEnd();
+    }
 
-            try {
-                isAssignableFromNone = attributeNameToType.get(field).getJavaClass().isAssignableFrom(PythonNone.class);
-            } catch (ClassNotFoundException e) {
-                // do nothing
-            }
+    public static void createAddCPythonAttributeNames(ClassWriter classWriter, String superClassInternalName,
+            Map<String, PythonLikeType> attributeNameToType) {
+        MethodVisitor methodVisitor = classWriter.visitMethod(Modifier.PUBLIC, "$addCPythonAttributeNames",
+                Type.getMethodDescriptor(Type.VOID_TYPE, Type.getType(List.class)), null,
+                null);
+        methodVisitor.visitCode();
 
-            Label ifFieldIsNone = new Label();
-            Label doneSettingField = new Label();
+        methodVisitor.visitVarInsn(Opcodes.ALOAD, 0);
+        methodVisitor.visitVarInsn(Opcodes.ALOAD, 1);
+        methodVisitor.visitMethodInsn(Opcodes.INVOKESPECIAL, superClassInternalName,
+                "$addCPythonAttributeNames",
+                Type.getMethodDescriptor(Type.VOID_TYPE, Type.getType(List.class)), false);
 
-            if (!isAssignableFromNone) {
-                methodVisitor.visitInsn(Opcodes.DUP);
-                methodVisitor.visitFieldInsn(Opcodes.GETSTATIC, Type.getInternalName(PythonNone.class),
-                        "INSTANCE", Type.getDescriptor(PythonNone.class));
+        // Same order as $readFieldsFromCPythonReference
+        for (String field : attributeNameToType.keySet()) {
+            methodVisitor.visitVarInsn(Opcodes.ALOAD, 1);
+            methodVisitor.visitLdcInsn(field);
+            methodVisitor.visitMethodInsn(Opcodes.INVOKEINTERFACE, Type.getInternalName(List.class), "add",
+                    Type.getMethodDescriptor(Type.BOOLEAN_TYPE, Type.getType(Object.class)), true);
+            methodVisitor.visitInsn(Opcodes.POP);
+        }
+        methodVisitor.visitInsn(Opcodes.RETURN);
 
-                methodVisitor.visitJumpInsn(Opcodes.IF_ACMPEQ, ifFieldIsNone);
-            }
+        methodVisitor.visitMaxs(-1, -1);
+        methodVisitor.visitEnd();
+    }
 
-            methodVisitor.visitTypeInsn(Opcodes.CHECKCAST, attributeNameToType.get(field).getJavaTypeInternalName());
-            methodVisitor.visitFieldInsn(Opcodes.PUTFIELD, internalClassName, getJavaFieldName(field),
-                    "L" + attributeNameToType.get(field).getJavaTypeInternalName() + ";");
+    public static void createReadFromCPythonValues(ClassWriter classWriter, String internalClassName,
+            String superClassInternalName, Map<String, PythonLikeType> attributeNameToType) {
+        MethodVisitor methodVisitor = classWriter.visitMethod(Modifier.PUBLIC, "$readFieldsFromCPythonValues",
+                Type.getMethodDescriptor(Type.VOID_TYPE, Type.getType(Iterator.class)), null,
+                null);
+        methodVisitor.visitCode();
 
-            if (!isAssignableFromNone) {
-                methodVisitor.visitJumpInsn(Opcodes.GOTO, doneSettingField);
+        methodVisitor.visitVarInsn(Opcodes.ALOAD, 0);
+        methodVisitor.visitVarInsn(Opcodes.ALOAD, 1);
+        methodVisitor.visitMethodInsn(Opcodes.INVOKESPECIAL, superClassInternalName,
+                "$readFieldsFromCPythonValues",
+                Type.getMethodDescriptor(Type.VOID_TYPE, Type.getType(Iterator.class)), false);
 
-                methodVisitor.visitLabel(ifFieldIsNone);
-                methodVisitor.visitInsn(Opcodes.POP);
-                methodVisitor.visitInsn(Opcodes.ACONST_NULL);
-                methodVisitor.visitFieldInsn(Opcodes.PUTFIELD, internalClassName, getJavaFieldName(field),
-                        "L" + attributeNameToType.get(field).getJavaTypeInternalName() + ";");
-                methodVisitor.visitLabel(doneSettingField);
-            }
+        for (String field : attributeNameToType.keySet()) {
+            methodVisitor.visitVarInsn(Opcodes.ALOAD, 0);
+            methodVisitor.visitVarInsn(Opcodes.ALOAD, 1);
+            methodVisitor.visitMethodInsn(Opcodes.INVOKEINTERFACE, Type.getInternalName(Iterator.class), "next",
+                    Type.getMethodDescriptor(Type.getType(Object.class)), true);
+            putCPythonValueInField(methodVisitor, internalClassName, field, attributeNameToType.get(field));
         }
         methodVisitor.visitInsn(Opcodes.RETURN);
 
@@ -989,6 +1013,47 @@ public class PythonClassTranslator {
         methodVisitor.visitEnd();
     }
 
+    /**
+     * Expects the instance and the value looked up on the CPython object on the stack, and puts the value
+     * (or null if it is None and the field type cannot hold None) in the field.
+     */
+    private static void putCPythonValueInField(MethodVisitor methodVisitor, String internalClassName, String field,
+            PythonLikeType fieldType) {
+        boolean isAssignableFromNone = false;
+
+        try {
+            isAssignableFromNone = fieldType.getJavaClass().isAssignableFrom(PythonNone.class);
+        } catch (ClassNotFoundException e) {
+            // do nothing
+        }
+
+        Label ifFieldIsNone = new Label();
+        Label doneSettingField = new Label();
+
+        if (!isAssignableFromNone) {
+            methodVisitor.visitInsn(Opcodes.DUP);
+            methodVisitor.visitFieldInsn(Opcodes.GETSTATIC, Type.getInternalName(PythonNone.class),
+                    "INSTANCE", Type.getDescriptor(PythonNone.class));
+
+            methodVisitor.visitJumpInsn(Opcodes.IF_ACMPEQ, ifFieldIsNone);
+        }
+
+        methodVisitor.visitTypeInsn(Opcodes.CHECKCAST, fieldType.getJavaTypeInternalName());
+        methodVisitor.visitFieldInsn(Opcodes.PUTFIELD, internalClassName, getJavaFieldName(field),
+                "L" + fieldType.getJavaTypeInternalName() + ";");
+
+        if (!isAssignableFromNone) {
+            methodVisitor.visitJumpInsn(Opcodes.GOTO, doneSettingField);
+
+            methodVisitor.visitLabel(ifFieldIsNone);
+            methodVisitor.visitInsn(Opcodes.POP);
+            methodVisitor.visitInsn(Opcodes.ACONST_NULL);
+            methodVisitor.visitFieldInsn(Opcodes.PUTFIELD, internalClassName, getJavaFieldName(field),
+                    "L" + fieldType.getJavaTypeInternalName() + ";");
+            methodVisitor.visitLabel(doneSettingField);
+        }
+    }
+
     public static void createWriteToCPythonReference(ClassWriter classWriter, String internalClassName,
             String superClassInternalName, Map<String, PythonLikeType> attributeNameToType) {
         MethodVisitor methodVisitor = classWriter.visitMethod(Modifier.PUBLIC, "$writeFieldsToCPythonReference",
@@ -383,11 +383,8 @@ public class PythonGeneratorTranslator {
         // We need to throw StopIteration with the return value, which is stored in YIELDED_VALUE
         methodVisitor.visitFieldInsn(Opcodes.GETFIELD, internalClassName, YIELDED_VALUE,
                 Type.getDescriptor(PythonLikeObject.class));
-        methodVisitor.visitTypeInsn(Opcodes.NEW, Type.getInternalName(StopIteration.class));
-        methodVisitor.visitInsn(Opcodes.DUP_X1);
-        methodVisitor.visitInsn(Opcodes.SWAP);
-        methodVisitor.visitMethodInsn(Opcodes.INVOKESPECIAL, Type.getInternalName(StopIteration.class),
-                "<init>", Type.getMethodDescriptor(Type.VOID_TYPE, Type.getType(PythonLikeObject.class)),
+        methodVisitor.visitMethodInsn(Opcodes.INVOKESTATIC, Type.getInternalName(StopIteration.class),
+                "valueOf", Type.getMethodDescriptor(Type.getType(StopIteration.class), Type.getType(PythonLikeObject.class)),
                 false);
         methodVisitor.visitInsn(Opcodes.ATHROW);
 
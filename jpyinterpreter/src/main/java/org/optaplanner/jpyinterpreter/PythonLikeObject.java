@@ -39,7 +39,7 @@ public interface PythonLikeObject {
     default PythonLikeObject __getAttributeOrError(String attributeName) {
         PythonLikeObject out = this.__getAttributeOrNull(attributeName);
         if (out == null) {
-            throw new AttributeError("object '" + this + "' does not have attribute '" + attributeName + "'");
+            throw new AttributeError(() -> "object '" + this + "' does not have attribute '" + attributeName + "'");
         }
         return out;
     }
@@ -102,7 +102,7 @@ public interface PythonLikeObject {
             return typeResult;
         }
 
-        throw new AttributeError("object '" + this + "' does not have attribute '" + name + "'");
+        throw new AttributeError(() -> "object '" + this + "' does not have attribute '" + name + "'");
     }
 
     default PythonLikeObject $method$__setattr__(PythonString pythonName, PythonLikeObject value) {
@@ -4,6 +4,7 @@ import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Modifier;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashSet;
 import java.util.Iterator;
@@ -12,6 +13,7 @@ import java.util.Map;
 import java.util.Optional;
 import java.util.SortedMap;
 import java.util.TreeMap;
+import java.util.WeakHashMap;
 import java.util.stream.Collectors;
 
 import org.objectweb.asm.ClassWriter;
@@ -37,6 +39,11 @@ public class PythonOverloadImplementor {
 
     private final static List<DeferredRunner> deferredRunnerList = new ArrayList<>();
 
+    // Used by call sites that select the overload for the runtime argument types themselves.
+    // Weak keys, so the dispatches of types that are no longer used can be collected.
+    private final static Map<PythonLikeFunction, PythonKnownFunctionType> dispatchToKnownFunctionTypeMap =
+            Collections.synchronizedMap(new WeakHashMap<>());
+
     public interface DeferredRunner {
         PythonLikeType run() throws NoSuchMethodException;
     }
@@ -69,10 +76,12 @@ public class PythonOverloadImplementor {
 
     public static void createDispatchesFor(PythonLikeType pythonLikeType) {
         for (String methodName : pythonLikeType.getKnownMethodsDefinedByClass()) {
+            PythonKnownFunctionType knownFunctionType = pythonLikeType.getMethodType(methodName).orElseThrow();
             PythonLikeFunction overloadDispatch =
-                    createDispatchForMethod(pythonLikeType, methodName, pythonLikeType.getMethodType(methodName).orElseThrow(),
+                    createDispatchForMethod(pythonLikeType, methodName, knownFunctionType,
                             pythonLikeType.getMethodKind(methodName)
                                     .orElse(PythonClassTranslator.PythonMethodKind.VIRTUAL_METHOD));
+            dispatchToKnownFunctionTypeMap.put(overloadDispatch, knownFunctionType);
             pythonLikeType.__setAttribute(methodName, overloadDispatch);
         }
 
@@ -85,6 +94,17 @@ public class PythonOverloadImplementor {
         }
     }
 
+    /**
+     * Returns the overloads {@code function} dispatches to if it is an overload dispatch created by
+     * {@link #createDispatchesFor(PythonLikeType)}; otherwise returns empty.
+     */
+    public static Optional<PythonKnownFunctionType> getKnownFunctionTypeForDispatch(PythonLikeObject function) {
+        if (!(function instanceof PythonLikeFunction)) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(dispatchToKnownFunctionTypeMap.get(function));
+    }
+
     private static PythonLikeFunction createDispatchForMethod(PythonLikeType pythonLikeType,
             String methodName,
             PythonKnownFunctionType knownFunctionType,
@@ -40,11 +40,11 @@ public class BinaryDunderBuiltin implements PythonLikeFunction {
         PythonLikeObject object = positionalArguments.get(0);
         PythonLikeObject arg = positionalArguments.get(1);
         PythonLikeFunction dunderMethod = (PythonLikeFunction) object.__getType().__getAttributeOrError(DUNDER_METHOD_NAME);
-        return dunderMethod.$call(List.of(object, arg), Map.of(), null);
+        return dunderMethod.$call2(object, arg, null);
     }
 
     public PythonLikeObject invoke(PythonLikeObject object, PythonLikeObject arg) {
         PythonLikeFunction dunderMethod = (PythonLikeFunction) object.__getType().__getAttributeOrError(DUNDER_METHOD_NAME);
-        return dunderMethod.$call(List.of(object, arg), Map.of(), null);
+        return dunderMethod.$call2(object, arg, null);
     }
 }
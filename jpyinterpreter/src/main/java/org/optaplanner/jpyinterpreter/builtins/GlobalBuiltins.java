@@ -43,6 +43,7 @@ import org.optaplanner.jpyinterpreter.PythonInterpreter;
 import org.optaplanner.jpyinterpreter.PythonLikeObject;
 import org.optaplanner.jpyinterpreter.PythonOverloadImplementor;
 import org.optaplanner.jpyinterpreter.PythonUnaryOperator;
+import org.optaplanner.jpyinterpreter.implementors.GlobalVariableCallSite;
 import org.optaplanner.jpyinterpreter.types.CPythonBackedPythonLikeObject;
 import org.optaplanner.jpyinterpreter.types.Ellipsis;
 import org.optaplanner.jpyinterpreter.types.NotImplemented;
@@ -128,6 +129,35 @@ public class GlobalBuiltins {
     private final static StackWalker stackWalker = getStackWalkerInstance();
     private final static Map<String, PythonLikeObject> builtinConstantMap = new HashMap<>();
 
+    // Keyword argument names of the builtins, looked up on every call
+    private final static PythonString BASE_KEYWORD = PythonString.intern("base");
+    private final static PythonString C_KEYWORD = PythonString.intern("c");
+    private final static PythonString CLASS_KEYWORD = PythonString.intern("class");
+    private final static PythonString CLASSINFO_KEYWORD = PythonString.intern("classinfo");
+    private final static PythonString DEFAULT_KEYWORD = PythonString.intern("default");
+    private final static PythonString END_KEYWORD = PythonString.intern("end");
+    private final static PythonString EXP_KEYWORD = PythonString.intern("exp");
+    private final static PythonString FLUSH_KEYWORD = PythonString.intern("flush");
+    private final static PythonString FORMAT_SPEC_KEYWORD = PythonString.intern("format_spec");
+    private final static PythonString FROMLIST_KEYWORD = PythonString.intern("fromlist");
+    private final static PythonString FUNCTION_KEYWORD = PythonString.intern("function");
+    private final static PythonString GLOBALS_KEYWORD = PythonString.intern("globals");
+    private final static PythonString I_KEYWORD = PythonString.intern("i");
+    private final static PythonString ITERABLE_KEYWORD = PythonString.intern("iterable");
+    private final static PythonString KEY_KEYWORD = PythonString.intern("key");
+    private final static PythonString LEVEL_KEYWORD = PythonString.intern("level");
+    private final static PythonString LOCALS_KEYWORD = PythonString.intern("locals");
+    private final static PythonString MOD_KEYWORD = PythonString.intern("mod");
+    private final static PythonString NAME_KEYWORD = PythonString.intern("name");
+    private final static PythonString OBJECT_KEYWORD = PythonString.intern("object");
+    private final static PythonString PROMPT_KEYWORD = PythonString.intern("prompt");
+    private final static PythonString REVERSE_KEYWORD = PythonString.intern("reverse");
+    private final static PythonString SEP_KEYWORD = PythonString.intern("sep");
+    private final static PythonString START_KEYWORD = PythonString.intern("start");
+    private final static PythonString STRICT_KEYWORD = PythonString.intern("strict");
+    private final static PythonString VALUE_KEYWORD = PythonString.intern("value");
+    private final static PythonString X_KEYWORD = PythonString.intern("x");
+
     static {
         loadBuiltinConstants();
     }
@@ -136,6 +166,19 @@ public class GlobalBuiltins {
         return StackWalker.getInstance(RETAIN_CLASS_REFERENCE);
     }
 
+    /**
+     * Returns the class of the generated code that called the builtin calling this method, skipping the
+     * default fixed-arity call methods of {@link PythonLikeFunction} that delegated to the builtin.
+     */
+    private static Class<?> getCallerClass() {
+        return stackWalker.walk(frames -> frames
+                .skip(2) // this method and the builtin
+                .map(StackWalker.StackFrame::getDeclaringClass)
+                .filter(declaringClass -> declaringClass != PythonLikeFunction.class)
+                .findFirst()
+                .orElseThrow());
+    }
+
     public static void addBuiltinType(PythonLikeType type) {
         addBuiltinConstant(type.getTypeName(), type);
     }
@@ -395,9 +438,9 @@ public class GlobalBuiltins {
         if (positionalArgs.size() == 1 && keywordArgs.isEmpty()) {
             iterator = (Iterator<PythonLikeObject>) UnaryDunderBuiltin.ITERATOR.invoke(positionalArgs.get(0));
         } else if (positionalArgs.isEmpty() && keywordArgs.size() == 1
-                && keywordArgs.containsKey(PythonString.valueOf("iterable"))) {
+                && keywordArgs.containsKey(ITERABLE_KEYWORD)) {
             iterator = (Iterator<PythonLikeObject>) UnaryDunderBuiltin.ITERATOR
-                    .invoke(keywordArgs.get(PythonString.valueOf("iterable")));
+                    .invoke(keywordArgs.get(ITERABLE_KEYWORD));
         } else {
             throw new ValueError("all expects 1 argument, got " + positionalArgs.size());
         }
@@ -419,9 +462,9 @@ public class GlobalBuiltins {
         if (positionalArgs.size() == 1 && keywordArgs.isEmpty()) {
             iterator = (Iterator<PythonLikeObject>) UnaryDunderBuiltin.ITERATOR.invoke(positionalArgs.get(0));
         } else if (positionalArgs.isEmpty() && keywordArgs.size() == 1
-                && keywordArgs.containsKey(PythonString.valueOf("iterable"))) {
+                && keywordArgs.containsKey(ITERABLE_KEYWORD)) {
             iterator = (Iterator<PythonLikeObject>) UnaryDunderBuiltin.ITERATOR
-                    .invoke(keywordArgs.get(PythonString.valueOf("iterable")));
+                    .invoke(keywordArgs.get(ITERABLE_KEYWORD));
         } else {
             throw new ValueError("any expects 1 argument, got " + positionalArgs.size());
         }
@@ -443,8 +486,8 @@ public class GlobalBuiltins {
         if (positionalArgs.size() == 1 && keywordArgs.isEmpty()) {
             object = positionalArgs.get(0);
         } else if (positionalArgs.isEmpty() && keywordArgs.size() == 1
-                && keywordArgs.containsKey(PythonString.valueOf("object"))) {
-            object = keywordArgs.get(PythonString.valueOf("object"));
+                && keywordArgs.containsKey(OBJECT_KEYWORD)) {
+            object = keywordArgs.get(OBJECT_KEYWORD);
         } else {
             throw new ValueError("ascii expects 1 argument, got " + positionalArgs.size());
         }
@@ -477,8 +520,8 @@ public class GlobalBuiltins {
         if (positionalArgs.size() == 1 && keywordArgs.isEmpty()) {
             object = positionalArgs.get(0);
         } else if (positionalArgs.isEmpty() && keywordArgs.size() == 1
-                && keywordArgs.containsKey(PythonString.valueOf("x"))) {
-            object = keywordArgs.get(PythonString.valueOf("x"));
+                && keywordArgs.containsKey(X_KEYWORD)) {
+            object = keywordArgs.get(X_KEYWORD);
         } else {
             throw new ValueError("bin expects 1 argument, got " + positionalArgs.size());
         }
@@ -491,7 +534,7 @@ public class GlobalBuiltins {
             integer = (PythonInteger) UnaryDunderBuiltin.INDEX.invoke(object);
         }
 
-        String binaryString = integer.value.toString(2);
+        String binaryString = integer.getValue().toString(2);
 
         if (binaryString.startsWith("-")) {
             return PythonString.valueOf("-0b" + binaryString.substring(1));
@@ -507,8 +550,8 @@ public class GlobalBuiltins {
         if (positionalArgs.size() == 1 && keywordArgs.isEmpty()) {
             object = positionalArgs.get(0);
         } else if (positionalArgs.isEmpty() && keywordArgs.size() == 1
-                && keywordArgs.containsKey(PythonString.valueOf("object"))) {
-            object = keywordArgs.get(PythonString.valueOf("object"));
+                && keywordArgs.containsKey(OBJECT_KEYWORD)) {
+            object = keywordArgs.get(OBJECT_KEYWORD);
         } else {
             throw new ValueError("callable expects 1 argument, got " + positionalArgs.size());
         }
@@ -523,19 +566,19 @@ public class GlobalBuiltins {
         if (positionalArgs.size() == 1 && keywordArgs.isEmpty()) {
             object = positionalArgs.get(0);
         } else if (positionalArgs.isEmpty() && keywordArgs.size() == 1
-                && keywordArgs.containsKey(PythonString.valueOf("i"))) {
-            object = keywordArgs.get(PythonString.valueOf("i"));
+                && keywordArgs.containsKey(I_KEYWORD)) {
+            object = keywordArgs.get(I_KEYWORD);
         } else {
             throw new ValueError("chr expects 1 argument, got " + positionalArgs.size());
         }
 
         PythonInteger integer = (PythonInteger) object;
 
-        if (integer.value.compareTo(BigInteger.valueOf(0x10FFFF)) > 0 || integer.value.compareTo(BigInteger.ZERO) < 0) {
+        if (integer.getValue().compareTo(BigInteger.valueOf(0x10FFFF)) > 0 || integer.getValue().compareTo(BigInteger.ZERO) < 0) {
             throw new ValueError("Integer (" + integer + ") outside valid range for chr (0 through 1,114,111)");
         }
 
-        return PythonString.valueOf(Character.toString(integer.value.intValueExact()));
+        return PythonString.valueOf(Character.toString(integer.intValueExact()));
     }
 
     public static PythonNone delattr(List<PythonLikeObject> positionalArgs,
@@ -546,13 +589,13 @@ public class GlobalBuiltins {
         if (positionalArgs.size() == 2) {
             object = positionalArgs.get(0);
             name = (PythonString) positionalArgs.get(1);
-        } else if (positionalArgs.size() == 1 && keywordArgs.containsKey(PythonString.valueOf("name"))) {
+        } else if (positionalArgs.size() == 1 && keywordArgs.containsKey(NAME_KEYWORD)) {
             object = positionalArgs.get(0);
-            name = (PythonString) keywordArgs.get(PythonString.valueOf("name"));
-        } else if (positionalArgs.size() == 0 && keywordArgs.containsKey(PythonString.valueOf("object"))
-                && keywordArgs.containsKey(PythonString.valueOf("name"))) {
-            object = keywordArgs.get(PythonString.valueOf("object"));
-            name = (PythonString) keywordArgs.get(PythonString.valueOf("name"));
+            name = (PythonString) keywordArgs.get(NAME_KEYWORD);
+        } else if (positionalArgs.size() == 0 && keywordArgs.containsKey(OBJECT_KEYWORD)
+                && keywordArgs.containsKey(NAME_KEYWORD)) {
+            object = keywordArgs.get(OBJECT_KEYWORD);
+            name = (PythonString) keywordArgs.get(NAME_KEYWORD);
         } else {
             throw new ValueError("delattr expects 2 argument, got " + positionalArgs.size());
         }
@@ -736,13 +779,13 @@ public class GlobalBuiltins {
             start = positionalArgs.get(1);
         } else if (positionalArgs.size() == 1) {
             iterable = positionalArgs.get(0);
-            if (keywordArgs.containsKey(PythonString.valueOf("start"))) {
-                start = keywordArgs.get(PythonString.valueOf("start"));
+            if (keywordArgs.containsKey(START_KEYWORD)) {
+                start = keywordArgs.get(START_KEYWORD);
             }
-        } else if (positionalArgs.size() == 0 && keywordArgs.containsKey(PythonString.valueOf("iterable"))) {
-            iterable = keywordArgs.get(PythonString.valueOf("iterable"));
-            if (keywordArgs.containsKey(PythonString.valueOf("start"))) {
-                start = keywordArgs.get(PythonString.valueOf("start"));
+        } else if (positionalArgs.size() == 0 && keywordArgs.containsKey(ITERABLE_KEYWORD)) {
+            iterable = keywordArgs.get(ITERABLE_KEYWORD);
+            if (keywordArgs.containsKey(START_KEYWORD)) {
+                start = keywordArgs.get(START_KEYWORD);
             }
         } else {
             throw new ValueError("enumerate expects 1 or 2 argument, got " + positionalArgs.size());
@@ -800,13 +843,13 @@ public class GlobalBuiltins {
             iterable = positionalArgs.get(1);
         } else if (positionalArgs.size() == 1) {
             function = positionalArgs.get(0);
-            iterable = keywordArgs.get(PythonString.valueOf("iterable"));
+            iterable = keywordArgs.get(ITERABLE_KEYWORD);
             if (iterable == null) {
                 throw new ValueError("iterable is None");
             }
         } else if (positionalArgs.size() == 0) {
-            function = keywordArgs.get(PythonString.valueOf("function"));
-            iterable = keywordArgs.get(PythonString.valueOf("iterable"));
+            function = keywordArgs.get(FUNCTION_KEYWORD);
+            iterable = keywordArgs.get(ITERABLE_KEYWORD);
             if (iterable == null) {
                 throw new ValueError("iterable is None");
             }
@@ -846,20 +889,20 @@ public class GlobalBuiltins {
     public static PythonLikeObject format(List<PythonLikeObject> positionalArgs,
             Map<PythonString, PythonLikeObject> keywordArgs, PythonLikeObject instance) {
         PythonLikeObject toFormat;
-        PythonLikeObject formatSpec = PythonString.valueOf("");
+        PythonLikeObject formatSpec = PythonString.EMPTY;
 
         if (positionalArgs.size() == 2 && keywordArgs.isEmpty()) {
             toFormat = positionalArgs.get(0);
             formatSpec = positionalArgs.get(1);
         } else if (positionalArgs.size() == 1) {
             toFormat = positionalArgs.get(0);
-            if (keywordArgs.containsKey(PythonString.valueOf("format_spec"))) {
-                formatSpec = keywordArgs.get(PythonString.valueOf("format_spec"));
+            if (keywordArgs.containsKey(FORMAT_SPEC_KEYWORD)) {
+                formatSpec = keywordArgs.get(FORMAT_SPEC_KEYWORD);
             }
-        } else if (positionalArgs.size() == 0 && keywordArgs.containsKey(PythonString.valueOf("value"))) {
-            toFormat = keywordArgs.get(PythonString.valueOf("value"));
-            if (keywordArgs.containsKey(PythonString.valueOf("format_spec"))) {
-                formatSpec = keywordArgs.get(PythonString.valueOf("format_spec"));
+        } else if (positionalArgs.size() == 0 && keywordArgs.containsKey(VALUE_KEYWORD)) {
+            toFormat = keywordArgs.get(VALUE_KEYWORD);
+            if (keywordArgs.containsKey(FORMAT_SPEC_KEYWORD)) {
+                formatSpec = keywordArgs.get(FORMAT_SPEC_KEYWORD);
             }
         } else {
             throw new ValueError("format expects 1 or 2 arguments, got " + positionalArgs.size());
@@ -881,16 +924,16 @@ public class GlobalBuiltins {
         } else if (positionalArgs.size() == 2) {
             object = positionalArgs.get(0);
             name = (PythonString) positionalArgs.get(1);
-            defaultValue = keywordArgs.get(PythonString.valueOf("default"));
-        } else if (positionalArgs.size() == 1 && keywordArgs.containsKey(PythonString.valueOf("name"))) {
+            defaultValue = keywordArgs.get(DEFAULT_KEYWORD);
+        } else if (positionalArgs.size() == 1 && keywordArgs.containsKey(NAME_KEYWORD)) {
             object = positionalArgs.get(0);
-            name = (PythonString) keywordArgs.get(PythonString.valueOf("name"));
-            defaultValue = keywordArgs.get(PythonString.valueOf("default"));
-        } else if (positionalArgs.size() == 0 && keywordArgs.containsKey(PythonString.valueOf("object"))
-                && keywordArgs.containsKey(PythonString.valueOf("name"))) {
-            object = keywordArgs.get(PythonString.valueOf("object"));
-            name = (PythonString) keywordArgs.get(PythonString.valueOf("name"));
-            defaultValue = keywordArgs.get(PythonString.valueOf("default"));
+            name = (PythonString) keywordArgs.get(NAME_KEYWORD);
+            defaultValue = keywordArgs.get(DEFAULT_KEYWORD);
+        } else if (positionalArgs.size() == 0 && keywordArgs.containsKey(OBJECT_KEYWORD)
+                && keywordArgs.containsKey(NAME_KEYWORD)) {
+            object = keywordArgs.get(OBJECT_KEYWORD);
+            name = (PythonString) keywordArgs.get(NAME_KEYWORD);
+            defaultValue = keywordArgs.get(DEFAULT_KEYWORD);
         } else {
             throw new ValueError("getattr expects 2 or 3 arguments, got " + positionalArgs.size());
         }
@@ -913,11 +956,13 @@ public class GlobalBuiltins {
         if (!positionalArgs.isEmpty() && keywordArgs.isEmpty()) {
             throw new ValueError("globals expects 0 arguments, got " + positionalArgs.size());
         }
-        Class<?> callerClass = stackWalker.getCallerClass();
+        Class<?> callerClass = getCallerClass();
 
         try {
             Map globalsMap =
                     (Map) callerClass.getField(PythonBytecodeToJavaBytecodeTranslator.GLOBALS_MAP_STATIC_FIELD_NAME).get(null);
+            // Writes to the returned dict bypass setGlobal, so cached globals of this map can no longer be trusted
+            GlobalVariableCallSite.disableCaching(globalsMap);
             return PythonLikeDict.mirror(globalsMap);
         } catch (NoSuchFieldException | IllegalAccessException e) {
             throw new IllegalStateException("Caller (" + callerClass + ") is not a generated class", e);
@@ -941,8 +986,8 @@ public class GlobalBuiltins {
         if (positionalArgs.size() == 1 && keywordArgs.isEmpty()) {
             object = positionalArgs.get(0);
         } else if (positionalArgs.isEmpty() && keywordArgs.size() == 1
-                && keywordArgs.containsKey(PythonString.valueOf("x"))) {
-            object = keywordArgs.get(PythonString.valueOf("x"));
+                && keywordArgs.containsKey(X_KEYWORD)) {
+            object = keywordArgs.get(X_KEYWORD);
         } else {
             throw new ValueError("hex expects 1 argument, got " + positionalArgs.size());
         }
@@ -955,7 +1000,7 @@ public class GlobalBuiltins {
             integer = (PythonInteger) UnaryDunderBuiltin.INDEX.invoke(object);
         }
 
-        String hexString = integer.value.toString(16);
+        String hexString = integer.getValue().toString(16);
 
         if (hexString.startsWith("-")) {
             return PythonString.valueOf("-0x" + hexString.substring(1));
@@ -971,8 +1016,8 @@ public class GlobalBuiltins {
         if (positionalArgs.size() == 1 && keywordArgs.isEmpty()) {
             object = positionalArgs.get(0);
         } else if (positionalArgs.isEmpty() && keywordArgs.size() == 1
-                && keywordArgs.containsKey(PythonString.valueOf("object"))) {
-            object = keywordArgs.get(PythonString.valueOf("object"));
+                && keywordArgs.containsKey(OBJECT_KEYWORD)) {
+            object = keywordArgs.get(OBJECT_KEYWORD);
         } else {
             throw new ValueError("id expects 1 argument, got " + positionalArgs.size());
         }
@@ -992,8 +1037,8 @@ public class GlobalBuiltins {
             PythonString prompt = null;
             if (positionalArguments.size() == 1) {
                 prompt = (PythonString) positionalArguments.get(0);
-            } else if (positionalArguments.size() == 0 && namedArguments.containsKey(PythonString.valueOf("prompt"))) {
-                prompt = (PythonString) namedArguments.get(PythonString.valueOf("prompt"));
+            } else if (positionalArguments.size() == 0 && namedArguments.containsKey(PROMPT_KEYWORD)) {
+                prompt = (PythonString) namedArguments.get(PROMPT_KEYWORD);
             } else {
                 throw new ValueError("input expects 0 or 1 arguments, got " + positionalArguments.size());
             }
@@ -1016,13 +1061,13 @@ public class GlobalBuiltins {
         if (positionalArgs.size() == 2) {
             object = positionalArgs.get(0);
             classInfo = positionalArgs.get(1);
-        } else if (positionalArgs.size() == 1 && keywordArgs.containsKey(PythonString.valueOf("classinfo"))) {
+        } else if (positionalArgs.size() == 1 && keywordArgs.containsKey(CLASSINFO_KEYWORD)) {
             object = positionalArgs.get(0);
-            classInfo = keywordArgs.get(PythonString.valueOf("classinfo"));
-        } else if (positionalArgs.size() == 0 && keywordArgs.containsKey(PythonString.valueOf("object"))
-                && keywordArgs.containsKey(PythonString.valueOf("classinfo"))) {
-            object = keywordArgs.get(PythonString.valueOf("object"));
-            classInfo = keywordArgs.get(PythonString.valueOf("classinfo"));
+            classInfo = keywordArgs.get(CLASSINFO_KEYWORD);
+        } else if (positionalArgs.size() == 0 && keywordArgs.containsKey(OBJECT_KEYWORD)
+                && keywordArgs.containsKey(CLASSINFO_KEYWORD)) {
+            object = keywordArgs.get(OBJECT_KEYWORD);
+            classInfo = keywordArgs.get(CLASSINFO_KEYWORD);
         } else {
             throw new ValueError("isinstance expects 2 arguments, got " + positionalArgs.size());
         }
@@ -1052,19 +1097,19 @@ public class GlobalBuiltins {
             }
             type = (PythonLikeType) positionalArgs.get(0);
             classInfo = positionalArgs.get(1);
-        } else if (positionalArgs.size() == 1 && keywordArgs.containsKey(PythonString.valueOf("classinfo"))) {
+        } else if (positionalArgs.size() == 1 && keywordArgs.containsKey(CLASSINFO_KEYWORD)) {
             if (!(positionalArgs.get(0) instanceof PythonLikeType)) {
                 throw new TypeError("issubclass argument 0 must be a class, not " + positionalArgs.get(0).__getType());
             }
             type = (PythonLikeType) positionalArgs.get(0);
-            classInfo = keywordArgs.get(PythonString.valueOf("classinfo"));
-        } else if (positionalArgs.size() == 0 && keywordArgs.containsKey(PythonString.valueOf("class"))
-                && keywordArgs.containsKey(PythonString.valueOf("classinfo"))) {
-            if (!(keywordArgs.get(PythonString.valueOf("class")) instanceof PythonLikeType)) {
+            classInfo = keywordArgs.get(CLASSINFO_KEYWORD);
+        } else if (positionalArgs.size() == 0 && keywordArgs.containsKey(CLASS_KEYWORD)
+                && keywordArgs.containsKey(CLASSINFO_KEYWORD)) {
+            if (!(keywordArgs.get(CLASS_KEYWORD) instanceof PythonLikeType)) {
                 throw new TypeError("issubclass argument 0 must be a class, not " + positionalArgs.get(0).__getType());
             }
-            type = (PythonLikeType) keywordArgs.get(PythonString.valueOf("class"));
-            classInfo = keywordArgs.get(PythonString.valueOf("classinfo"));
+            type = (PythonLikeType) keywordArgs.get(CLASS_KEYWORD);
+            classInfo = keywordArgs.get(CLASSINFO_KEYWORD);
         } else {
             throw new ValueError("isinstance expects 2 arguments, got " + positionalArgs.size());
         }
@@ -1096,14 +1141,14 @@ public class GlobalBuiltins {
         if (positionalArgs.size() >= 2 && keywordArgs.isEmpty()) {
             function = (PythonLikeFunction) positionalArgs.get(0);
             iterableList = positionalArgs.subList(1, positionalArgs.size());
-        } else if (positionalArgs.size() == 1 && keywordArgs.containsKey(PythonString.valueOf("iterable"))) {
+        } else if (positionalArgs.size() == 1 && keywordArgs.containsKey(ITERABLE_KEYWORD)) {
             function = (PythonLikeFunction) positionalArgs.get(0);
-            iterableList.add(keywordArgs.get(PythonString.valueOf("iterable")));
+            iterableList.add(keywordArgs.get(ITERABLE_KEYWORD));
         } else if (positionalArgs.size() == 0
-                && keywordArgs.containsKey(PythonString.valueOf("function"))
-                && keywordArgs.containsKey(PythonString.valueOf("iterable"))) {
-            function = (PythonLikeFunction) keywordArgs.get(PythonString.valueOf("function"));
-            iterableList.add(keywordArgs.get(PythonString.valueOf("iterable")));
+                && keywordArgs.containsKey(FUNCTION_KEYWORD)
+                && keywordArgs.containsKey(ITERABLE_KEYWORD)) {
+            function = (PythonLikeFunction) keywordArgs.get(FUNCTION_KEYWORD);
+            iterableList.add(keywordArgs.get(ITERABLE_KEYWORD));
         } else {
             throw new ValueError("map expects at least 2 argument, got " + positionalArgs.size());
         }
@@ -1148,8 +1193,8 @@ public class GlobalBuiltins {
     public static PythonLikeObject min(List<PythonLikeObject> positionalArgs, Map<PythonString, PythonLikeObject> keywordArgs,
             PythonLikeObject instance) {
         if (positionalArgs.isEmpty()) {
-            PythonLikeObject defaultValue = keywordArgs.get(PythonString.valueOf("default"));
-            if (!keywordArgs.containsKey(PythonString.valueOf("default"))) {
+            PythonLikeObject defaultValue = keywordArgs.get(DEFAULT_KEYWORD);
+            if (!keywordArgs.containsKey(DEFAULT_KEYWORD)) {
                 throw new ValueError("No arguments were passed to min, and no default was provided");
             }
             return defaultValue;
@@ -1169,8 +1214,8 @@ public class GlobalBuiltins {
                 }
             }
             if (min == null) {
-                PythonLikeObject defaultValue = keywordArgs.get(PythonString.valueOf("default"));
-                if (!keywordArgs.containsKey(PythonString.valueOf("default"))) {
+                PythonLikeObject defaultValue = keywordArgs.get(DEFAULT_KEYWORD);
+                if (!keywordArgs.containsKey(DEFAULT_KEYWORD)) {
                     throw new ValueError("Iterable is empty, and no default was provided");
                 }
                 return defaultValue;
@@ -1192,8 +1237,8 @@ public class GlobalBuiltins {
     public static PythonLikeObject max(List<PythonLikeObject> positionalArgs, Map<PythonString, PythonLikeObject> keywordArgs,
             PythonLikeObject instance) {
         if (positionalArgs.isEmpty()) {
-            PythonLikeObject defaultValue = keywordArgs.get(PythonString.valueOf("default"));
-            if (!keywordArgs.containsKey(PythonString.valueOf("default"))) {
+            PythonLikeObject defaultValue = keywordArgs.get(DEFAULT_KEYWORD);
+            if (!keywordArgs.containsKey(DEFAULT_KEYWORD)) {
                 throw new ValueError("No arguments were passed to max, and no default was provided");
             }
             return defaultValue;
@@ -1213,8 +1258,8 @@ public class GlobalBuiltins {
                 }
             }
             if (max == null) {
-                PythonLikeObject defaultValue = keywordArgs.get(PythonString.valueOf("default"));
-                if (!keywordArgs.containsKey(PythonString.valueOf("default"))) {
+                PythonLikeObject defaultValue = keywordArgs.get(DEFAULT_KEYWORD);
+                if (!keywordArgs.containsKey(DEFAULT_KEYWORD)) {
                     throw new ValueError("Iterable is empty, and no default was provided");
                 }
                 return defaultValue;
@@ -1240,8 +1285,8 @@ public class GlobalBuiltins {
         if (positionalArgs.size() == 1 && keywordArgs.isEmpty()) {
             object = positionalArgs.get(0);
         } else if (positionalArgs.isEmpty() && keywordArgs.size() == 1
-                && keywordArgs.containsKey(PythonString.valueOf("x"))) {
-            object = keywordArgs.get(PythonString.valueOf("x"));
+                && keywordArgs.containsKey(X_KEYWORD)) {
+            object = keywordArgs.get(X_KEYWORD);
         } else {
             throw new ValueError("oct expects 1 argument, got " + positionalArgs.size());
         }
@@ -1254,7 +1299,7 @@ public class GlobalBuiltins {
             integer = (PythonInteger) UnaryDunderBuiltin.INDEX.invoke(object);
         }
 
-        String octString = integer.value.toString(8);
+        String octString = integer.getValue().toString(8);
 
         if (octString.startsWith("-")) {
             return PythonString.valueOf("-0o" + octString.substring(1));
@@ -1270,8 +1315,8 @@ public class GlobalBuiltins {
         if (positionalArgs.size() == 1 && keywordArgs.isEmpty()) {
             character = (PythonString) positionalArgs.get(0);
         } else if (positionalArgs.isEmpty() && keywordArgs.size() == 1
-                && keywordArgs.containsKey(PythonString.valueOf("c"))) {
-            character = (PythonString) keywordArgs.get(PythonString.valueOf("c"));
+                && keywordArgs.containsKey(C_KEYWORD)) {
+            character = (PythonString) keywordArgs.get(C_KEYWORD);
         } else {
             throw new ValueError("ord expects 1 argument, got " + positionalArgs.size());
         }
@@ -1296,16 +1341,16 @@ public class GlobalBuiltins {
         } else if (positionalArgs.size() == 2) {
             base = positionalArgs.get(0);
             exp = positionalArgs.get(1);
-            mod = keywordArgs.get(PythonString.valueOf("mod"));
-        } else if (positionalArgs.size() == 1 && keywordArgs.containsKey(PythonString.valueOf("exp"))) {
+            mod = keywordArgs.get(MOD_KEYWORD);
+        } else if (positionalArgs.size() == 1 && keywordArgs.containsKey(EXP_KEYWORD)) {
             base = positionalArgs.get(0);
-            exp = keywordArgs.get(PythonString.valueOf("exp"));
-            mod = keywordArgs.get(PythonString.valueOf("mod"));
-        } else if (positionalArgs.isEmpty() && keywordArgs.containsKey(PythonString.valueOf("base"))
-                && keywordArgs.containsKey(PythonString.valueOf("exp"))) {
-            base = keywordArgs.get(PythonString.valueOf("base"));
-            exp = keywordArgs.get(PythonString.valueOf("exp"));
-            mod = keywordArgs.get(PythonString.valueOf("mod"));
+            exp = keywordArgs.get(EXP_KEYWORD);
+            mod = keywordArgs.get(MOD_KEYWORD);
+        } else if (positionalArgs.isEmpty() && keywordArgs.containsKey(BASE_KEYWORD)
+                && keywordArgs.containsKey(EXP_KEYWORD)) {
+            base = keywordArgs.get(BASE_KEYWORD);
+            exp = keywordArgs.get(EXP_KEYWORD);
+            mod = keywordArgs.get(MOD_KEYWORD);
         } else {
             throw new ValueError("pow expects 2 or 3 arguments, got " + positionalArgs.size());
         }
@@ -1323,27 +1368,27 @@ public class GlobalBuiltins {
             List<PythonLikeObject> objects = positionalArgs;
 
             String sep;
-            if (!keywordArgs.containsKey(PythonString.valueOf("sep"))
-                    || keywordArgs.get(PythonString.valueOf("sep")) == PythonNone.INSTANCE) {
+            if (!keywordArgs.containsKey(SEP_KEYWORD)
+                    || keywordArgs.get(SEP_KEYWORD) == PythonNone.INSTANCE) {
                 sep = " ";
             } else {
-                sep = ((PythonString) keywordArgs.get(PythonString.valueOf("sep"))).value;
+                sep = ((PythonString) keywordArgs.get(SEP_KEYWORD)).value;
             }
             String end;
-            if (!keywordArgs.containsKey(PythonString.valueOf("end"))
-                    || keywordArgs.get(PythonString.valueOf("end")) == PythonNone.INSTANCE) {
+            if (!keywordArgs.containsKey(END_KEYWORD)
+                    || keywordArgs.get(END_KEYWORD) == PythonNone.INSTANCE) {
                 end = "\n";
             } else {
-                end = ((PythonString) keywordArgs.get(PythonString.valueOf("end"))).value;
+                end = ((PythonString) keywordArgs.get(END_KEYWORD)).value;
             }
             // TODO: support file keyword arg
 
             boolean flush;
-            if (!keywordArgs.containsKey(PythonString.valueOf("flush"))
-                    || keywordArgs.get(PythonString.valueOf("flush")) == PythonNone.INSTANCE) {
+            if (!keywordArgs.containsKey(FLUSH_KEYWORD)
+                    || keywordArgs.get(FLUSH_KEYWORD) == PythonNone.INSTANCE) {
                 flush = false;
             } else {
-                flush = ((PythonBoolean) keywordArgs.get(PythonString.valueOf("flush"))).getBooleanValue();
+                flush = ((PythonBoolean) keywordArgs.get(FLUSH_KEYWORD)).getBooleanValue();
             }
 
             for (int i = 0; i < objects.size() - 1; i++) {
@@ -1426,21 +1471,21 @@ public class GlobalBuiltins {
             object = positionalArgs.get(0);
             name = (PythonString) positionalArgs.get(1);
             value = positionalArgs.get(2);
-        } else if (positionalArgs.size() == 2 && keywordArgs.containsKey(PythonString.valueOf("value"))) {
+        } else if (positionalArgs.size() == 2 && keywordArgs.containsKey(VALUE_KEYWORD)) {
             object = positionalArgs.get(0);
             name = (PythonString) positionalArgs.get(1);
-            value = keywordArgs.get(PythonString.valueOf("value"));
-        } else if (positionalArgs.size() == 1 && keywordArgs.containsKey(PythonString.valueOf("name")) &&
-                keywordArgs.containsKey(PythonString.valueOf("value"))) {
+            value = keywordArgs.get(VALUE_KEYWORD);
+        } else if (positionalArgs.size() == 1 && keywordArgs.containsKey(NAME_KEYWORD) &&
+                keywordArgs.containsKey(VALUE_KEYWORD)) {
             object = positionalArgs.get(0);
-            name = (PythonString) keywordArgs.get(PythonString.valueOf("name"));
-            value = keywordArgs.get(PythonString.valueOf("value"));
-        } else if (positionalArgs.size() == 0 && keywordArgs.containsKey(PythonString.valueOf("object")) &&
-                keywordArgs.containsKey(PythonString.valueOf("name")) &&
-                keywordArgs.containsKey(PythonString.valueOf("value"))) {
-            object = keywordArgs.get(PythonString.valueOf("object"));
-            name = (PythonString) keywordArgs.get(PythonString.valueOf("name"));
-            value = keywordArgs.get(PythonString.valueOf("value"));
+            name = (PythonString) keywordArgs.get(NAME_KEYWORD);
+            value = keywordArgs.get(VALUE_KEYWORD);
+        } else if (positionalArgs.size() == 0 && keywordArgs.containsKey(OBJECT_KEYWORD) &&
+                keywordArgs.containsKey(NAME_KEYWORD) &&
+                keywordArgs.containsKey(VALUE_KEYWORD)) {
+            object = keywordArgs.get(OBJECT_KEYWORD);
+            name = (PythonString) keywordArgs.get(NAME_KEYWORD);
+            value = keywordArgs.get(VALUE_KEYWORD);
         } else {
             throw new ValueError("setattr expects 2 or 3 arguments, got " + positionalArgs.size());
         }
@@ -1454,8 +1499,8 @@ public class GlobalBuiltins {
         PythonLikeObject iterable = positionalArgs.get(0);
 
         boolean isReversed = false;
-        if (keywordArgs.containsKey(PythonString.valueOf("reverse"))) {
-            isReversed = ((PythonBoolean) keywordArgs.get(PythonString.valueOf("reverse"))).getBooleanValue();
+        if (keywordArgs.containsKey(REVERSE_KEYWORD)) {
+            isReversed = ((PythonBoolean) keywordArgs.get(REVERSE_KEYWORD)).getBooleanValue();
         }
 
         PythonLikeList out = new PythonLikeList();
@@ -1469,8 +1514,8 @@ public class GlobalBuiltins {
         Comparator keyComparator = isReversed ? Comparator.reverseOrder() : Comparator.naturalOrder();
         List<KeyTuple> decoratedList = null;
 
-        if (keywordArgs.containsKey(PythonString.valueOf("key"))) {
-            PythonLikeObject key = keywordArgs.get(PythonString.valueOf("key"));
+        if (keywordArgs.containsKey(KEY_KEYWORD)) {
+            PythonLikeObject key = keywordArgs.get(KEY_KEYWORD);
             if (key != PythonNone.INSTANCE) {
                 final PythonLikeFunction keyFunction = (PythonLikeFunction) key;
                 final Function keyExtractor = item -> keyFunction.$call(List.of((PythonLikeObject) item), Map.of(), null);
@@ -1509,10 +1554,10 @@ public class GlobalBuiltins {
             start = positionalArgs.get(1);
         } else if (positionalArgs.size() == 1) {
             iterable = positionalArgs.get(0);
-            start = keywordArgs.getOrDefault(PythonString.valueOf("start"), PythonInteger.ZERO);
+            start = keywordArgs.getOrDefault(START_KEYWORD, PythonInteger.ZERO);
         } else if (positionalArgs.size() == 0) {
-            iterable = keywordArgs.get(PythonString.valueOf("iterable"));
-            start = keywordArgs.getOrDefault(PythonString.valueOf("start"), PythonInteger.ZERO);
+            iterable = keywordArgs.get(ITERABLE_KEYWORD);
+            start = keywordArgs.getOrDefault(START_KEYWORD, PythonInteger.ZERO);
         } else {
             throw new ValueError("sum() expects 1 or 2 arguments, got " + positionalArgs.size());
         }
@@ -1532,7 +1577,7 @@ public class GlobalBuiltins {
             Map<PythonString, PythonLikeObject> keywordArgs,
             PythonLikeObject instance) {
         if (positionalArgs.isEmpty()) {
-            Class<?> callerClass = stackWalker.getCallerClass();
+            Class<?> callerClass = getCallerClass();
             try {
                 PythonLikeType pythonClass = (PythonLikeType) callerClass
                         .getField(PythonBytecodeToJavaBytecodeTranslator.CLASS_CELL_STATIC_FIELD_NAME).get(null);
@@ -1574,8 +1619,8 @@ public class GlobalBuiltins {
         List<PythonLikeObject> iterableList = positionalArgs;
         boolean isStrict = false;
 
-        if (keywordArgs.containsKey(PythonString.valueOf("strict"))) {
-            isStrict = ((PythonBoolean) keywordArgs.get(PythonString.valueOf("strict"))).getBooleanValue();
+        if (keywordArgs.containsKey(STRICT_KEYWORD)) {
+            isStrict = ((PythonBoolean) keywordArgs.get(STRICT_KEYWORD)).getBooleanValue();
         }
 
         final List<Iterator> iteratorList = new ArrayList<>(iterableList.size());
@@ -1645,42 +1690,42 @@ public class GlobalBuiltins {
             PythonInteger level;
 
             if (positionalArguments.size() == 0) {
-                name = (PythonString) namedArguments.get(PythonString.valueOf("name"));
+                name = (PythonString) namedArguments.get(NAME_KEYWORD);
                 if (name == null) {
                     throw new ValueError("name is required for __import__()");
                 }
-                globals = (PythonLikeDict) namedArguments.getOrDefault(PythonString.valueOf("globals"), new PythonLikeDict());
-                locals = (PythonLikeDict) namedArguments.getOrDefault(PythonString.valueOf("locals"), new PythonLikeDict());
+                globals = (PythonLikeDict) namedArguments.getOrDefault(GLOBALS_KEYWORD, new PythonLikeDict());
+                locals = (PythonLikeDict) namedArguments.getOrDefault(LOCALS_KEYWORD, new PythonLikeDict());
                 fromlist =
-                        (PythonLikeTuple) namedArguments.getOrDefault(PythonString.valueOf("fromlist"), new PythonLikeTuple());
-                level = (PythonInteger) namedArguments.getOrDefault(PythonString.valueOf("level"), PythonInteger.ZERO);
+                        (PythonLikeTuple) namedArguments.getOrDefault(FROMLIST_KEYWORD, new PythonLikeTuple());
+                level = (PythonInteger) namedArguments.getOrDefault(LEVEL_KEYWORD, PythonInteger.ZERO);
             } else if (positionalArguments.size() == 1) {
                 name = (PythonString) positionalArguments.get(0);
-                globals = (PythonLikeDict) namedArguments.getOrDefault(PythonString.valueOf("globals"), new PythonLikeDict());
-                locals = (PythonLikeDict) namedArguments.getOrDefault(PythonString.valueOf("locals"), new PythonLikeDict());
+                globals = (PythonLikeDict) namedArguments.getOrDefault(GLOBALS_KEYWORD, new PythonLikeDict());
+                locals = (PythonLikeDict) namedArguments.getOrDefault(LOCALS_KEYWORD, new PythonLikeDict());
                 fromlist =
-                        (PythonLikeTuple) namedArguments.getOrDefault(PythonString.valueOf("fromlist"), new PythonLikeTuple());
-                level = (PythonInteger) namedArguments.getOrDefault(PythonString.valueOf("level"), PythonInteger.ZERO);
+                        (PythonLikeTuple) namedArguments.getOrDefault(FROMLIST_KEYWORD, new PythonLikeTuple());
+                level = (PythonInteger) namedArguments.getOrDefault(LEVEL_KEYWORD, PythonInteger.ZERO);
             } else if (positionalArguments.size() == 2) {
                 name = (PythonString) positionalArguments.get(0);
                 globals = (PythonLikeDict) positionalArguments.get(1);
-                locals = (PythonLikeDict) namedArguments.getOrDefault(PythonString.valueOf("locals"), new PythonLikeDict());
+                locals = (PythonLikeDict) namedArguments.getOrDefault(LOCALS_KEYWORD, new PythonLikeDict());
                 fromlist =
-                        (PythonLikeTuple) namedArguments.getOrDefault(PythonString.valueOf("fromlist"), new PythonLikeTuple());
-                level = (PythonInteger) namedArguments.getOrDefault(PythonString.valueOf("level"), PythonInteger.ZERO);
+                        (PythonLikeTuple) namedArguments.getOrDefault(FROMLIST_KEYWORD, new PythonLikeTuple());
+                level = (PythonInteger) namedArguments.getOrDefault(LEVEL_KEYWORD, PythonInteger.ZERO);
             } else if (positionalArguments.size() == 3) {
                 name = (PythonString) positionalArguments.get(0);
                 globals = (PythonLikeDict) positionalArguments.get(1);
                 locals = (PythonLikeDict) positionalArguments.get(2);
                 fromlist =
-                        (PythonLikeTuple) namedArguments.getOrDefault(PythonString.valueOf("fromlist"), new PythonLikeTuple());
-                level = (PythonInteger) namedArguments.getOrDefault(PythonString.valueOf("level"), PythonInteger.ZERO);
+                        (PythonLikeTuple) namedArguments.getOrDefault(FROMLIST_KEYWORD, new PythonLikeTuple());
+                level = (PythonInteger) namedArguments.getOrDefault(LEVEL_KEYWORD, PythonInteger.ZERO);
             } else if (positionalArguments.size() == 4) {
                 name = (PythonString) positionalArguments.get(0);
                 globals = (PythonLikeDict) positionalArguments.get(1);
                 locals = (PythonLikeDict) positionalArguments.get(2);
                 fromlist = (PythonLikeTuple) positionalArguments.get(3);
-                level = (PythonInteger) namedArguments.getOrDefault(PythonString.valueOf("level"), PythonInteger.ZERO);
+                level = (PythonInteger) namedArguments.getOrDefault(LEVEL_KEYWORD, PythonInteger.ZERO);
             } else if (positionalArguments.size() == 5) {
                 name = (PythonString) positionalArguments.get(0);
                 globals = (PythonLikeDict) positionalArguments.get(1);
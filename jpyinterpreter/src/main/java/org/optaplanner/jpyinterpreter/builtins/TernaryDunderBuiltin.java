@@ -35,11 +35,11 @@ public class TernaryDunderBuiltin implements PythonLikeFunction {
         PythonLikeObject arg1 = positionalArguments.get(1);
         PythonLikeObject arg2 = positionalArguments.get(2);
         PythonLikeFunction dunderMethod = (PythonLikeFunction) object.__getType().__getAttributeOrError(DUNDER_METHOD_NAME);
-        return dunderMethod.$call(List.of(object, arg1, arg2), Map.of(), null);
+        return dunderMethod.$call3(object, arg1, arg2, null);
     }
 
     public PythonLikeObject invoke(PythonLikeObject object, PythonLikeObject arg1, PythonLikeObject arg2) {
         PythonLikeFunction dunderMethod = (PythonLikeFunction) object.__getType().__getAttributeOrError(DUNDER_METHOD_NAME);
-        return dunderMethod.$call(List.of(object, arg1, arg2), Map.of(), null);
+        return dunderMethod.$call3(object, arg1, arg2, null);
     }
 }
@@ -40,11 +40,11 @@ public class UnaryDunderBuiltin implements PythonLikeFunction {
         }
         PythonLikeObject object = positionalArguments.get(0);
         PythonLikeFunction dunderMethod = (PythonLikeFunction) object.__getType().__getAttributeOrError(DUNDER_METHOD_NAME);
-        return dunderMethod.$call(List.of(object), Map.of(), null);
+        return dunderMethod.$call1(object, null);
     }
 
     public PythonLikeObject invoke(PythonLikeObject object) {
         PythonLikeFunction dunderMethod = (PythonLikeFunction) object.__getType().__getAttributeOrError(DUNDER_METHOD_NAME);
-        return dunderMethod.$call(List.of(object), Map.of(), null);
+        return dunderMethod.$call1(object, null);
     }
 }
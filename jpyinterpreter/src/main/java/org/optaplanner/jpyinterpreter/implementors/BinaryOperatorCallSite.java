@@ -0,0 +1,312 @@
+package org.optaplanner.jpyinterpreter.implementors;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.invoke.MutableCallSite;
+import java.lang.invoke.WrongMethodTypeException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+import org.optaplanner.jpyinterpreter.MethodDescriptor;
+import org.optaplanner.jpyinterpreter.PythonBinaryOperators;
+import org.optaplanner.jpyinterpreter.PythonFunctionSignature;
+import org.optaplanner.jpyinterpreter.PythonLikeObject;
+import org.optaplanner.jpyinterpreter.PythonOverloadImplementor;
+import org.optaplanner.jpyinterpreter.types.BuiltinTypes;
+import org.optaplanner.jpyinterpreter.types.NotImplemented;
+import org.optaplanner.jpyinterpreter.types.PythonKnownFunctionType;
+import org.optaplanner.jpyinterpreter.types.PythonLikeFunction;
+import org.optaplanner.jpyinterpreter.types.PythonLikeType;
+import org.optaplanner.jpyinterpreter.types.collections.PythonLikeList;
+import org.optaplanner.jpyinterpreter.types.errors.TypeError;
+
+/**
+ * An inline cache for a binary operator whose operand types are not known at translation time.
+ * <p>
+ * Each invokedynamic instruction emitted by
+ * {@link DunderOperatorImplementor#binaryOperator(org.objectweb.asm.MethodVisitor,
+ * org.optaplanner.jpyinterpreter.LocalVariableHelper, PythonBinaryOperators)}
+ * gets its own call site. When the site sees a new pair of operand types, it resolves the dunder methods
+ * for those types (including the NotImplemented/right operand fallback) into a method handle, and guards it with
+ * a check on the operand types and their version stamps (see {@link PythonLikeType#getVersionStamp()}), so
+ * changing a dunder method of an operand type or one of its ancestors relinks the site. Overloads are selected once for the pair of types, so calling an overload of
+ * a builtin or translated type is a direct Java call without an argument list.
+ * After {@link #MAX_CACHED_TYPE_PAIRS} links (relinking a pair of types that changed counts as another link)
+ * the site becomes megamorphic and does a full lookup on each call.
+ */
+public final class BinaryOperatorCallSite extends MutableCallSite {
+    static final int MAX_CACHED_TYPE_PAIRS = 4;
+
+    private static final MethodType OPERATOR_TYPE =
+            MethodType.methodType(PythonLikeObject.class, PythonLikeObject.class, PythonLikeObject.class);
+
+    private static final MethodHandle RELINK;
+    private static final MethodHandle HAS_TYPES;
+    private static final MethodHandle IS_NOT_IMPLEMENTED;
+    private static final MethodHandle CALL_FUNCTION;
+    private static final MethodHandle RAISE_UNSUPPORTED_TYPE;
+    private static final MethodHandle MEGAMORPHIC_INVOKE;
+
+    static {
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            RELINK = lookup.findVirtual(BinaryOperatorCallSite.class, "relink", OPERATOR_TYPE);
+            HAS_TYPES = lookup.findStatic(BinaryOperatorCallSite.class, "hasTypes",
+                    MethodType.methodType(boolean.class, PythonLikeType.class, PythonLikeType.class, long.class,
+                            long.class, PythonLikeObject.class, PythonLikeObject.class));
+            IS_NOT_IMPLEMENTED = lookup.findStatic(BinaryOperatorCallSite.class, "isNotImplemented",
+                    MethodType.methodType(boolean.class, PythonLikeObject.class));
+            CALL_FUNCTION = lookup.findStatic(BinaryOperatorCallSite.class, "callFunction",
+                    OPERATOR_TYPE.insertParameterTypes(0, PythonLikeFunction.class));
+            RAISE_UNSUPPORTED_TYPE = lookup.findStatic(BinaryOperatorCallSite.class, "raiseUnsupportedType",
+                    OPERATOR_TYPE.insertParameterTypes(0, PythonBinaryOperators.class));
+            MEGAMORPHIC_INVOKE = lookup.findStatic(BinaryOperatorCallSite.class, "invokeUncached",
+                    OPERATOR_TYPE.insertParameterTypes(0, PythonBinaryOperators.class));
+        } catch (NoSuchMethodException | IllegalAccessException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private final PythonBinaryOperators operator;
+    private final List<CachedTypePair> cachedTypePairList = new ArrayList<>();
+    private int cachedTypePairCount;
+
+    private BinaryOperatorCallSite(PythonBinaryOperators operator, MethodType type) {
+        super(type);
+        this.operator = operator;
+        setTarget(RELINK.bindTo(this).asType(type));
+    }
+
+    /**
+     * Bootstrap method for the invokedynamic instruction; {@code name} is the name of the
+     * {@link PythonBinaryOperators} to perform.
+     */
+    public static BinaryOperatorCallSite bootstrap(MethodHandles.Lookup caller, String name, MethodType type) {
+        return new BinaryOperatorCallSite(PythonBinaryOperators.valueOf(name), type);
+    }
+
+    private synchronized PythonLikeObject relink(PythonLikeObject left, PythonLikeObject right) throws Throwable {
+        if (cachedTypePairCount >= MAX_CACHED_TYPE_PAIRS) {
+            MethodHandle megamorphicTarget = MEGAMORPHIC_INVOKE.bindTo(operator);
+            setTarget(megamorphicTarget.asType(type()));
+            return invokeUncached(operator, left, right);
+        }
+
+        PythonLikeType leftType = left.__getType();
+        PythonLikeType rightType = right.__getType();
+        // Read the version stamps before resolving, so a change made while resolving fails the guard
+        long leftVersionStamp = leftType.getVersionStamp();
+        long rightVersionStamp = rightType.getVersionStamp();
+        MethodHandle operation = resolveOperation(operator, leftType, rightType);
+        MethodHandle typeCheck = MethodHandles.insertArguments(HAS_TYPES, 0, leftType, rightType,
+                leftVersionStamp, rightVersionStamp);
+
+        // A pair whose types changed since it was linked can never pass its guard again
+        cachedTypePairList.removeIf(CachedTypePair::isStale);
+        cachedTypePairList.add(new CachedTypePair(leftType, rightType, leftVersionStamp, rightVersionStamp,
+                typeCheck, operation));
+        cachedTypePairCount++;
+
+        MethodHandle target = RELINK.bindTo(this);
+        for (CachedTypePair cachedTypePair : cachedTypePairList) {
+            target = MethodHandles.guardWithTest(cachedTypePair.typeCheck, cachedTypePair.operation, target);
+        }
+        setTarget(target.asType(type()));
+        return (PythonLikeObject) operation.invokeExact(left, right);
+    }
+
+    /**
+     * Creates a method handle that performs {@code operator} on operands with the given types, trying each
+     * applicable dunder method in order until one does not return NotImplemented.
+     */
+    private static MethodHandle resolveOperation(PythonBinaryOperators operator, PythonLikeType leftType,
+            PythonLikeType rightType) {
+        List<MethodHandle> attemptList = new ArrayList<>();
+        PythonBinaryOperators errorOperator = operator;
+
+        PythonLikeObject leftMethod = leftType.__getAttributeOrNull(operator.getDunderMethod());
+        if (leftMethod != null) {
+            attemptList.add(resolveMethod(leftMethod, rightType, false));
+        }
+
+        if (operator.getFallbackOperation().isPresent()) {
+            errorOperator = operator.getFallbackOperation().get();
+            leftMethod = leftType.__getAttributeOrNull(errorOperator.getDunderMethod());
+            if (leftMethod != null) {
+                attemptList.add(resolveMethod(leftMethod, rightType, false));
+            }
+        }
+
+        if (errorOperator.hasRightDunderMethod()) {
+            PythonLikeObject rightMethod = rightType.__getAttributeOrNull(errorOperator.getRightDunderMethod());
+            if (rightMethod != null) {
+                attemptList.add(resolveMethod(rightMethod, leftType, true));
+            }
+        }
+
+        MethodHandle out = RAISE_UNSUPPORTED_TYPE.bindTo(errorOperator);
+        Collections.reverse(attemptList);
+        for (MethodHandle attempt : attemptList) {
+            // result = attempt(left, right); return (result is NotImplemented)? out(left, right) : result
+            MethodHandle selectResult = MethodHandles.guardWithTest(
+                    MethodHandles.dropArguments(IS_NOT_IMPLEMENTED, 1, PythonLikeObject.class, PythonLikeObject.class),
+                    MethodHandles.dropArguments(out, 0, PythonLikeObject.class),
+                    MethodHandles.dropArguments(MethodHandles.identity(PythonLikeObject.class), 1,
+                            PythonLikeObject.class, PythonLikeObject.class));
+            out = MethodHandles.foldArguments(selectResult, attempt);
+        }
+        return out;
+    }
+
+    /**
+     * Creates a method handle that calls {@code method} with the given arguments (reversed if
+     * {@code isReversed}). If {@code method} is an overload dispatch, the overload for {@code otherType} is
+     * called directly.
+     */
+    private static MethodHandle resolveMethod(PythonLikeObject method, PythonLikeType otherType, boolean isReversed) {
+        MethodHandle out = PythonOverloadImplementor.getKnownFunctionTypeForDispatch(method)
+                .flatMap(knownFunctionType -> getDirectMethodHandle(knownFunctionType, otherType))
+                .orElseGet(() -> CALL_FUNCTION.bindTo(method));
+
+        if (isReversed) {
+            return MethodHandles.permuteArguments(out, OPERATOR_TYPE, 1, 0);
+        }
+        return out;
+    }
+
+    private static Optional<MethodHandle> getDirectMethodHandle(PythonKnownFunctionType knownFunctionType,
+            PythonLikeType otherType) {
+        Optional<PythonFunctionSignature> maybeFunctionSignature = knownFunctionType.getFunctionForParameters(otherType);
+        if (maybeFunctionSignature.isEmpty()) {
+            return Optional.empty();
+        }
+
+        PythonFunctionSignature functionSignature = maybeFunctionSignature.get();
+        if (functionSignature.isFromArgumentSpec()
+                || functionSignature.getExtraPositionalArgumentsVariableIndex().isPresent()
+                || functionSignature.getExtraKeywordArgumentsVariableIndex().isPresent()) {
+            return Optional.empty();
+        }
+
+        MethodDescriptor methodDescriptor = functionSignature.getMethodDescriptor();
+        try {
+            Class<?> declaringClass = BuiltinTypes.asmClassLoader.loadClass(
+                    methodDescriptor.getDeclaringClassInternalName().replace('/', '.'));
+            MethodType methodType = MethodType.fromMethodDescriptorString(methodDescriptor.getMethodDescriptor(),
+                    BuiltinTypes.asmClassLoader);
+            MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+            MethodHandle methodHandle;
+            switch (methodDescriptor.getMethodType()) {
+                case VIRTUAL:
+                case INTERFACE:
+                    if (methodType.parameterCount() != 1) {
+                        return Optional.empty();
+                    }
+                    methodHandle = lookup.findVirtual(declaringClass, methodDescriptor.getMethodName(), methodType);
+                    break;
+                case STATIC:
+                case STATIC_AS_VIRTUAL:
+                    if (methodType.parameterCount() != 2) {
+                        return Optional.empty();
+                    }
+                    methodHandle = lookup.findStatic(declaringClass, methodDescriptor.getMethodName(), methodType);
+                    break;
+                default:
+                    return Optional.empty();
+            }
+            return Optional.of(methodHandle.asType(OPERATOR_TYPE));
+        } catch (ClassNotFoundException | NoSuchMethodException | IllegalAccessException | TypeNotPresentException
+                | WrongMethodTypeException e) {
+            // Not a plain Java method; call the dispatch instead
+            return Optional.empty();
+        }
+    }
+
+    private static boolean hasTypes(PythonLikeType leftType, PythonLikeType rightType,
+            long leftVersionStamp, long rightVersionStamp,
+            PythonLikeObject left, PythonLikeObject right) {
+        return left.__getType() == leftType && right.__getType() == rightType
+                && leftType.getVersionStamp() == leftVersionStamp && rightType.getVersionStamp() == rightVersionStamp;
+    }
+
+    private static boolean isNotImplemented(PythonLikeObject result) {
+        return result == NotImplemented.INSTANCE;
+    }
+
+    private static PythonLikeObject callFunction(PythonLikeFunction function, PythonLikeObject self,
+            PythonLikeObject other) {
+        return function.$call2(self, other, null);
+    }
+
+    private static PythonLikeObject raiseUnsupportedType(PythonBinaryOperators operator, PythonLikeObject left,
+            PythonLikeObject right) {
+        if (operator.getOperatorSymbol().isEmpty()) {
+            throw new TypeError();
+        }
+        throw new TypeError("unsupported operand type(s) for " + operator.getOperatorSymbol() + ": '"
+                + left.__getType().getTypeName() + "' and '" + right.__getType().getTypeName() + "'");
+    }
+
+    private static PythonLikeObject invokeUncached(PythonBinaryOperators operator, PythonLikeObject left,
+            PythonLikeObject right) {
+        PythonLikeType leftType = left.__getType();
+        PythonBinaryOperators errorOperator = operator;
+
+        PythonLikeObject leftMethod = leftType.__getAttributeOrNull(operator.getDunderMethod());
+        if (leftMethod != null) {
+            PythonLikeObject result = callFunction((PythonLikeFunction) leftMethod, left, right);
+            if (!isNotImplemented(result)) {
+                return result;
+            }
+        }
+
+        if (operator.getFallbackOperation().isPresent()) {
+            errorOperator = operator.getFallbackOperation().get();
+            leftMethod = leftType.__getAttributeOrNull(errorOperator.getDunderMethod());
+            if (leftMethod != null) {
+                PythonLikeObject result = callFunction((PythonLikeFunction) leftMethod, left, right);
+                if (!isNotImplemented(result)) {
+                    return result;
+                }
+            }
+        }
+
+        if (errorOperator.hasRightDunderMethod()) {
+            PythonLikeObject rightMethod = right.__getType().__getAttributeOrNull(errorOperator.getRightDunderMethod());
+            if (rightMethod != null) {
+                PythonLikeObject result = callFunction((PythonLikeFunction) rightMethod, right, left);
+                if (!isNotImplemented(result)) {
+                    return result;
+                }
+            }
+        }
+
+        return raiseUnsupportedType(errorOperator, left, right);
+    }
+
+    private static final class CachedTypePair {
+        final PythonLikeType leftType;
+        final PythonLikeType rightType;
+        final long leftVersionStamp;
+        final long rightVersionStamp;
+        final MethodHandle typeCheck;
+        final MethodHandle operation;
+
+        CachedTypePair(PythonLikeType leftType, PythonLikeType rightType, long leftVersionStamp,
+                long rightVersionStamp, MethodHandle typeCheck, MethodHandle operation) {
+            this.leftType = leftType;
+            this.rightType = rightType;
+            this.leftVersionStamp = leftVersionStamp;
+            this.rightVersionStamp = rightVersionStamp;
+            this.typeCheck = typeCheck;
+            this.operation = operation;
+        }
+
+        boolean isStale() {
+            return leftType.getVersionStamp() != leftVersionStamp || rightType.getVersionStamp() != rightVersionStamp;
+        }
+    }
+}
@@ -1,8 +1,8 @@
 package org.optaplanner.jpyinterpreter.implementors;
 
-import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -19,7 +19,10 @@ import org.optaplanner.jpyinterpreter.PythonLikeObject;
 import org.optaplanner.jpyinterpreter.PythonTernaryOperators;
 import org.optaplanner.jpyinterpreter.PythonUnaryOperator;
 import org.optaplanner.jpyinterpreter.StackMetadata;
+import org.optaplanner.jpyinterpreter.types.BuiltinTypes;
+import org.optaplanner.jpyinterpreter.types.PythonLikeType;
 import org.optaplanner.jpyinterpreter.types.PythonSlice;
+import org.optaplanner.jpyinterpreter.types.collections.PythonIterator;
 import org.optaplanner.jpyinterpreter.types.collections.PythonLikeList;
 import org.optaplanner.jpyinterpreter.types.collections.PythonLikeTuple;
 import org.optaplanner.jpyinterpreter.types.errors.StopIteration;
@@ -36,19 +39,39 @@ public class CollectionImplementor {
      * Jump relatively by the instruction argument and pop TOS. Otherwise,
      * leave TOS below TOS' and go to the next instruction.
      *
+     * If TOS is a {@link Iterator} (i.e. a {@link PythonIterator} or a generator), {@link Iterator#hasNext()}
+     * is used to detect exhaustion instead, so no exception handler is needed and the stack does not need
+     * to be stored. This is checked at runtime unless the type of TOS is known.
+     *
      * Note: {@link StopIteration} does not fill its stack trace, which make it much more efficient than
      * normal exceptions.
      */
     public static void iterateIterator(MethodVisitor methodVisitor, int jumpTarget,
             StackMetadata stackMetadata,
             FunctionMetadata functionMetadata) {
-        Label tryStartLabel = new Label();
-        Label tryEndLabel = new Label();
-        Label catchStartLabel = new Label();
-        Label catchEndLabel = new Label();
         Label loopEndLabel =
                 functionMetadata.bytecodeCounterToLabelMap.computeIfAbsent(jumpTarget,
                         key -> new Label());
+        Label hasNextLabel = new Label();
+
+        PythonLikeType iteratorType = stackMetadata.getTOSType();
+        if (iteratorType == BuiltinTypes.ITERATOR_TYPE || iteratorType == BuiltinTypes.GENERATOR_TYPE) {
+            iterateJavaIterator(methodVisitor, loopEndLabel, hasNextLabel);
+            methodVisitor.visitLabel(hasNextLabel);
+            return;
+        }
+
+        Label notJavaIteratorLabel = new Label();
+        methodVisitor.visitInsn(Opcodes.DUP);
+        methodVisitor.visitTypeInsn(Opcodes.INSTANCEOF, Type.getInternalName(Iterator.class));
+        methodVisitor.visitJumpInsn(Opcodes.IFEQ, notJavaIteratorLabel);
+        iterateJavaIterator(methodVisitor, loopEndLabel, hasNextLabel);
+
+        methodVisitor.visitLabel(notJavaIteratorLabel);
+
+        Label tryStartLabel = new Label();
+        Label tryEndLabel = new Label();
+        Label catchStartLabel = new Label();
 
         int[] storedStack = StackManipulationImplementor.storeStack(methodVisitor, stackMetadata);
 
@@ -60,19 +83,40 @@ public class CollectionImplementor {
         methodVisitor.visitInsn(Opcodes.DUP);
         DunderOperatorImplementor.unaryOperator(methodVisitor, PythonUnaryOperator.NEXT);
         methodVisitor.visitLabel(tryEndLabel);
-        methodVisitor.visitJumpInsn(Opcodes.GOTO, catchEndLabel);
+        methodVisitor.visitJumpInsn(Opcodes.GOTO, hasNextLabel);
 
         methodVisitor.visitLabel(catchStartLabel);
         methodVisitor.visitInsn(Opcodes.POP);
+        StackManipulationImplementor.restoreStack(methodVisitor, stackMetadata, storedStack);
+        methodVisitor.visitInsn(Opcodes.POP);
+        methodVisitor.visitJumpInsn(Opcodes.GOTO, loopEndLabel);
+
+        methodVisitor.visitLabel(hasNextLabel);
+    }
+
+    /**
+     * TOS is a {@link Iterator}; if it has a next item, push it and jump to {@code hasNextLabel}.
+     * Otherwise, pop TOS and jump to {@code loopEndLabel}.
+     */
+    private static void iterateJavaIterator(MethodVisitor methodVisitor, Label loopEndLabel, Label hasNextLabel) {
+        Label exhaustedLabel = new Label();
+
+        methodVisitor.visitInsn(Opcodes.DUP);
+        methodVisitor.visitTypeInsn(Opcodes.CHECKCAST, Type.getInternalName(Iterator.class));
+        methodVisitor.visitMethodInsn(Opcodes.INVOKEINTERFACE, Type.getInternalName(Iterator.class),
+                "hasNext", Type.getMethodDescriptor(Type.BOOLEAN_TYPE), true);
+        methodVisitor.visitJumpInsn(Opcodes.IFEQ, exhaustedLabel);
+
+        methodVisitor.visitInsn(Opcodes.DUP);
+        methodVisitor.visitTypeInsn(Opcodes.CHECKCAST, Type.getInternalName(Iterator.class));
+        methodVisitor.visitMethodInsn(Opcodes.INVOKEINTERFACE, Type.getInternalName(Iterator.class),
+                "next", Type.getMethodDescriptor(Type.getType(Object.class)), true);
+        methodVisitor.visitTypeInsn(Opcodes.CHECKCAST, Type.getInternalName(PythonLikeObject.class));
+        methodVisitor.visitJumpInsn(Opcodes.GOTO, hasNextLabel);
+
+        methodVisitor.visitLabel(exhaustedLabel);
+        methodVisitor.visitInsn(Opcodes.POP);
         methodVisitor.visitJumpInsn(Opcodes.GOTO, loopEndLabel);
-        methodVisitor.visitLabel(catchEndLabel);
-
-        functionMetadata.bytecodeCounterToCodeArgumenterList
-                .computeIfAbsent(jumpTarget, key -> new ArrayList<>())
-                .add(() -> {
-                    StackManipulationImplementor.restoreStack(methodVisitor, stackMetadata, storedStack);
-                    methodVisitor.visitInsn(Opcodes.POP);
-                });
     }
 
     /**
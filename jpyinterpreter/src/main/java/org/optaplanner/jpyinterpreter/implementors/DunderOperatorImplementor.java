@@ -1,10 +1,13 @@
 package org.optaplanner.jpyinterpreter.implementors;
 
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 
+import org.objectweb.asm.Handle;
 import org.objectweb.asm.Label;
 import org.objectweb.asm.MethodVisitor;
 import org.objectweb.asm.Opcodes;
@@ -32,6 +35,26 @@ import org.optaplanner.jpyinterpreter.types.errors.TypeError;
  */
 public class DunderOperatorImplementor {
 
+    /**
+     * Set to false to look up the dunder methods of dynamically typed binary operators on every call
+     * instead of caching them per call site in a {@link BinaryOperatorCallSite}.
+     */
+    private static volatile boolean useBinaryOperatorInlineCaches = true;
+
+    public static boolean isUseBinaryOperatorInlineCaches() {
+        return useBinaryOperatorInlineCaches;
+    }
+
+    /**
+     * Only affects bytecode translated after the call.
+     *
+     * @param useBinaryOperatorInlineCaches true to cache the dunder methods of dynamically typed binary operators
+     *        per call site, false to look them up on every call
+     */
+    public static void setUseBinaryOperatorInlineCaches(boolean useBinaryOperatorInlineCaches) {
+        DunderOperatorImplementor.useBinaryOperatorInlineCaches = useBinaryOperatorInlineCaches;
+    }
+
     public static void unaryOperator(MethodVisitor methodVisitor, StackMetadata stackMetadata, PythonUnaryOperator operator) {
         PythonLikeType operand = Optional.ofNullable(stackMetadata.getTOSType()).orElse(BuiltinTypes.BASE_TYPE);
 
@@ -331,6 +354,18 @@ public class DunderOperatorImplementor {
      */
     public static void binaryOperator(MethodVisitor methodVisitor, LocalVariableHelper localVariableHelper,
             PythonBinaryOperators operator) {
+        if (useBinaryOperatorInlineCaches) {
+            methodVisitor.visitInvokeDynamicInsn(operator.name(),
+                    Type.getMethodDescriptor(Type.getType(PythonLikeObject.class),
+                            Type.getType(PythonLikeObject.class), Type.getType(PythonLikeObject.class)),
+                    new Handle(Opcodes.H_INVOKESTATIC, Type.getInternalName(BinaryOperatorCallSite.class),
+                            "bootstrap", Type.getMethodDescriptor(Type.getType(BinaryOperatorCallSite.class),
+                                    Type.getType(MethodHandles.Lookup.class), Type.getType(String.class),
+                                    Type.getType(MethodType.class)),
+                            false));
+            return;
+        }
+
         Label noLeftMethod = new Label();
         methodVisitor.visitInsn(Opcodes.DUP2);
         if (operator.hasRightDunderMethod() || operator.getFallbackOperation().isPresent()) {
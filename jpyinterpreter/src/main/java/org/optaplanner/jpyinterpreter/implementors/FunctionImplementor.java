@@ -2,6 +2,7 @@ package org.optaplanner.jpyinterpreter.implementors;
 
 import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
@@ -53,17 +54,8 @@ public class FunctionImplementor {
         methodVisitor.visitInsn(Opcodes.POP);
         methodVisitor.visitInsn(Opcodes.SWAP);
 
-        CollectionImplementor.buildCollection(PythonLikeTuple.class, methodVisitor, 2);
-        methodVisitor.visitMethodInsn(Opcodes.INVOKESTATIC, Type.getInternalName(Collections.class), "emptyMap",
-                Type.getMethodDescriptor(Type.getType(Map.class)),
-                false);
         getCallerInstance(functionMetadata, stackMetadata);
-        methodVisitor.visitMethodInsn(Opcodes.INVOKEINTERFACE, Type.getInternalName(PythonLikeFunction.class),
-                "$call", Type.getMethodDescriptor(Type.getType(PythonLikeObject.class),
-                        Type.getType(List.class),
-                        Type.getType(Map.class),
-                        Type.getType(PythonLikeObject.class)),
-                true);
+        callFixedArity(methodVisitor, 2);
     }
 
     public static void callBinaryMethod(MethodVisitor methodVisitor, String methodName) {
@@ -81,17 +73,8 @@ public class FunctionImplementor {
         methodVisitor.visitInsn(Opcodes.POP);
         methodVisitor.visitInsn(Opcodes.SWAP);
 
-        CollectionImplementor.buildCollection(PythonLikeTuple.class, methodVisitor, 2);
-        methodVisitor.visitMethodInsn(Opcodes.INVOKESTATIC, Type.getInternalName(Collections.class), "emptyMap",
-                Type.getMethodDescriptor(Type.getType(Map.class)),
-                false);
         methodVisitor.visitInsn(Opcodes.ACONST_NULL);
-        methodVisitor.visitMethodInsn(Opcodes.INVOKEINTERFACE, Type.getInternalName(PythonLikeFunction.class),
-                "$call", Type.getMethodDescriptor(Type.getType(PythonLikeObject.class),
-                        Type.getType(List.class),
-                        Type.getType(Map.class),
-                        Type.getType(PythonLikeObject.class)),
-                true);
+        callFixedArity(methodVisitor, 2);
     }
 
     /**
@@ -503,6 +486,12 @@ public class FunctionImplementor {
 
     public static void callGenericFunction(MethodVisitor methodVisitor, int argCount) {
         // stack is callable, arg0, arg1, ..., arg(argc - 1)
+        if (argCount <= PythonLikeFunction.MAX_FIXED_ARITY) {
+            methodVisitor.visitInsn(Opcodes.ACONST_NULL);
+            callFixedArity(methodVisitor, argCount);
+            return;
+        }
+
         CollectionImplementor.buildCollection(PythonLikeTuple.class, methodVisitor, argCount);
         methodVisitor.visitMethodInsn(Opcodes.INVOKESTATIC, Type.getInternalName(Collections.class), "emptyMap",
                 Type.getMethodDescriptor(Type.getType(Map.class)),
@@ -523,6 +512,12 @@ public class FunctionImplementor {
             StackMetadata stackMetadata,
             MethodVisitor methodVisitor, int argCount) {
         // stack is callable, arg0, arg1, ..., arg(argc - 1)
+        if (argCount <= PythonLikeFunction.MAX_FIXED_ARITY) {
+            getCallerInstance(functionMetadata, stackMetadata);
+            callFixedArity(methodVisitor, argCount);
+            return;
+        }
+
         CollectionImplementor.buildCollection(PythonLikeTuple.class, methodVisitor, argCount);
         methodVisitor.visitMethodInsn(Opcodes.INVOKESTATIC, Type.getInternalName(Collections.class), "emptyMap",
                 Type.getMethodDescriptor(Type.getType(Map.class)),
@@ -650,6 +645,26 @@ public class FunctionImplementor {
         }
     }
 
+    /**
+     * Calls the fixed-arity call method for {@code argCount} positional arguments.
+     * The stack must be callable, arg0, arg1, ..., arg(argc - 1), callerInstance.
+     */
+    private static void callFixedArity(MethodVisitor methodVisitor, int argCount) {
+        methodVisitor.visitMethodInsn(Opcodes.INVOKEINTERFACE, Type.getInternalName(PythonLikeFunction.class),
+                getFixedArityCallMethodName(argCount), getFixedArityCallMethodDescriptor(argCount),
+                true);
+    }
+
+    public static String getFixedArityCallMethodName(int argCount) {
+        return "$call" + argCount;
+    }
+
+    public static String getFixedArityCallMethodDescriptor(int argCount) {
+        Type[] parameterTypes = new Type[argCount + 1];
+        Arrays.fill(parameterTypes, Type.getType(PythonLikeObject.class));
+        return Type.getMethodDescriptor(Type.getType(PythonLikeObject.class), parameterTypes);
+    }
+
     private static void getCallerInstance(FunctionMetadata functionMetadata, StackMetadata stackMetadata) {
         MethodVisitor methodVisitor = functionMetadata.methodVisitor;
 
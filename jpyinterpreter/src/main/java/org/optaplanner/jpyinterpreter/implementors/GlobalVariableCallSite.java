@@ -0,0 +1,121 @@
+package org.optaplanner.jpyinterpreter.implementors;
+
+import java.lang.invoke.ConstantCallSite;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.optaplanner.jpyinterpreter.PythonInterpreter;
+import org.optaplanner.jpyinterpreter.PythonLikeObject;
+
+/**
+ * A cache for the value of a global variable, used by each LOAD_GLOBAL emitted by
+ * {@link VariableImplementor#loadGlobalVariable}.
+ * <p>
+ * All caches share a single version number. Storing or deleting a global variable (and anything else that
+ * changes a globals map) must call {@link #invalidateAll()}, which bumps the version so every cache does a full
+ * lookup on its next load. A cache is only used for the interpreter and globals map that filled it.
+ * Loads from a globals map passed to {@link #disableCaching(Map)} are never cached.
+ */
+public final class GlobalVariableCallSite extends ConstantCallSite {
+    private static final AtomicLong globalsVersion = new AtomicLong();
+
+    // Compared by identity, since globals maps with the same content are still different modules
+    private static final Set<Map<String, PythonLikeObject>> uncacheableGlobalsMapSet =
+            Collections.synchronizedSet(Collections.newSetFromMap(new IdentityHashMap<>()));
+    // So loads do not lock uncacheableGlobalsMapSet until a globals map escapes
+    private static volatile boolean hasUncacheableGlobalsMap = false;
+
+    private static final MethodHandle LOAD;
+    private static final MethodHandle CREATE_TARGET;
+
+    static {
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            LOAD = lookup.findVirtual(GlobalVariableCallSite.class, "load",
+                    MethodType.methodType(PythonLikeObject.class, PythonInterpreter.class, Map.class));
+            CREATE_TARGET = lookup.findStatic(GlobalVariableCallSite.class, "createTarget",
+                    MethodType.methodType(MethodHandle.class, GlobalVariableCallSite.class))
+                    .asType(MethodType.methodType(MethodHandle.class, ConstantCallSite.class));
+        } catch (NoSuchMethodException | IllegalAccessException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private final String globalName;
+    private volatile CacheEntry cacheEntry;
+
+    private GlobalVariableCallSite(String globalName, MethodType type) throws Throwable {
+        super(type, CREATE_TARGET);
+        this.globalName = globalName;
+    }
+
+    private static MethodHandle createTarget(GlobalVariableCallSite callSite) {
+        return LOAD.bindTo(callSite).asType(callSite.type());
+    }
+
+    /**
+     * Bootstrap method for the invokedynamic instruction; {@code name} is the name of the global variable to load.
+     */
+    public static GlobalVariableCallSite bootstrap(MethodHandles.Lookup caller, String name, MethodType type)
+            throws Throwable {
+        return new GlobalVariableCallSite(name, type);
+    }
+
+    /**
+     * Invalidates the cached value of every global variable.
+     */
+    public static void invalidateAll() {
+        globalsVersion.incrementAndGet();
+    }
+
+    /**
+     * Stops caching the global variables of {@code globalsMap}, since it was exposed to code that can modify it
+     * without calling {@link #invalidateAll()}. Global variables of other globals maps are still cached.
+     */
+    public static void disableCaching(Map<String, PythonLikeObject> globalsMap) {
+        // Added before invalidating, so the full lookup that follows the invalidation sees it
+        uncacheableGlobalsMapSet.add(globalsMap);
+        hasUncacheableGlobalsMap = true;
+        invalidateAll();
+    }
+
+    private static boolean isCacheable(Map<String, PythonLikeObject> globalsMap) {
+        return !hasUncacheableGlobalsMap || !uncacheableGlobalsMapSet.contains(globalsMap);
+    }
+
+    private PythonLikeObject load(PythonInterpreter interpreter, Map<String, PythonLikeObject> globalsMap) {
+        long version = globalsVersion.get();
+        CacheEntry entry = cacheEntry;
+        if (entry != null && entry.version == version && entry.interpreter == interpreter
+                && entry.globalsMap == globalsMap) {
+            return entry.value;
+        }
+
+        PythonLikeObject value = interpreter.getGlobal(globalsMap, globalName);
+        if (isCacheable(globalsMap)) {
+            cacheEntry = new CacheEntry(version, interpreter, globalsMap, value);
+        }
+        return value;
+    }
+
+    private static final class CacheEntry {
+        final long version;
+        final PythonInterpreter interpreter;
+        final Map<String, PythonLikeObject> globalsMap;
+        final PythonLikeObject value;
+
+        CacheEntry(long version, PythonInterpreter interpreter, Map<String, PythonLikeObject> globalsMap,
+                PythonLikeObject value) {
+            this.version = version;
+            this.interpreter = interpreter;
+            this.globalsMap = globalsMap;
+            this.value = value;
+        }
+    }
+}
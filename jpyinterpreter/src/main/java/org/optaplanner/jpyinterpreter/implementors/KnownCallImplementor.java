@@ -195,7 +195,7 @@ public class KnownCallImplementor {
                 methodVisitor.visitInsn(Opcodes.SWAP);
                 methodVisitor.visitLdcInsn(keywordArgument);
                 methodVisitor.visitMethodInsn(Opcodes.INVOKESTATIC, Type.getInternalName(PythonString.class),
-                        "valueOf", Type.getMethodDescriptor(Type.getType(PythonString.class),
+                        "intern", Type.getMethodDescriptor(Type.getType(PythonString.class),
                                 Type.getType(String.class)),
                         false);
                 methodVisitor.visitInsn(Opcodes.SWAP);
@@ -0,0 +1,703 @@
+package org.optaplanner.jpyinterpreter.implementors;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.IntPredicate;
+
+import org.objectweb.asm.Label;
+import org.objectweb.asm.MethodVisitor;
+import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.Type;
+import org.optaplanner.jpyinterpreter.CompareOp;
+import org.optaplanner.jpyinterpreter.FunctionMetadata;
+import org.optaplanner.jpyinterpreter.LocalVariableHelper;
+import org.optaplanner.jpyinterpreter.PythonBinaryOperators;
+import org.optaplanner.jpyinterpreter.PythonBytecodeInstruction;
+import org.optaplanner.jpyinterpreter.PythonLikeObject;
+import org.optaplanner.jpyinterpreter.StackMetadata;
+import org.optaplanner.jpyinterpreter.dag.FlowGraph;
+import org.optaplanner.jpyinterpreter.opcodes.Opcode;
+import org.optaplanner.jpyinterpreter.opcodes.collection.GetIterOpcode;
+import org.optaplanner.jpyinterpreter.opcodes.controlflow.ForIterOpcode;
+import org.optaplanner.jpyinterpreter.opcodes.dunder.BinaryDunderOpcode;
+import org.optaplanner.jpyinterpreter.opcodes.dunder.CompareOpcode;
+import org.optaplanner.jpyinterpreter.opcodes.variable.DeleteFastOpcode;
+import org.optaplanner.jpyinterpreter.opcodes.variable.LoadConstantOpcode;
+import org.optaplanner.jpyinterpreter.opcodes.variable.LoadFastOpcode;
+import org.optaplanner.jpyinterpreter.opcodes.variable.StoreFastOpcode;
+import org.optaplanner.jpyinterpreter.types.AbstractPythonLikeObject;
+import org.optaplanner.jpyinterpreter.types.BuiltinTypes;
+import org.optaplanner.jpyinterpreter.types.PythonLikeType;
+import org.optaplanner.jpyinterpreter.types.PythonRange;
+import org.optaplanner.jpyinterpreter.types.numeric.PythonBoolean;
+import org.optaplanner.jpyinterpreter.types.numeric.PythonFloat;
+import org.optaplanner.jpyinterpreter.types.numeric.PythonInteger;
+
+/**
+ * Implementations of int and float expressions using unboxed JVM longs and doubles.
+ * <p>
+ * An unboxed region is a straight line run of opcodes that only loads locals and constants and
+ * adds, subtracts, multiplies or compares them, where flow analysis proved every value is an int or a float.
+ * The region is computed with LADD/DADD/LCMP/... and only its result is boxed.
+ * If a local turns out not to be an exact int (that fits in a long) or float at runtime,
+ * or a long operation overflows, the (side effect free) region is re-evaluated using the boxed opcodes.
+ * <p>
+ * A region can also end by storing its result in a local variable that flow analysis proved is always an int or
+ * always a float (see {@link #allocateUnboxedLocals}). Such a local keeps its value in a long or double slot, and its
+ * Python slot holds {@link #UNBOXED_LOCAL} while it does. Regions read the unboxed value directly; every other read
+ * of the local (call arguments, returns, stores to attributes or collections, ...) boxes it.
+ * A FOR_ITER over a range that stores its item in such a local counts in the long slot.
+ */
+public class UnboxedArithmeticImplementor {
+
+    /**
+     * Set to false to always use the boxed implementation of int and float operations.
+     */
+    public static boolean USE_UNBOXED_ARITHMETIC = true;
+
+    /**
+     * Stored in the Python slot of a local variable whose value is in its unboxed slot
+     */
+    public static final PythonLikeObject UNBOXED_LOCAL = new AbstractPythonLikeObject(BuiltinTypes.BASE_TYPE) {
+    };
+
+    private enum ValueKind {
+        LONG,
+        DOUBLE,
+        BOOLEAN;
+
+        int getSize() {
+            return (this == BOOLEAN) ? 1 : 2;
+        }
+
+        Type getType() {
+            switch (this) {
+                case LONG:
+                    return Type.LONG_TYPE;
+                case DOUBLE:
+                    return Type.DOUBLE_TYPE;
+                default:
+                    return Type.BOOLEAN_TYPE;
+            }
+        }
+    }
+
+    /**
+     * Finds the local variables that flow analysis proved are always an int or always a float,
+     * and that are assigned the result of an int or float operation at least once; gives each of them a long or
+     * double slot in {@code localVariableHelper}, and initializes it.
+     * Parameters, cell variables and deleted variables are always boxed.
+     */
+    public static void allocateUnboxedLocals(FunctionMetadata functionMetadata, FlowGraph flowGraph,
+            LocalVariableHelper localVariableHelper) {
+        if (!USE_UNBOXED_ARITHMETIC) {
+            return;
+        }
+
+        List<PythonBytecodeInstruction> instructionList = functionMetadata.pythonCompiledFunction.instructionList;
+        Map<Integer, PythonLikeType> localToType = new HashMap<>();
+        Set<Integer> boxedLocalSet = new HashSet<>(localVariableHelper.boundCellIndexToVariableIndex.values());
+        Set<Integer> computedLocalSet = new HashSet<>();
+
+        flowGraph.visitOperations(LoadFastOpcode.class, (opcode, stackMetadata) -> {
+            int local = instructionList.get(opcode.getBytecodeIndex()).arg;
+            addLocalType(localToType, boxedLocalSet, local, stackMetadata.getLocalVariableType(local));
+        });
+        flowGraph.visitOperations(StoreFastOpcode.class, (opcode, stackMetadata) -> {
+            int local = instructionList.get(opcode.getBytecodeIndex()).arg;
+            addLocalType(localToType, boxedLocalSet, local, stackMetadata.getTOSType());
+            for (Opcode sourceOpcode : stackMetadata.getTOSValueSource().getPossibleSourceOpcodeSet()) {
+                if (sourceOpcode instanceof BinaryDunderOpcode
+                        && isUnboxedOperator(((BinaryDunderOpcode) sourceOpcode).getOperator())) {
+                    computedLocalSet.add(local);
+                }
+                // FOR_ITER only pushes an int when iterating over a range
+                if (sourceOpcode instanceof ForIterOpcode && stackMetadata.getTOSType() == BuiltinTypes.INT_TYPE) {
+                    computedLocalSet.add(local);
+                }
+            }
+        });
+        flowGraph.visitOperations(DeleteFastOpcode.class, (opcode, stackMetadata) -> {
+            boxedLocalSet.add(instructionList.get(opcode.getBytecodeIndex()).arg);
+        });
+
+        MethodVisitor methodVisitor = functionMetadata.methodVisitor;
+        for (int local = localVariableHelper.argcount; local < localVariableHelper.getNumberOfLocalVariables(); local++) {
+            if (boxedLocalSet.contains(local) || !computedLocalSet.contains(local)) {
+                continue;
+            }
+            // Each long or double needs two slots
+            int slot = localVariableHelper.newLocal();
+            localVariableHelper.newLocal();
+            if (localToType.get(local) == BuiltinTypes.INT_TYPE) {
+                localVariableHelper.setUnboxedLocal(local, slot, Type.LONG_TYPE);
+                methodVisitor.visitInsn(Opcodes.LCONST_0);
+                methodVisitor.visitVarInsn(Opcodes.LSTORE, slot);
+            } else {
+                localVariableHelper.setUnboxedLocal(local, slot, Type.DOUBLE_TYPE);
+                methodVisitor.visitInsn(Opcodes.DCONST_0);
+                methodVisitor.visitVarInsn(Opcodes.DSTORE, slot);
+            }
+        }
+    }
+
+    private static void addLocalType(Map<Integer, PythonLikeType> localToType, Set<Integer> boxedLocalSet, int local,
+            PythonLikeType type) {
+        if ((type != BuiltinTypes.INT_TYPE && type != BuiltinTypes.FLOAT_TYPE)
+                || localToType.getOrDefault(local, type) != type) {
+            boxedLocalSet.add(local);
+        } else {
+            localToType.put(local, type);
+        }
+    }
+
+    /**
+     * The Python slot of the local variable {@code local} is on TOS; replaces it with the boxed value of the local.
+     */
+    public static void boxUnboxedLocal(MethodVisitor methodVisitor, LocalVariableHelper localVariableHelper,
+            int local) {
+        Label isBoxed = new Label();
+        methodVisitor.visitInsn(Opcodes.DUP);
+        methodVisitor.visitFieldInsn(Opcodes.GETSTATIC, Type.getInternalName(UnboxedArithmeticImplementor.class),
+                "UNBOXED_LOCAL", Type.getDescriptor(PythonLikeObject.class));
+        methodVisitor.visitJumpInsn(Opcodes.IF_ACMPNE, isBoxed);
+        methodVisitor.visitInsn(Opcodes.POP);
+        Type unboxedType = localVariableHelper.getUnboxedLocalType(local);
+        methodVisitor.visitVarInsn(unboxedType.getOpcode(Opcodes.ILOAD), localVariableHelper.getUnboxedLocalSlot(local));
+        box(methodVisitor, unboxedType.equals(Type.LONG_TYPE) ? ValueKind.LONG : ValueKind.DOUBLE);
+        methodVisitor.visitLabel(isBoxed);
+    }
+
+    /**
+     * Stores the long or double on TOS in the unboxed slot of the local variable {@code local}.
+     */
+    private static void storeUnboxedLocal(MethodVisitor methodVisitor, LocalVariableHelper localVariableHelper,
+            int local) {
+        int slot = localVariableHelper.getUnboxedLocalSlot(local);
+        methodVisitor.visitVarInsn(localVariableHelper.getUnboxedLocalType(local).getOpcode(Opcodes.ISTORE), slot);
+        methodVisitor.visitFieldInsn(Opcodes.GETSTATIC, Type.getInternalName(UnboxedArithmeticImplementor.class),
+                "UNBOXED_LOCAL", Type.getDescriptor(PythonLikeObject.class));
+        methodVisitor.visitVarInsn(Opcodes.ASTORE, localVariableHelper.getPythonLocalVariableSlot(local));
+    }
+
+    /**
+     * Returns the index of the last opcode of the largest unboxed region starting at {@code startIndex},
+     * or -1 if there is no unboxed region starting at {@code startIndex}.
+     *
+     * @param hasCodeAttachedToOffset true if the translator emits code (labels, exception handlers, ...) before the
+     *        instruction at the given offset, which prevents that instruction from being inside a region
+     */
+    public static int findUnboxedRegionEnd(FunctionMetadata functionMetadata,
+            List<StackMetadata> stackMetadataForOpcodeIndex, List<Opcode> opcodeList, int startIndex,
+            IntPredicate hasCodeAttachedToOffset) {
+        if (!USE_UNBOXED_ARITHMETIC) {
+            return -1;
+        }
+
+        List<PythonBytecodeInstruction> instructionList = functionMetadata.pythonCompiledFunction.instructionList;
+        if (opcodeList.get(startIndex) instanceof ForIterOpcode) {
+            return isUnboxedRangeIteration(stackMetadataForOpcodeIndex, opcodeList, instructionList, startIndex,
+                    hasCodeAttachedToOffset) ? startIndex + 1 : -1;
+        }
+
+        List<PythonLikeType> typeStack = new ArrayList<>();
+        int regionEnd = -1;
+
+        for (int i = startIndex; i < opcodeList.size() - 1; i++) {
+            PythonBytecodeInstruction instruction = instructionList.get(i);
+            if (i != startIndex && (instruction.isJumpTarget || hasCodeAttachedToOffset.test(instruction.offset))) {
+                break;
+            }
+
+            StackMetadata stackMetadataAfter = stackMetadataForOpcodeIndex.get(i + 1);
+            if (stackMetadataForOpcodeIndex.get(i).isDeadCode() || stackMetadataAfter.isDeadCode()) {
+                break;
+            }
+
+            Opcode opcode = opcodeList.get(i);
+            if (opcode instanceof StoreFastOpcode) {
+                // Storing the result in an unboxed local ends a region
+                Type unboxedType = stackMetadataAfter.localVariableHelper.getUnboxedLocalType(instruction.arg);
+                if (typeStack.size() == 1 && unboxedType != null
+                        && unboxedType.equals(getValueKind(typeStack.get(0)).getType())) {
+                    regionEnd = i;
+                }
+                break;
+            }
+
+            if (stackMetadataAfter.getStackSize() == 0) {
+                break;
+            }
+
+            PythonLikeType resultType = stackMetadataAfter.getTOSType();
+            if (opcode instanceof LoadFastOpcode) {
+                if (resultType != BuiltinTypes.INT_TYPE && resultType != BuiltinTypes.FLOAT_TYPE) {
+                    break;
+                }
+                typeStack.add(resultType);
+            } else if (opcode instanceof LoadConstantOpcode) {
+                PythonLikeType constantType = getUnboxedConstantType(functionMetadata, instruction);
+                if (constantType == null) {
+                    break;
+                }
+                typeStack.add(constantType);
+            } else if (opcode instanceof BinaryDunderOpcode) {
+                if (typeStack.size() < 2 || !isUnboxedOperator(((BinaryDunderOpcode) opcode).getOperator())) {
+                    break;
+                }
+                PythonLikeType rightType = typeStack.remove(typeStack.size() - 1);
+                PythonLikeType leftType = typeStack.remove(typeStack.size() - 1);
+                PythonLikeType expectedType = (leftType == BuiltinTypes.INT_TYPE && rightType == BuiltinTypes.INT_TYPE)
+                        ? BuiltinTypes.INT_TYPE
+                        : BuiltinTypes.FLOAT_TYPE;
+                if (resultType != expectedType) {
+                    break;
+                }
+                typeStack.add(resultType);
+                if (typeStack.size() == 1) {
+                    regionEnd = i;
+                }
+            } else if (opcode instanceof CompareOpcode) {
+                // A comparison always ends a region; mixed int/float comparisons are exact in Python, so they are
+                // left to the boxed implementation
+                if (typeStack.size() == 2 && typeStack.get(0) == typeStack.get(1)
+                        && resultType == BuiltinTypes.BOOLEAN_TYPE) {
+                    regionEnd = i;
+                }
+                break;
+            } else {
+                break;
+            }
+        }
+
+        return regionEnd;
+    }
+
+    /**
+     * Returns true if the FOR_ITER at {@code forIterIndex} iterates over a range and is followed by a STORE_FAST to an
+     * unboxed int local, so the item can be stored without boxing it.
+     */
+    private static boolean isUnboxedRangeIteration(List<StackMetadata> stackMetadataForOpcodeIndex,
+            List<Opcode> opcodeList, List<PythonBytecodeInstruction> instructionList, int forIterIndex,
+            IntPredicate hasCodeAttachedToOffset) {
+        if (forIterIndex + 2 >= opcodeList.size() || !(opcodeList.get(forIterIndex + 1) instanceof StoreFastOpcode)) {
+            return false;
+        }
+        PythonBytecodeInstruction storeInstruction = instructionList.get(forIterIndex + 1);
+        if (storeInstruction.isJumpTarget || hasCodeAttachedToOffset.test(storeInstruction.offset)) {
+            return false;
+        }
+        StackMetadata stackMetadata = stackMetadataForOpcodeIndex.get(forIterIndex);
+        if (stackMetadataForOpcodeIndex.get(forIterIndex + 1).isDeadCode()
+                || !GetIterOpcode.isRangeIterator(stackMetadata.getTOSValueSource())) {
+            return false;
+        }
+        return Type.LONG_TYPE.equals(stackMetadata.localVariableHelper.getUnboxedLocalType(storeInstruction.arg));
+    }
+
+    private static PythonLikeType getUnboxedConstantType(FunctionMetadata functionMetadata,
+            PythonBytecodeInstruction instruction) {
+        PythonLikeObject constant = functionMetadata.pythonCompiledFunction.co_constants.get(instruction.arg);
+        if (constant.getClass() == PythonInteger.class && ((PythonInteger) constant).fitsInLong()) {
+            return BuiltinTypes.INT_TYPE;
+        }
+        if (constant.getClass() == PythonFloat.class) {
+            return BuiltinTypes.FLOAT_TYPE;
+        }
+        return null;
+    }
+
+    private static boolean isUnboxedOperator(PythonBinaryOperators operator) {
+        switch (operator) {
+            case ADD:
+            case INPLACE_ADD:
+            case SUBTRACT:
+            case INPLACE_SUBTRACT:
+            case MULTIPLY:
+            case INPLACE_MULTIPLY:
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    private static ValueKind getValueKind(PythonLikeType type) {
+        return (type == BuiltinTypes.INT_TYPE) ? ValueKind.LONG : ValueKind.DOUBLE;
+    }
+
+    /**
+     * Implements the opcodes from {@code startIndex} to {@code endIndex} (inclusive), which must be a region
+     * returned by {@link #findUnboxedRegionEnd}.
+     */
+    public static void implementUnboxedRegion(FunctionMetadata functionMetadata,
+            List<StackMetadata> stackMetadataForOpcodeIndex, List<Opcode> opcodeList, int startIndex, int endIndex) {
+        if (opcodeList.get(startIndex) instanceof ForIterOpcode) {
+            implementUnboxedRangeIteration(functionMetadata, stackMetadataForOpcodeIndex, opcodeList, startIndex);
+            return;
+        }
+
+        MethodVisitor methodVisitor = functionMetadata.methodVisitor;
+        LocalVariableHelper localVariableHelper = stackMetadataForOpcodeIndex.get(startIndex).localVariableHelper;
+        List<PythonBytecodeInstruction> instructionList = functionMetadata.pythonCompiledFunction.instructionList;
+
+        Label boxedImplementation = new Label();
+        Label done = new Label();
+        List<Label> bailoutLabelList = new ArrayList<>();
+        List<List<ValueKind>> bailoutStackList = new ArrayList<>();
+
+        // Each long operand needs two slots
+        int leftTemp = localVariableHelper.newLocal();
+        localVariableHelper.newLocal();
+        int rightTemp = localVariableHelper.newLocal();
+        localVariableHelper.newLocal();
+        int resultTemp = localVariableHelper.newLocal();
+        localVariableHelper.newLocal();
+
+        List<ValueKind> kindStack = new ArrayList<>();
+        for (int i = startIndex; i <= endIndex; i++) {
+            Opcode opcode = opcodeList.get(i);
+            if (opcode instanceof LoadFastOpcode) {
+                PythonLikeType resultType = stackMetadataForOpcodeIndex.get(i + 1).getTOSType();
+                Label bailout = newBailout(bailoutLabelList, bailoutStackList, kindStack);
+                int local = instructionList.get(i).arg;
+                Label loaded = new Label();
+                methodVisitor.visitVarInsn(Opcodes.ALOAD, localVariableHelper.getPythonLocalVariableSlot(local));
+                if (localVariableHelper.getUnboxedLocalType(local) != null) {
+                    Label isBoxed = new Label();
+                    methodVisitor.visitInsn(Opcodes.DUP);
+                    methodVisitor.visitFieldInsn(Opcodes.GETSTATIC,
+                            Type.getInternalName(UnboxedArithmeticImplementor.class),
+                            "UNBOXED_LOCAL", Type.getDescriptor(PythonLikeObject.class));
+                    methodVisitor.visitJumpInsn(Opcodes.IF_ACMPNE, isBoxed);
+                    methodVisitor.visitInsn(Opcodes.POP);
+                    methodVisitor.visitVarInsn(localVariableHelper.getUnboxedLocalType(local).getOpcode(Opcodes.ILOAD),
+                            localVariableHelper.getUnboxedLocalSlot(local));
+                    methodVisitor.visitJumpInsn(Opcodes.GOTO, loaded);
+                    methodVisitor.visitLabel(isBoxed);
+                }
+                methodVisitor.visitInsn(Opcodes.DUP);
+                if (resultType == BuiltinTypes.INT_TYPE) {
+                    methodVisitor.visitMethodInsn(Opcodes.INVOKESTATIC,
+                            Type.getInternalName(UnboxedArithmeticImplementor.class), "isUnboxableInt",
+                            Type.getMethodDescriptor(Type.BOOLEAN_TYPE, Type.getType(Object.class)), false);
+                    // The bailout also needs to pop the boxed value
+                    bailoutStackList.get(bailoutStackList.size() - 1).add(null);
+                    methodVisitor.visitJumpInsn(Opcodes.IFEQ, bailout);
+                    methodVisitor.visitTypeInsn(Opcodes.CHECKCAST, Type.getInternalName(PythonInteger.class));
+                    methodVisitor.visitMethodInsn(Opcodes.INVOKEVIRTUAL, Type.getInternalName(PythonInteger.class),
+                            "longValue", Type.getMethodDescriptor(Type.LONG_TYPE), false);
+                } else {
+                    methodVisitor.visitMethodInsn(Opcodes.INVOKESTATIC,
+                            Type.getInternalName(UnboxedArithmeticImplementor.class), "isUnboxableFloat",
+                            Type.getMethodDescriptor(Type.BOOLEAN_TYPE, Type.getType(Object.class)), false);
+                    bailoutStackList.get(bailoutStackList.size() - 1).add(null);
+                    methodVisitor.visitJumpInsn(Opcodes.IFEQ, bailout);
+                    methodVisitor.visitTypeInsn(Opcodes.CHECKCAST, Type.getInternalName(PythonFloat.class));
+                    methodVisitor.visitFieldInsn(Opcodes.GETFIELD, Type.getInternalName(PythonFloat.class),
+                            "value", Type.DOUBLE_TYPE.getDescriptor());
+                }
+                methodVisitor.visitLabel(loaded);
+                kindStack.add(getValueKind(resultType));
+            } else if (opcode instanceof LoadConstantOpcode) {
+                PythonLikeObject constant =
+                        functionMetadata.pythonCompiledFunction.co_constants.get(instructionList.get(i).arg);
+                if (constant instanceof PythonInteger) {
+                    methodVisitor.visitLdcInsn(((PythonInteger) constant).longValue());
+                    kindStack.add(ValueKind.LONG);
+                } else {
+                    methodVisitor.visitLdcInsn(((PythonFloat) constant).value);
+                    kindStack.add(ValueKind.DOUBLE);
+                }
+            } else if (opcode instanceof BinaryDunderOpcode) {
+                ValueKind rightKind = kindStack.remove(kindStack.size() - 1);
+                ValueKind leftKind = kindStack.remove(kindStack.size() - 1);
+                PythonBinaryOperators operator = ((BinaryDunderOpcode) opcode).getOperator();
+                if (leftKind == ValueKind.LONG && rightKind == ValueKind.LONG) {
+                    Label bailout = newBailout(bailoutLabelList, bailoutStackList, kindStack);
+                    longOperation(methodVisitor, operator, leftTemp, rightTemp, resultTemp, bailout);
+                    kindStack.add(ValueKind.LONG);
+                } else {
+                    if (rightKind == ValueKind.LONG) {
+                        methodVisitor.visitInsn(Opcodes.L2D);
+                    } else if (leftKind == ValueKind.LONG) {
+                        // Swap the two double-word values, convert, swap back
+                        methodVisitor.visitInsn(Opcodes.DUP2_X2);
+                        methodVisitor.visitInsn(Opcodes.POP2);
+                        methodVisitor.visitInsn(Opcodes.L2D);
+                        methodVisitor.visitInsn(Opcodes.DUP2_X2);
+                        methodVisitor.visitInsn(Opcodes.POP2);
+                    }
+                    doubleOperation(methodVisitor, operator);
+                    kindStack.add(ValueKind.DOUBLE);
+                }
+            } else if (opcode instanceof CompareOpcode) {
+                ValueKind operandKind = kindStack.remove(kindStack.size() - 1);
+                kindStack.remove(kindStack.size() - 1);
+                compare(methodVisitor, CompareOp.getOp(instructionList.get(i).arg), operandKind);
+                kindStack.add(ValueKind.BOOLEAN);
+            } else if (opcode instanceof StoreFastOpcode) {
+                storeUnboxedLocal(methodVisitor, localVariableHelper, instructionList.get(i).arg);
+                kindStack.remove(kindStack.size() - 1);
+            } else {
+                throw new IllegalStateException("Opcode (" + opcode + ") cannot be in an unboxed region");
+            }
+        }
+
+        // A region that stores its result in an unboxed local has no result to box
+        boolean isResultStored = kindStack.isEmpty();
+        if (!isResultStored) {
+            box(methodVisitor, kindStack.get(0));
+        }
+        methodVisitor.visitJumpInsn(Opcodes.GOTO, done);
+
+        // Bailouts: discard the partially computed values, then evaluate the region using boxed values
+        for (int i = 0; i < bailoutLabelList.size(); i++) {
+            methodVisitor.visitLabel(bailoutLabelList.get(i));
+            List<ValueKind> bailoutStack = bailoutStackList.get(i);
+            for (int j = bailoutStack.size() - 1; j >= 0; j--) {
+                ValueKind kind = bailoutStack.get(j);
+                methodVisitor.visitInsn((kind == null || kind.getSize() == 1) ? Opcodes.POP : Opcodes.POP2);
+            }
+            methodVisitor.visitJumpInsn(Opcodes.GOTO, boxedImplementation);
+        }
+
+        methodVisitor.visitLabel(boxedImplementation);
+        for (int i = startIndex; i <= endIndex; i++) {
+            opcodeList.get(i).implement(functionMetadata, stackMetadataForOpcodeIndex.get(i));
+        }
+        if (!isResultStored) {
+            methodVisitor.visitTypeInsn(Opcodes.CHECKCAST,
+                    stackMetadataForOpcodeIndex.get(endIndex + 1).getTOSType().getJavaTypeInternalName());
+        }
+
+        methodVisitor.visitLabel(done);
+
+        for (int i = 0; i < 6; i++) {
+            localVariableHelper.freeLocal();
+        }
+    }
+
+    /**
+     * Implements a FOR_ITER over a range followed by a STORE_FAST to an unboxed int local (see
+     * {@link #isUnboxedRangeIteration}). The next item of a {@link PythonRange.LongRangeIterator} is stored
+     * directly in the long slot of the local; other iterators (of ranges that do not fit in a long) use the boxed
+     * opcodes.
+     */
+    private static void implementUnboxedRangeIteration(FunctionMetadata functionMetadata,
+            List<StackMetadata> stackMetadataForOpcodeIndex, List<Opcode> opcodeList, int forIterIndex) {
+        MethodVisitor methodVisitor = functionMetadata.methodVisitor;
+        ForIterOpcode forIterOpcode = (ForIterOpcode) opcodeList.get(forIterIndex);
+        StackMetadata stackMetadata = stackMetadataForOpcodeIndex.get(forIterIndex);
+        int local = functionMetadata.pythonCompiledFunction.instructionList.get(forIterIndex + 1).arg;
+
+        Label loopEnd = functionMetadata.bytecodeCounterToLabelMap.computeIfAbsent(forIterOpcode.getJumpTarget(),
+                key -> new Label());
+        Label notLongRange = new Label();
+        Label exhausted = new Label();
+        Label done = new Label();
+
+        methodVisitor.visitInsn(Opcodes.DUP);
+        methodVisitor.visitTypeInsn(Opcodes.INSTANCEOF, Type.getInternalName(PythonRange.LongRangeIterator.class));
+        methodVisitor.visitJumpInsn(Opcodes.IFEQ, notLongRange);
+
+        methodVisitor.visitInsn(Opcodes.DUP);
+        methodVisitor.visitTypeInsn(Opcodes.CHECKCAST, Type.getInternalName(PythonRange.LongRangeIterator.class));
+        methodVisitor.visitInsn(Opcodes.DUP);
+        methodVisitor.visitMethodInsn(Opcodes.INVOKEVIRTUAL, Type.getInternalName(PythonRange.LongRangeIterator.class),
+                "hasNext", Type.getMethodDescriptor(Type.BOOLEAN_TYPE), false);
+        methodVisitor.visitJumpInsn(Opcodes.IFEQ, exhausted);
+        methodVisitor.visitMethodInsn(Opcodes.INVOKEVIRTUAL, Type.getInternalName(PythonRange.LongRangeIterator.class),
+                "nextLong", Type.getMethodDescriptor(Type.LONG_TYPE), false);
+        storeUnboxedLocal(methodVisitor, stackMetadata.localVariableHelper, local);
+        methodVisitor.visitJumpInsn(Opcodes.GOTO, done);
+
+        // Like FOR_ITER, pop the iterator when it is exhausted
+        methodVisitor.visitLabel(exhausted);
+        methodVisitor.visitInsn(Opcodes.POP);
+        methodVisitor.visitInsn(Opcodes.POP);
+        methodVisitor.visitJumpInsn(Opcodes.GOTO, loopEnd);
+
+        methodVisitor.visitLabel(notLongRange);
+        forIterOpcode.implement(functionMetadata, stackMetadata);
+        opcodeList.get(forIterIndex + 1).implement(functionMetadata, stackMetadataForOpcodeIndex.get(forIterIndex + 1));
+
+        methodVisitor.visitLabel(done);
+    }
+
+    private static void box(MethodVisitor methodVisitor, ValueKind kind) {
+        switch (kind) {
+            case LONG:
+                methodVisitor.visitMethodInsn(Opcodes.INVOKESTATIC, Type.getInternalName(PythonInteger.class),
+                        "valueOf", Type.getMethodDescriptor(Type.getType(PythonInteger.class), Type.LONG_TYPE),
+                        false);
+                break;
+            case DOUBLE:
+                methodVisitor.visitMethodInsn(Opcodes.INVOKESTATIC, Type.getInternalName(PythonFloat.class),
+                        "valueOf", Type.getMethodDescriptor(Type.getType(PythonFloat.class), Type.DOUBLE_TYPE),
+                        false);
+                break;
+            case BOOLEAN:
+                methodVisitor.visitMethodInsn(Opcodes.INVOKESTATIC, Type.getInternalName(PythonBoolean.class),
+                        "valueOf", Type.getMethodDescriptor(Type.getType(PythonBoolean.class), Type.BOOLEAN_TYPE),
+                        false);
+                break;
+        }
+    }
+
+    private static Label newBailout(List<Label> bailoutLabelList, List<List<ValueKind>> bailoutStackList,
+            List<ValueKind> kindStack) {
+        Label bailout = new Label();
+        bailoutLabelList.add(bailout);
+        bailoutStackList.add(new ArrayList<>(kindStack));
+        return bailout;
+    }
+
+    /**
+     * Replaces the two longs on TOS with the result of the operation, jumping to {@code overflow}
+     * (with the two longs popped) if it overflows.
+     */
+    private static void longOperation(MethodVisitor methodVisitor, PythonBinaryOperators operator,
+            int leftTemp, int rightTemp, int resultTemp, Label overflow) {
+        methodVisitor.visitVarInsn(Opcodes.LSTORE, rightTemp);
+        methodVisitor.visitVarInsn(Opcodes.LSTORE, leftTemp);
+        methodVisitor.visitVarInsn(Opcodes.LLOAD, leftTemp);
+        methodVisitor.visitVarInsn(Opcodes.LLOAD, rightTemp);
+
+        switch (operator) {
+            case ADD:
+            case INPLACE_ADD:
+                // Overflow iff both operands have a different sign than the result
+                methodVisitor.visitInsn(Opcodes.LADD);
+                methodVisitor.visitVarInsn(Opcodes.LSTORE, resultTemp);
+                methodVisitor.visitVarInsn(Opcodes.LLOAD, leftTemp);
+                methodVisitor.visitVarInsn(Opcodes.LLOAD, resultTemp);
+                methodVisitor.visitInsn(Opcodes.LXOR);
+                methodVisitor.visitVarInsn(Opcodes.LLOAD, rightTemp);
+                methodVisitor.visitVarInsn(Opcodes.LLOAD, resultTemp);
+                methodVisitor.visitInsn(Opcodes.LXOR);
+                methodVisitor.visitInsn(Opcodes.LAND);
+                methodVisitor.visitInsn(Opcodes.LCONST_0);
+                methodVisitor.visitInsn(Opcodes.LCMP);
+                methodVisitor.visitJumpInsn(Opcodes.IFLT, overflow);
+                break;
+            case SUBTRACT:
+            case INPLACE_SUBTRACT:
+                // Overflow iff the operands have different signs and the result has a different sign than left
+                methodVisitor.visitInsn(Opcodes.LSUB);
+                methodVisitor.visitVarInsn(Opcodes.LSTORE, resultTemp);
+                methodVisitor.visitVarInsn(Opcodes.LLOAD, leftTemp);
+                methodVisitor.visitVarInsn(Opcodes.LLOAD, rightTemp);
+                methodVisitor.visitInsn(Opcodes.LXOR);
+                methodVisitor.visitVarInsn(Opcodes.LLOAD, leftTemp);
+                methodVisitor.visitVarInsn(Opcodes.LLOAD, resultTemp);
+                methodVisitor.visitInsn(Opcodes.LXOR);
+                methodVisitor.visitInsn(Opcodes.LAND);
+                methodVisitor.visitInsn(Opcodes.LCONST_0);
+                methodVisitor.visitInsn(Opcodes.LCMP);
+                methodVisitor.visitJumpInsn(Opcodes.IFLT, overflow);
+                break;
+            case MULTIPLY:
+            case INPLACE_MULTIPLY:
+                // Overflow iff the high 64 bits of the product are not the sign extension of the result
+                methodVisitor.visitInsn(Opcodes.LMUL);
+                methodVisitor.visitVarInsn(Opcodes.LSTORE, resultTemp);
+                methodVisitor.visitVarInsn(Opcodes.LLOAD, leftTemp);
+                methodVisitor.visitVarInsn(Opcodes.LLOAD, rightTemp);
+                methodVisitor.visitMethodInsn(Opcodes.INVOKESTATIC, Type.getInternalName(Math.class),
+                        "multiplyHigh", Type.getMethodDescriptor(Type.LONG_TYPE, Type.LONG_TYPE, Type.LONG_TYPE),
+                        false);
+                methodVisitor.visitVarInsn(Opcodes.LLOAD, resultTemp);
+                methodVisitor.visitLdcInsn(63);
+                methodVisitor.visitInsn(Opcodes.LSHR);
+                methodVisitor.visitInsn(Opcodes.LCMP);
+                methodVisitor.visitJumpInsn(Opcodes.IFNE, overflow);
+                break;
+            default:
+                throw new IllegalStateException("Unhandled operator " + operator);
+        }
+        methodVisitor.visitVarInsn(Opcodes.LLOAD, resultTemp);
+    }
+
+    private static void doubleOperation(MethodVisitor methodVisitor, PythonBinaryOperators operator) {
+        switch (operator) {
+            case ADD:
+            case INPLACE_ADD:
+                methodVisitor.visitInsn(Opcodes.DADD);
+                break;
+            case SUBTRACT:
+            case INPLACE_SUBTRACT:
+                methodVisitor.visitInsn(Opcodes.DSUB);
+                break;
+            case MULTIPLY:
+            case INPLACE_MULTIPLY:
+                methodVisitor.visitInsn(Opcodes.DMUL);
+                break;
+            default:
+                throw new IllegalStateException("Unhandled operator " + operator);
+        }
+    }
+
+    private static void compare(MethodVisitor methodVisitor, CompareOp compareOp, ValueKind operandKind) {
+        if (operandKind == ValueKind.LONG) {
+            methodVisitor.visitInsn(Opcodes.LCMP);
+        } else if (compareOp == CompareOp.LESS_THAN || compareOp == CompareOp.LESS_THAN_OR_EQUALS) {
+            // NaN compares as 1, so < and <= are false
+            methodVisitor.visitInsn(Opcodes.DCMPG);
+        } else {
+            // NaN compares as -1, so >, >= and == are false, and != is true
+            methodVisitor.visitInsn(Opcodes.DCMPL);
+        }
+
+        int jumpOpcode;
+        switch (compareOp) {
+            case LESS_THAN:
+                jumpOpcode = Opcodes.IFLT;
+                break;
+            case LESS_THAN_OR_EQUALS:
+                jumpOpcode = Opcodes.IFLE;
+                break;
+            case EQUALS:
+                jumpOpcode = Opcodes.IFEQ;
+                break;
+            case NOT_EQUALS:
+                jumpOpcode = Opcodes.IFNE;
+                break;
+            case GREATER_THAN:
+                jumpOpcode = Opcodes.IFGT;
+                break;
+            case GREATER_THAN_OR_EQUALS:
+                jumpOpcode = Opcodes.IFGE;
+                break;
+            default:
+                throw new IllegalStateException("Unhandled compare operation " + compareOp);
+        }
+
+        Label isTrue = new Label();
+        Label end = new Label();
+        methodVisitor.visitJumpInsn(jumpOpcode, isTrue);
+        methodVisitor.visitInsn(Opcodes.ICONST_0);
+        methodVisitor.visitJumpInsn(Opcodes.GOTO, end);
+        methodVisitor.visitLabel(isTrue);
+        methodVisitor.visitInsn(Opcodes.ICONST_1);
+        methodVisitor.visitLabel(end);
+    }
+
+    /**
+     * Used by generated code; true iff object is exactly an int that fits in a long (and not a subclass of int,
+     * which might override its dunder methods).
+     */
+    public static boolean isUnboxableInt(Object object) {
+        return object != null && object.getClass() == PythonInteger.class && ((PythonInteger) object).fitsInLong();
+    }
+
+    /**
+     * Used by generated code; true iff object is exactly a float.
+     */
+    public static boolean isUnboxableFloat(Object object) {
+        return object != null && object.getClass() == PythonFloat.class;
+    }
+}
@@ -1,8 +1,12 @@
 package org.optaplanner.jpyinterpreter.implementors;
 
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.util.List;
 import java.util.Map;
 
+import org.objectweb.asm.Handle;
+import org.objectweb.asm.Label;
 import org.objectweb.asm.MethodVisitor;
 import org.objectweb.asm.Opcodes;
 import org.objectweb.asm.Type;
@@ -16,6 +20,7 @@ import org.optaplanner.jpyinterpreter.PythonInterpreter;
 import org.optaplanner.jpyinterpreter.PythonLikeObject;
 import org.optaplanner.jpyinterpreter.PythonVersion;
 import org.optaplanner.jpyinterpreter.StackMetadata;
+import org.optaplanner.jpyinterpreter.types.BuiltinTypes;
 import org.optaplanner.jpyinterpreter.types.PythonCell;
 import org.optaplanner.jpyinterpreter.types.PythonLikeType;
 import org.optaplanner.jpyinterpreter.types.collections.PythonLikeTuple;
@@ -27,6 +32,25 @@ import org.optaplanner.jpyinterpreter.types.collections.PythonLikeTuple;
  */
 public class VariableImplementor {
 
+    /**
+     * Set to false to look up global variables on every load instead of caching them in a
+     * {@link GlobalVariableCallSite}.
+     */
+    private static volatile boolean useGlobalVariableCaches = true;
+
+    public static boolean isUseGlobalVariableCaches() {
+        return useGlobalVariableCaches;
+    }
+
+    /**
+     * Only affects bytecode translated after the call.
+     *
+     * @param useGlobalVariableCaches true to cache global variables per load site, false to look them up on every load
+     */
+    public static void setUseGlobalVariableCaches(boolean useGlobalVariableCaches) {
+        VariableImplementor.useGlobalVariableCaches = useGlobalVariableCaches;
+    }
+
     /**
      * Loads the local variable or parameter indicated by the {@code instruction} argument onto the stack.
      */
@@ -64,6 +88,8 @@ public class VariableImplementor {
                 "deleteGlobal", Type.getMethodDescriptor(Type.VOID_TYPE, Type.getType(Map.class),
                         Type.getType(String.class)),
                 true);
+        methodVisitor.visitMethodInsn(Opcodes.INVOKESTATIC, Type.getInternalName(GlobalVariableCallSite.class),
+                "invalidateAll", Type.getMethodDescriptor(Type.VOID_TYPE), false);
     }
 
     /**
@@ -85,13 +111,58 @@ public class VariableImplementor {
         methodVisitor.visitFieldInsn(Opcodes.GETSTATIC, className,
                 PythonBytecodeToJavaBytecodeTranslator.GLOBALS_MAP_STATIC_FIELD_NAME,
                 Type.getDescriptor(Map.class));
+        if (useGlobalVariableCaches) {
+            methodVisitor.visitInvokeDynamicInsn(globalName,
+                    Type.getMethodDescriptor(Type.getType(PythonLikeObject.class),
+                            Type.getType(PythonInterpreter.class),
+                            Type.getType(Map.class)),
+                    new Handle(Opcodes.H_INVOKESTATIC, Type.getInternalName(GlobalVariableCallSite.class),
+                            "bootstrap", Type.getMethodDescriptor(Type.getType(GlobalVariableCallSite.class),
+                                    Type.getType(MethodHandles.Lookup.class), Type.getType(String.class),
+                                    Type.getType(MethodType.class)),
+                            false));
+        } else {
+            methodVisitor.visitLdcInsn(globalName);
+            methodVisitor.visitMethodInsn(Opcodes.INVOKEINTERFACE, Type.getInternalName(PythonInterpreter.class),
+                    "getGlobal", Type.getMethodDescriptor(Type.getType(PythonLikeObject.class),
+                            Type.getType(Map.class),
+                            Type.getType(String.class)),
+                    true);
+        }
+        methodVisitor.visitTypeInsn(Opcodes.CHECKCAST, globalType.getJavaTypeInternalName());
+    }
+
+    /**
+     * Loads the global variable indicated by {@code globalIndex}, which was not in the globals map when the function
+     * was translated and so is assumed to be the builtin in the {@code builtinTypeFieldName} field of
+     * {@link BuiltinTypes}. The load is cached like in {@link #loadGlobalVariable}, and guarded so a global
+     * defined later with the same name raises an {@link IllegalStateException} instead of being used as the builtin.
+     */
+    public static void loadBuiltinTypeGlobalVariable(FunctionMetadata functionMetadata, StackMetadata stackMetadata,
+            int globalIndex, String builtinTypeFieldName) {
+        MethodVisitor methodVisitor = functionMetadata.methodVisitor;
+        String globalName = functionMetadata.pythonCompiledFunction.co_names.get(globalIndex);
+        Label isBuiltin = new Label();
+
+        loadGlobalVariable(functionMetadata, stackMetadata, globalIndex, BuiltinTypes.BASE_TYPE);
+        methodVisitor.visitInsn(Opcodes.DUP);
+        methodVisitor.visitFieldInsn(Opcodes.GETSTATIC, Type.getInternalName(BuiltinTypes.class), builtinTypeFieldName,
+                Type.getDescriptor(PythonLikeType.class));
+        methodVisitor.visitJumpInsn(Opcodes.IF_ACMPEQ, isBuiltin);
         methodVisitor.visitLdcInsn(globalName);
-        methodVisitor.visitMethodInsn(Opcodes.INVOKEINTERFACE, Type.getInternalName(PythonInterpreter.class),
-                "getGlobal", Type.getMethodDescriptor(Type.getType(PythonLikeObject.class),
-                        Type.getType(Map.class),
+        methodVisitor.visitMethodInsn(Opcodes.INVOKESTATIC, Type.getInternalName(VariableImplementor.class),
+                "shadowedBuiltinError", Type.getMethodDescriptor(Type.getType(IllegalStateException.class),
                         Type.getType(String.class)),
-                true);
-        methodVisitor.visitTypeInsn(Opcodes.CHECKCAST, globalType.getJavaTypeInternalName());
+                false);
+        methodVisitor.visitInsn(Opcodes.ATHROW);
+        methodVisitor.visitLabel(isBuiltin);
+        methodVisitor.visitTypeInsn(Opcodes.CHECKCAST, Type.getInternalName(PythonLikeType.class));
+    }
+
+    @SuppressWarnings("unused")
+    public static IllegalStateException shadowedBuiltinError(String globalName) {
+        return new IllegalStateException("The global variable (" + globalName + ") was defined after the function "
+                + "was translated, which assumed it was the builtin (" + globalName + ").");
     }
 
     /**
@@ -119,6 +190,8 @@ public class VariableImplementor {
                         Type.getType(String.class),
                         Type.getType(PythonLikeObject.class)),
                 true);
+        methodVisitor.visitMethodInsn(Opcodes.INVOKESTATIC, Type.getInternalName(GlobalVariableCallSite.class),
+                "invalidateAll", Type.getMethodDescriptor(Type.VOID_TYPE), false);
     }
 
     /**
@@ -1,5 +1,10 @@
 package org.optaplanner.jpyinterpreter.opcodes.collection;
 
+import java.util.Set;
+
+import org.objectweb.asm.MethodVisitor;
+import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.Type;
 import org.optaplanner.jpyinterpreter.FunctionMetadata;
 import org.optaplanner.jpyinterpreter.PythonBytecodeInstruction;
 import org.optaplanner.jpyinterpreter.PythonUnaryOperator;
@@ -7,22 +12,81 @@ import org.optaplanner.jpyinterpreter.StackMetadata;
 import org.optaplanner.jpyinterpreter.ValueSourceInfo;
 import org.optaplanner.jpyinterpreter.implementors.DunderOperatorImplementor;
 import org.optaplanner.jpyinterpreter.opcodes.AbstractOpcode;
+import org.optaplanner.jpyinterpreter.opcodes.Opcode;
 import org.optaplanner.jpyinterpreter.types.BuiltinTypes;
+import org.optaplanner.jpyinterpreter.types.PythonLikeType;
+import org.optaplanner.jpyinterpreter.types.PythonRange;
+import org.optaplanner.jpyinterpreter.types.collections.PythonIterator;
 
 public class GetIterOpcode extends AbstractOpcode {
 
+    /**
+     * Types whose {@code __iter__} is known to return a {@link PythonIterator}
+     */
+    private static final Set<PythonLikeType> PYTHON_ITERATOR_SOURCE_TYPES = Set.of(
+            BuiltinTypes.LIST_TYPE,
+            BuiltinTypes.TUPLE_TYPE,
+            BuiltinTypes.SET_TYPE,
+            BuiltinTypes.FROZEN_SET_TYPE,
+            BuiltinTypes.DICT_TYPE,
+            BuiltinTypes.RANGE_TYPE,
+            BuiltinTypes.ITERATOR_TYPE);
+
     public GetIterOpcode(PythonBytecodeInstruction instruction) {
         super(instruction);
     }
 
     @Override
     protected StackMetadata getStackMetadataAfterInstruction(FunctionMetadata functionMetadata, StackMetadata stackMetadata) {
-        return stackMetadata.pop().push(ValueSourceInfo.of(this, BuiltinTypes.ITERATOR_TYPE,
+        return stackMetadata.pop().push(ValueSourceInfo.of(this, getIteratorType(stackMetadata.getTOSType()),
                 stackMetadata.getValueSourcesUpToStackIndex(1)));
     }
 
+    private static PythonLikeType getIteratorType(PythonLikeType iterableType) {
+        if (iterableType == null) {
+            return BuiltinTypes.BASE_TYPE;
+        }
+        if (PYTHON_ITERATOR_SOURCE_TYPES.contains(iterableType)) {
+            return BuiltinTypes.ITERATOR_TYPE;
+        }
+        if (iterableType == BuiltinTypes.GENERATOR_TYPE) {
+            // a generator is its own iterator
+            return BuiltinTypes.GENERATOR_TYPE;
+        }
+        // User defined __iter__ can return anything
+        return BuiltinTypes.BASE_TYPE;
+    }
+
     @Override
     public void implement(FunctionMetadata functionMetadata, StackMetadata stackMetadata) {
+        if (stackMetadata.getTOSType() == BuiltinTypes.RANGE_TYPE) {
+            // range cannot be subclassed, so its __iter__ can be called directly
+            MethodVisitor methodVisitor = functionMetadata.methodVisitor;
+            methodVisitor.visitTypeInsn(Opcodes.CHECKCAST, Type.getInternalName(PythonRange.class));
+            methodVisitor.visitMethodInsn(Opcodes.INVOKEVIRTUAL, Type.getInternalName(PythonRange.class),
+                    "getPythonIterator", Type.getMethodDescriptor(Type.getType(PythonIterator.class)), false);
+            return;
+        }
         DunderOperatorImplementor.unaryOperator(functionMetadata.methodVisitor, PythonUnaryOperator.ITERATOR);
     }
+
+    /**
+     * Returns true if the iterator in {@code iteratorValueSource} was created by GET_ITER on a range
+     */
+    public static boolean isRangeIterator(ValueSourceInfo iteratorValueSource) {
+        if (iteratorValueSource == null || iteratorValueSource.getValueDependencySet().isEmpty()) {
+            return false;
+        }
+        for (Opcode sourceOpcode : iteratorValueSource.getPossibleSourceOpcodeSet()) {
+            if (!(sourceOpcode instanceof GetIterOpcode)) {
+                return false;
+            }
+        }
+        for (ValueSourceInfo iterableValueSource : iteratorValueSource.getValueDependencySet()) {
+            if (iterableValueSource.getValueType() != BuiltinTypes.RANGE_TYPE) {
+                return false;
+            }
+        }
+        return true;
+    }
 }
@@ -8,7 +8,9 @@ import org.optaplanner.jpyinterpreter.PythonBytecodeInstruction;
 import org.optaplanner.jpyinterpreter.StackMetadata;
 import org.optaplanner.jpyinterpreter.ValueSourceInfo;
 import org.optaplanner.jpyinterpreter.implementors.CollectionImplementor;
+import org.optaplanner.jpyinterpreter.opcodes.collection.GetIterOpcode;
 import org.optaplanner.jpyinterpreter.types.BuiltinTypes;
+import org.optaplanner.jpyinterpreter.types.PythonLikeType;
 
 public class ForIterOpcode extends AbstractControlFlowOpcode {
     int jumpTarget;
@@ -18,6 +20,10 @@ public class ForIterOpcode extends AbstractControlFlowOpcode {
         this.jumpTarget = jumpTarget;
     }
 
+    public int getJumpTarget() {
+        return jumpTarget;
+    }
+
     @Override
     public List<Integer> getPossibleNextBytecodeIndexList() {
         return List.of(
@@ -34,7 +40,11 @@ public class ForIterOpcode extends AbstractControlFlowOpcode {
     @Override
     public List<StackMetadata> getStackMetadataAfterInstructionForBranches(FunctionMetadata functionMetadata,
             StackMetadata stackMetadata) {
-        return List.of(stackMetadata.push(ValueSourceInfo.of(this, BuiltinTypes.BASE_TYPE,
+        // range only yields ints
+        PythonLikeType itemType = GetIterOpcode.isRangeIterator(stackMetadata.getTOSValueSource())
+                ? BuiltinTypes.INT_TYPE
+                : BuiltinTypes.BASE_TYPE;
+        return List.of(stackMetadata.push(ValueSourceInfo.of(this, itemType,
                 stackMetadata.getValueSourcesUpToStackIndex(1))),
                 stackMetadata.pop());
     }
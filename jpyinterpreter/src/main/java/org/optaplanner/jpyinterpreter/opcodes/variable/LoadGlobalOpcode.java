@@ -31,8 +31,21 @@ public class LoadGlobalOpcode extends AbstractOpcode {
     }
 
     private PythonLikeObject getGlobal(FunctionMetadata functionMetadata) {
-        return functionMetadata.pythonCompiledFunction.globalsMap
+        PythonLikeObject global = functionMetadata.pythonCompiledFunction.globalsMap
                 .get(functionMetadata.pythonCompiledFunction.co_names.get(getGlobalIndex(functionMetadata)));
+        if (global == null && isBuiltinRange(functionMetadata)) {
+            return BuiltinTypes.RANGE_TYPE;
+        }
+        return global;
+    }
+
+    /**
+     * Returns true if this loads {@code range} and it is not in the globals map, in which case it is assumed to be
+     * the builtin range (so loops over it can be specialized) and the assumption is checked when it is loaded.
+     */
+    private boolean isBuiltinRange(FunctionMetadata functionMetadata) {
+        String globalName = functionMetadata.pythonCompiledFunction.co_names.get(getGlobalIndex(functionMetadata));
+        return globalName.equals("range") && !functionMetadata.pythonCompiledFunction.globalsMap.containsKey(globalName);
     }
 
     @Override
@@ -75,6 +88,10 @@ public class LoadGlobalOpcode extends AbstractOpcode {
         if (pushNull) {
             functionMetadata.methodVisitor.visitInsn(Opcodes.ACONST_NULL);
         }
+        if (isBuiltinRange(functionMetadata)) {
+            VariableImplementor.loadBuiltinTypeGlobalVariable(functionMetadata, stackMetadata, globalIndex, "RANGE_TYPE");
+            return;
+        }
         VariableImplementor.loadGlobalVariable(functionMetadata, stackMetadata, globalIndex,
                 (global != null) ? global.__getGenericType() : BuiltinTypes.BASE_TYPE);
     }
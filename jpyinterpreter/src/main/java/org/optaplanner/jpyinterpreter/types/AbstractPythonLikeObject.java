@@ -1,7 +1,9 @@
 package org.optaplanner.jpyinterpreter.types;
 
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.function.UnaryOperator;
 
 import org.optaplanner.jpyinterpreter.PythonLikeObject;
 import org.optaplanner.jpyinterpreter.types.errors.AttributeError;
@@ -10,11 +12,23 @@ public abstract class AbstractPythonLikeObject implements PythonLikeObject {
 
     public static final PythonLikeType OBJECT_TYPE = new PythonLikeType("object", AbstractPythonLikeObject.class);
 
+    private static final PythonLikeObject[] NO_SLOTS = new PythonLikeObject[0];
+
     private final PythonLikeType __type__;
-    private final Map<String, PythonLikeObject> __dir__;
+
+    /*
+     * Instance attributes are stored in slots laid out by a shape shared with other objects that had the
+     * same attributes added in the same order. Objects that delete attributes, have too many attributes or
+     * were given an attribute map switch to storing their attributes in __dir__ instead.
+     */
+    private ObjectShape $shape;
+    private PythonLikeObject[] $slots;
+    private Map<String, PythonLikeObject> __dir__;
 
     public AbstractPythonLikeObject(PythonLikeType __type__) {
-        this(__type__, new HashMap<>());
+        this.__type__ = __type__;
+        this.$shape = ObjectShape.EMPTY;
+        this.$slots = NO_SLOTS;
     }
 
     public AbstractPythonLikeObject(PythonLikeType __type__, Map<String, PythonLikeObject> __dir__) {
@@ -24,21 +38,48 @@ public abstract class AbstractPythonLikeObject implements PythonLikeObject {
 
     @Override
     public PythonLikeObject __getAttributeOrNull(String attributeName) {
-        return __dir__.get(attributeName);
+        if (__dir__ != null) {
+            return __dir__.get(attributeName);
+        }
+        int slotIndex = $shape.getSlotIndex(attributeName);
+        return (slotIndex != -1) ? $slots[slotIndex] : null;
     }
 
     @Override
     public void __setAttribute(String attributeName, PythonLikeObject value) {
-        __dir__.put(attributeName, value);
+        if (__dir__ != null) {
+            __dir__.put(attributeName, value);
+            return;
+        }
+
+        int slotIndex = $shape.getSlotIndex(attributeName);
+        if (slotIndex != -1) {
+            $slots[slotIndex] = value;
+            return;
+        }
+
+        if ($shape.getSlotCount() == ObjectShape.MAX_SLOT_COUNT) {
+            getAttributeMap().put(attributeName, value);
+            return;
+        }
+
+        slotIndex = $shape.getSlotCount();
+        if (slotIndex == $slots.length) {
+            $slots = Arrays.copyOf($slots, Math.max(4, slotIndex * 2));
+        }
+        $slots[slotIndex] = value;
+        $shape = $shape.withAttribute(attributeName);
     }
 
     @Override
     public void __deleteAttribute(String attributeName) {
         // TODO: Descriptors: https://docs.python.org/3/howto/descriptor.html
-        if (!__dir__.containsKey(attributeName)) {
+        boolean hasAttribute = (__dir__ != null) ? __dir__.containsKey(attributeName)
+                : $shape.getSlotIndex(attributeName) != -1;
+        if (!hasAttribute) {
             throw new AttributeError("'" + __getType().getTypeName() + "' object has no attribute '" + attributeName + "'");
         }
-        __dir__.remove(attributeName);
+        getAttributeMap().remove(attributeName);
     }
 
     @Override
@@ -47,6 +88,51 @@ public abstract class AbstractPythonLikeObject implements PythonLikeObject {
     }
 
     public void setAttribute(String attributeName, PythonLikeObject value) {
-        __dir__.put(attributeName, value);
+        __setAttribute(attributeName, value);
+    }
+
+    /**
+     * Replaces the instance attributes of this object with the instance attributes of {@code original}.
+     * Used to copy objects (for instance, when planning cloning) without accessing their fields by reflection.
+     *
+     * @param original The object to copy the instance attributes from
+     * @param attributeValueMapper Maps each attribute value of {@code original} to the value set on this object
+     *        (for instance, {@link UnaryOperator#identity()} for a shallow copy)
+     */
+    public final void $copyAttributesFrom(AbstractPythonLikeObject original,
+            UnaryOperator<PythonLikeObject> attributeValueMapper) {
+        if (original.__dir__ != null) {
+            Map<String, PythonLikeObject> copiedAttributeMap = new HashMap<>(original.__dir__.size());
+            original.__dir__.forEach((attributeName, value) -> copiedAttributeMap.put(attributeName,
+                    attributeValueMapper.apply(value)));
+            __dir__ = copiedAttributeMap;
+            $shape = null;
+            $slots = null;
+            return;
+        }
+
+        // Shapes are immutable, so the copy can share the shape of the original
+        PythonLikeObject[] copiedSlots = (original.$slots.length == 0) ? NO_SLOTS
+                : new PythonLikeObject[original.$slots.length];
+        for (int i = 0; i < original.$shape.getSlotCount(); i++) {
+            copiedSlots[i] = attributeValueMapper.apply(original.$slots[i]);
+        }
+        __dir__ = null;
+        $shape = original.$shape;
+        $slots = copiedSlots;
+    }
+
+    /**
+     * Moves the attributes of this object out of its slots and into a map, which is used for all
+     * attribute accesses from then on.
+     */
+    private Map<String, PythonLikeObject> getAttributeMap() {
+        if (__dir__ == null) {
+            __dir__ = new HashMap<>();
+            $shape.copyInto($slots, __dir__);
+            $shape = null;
+            $slots = null;
+        }
+        return __dir__;
     }
 }
@@ -2,9 +2,9 @@ package org.optaplanner.jpyinterpreter.types;
 
 import java.lang.reflect.Field;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.optaplanner.jpyinterpreter.PythonBytecodeToJavaBytecodeTranslator;
 import org.optaplanner.jpyinterpreter.PythonLikeObject;
@@ -83,14 +83,22 @@ public class BuiltinTypes {
     public static final PythonLikeType SLICE_TYPE = new PythonLikeType("slice", PythonSlice.class, List.of(BASE_TYPE));
     /**
      * The ASM generated bytecode. Used by
-     * asmClassLoader to create the Java versions of Python methods
+     * asmClassLoader to create the Java versions of Python methods.
+     * Concurrent, since functions and classes can be translated in parallel.
      */
-    public static final Map<String, byte[]> classNameToBytecode = new HashMap<>();
+    public static final Map<String, byte[]> classNameToBytecode = new ConcurrentHashMap<>();
     /**
      * A custom classloader that looks for the class in
      * classNameToBytecode
      */
-    public static ClassLoader asmClassLoader = new ClassLoader() {
+    public static ClassLoader asmClassLoader = new AsmClassLoader();
+
+    private static final class AsmClassLoader extends ClassLoader {
+        static {
+            // Lock per class name instead of on the loader, so independent classes can be loaded in parallel
+            registerAsParallelCapable();
+        }
+
         // getName() is an abstract method in Java 11 but not in Java 8
         public String getName() {
             return "OptaPlanner Gizmo Python Bytecode ClassLoader";
@@ -98,28 +106,28 @@ public class BuiltinTypes {
 
         @Override
         public Class<?> findClass(String name) throws ClassNotFoundException {
-            if (classNameToBytecode.containsKey(name)) {
+            byte[] byteCode = classNameToBytecode.get(name);
+            if (byteCode != null) {
                 // Gizmo generated class
-                byte[] byteCode = classNameToBytecode.get(name);
                 return defineClass(name, byteCode, 0, byteCode.length);
             } else {
                 // Not a Gizmo generated class; load from parent class loader
                 return PythonBytecodeToJavaBytecodeTranslator.class.getClassLoader().loadClass(name);
             }
         }
-    };
+    }
 
     static {
         PythonOverloadImplementor.deferDispatchesFor(PythonLikeType::registerBaseType);
         PythonOverloadImplementor.deferDispatchesFor(PythonLikeType::registerTypeType);
 
         try {
-            FUNCTION_TYPE.__dir__.put(PythonTernaryOperators.GET.dunderMethod,
+            FUNCTION_TYPE.__setAttribute(PythonTernaryOperators.GET.dunderMethod,
                     new JavaMethodReference(
                             FunctionBuiltinOperations.class.getMethod("bindFunctionToInstance", PythonLikeFunction.class,
                                     PythonLikeObject.class, PythonLikeType.class),
                             Map.of("self", 0, "obj", 1, "objtype", 2)));
-            CLASS_FUNCTION_TYPE.__dir__.put(PythonTernaryOperators.GET.dunderMethod,
+            CLASS_FUNCTION_TYPE.__setAttribute(PythonTernaryOperators.GET.dunderMethod,
                     new JavaMethodReference(
                             FunctionBuiltinOperations.class.getMethod("bindFunctionToType", PythonLikeFunction.class,
                                     PythonLikeObject.class, PythonLikeType.class),
@@ -1,6 +1,7 @@
 package org.optaplanner.jpyinterpreter.types;
 
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 
@@ -68,6 +69,19 @@ public class CPythonBackedPythonLikeObject extends AbstractPythonLikeObject impl
     public void $readFieldsFromCPythonReference() {
     }
 
+    /**
+     * Adds the names of the attributes {@link #$readFieldsFromCPythonReference()} reads, in the order it reads them.
+     */
+    public void $addCPythonAttributeNames(List<String> attributeNameList) {
+    }
+
+    /**
+     * Sets the fields {@link #$readFieldsFromCPythonReference()} sets from already looked up values, given in the order
+     * of {@link #$addCPythonAttributeNames(List)}.
+     */
+    public void $readFieldsFromCPythonValues(Iterator<PythonLikeObject> valueIterator) {
+    }
+
     public void $writeFieldsToCPythonReference() {
     }
 
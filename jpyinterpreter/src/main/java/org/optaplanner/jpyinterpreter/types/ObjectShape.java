@@ -0,0 +1,68 @@
+package org.optaplanner.jpyinterpreter.types;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.optaplanner.jpyinterpreter.PythonLikeObject;
+
+/**
+ * The layout of the instance attributes of an {@link AbstractPythonLikeObject} (a "hidden class").
+ * <p>
+ * Objects that had the same attributes set in the same order share a shape, which maps each attribute name
+ * to an index in the object's slot array. Shapes are immutable; setting a new attribute moves the object to
+ * the child shape for that attribute, which is created once and shared by all objects that follow the same path.
+ */
+final class ObjectShape {
+    /**
+     * Objects with more attributes than this store their attributes in a map instead.
+     */
+    static final int MAX_SLOT_COUNT = 32;
+
+    static final ObjectShape EMPTY = new ObjectShape(null, null, Map.of());
+
+    private final ObjectShape parent;
+    private final String lastAttributeName;
+    private final Map<String, Integer> attributeNameToSlotIndex;
+    private final Map<String, ObjectShape> transitionMap = new ConcurrentHashMap<>();
+
+    private ObjectShape(ObjectShape parent, String lastAttributeName, Map<String, Integer> attributeNameToSlotIndex) {
+        this.parent = parent;
+        this.lastAttributeName = lastAttributeName;
+        this.attributeNameToSlotIndex = attributeNameToSlotIndex;
+    }
+
+    /**
+     * @return the slot index of {@code attributeName}, or -1 if objects with this shape do not have it
+     */
+    int getSlotIndex(String attributeName) {
+        Integer out = attributeNameToSlotIndex.get(attributeName);
+        return (out != null) ? out : -1;
+    }
+
+    int getSlotCount() {
+        return attributeNameToSlotIndex.size();
+    }
+
+    /**
+     * @return the shape of an object with this shape after {@code attributeName} is added to it
+     */
+    ObjectShape withAttribute(String attributeName) {
+        return transitionMap.computeIfAbsent(attributeName, name -> {
+            Map<String, Integer> childAttributeNameToSlotIndex = new HashMap<>(attributeNameToSlotIndex);
+            childAttributeNameToSlotIndex.put(name, attributeNameToSlotIndex.size());
+            return new ObjectShape(this, name, Map.copyOf(childAttributeNameToSlotIndex));
+        });
+    }
+
+    /**
+     * Copies the attributes of an object with this shape into {@code attributeMap}.
+     */
+    void copyInto(PythonLikeObject[] slots, Map<String, PythonLikeObject> attributeMap) {
+        ObjectShape current = this;
+        while (current.parent != null) {
+            attributeMap.put(current.lastAttributeName, slots[current.parent.getSlotCount()]);
+            current = current.parent;
+        }
+    }
+}
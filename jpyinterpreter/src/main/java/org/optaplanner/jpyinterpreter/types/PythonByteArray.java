@@ -48,7 +48,7 @@ public class PythonByteArray extends AbstractPythonLikeObject implements PythonB
             } else if (positionalArguments.size() == 1) {
                 PythonLikeObject arg = positionalArguments.get(0);
                 if (arg instanceof PythonInteger) {
-                    return new PythonByteArray(new byte[((PythonInteger) arg).value.intValueExact()]);
+                    return new PythonByteArray(new byte[((PythonInteger) arg).intValueExact()]);
                 } else {
                     PythonIterator<?> iterator = (PythonIterator<?>) UnaryDunderBuiltin.ITERATOR.invoke(arg);
                     ByteArrayOutputStream out = new ByteArrayOutputStream();
@@ -420,7 +420,7 @@ public class PythonByteArray extends AbstractPythonLikeObject implements PythonB
     }
 
     public PythonByteArray repeat(PythonInteger times) {
-        int timesAsInt = times.value.intValueExact();
+        int timesAsInt = times.intValueExact();
 
         if (timesAsInt <= 0) {
             return new PythonByteArray(new byte[] {});
@@ -667,7 +667,7 @@ public class PythonByteArray extends AbstractPythonLikeObject implements PythonB
     }
 
     public PythonByteArray inplaceRepeat(PythonInteger index) {
-        int indexAsInt = index.value.intValueExact();
+        int indexAsInt = index.intValueExact();
         if (indexAsInt <= 0) {
             clear();
             return this;
@@ -1150,7 +1150,7 @@ public class PythonByteArray extends AbstractPythonLikeObject implements PythonB
     }
 
     public PythonByteArray replace(PythonByteArray old, PythonByteArray replacement, PythonInteger count) {
-        return replace(old, replacement, count.value);
+        return replace(old, replacement, count.getValue());
     }
 
     private PythonInteger rightFind(PythonInteger query, int start, int end) {
@@ -1456,7 +1456,7 @@ public class PythonByteArray extends AbstractPythonLikeObject implements PythonB
             throw new TypeError("center() argument 2 must be a byte string of length 1");
         }
 
-        int widthAsInt = fillWidth.value.intValueExact();
+        int widthAsInt = fillWidth.intValueExact();
         if (widthAsInt <= valueBuffer.limit()) {
             return this;
         }
@@ -1482,7 +1482,7 @@ public class PythonByteArray extends AbstractPythonLikeObject implements PythonB
             throw new TypeError("ljust() argument 2 must be a byte string of length 1");
         }
 
-        int widthAsInt = fillWidth.value.intValueExact();
+        int widthAsInt = fillWidth.intValueExact();
         if (widthAsInt <= valueBuffer.limit()) {
             return this;
         }
@@ -1503,7 +1503,7 @@ public class PythonByteArray extends AbstractPythonLikeObject implements PythonB
             throw new TypeError("rjust() argument 2 must be a byte string of length 1");
         }
 
-        int widthAsInt = fillWidth.value.intValueExact();
+        int widthAsInt = fillWidth.intValueExact();
         if (widthAsInt <= valueBuffer.limit()) {
             return this;
         }
@@ -4,6 +4,7 @@ import java.util.List;
 import java.util.Map;
 
 import org.optaplanner.jpyinterpreter.PythonLikeObject;
+import org.optaplanner.jpyinterpreter.types.collections.PythonLikeTuple;
 
 public interface PythonLikeFunction extends PythonLikeObject {
     static PythonLikeType getStaticFunctionType() {
@@ -29,6 +30,40 @@ public interface PythonLikeFunction extends PythonLikeObject {
     PythonLikeObject $call(List<PythonLikeObject> positionalArguments, Map<PythonString, PythonLikeObject> namedArguments,
             PythonLikeObject callerInstance);
 
+    /*
+     * Fixed-arity forms of $call for calls with only positional arguments. Translated functions that take exactly
+     * that many positional arguments override the matching method, so the call does not create an argument list;
+     * every other function uses these defaults, which delegate to $call.
+     */
+
+    /**
+     * The largest number of positional arguments that has a fixed-arity call method.
+     */
+    int MAX_FIXED_ARITY = 4;
+
+    default PythonLikeObject $call0(PythonLikeObject callerInstance) {
+        return $call(PythonLikeTuple.fromItems(), Map.of(), callerInstance);
+    }
+
+    default PythonLikeObject $call1(PythonLikeObject argument0, PythonLikeObject callerInstance) {
+        return $call(PythonLikeTuple.fromItems(argument0), Map.of(), callerInstance);
+    }
+
+    default PythonLikeObject $call2(PythonLikeObject argument0, PythonLikeObject argument1,
+            PythonLikeObject callerInstance) {
+        return $call(PythonLikeTuple.fromItems(argument0, argument1), Map.of(), callerInstance);
+    }
+
+    default PythonLikeObject $call3(PythonLikeObject argument0, PythonLikeObject argument1, PythonLikeObject argument2,
+            PythonLikeObject callerInstance) {
+        return $call(PythonLikeTuple.fromItems(argument0, argument1, argument2), Map.of(), callerInstance);
+    }
+
+    default PythonLikeObject $call4(PythonLikeObject argument0, PythonLikeObject argument1, PythonLikeObject argument2,
+            PythonLikeObject argument3, PythonLikeObject callerInstance) {
+        return $call(PythonLikeTuple.fromItems(argument0, argument1, argument2, argument3), Map.of(), callerInstance);
+    }
+
     @Override
     default PythonLikeObject __getAttributeOrNull(String attributeName) {
         return null;
@@ -1,15 +1,18 @@
 package org.optaplanner.jpyinterpreter.types;
 
+import java.lang.ref.WeakReference;
 import java.lang.reflect.Method;
 import java.util.ArrayList;
 import java.util.Comparator;
-import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Consumer;
 import java.util.stream.Stream;
 
@@ -31,6 +34,15 @@ import org.optaplanner.jpyinterpreter.types.errors.ValueError;
 
 public class PythonLikeType implements PythonLikeObject,
         PythonLikeFunction {
+    private static final int MIN_SUBTYPE_REFERENCE_LIST_COMPACTION_SIZE = 16;
+
+    /**
+     * The attributes defined by this type. Modify it through {@link #__setAttribute} and {@link #__deleteAttribute},
+     * so cached attribute lookups on this type and its subtypes are invalidated.
+     * <p>
+     * This map, and the other maps of a type, are concurrent since bytecode is translated on several threads,
+     * which can share (and add methods and fields to) the same types.
+     */
     public final Map<String, PythonLikeObject> __dir__;
 
     private final String TYPE_NAME;
@@ -40,12 +52,26 @@ public class PythonLikeType implements PythonLikeObject,
     public final List<PythonLikeType> MRO;
 
     private final Map<String, PythonKnownFunctionType> functionNameToKnownFunctionType;
-    private Optional<PythonKnownFunctionType> constructorKnownFunctionType;
+    private volatile Optional<PythonKnownFunctionType> constructorKnownFunctionType;
 
     private final Map<String, FieldDescriptor> instanceFieldToFieldDescriptorMap;
 
     private PythonLikeFunction constructor;
 
+    /*
+     * Attribute and method lookups are cached per type. Every change to the attributes or methods of a type
+     * increments its version and the versions of all types that have it in their MRO (see incrementVersion),
+     * so a cached result is valid while the version of the type it was cached on (which only ever increases)
+     * is the same as when it was cached.
+     */
+    private final AtomicLong version = new AtomicLong();
+    // Weakly referenced, since many types (such as generic types) are short-lived
+    private final List<WeakReference<PythonLikeType>> subtypeReferenceList = new ArrayList<>();
+    private int subtypeReferenceListCompactionSize = MIN_SUBTYPE_REFERENCE_LIST_COMPACTION_SIZE;
+    private final Map<String, CachedLookup<PythonLikeObject>> attributeLookupCache = new ConcurrentHashMap<>();
+    private final Map<String, CachedLookup<Optional<PythonKnownFunctionType>>> methodTypeLookupCache =
+            new ConcurrentHashMap<>();
+
     public PythonLikeType(String typeName, Class<? extends PythonLikeObject> javaClass) {
         this(typeName, javaClass, List.of(BuiltinTypes.BASE_TYPE));
     }
@@ -57,11 +83,12 @@ public class PythonLikeType implements PythonLikeObject,
         constructor = (positional, keywords, callerInstance) -> {
             throw new UnsupportedOperationException("Cannot create instance of type (" + TYPE_NAME + ").");
         };
-        __dir__ = new HashMap<>();
-        functionNameToKnownFunctionType = new HashMap<>();
+        __dir__ = new ConcurrentHashMap<>();
+        functionNameToKnownFunctionType = new ConcurrentHashMap<>();
         constructorKnownFunctionType = Optional.empty();
-        instanceFieldToFieldDescriptorMap = new HashMap<>();
+        instanceFieldToFieldDescriptorMap = new ConcurrentHashMap<>();
         MRO = determineMRO();
+        registerWithAncestors();
     }
 
     public PythonLikeType(String typeName, String javaTypeInternalName, List<PythonLikeType> parents) {
@@ -71,11 +98,12 @@ public class PythonLikeType implements PythonLikeObject,
         constructor = (positional, keywords, callerInstance) -> {
             throw new UnsupportedOperationException("Cannot create instance of type (" + TYPE_NAME + ").");
         };
-        __dir__ = new HashMap<>();
-        functionNameToKnownFunctionType = new HashMap<>();
+        __dir__ = new ConcurrentHashMap<>();
+        functionNameToKnownFunctionType = new ConcurrentHashMap<>();
         constructorKnownFunctionType = Optional.empty();
-        instanceFieldToFieldDescriptorMap = new HashMap<>();
+        instanceFieldToFieldDescriptorMap = new ConcurrentHashMap<>();
         MRO = determineMRO();
+        registerWithAncestors();
     }
 
     public PythonLikeType(String typeName, Class<? extends PythonLikeObject> javaClass, Consumer<PythonLikeType> initializer) {
@@ -83,6 +111,40 @@ public class PythonLikeType implements PythonLikeObject,
         initializer.accept(this);
     }
 
+    private void registerWithAncestors() {
+        // MRO.get(0) is this type
+        for (int i = 1; i < MRO.size(); i++) {
+            MRO.get(i).registerSubtype(this);
+        }
+    }
+
+    private void registerSubtype(PythonLikeType subtype) {
+        synchronized (subtypeReferenceList) {
+            subtypeReferenceList.add(new WeakReference<>(subtype));
+            if (subtypeReferenceList.size() >= subtypeReferenceListCompactionSize) {
+                subtypeReferenceList.removeIf(reference -> reference.get() == null);
+                subtypeReferenceListCompactionSize =
+                        Math.max(MIN_SUBTYPE_REFERENCE_LIST_COMPACTION_SIZE, 2 * subtypeReferenceList.size());
+            }
+        }
+    }
+
+    /**
+     * Invalidates the cached lookups of this type and its subtypes. Must be called after the change is made,
+     * so a lookup that starts before the change cannot be cached with the new version.
+     */
+    private void incrementVersion() {
+        version.incrementAndGet();
+        synchronized (subtypeReferenceList) {
+            for (WeakReference<PythonLikeType> subtypeReference : subtypeReferenceList) {
+                PythonLikeType subtype = subtypeReference.get();
+                if (subtype != null) {
+                    subtype.version.incrementAndGet();
+                }
+            }
+        }
+    }
+
     private List<PythonLikeType> determineMRO() {
         List<PythonLikeType> out = new ArrayList<>();
         out.add(this);
@@ -208,7 +270,7 @@ public class PythonLikeType implements PythonLikeObject,
             return typeResult;
         }
 
-        throw new AttributeError("object '" + this + "' does not have attribute '" + name + "'");
+        throw new AttributeError(() -> "object '" + this + "' does not have attribute '" + name + "'");
     }
 
     public void addMethod(String methodName, Method method) {
@@ -263,14 +325,16 @@ public class PythonLikeType implements PythonLikeObject,
 
     public void clearMethod(String methodName) {
         PythonKnownFunctionType knownFunctionType = functionNameToKnownFunctionType.computeIfAbsent(methodName,
-                key -> new PythonKnownFunctionType(methodName, new ArrayList<>()));
+                key -> new PythonKnownFunctionType(methodName, new CopyOnWriteArrayList<>()));
         knownFunctionType.getOverloadFunctionSignatureList().clear();
+        incrementVersion();
     }
 
     public void addMethod(String methodName, PythonFunctionSignature method) {
         PythonKnownFunctionType knownFunctionType = functionNameToKnownFunctionType.computeIfAbsent(methodName,
-                key -> new PythonKnownFunctionType(methodName, new ArrayList<>()));
+                key -> new PythonKnownFunctionType(methodName, new CopyOnWriteArrayList<>()));
         knownFunctionType.getOverloadFunctionSignatureList().add(method);
+        incrementVersion();
     }
 
     public Set<String> getKnownMethodsDefinedByClass() {
@@ -287,14 +351,26 @@ public class PythonLikeType implements PythonLikeObject,
         this.constructor = constructor;
     }
 
-    public void addConstructor(PythonFunctionSignature constructor) {
+    public synchronized void addConstructor(PythonFunctionSignature constructor) {
         if (constructorKnownFunctionType.isEmpty()) {
-            constructorKnownFunctionType = Optional.of(new PythonKnownFunctionType("<init>", new ArrayList<>()));
+            constructorKnownFunctionType = Optional.of(new PythonKnownFunctionType("<init>", new CopyOnWriteArrayList<>()));
         }
         constructorKnownFunctionType.get().getOverloadFunctionSignatureList().add(constructor);
     }
 
     public Optional<PythonKnownFunctionType> getMethodType(String methodName) {
+        long versionStamp = getVersionStamp();
+        CachedLookup<Optional<PythonKnownFunctionType>> cachedLookup = methodTypeLookupCache.get(methodName);
+        if (cachedLookup != null && cachedLookup.versionStamp == versionStamp) {
+            return cachedLookup.result;
+        }
+
+        Optional<PythonKnownFunctionType> out = lookupMethodType(methodName);
+        methodTypeLookupCache.put(methodName, new CachedLookup<>(versionStamp, out));
+        return out;
+    }
+
+    private Optional<PythonKnownFunctionType> lookupMethodType(String methodName) {
         PythonKnownFunctionType out = new PythonKnownFunctionType(methodName, new ArrayList<>());
         getAssignableTypesStream().forEach(type -> {
             PythonKnownFunctionType knownFunctionType = type.functionNameToKnownFunctionType.get(methodName);
@@ -360,17 +436,19 @@ public class PythonLikeType implements PythonLikeObject,
     }
 
     public void addInstanceField(FieldDescriptor fieldDescriptor) {
-        Optional<FieldDescriptor> maybeExistingField = getInstanceFieldDescriptor(fieldDescriptor.getPythonFieldName());
-        if (maybeExistingField.isPresent()) {
-            PythonLikeType existingFieldType = maybeExistingField.get().getFieldPythonLikeType();
-            if (!fieldDescriptor.getFieldPythonLikeType().isSubclassOf(existingFieldType)) {
-                throw new IllegalStateException("Field (" + fieldDescriptor.getPythonFieldName() + ") already exist with type ("
-                        +
-                        existingFieldType + ") which is not assignable from (" + fieldDescriptor.getFieldPythonLikeType()
-                        + ").");
+        // Synchronized so two threads cannot both add the same field with unrelated types
+        synchronized (instanceFieldToFieldDescriptorMap) {
+            Optional<FieldDescriptor> maybeExistingField = getInstanceFieldDescriptor(fieldDescriptor.getPythonFieldName());
+            if (maybeExistingField.isPresent()) {
+                PythonLikeType existingFieldType = maybeExistingField.get().getFieldPythonLikeType();
+                if (!fieldDescriptor.getFieldPythonLikeType().isSubclassOf(existingFieldType)) {
+                    throw new IllegalStateException("Field (" + fieldDescriptor.getPythonFieldName()
+                            + ") already exist with type (" + existingFieldType + ") which is not assignable from ("
+                            + fieldDescriptor.getFieldPythonLikeType() + ").");
+                }
+            } else {
+                instanceFieldToFieldDescriptorMap.put(fieldDescriptor.getPythonFieldName(), fieldDescriptor);
             }
-        } else {
-            instanceFieldToFieldDescriptorMap.put(fieldDescriptor.getPythonFieldName(), fieldDescriptor);
         }
     }
 
@@ -484,6 +562,18 @@ public class PythonLikeType implements PythonLikeObject,
     }
 
     public PythonLikeObject __getAttributeOrNull(String attributeName) {
+        long versionStamp = getVersionStamp();
+        CachedLookup<PythonLikeObject> cachedLookup = attributeLookupCache.get(attributeName);
+        if (cachedLookup != null && cachedLookup.versionStamp == versionStamp) {
+            return cachedLookup.result;
+        }
+
+        PythonLikeObject out = lookupAttribute(attributeName);
+        attributeLookupCache.put(attributeName, new CachedLookup<>(versionStamp, out));
+        return out;
+    }
+
+    private PythonLikeObject lookupAttribute(String attributeName) {
         PythonLikeObject out = __dir__.get(attributeName);
         if (out == null) {
             for (PythonLikeType type : PARENT_TYPES) {
@@ -501,12 +591,31 @@ public class PythonLikeType implements PythonLikeObject,
     @Override
     public void __setAttribute(String attributeName, PythonLikeObject value) {
         __dir__.put(attributeName, value);
+        incrementVersion();
     }
 
     @Override
     public void __deleteAttribute(String attributeName) {
         // TODO: Descriptors: https://docs.python.org/3/howto/descriptor.html
         __dir__.remove(attributeName);
+        incrementVersion();
+    }
+
+    /**
+     * @return a number that changes whenever the attributes or methods of this type or one of its ancestors change
+     */
+    public long getVersionStamp() {
+        return version.get();
+    }
+
+    private static final class CachedLookup<Result_> {
+        final long versionStamp;
+        final Result_ result;
+
+        CachedLookup(long versionStamp, Result_ result) {
+            this.versionStamp = versionStamp;
+            this.result = result;
+        }
     }
 
     @Override
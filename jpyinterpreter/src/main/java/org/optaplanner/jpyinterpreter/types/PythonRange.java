@@ -6,7 +6,6 @@ import java.util.Collection;
 import java.util.Iterator;
 import java.util.List;
 import java.util.ListIterator;
-import java.util.Map;
 
 import org.optaplanner.jpyinterpreter.PythonBinaryOperators;
 import org.optaplanner.jpyinterpreter.PythonLikeObject;
@@ -14,9 +13,11 @@ import org.optaplanner.jpyinterpreter.PythonOverloadImplementor;
 import org.optaplanner.jpyinterpreter.PythonUnaryOperator;
 import org.optaplanner.jpyinterpreter.builtins.UnaryDunderBuiltin;
 import org.optaplanner.jpyinterpreter.types.collections.PythonIterator;
+import org.optaplanner.jpyinterpreter.types.errors.StopIteration;
 import org.optaplanner.jpyinterpreter.types.errors.ValueError;
 import org.optaplanner.jpyinterpreter.types.numeric.PythonBoolean;
 import org.optaplanner.jpyinterpreter.types.numeric.PythonInteger;
+import org.optaplanner.jpyinterpreter.util.arguments.ArgumentSpec;
 
 public class PythonRange extends AbstractPythonLikeObject implements List<PythonInteger> {
     public static PythonLikeType $TYPE = BuiltinTypes.RANGE_TYPE;
@@ -31,59 +32,12 @@ public class PythonRange extends AbstractPythonLikeObject implements List<Python
 
     private static PythonLikeType registerMethods() throws NoSuchMethodException {
         // Constructor
-        BuiltinTypes.RANGE_TYPE.setConstructor(((positionalArguments, namedArguments, callerInstance) -> {
-            PythonLikeObject start;
-            PythonLikeObject stop;
-            PythonLikeObject step;
-
-            namedArguments = (namedArguments != null) ? namedArguments : Map.of();
-
-            if (positionalArguments.size() == 3) {
-                start = positionalArguments.get(0);
-                stop = positionalArguments.get(1);
-                step = positionalArguments.get(2);
-            } else if (positionalArguments.size() == 2) {
-                start = positionalArguments.get(0);
-                stop = positionalArguments.get(1);
-                step = namedArguments.getOrDefault(PythonString.valueOf("step"), PythonInteger.valueOf(1));
-            } else if (positionalArguments.size() == 1 && namedArguments.containsKey(PythonString.valueOf("stop"))) {
-                start = positionalArguments.get(0);
-                stop = namedArguments.get(PythonString.valueOf("stop"));
-                step = namedArguments.getOrDefault(PythonString.valueOf("step"), PythonInteger.valueOf(1));
-            } else if (positionalArguments.size() == 1) {
-                stop = positionalArguments.get(0);
-                start = PythonInteger.valueOf(0);
-                step = namedArguments.getOrDefault(PythonString.valueOf("step"), PythonInteger.valueOf(1));
-            } else if (positionalArguments.isEmpty()) {
-                start = namedArguments.getOrDefault(PythonString.valueOf("start"), PythonInteger.valueOf(0));
-                stop = namedArguments.get(PythonString.valueOf("stop"));
-                step = namedArguments.getOrDefault(PythonString.valueOf("step"), PythonInteger.valueOf(1));
-            } else {
-                throw new ValueError("range expects 1 to 3 arguments, got " + positionalArguments.size());
-            }
-
-            PythonInteger intStart, intStop, intStep;
-
-            if (start instanceof PythonInteger) {
-                intStart = (PythonInteger) start;
-            } else {
-                intStart = (PythonInteger) UnaryDunderBuiltin.INDEX.invoke(start);
-            }
-
-            if (stop instanceof PythonInteger) {
-                intStop = (PythonInteger) stop;
-            } else {
-                intStop = (PythonInteger) UnaryDunderBuiltin.INDEX.invoke(stop);
-            }
-
-            if (step instanceof PythonInteger) {
-                intStep = (PythonInteger) step;
-            } else {
-                intStep = (PythonInteger) UnaryDunderBuiltin.INDEX.invoke(step);
-            }
-
-            return new PythonRange(intStart, intStop, intStep);
-        }));
+        BuiltinTypes.RANGE_TYPE.addConstructor(ArgumentSpec.forFunctionReturning("range", PythonRange.class)
+                .addArgument("start", PythonLikeObject.class)
+                .addArgument("stop", PythonLikeObject.class, PythonNone.INSTANCE)
+                .addArgument("step", PythonLikeObject.class, PythonInteger.ONE)
+                .asStaticPythonFunctionSignature(PythonRange.class.getMethod("of", PythonLikeObject.class,
+                        PythonLikeObject.class, PythonLikeObject.class)));
 
         // Unary methods
         BuiltinTypes.RANGE_TYPE.addUnaryMethod(PythonUnaryOperator.LENGTH, PythonRange.class.getMethod("getLength"));
@@ -98,6 +52,27 @@ public class PythonRange extends AbstractPythonLikeObject implements List<Python
         return BuiltinTypes.RANGE_TYPE;
     }
 
+    /**
+     * Creates a range; {@code range(stop)} is passed as {@code of(stop, None, 1)}
+     */
+    public static PythonRange of(PythonLikeObject start, PythonLikeObject stop, PythonLikeObject step) {
+        PythonInteger stepIndex = asIndex(step);
+        if (stepIndex.signum() == 0) {
+            throw new ValueError("range() arg 3 must not be zero");
+        }
+        if (stop == PythonNone.INSTANCE) {
+            return new PythonRange(PythonInteger.ZERO, asIndex(start), stepIndex);
+        }
+        return new PythonRange(asIndex(start), asIndex(stop), stepIndex);
+    }
+
+    private static PythonInteger asIndex(PythonLikeObject value) {
+        if (value instanceof PythonInteger) {
+            return (PythonInteger) value;
+        }
+        return (PythonInteger) UnaryDunderBuiltin.INDEX.invoke(value);
+    }
+
     public PythonRange(PythonInteger start, PythonInteger stop, PythonInteger step) {
         super(BuiltinTypes.RANGE_TYPE);
         this.start = start;
@@ -112,7 +87,7 @@ public class PythonRange extends AbstractPythonLikeObject implements List<Python
     @Override
     public int size() {
         // Need to use ceil division
-        BigInteger[] divideAndRemainder = stop.value.subtract(start.value).divideAndRemainder(step.value);
+        BigInteger[] divideAndRemainder = stop.getValue().subtract(start.getValue()).divideAndRemainder(step.getValue());
         if (divideAndRemainder[1].equals(BigInteger.ZERO)) {
             return divideAndRemainder[0].intValueExact();
         } else {
@@ -136,18 +111,28 @@ public class PythonRange extends AbstractPythonLikeObject implements List<Python
         }
         PythonInteger query = (PythonInteger) o;
 
-        if (step.value.compareTo(BigInteger.ZERO) < 0) {
-            if (query.value.compareTo(stop.value) < 0) {
+        if (step.signum() < 0) {
+            if (query.compareTo(stop) < 0) {
                 return false;
             }
         } else {
-            if (query.value.compareTo(stop.value) > 0) {
+            if (query.compareTo(stop) > 0) {
                 return false;
             }
         }
 
-        BigInteger relativeToStart = query.value.subtract(start.value);
-        BigInteger[] divisionAndRemainder = relativeToStart.divideAndRemainder(step.value);
+        if (query.fitsInLong() && start.fitsInLong() && step.fitsInLong()) {
+            long relativeToStart = query.longValue() - start.longValue();
+            // No overflow iff the operands have the same sign, or the result has the sign of the minuend
+            if (((query.longValue() ^ start.longValue()) & (query.longValue() ^ relativeToStart)) >= 0) {
+                long stepValue = step.longValue();
+                // i = relativeToStart / step must be a non-negative integer
+                return relativeToStart % stepValue == 0 && (relativeToStart == 0 || (relativeToStart < 0) == (stepValue < 0));
+            }
+        }
+
+        BigInteger relativeToStart = query.getValue().subtract(start.getValue());
+        BigInteger[] divisionAndRemainder = relativeToStart.divideAndRemainder(step.getValue());
 
         if (!divisionAndRemainder[1].equals(BigInteger.ZERO)) {
             return false; // cannot be represented as start + step * i
@@ -165,6 +150,9 @@ public class PythonRange extends AbstractPythonLikeObject implements List<Python
     }
 
     public PythonIterator getPythonIterator() {
+        if (start.fitsInLong() && stop.fitsInLong() && step.fitsInLong()) {
+            return new LongRangeIterator(start.longValue(), stop.longValue(), step.longValue());
+        }
         return new PythonIterator(iterator());
     }
 
@@ -221,7 +209,7 @@ public class PythonRange extends AbstractPythonLikeObject implements List<Python
     }
 
     public PythonInteger getItem(PythonInteger index) {
-        if (index.value.compareTo(BigInteger.ZERO) < 0) {
+        if (index.signum() < 0) {
             throw new IndexOutOfBoundsException();
         }
         PythonInteger out = start.add(step.multiply(index));
@@ -239,8 +227,8 @@ public class PythonRange extends AbstractPythonLikeObject implements List<Python
             return -1;
         }
         PythonInteger query = (PythonInteger) o;
-        BigInteger relativeToStart = query.value.subtract(start.value);
-        return relativeToStart.divide(step.value).intValueExact();
+        BigInteger relativeToStart = query.getValue().subtract(start.getValue());
+        return relativeToStart.divide(step.getValue()).intValueExact();
     }
 
     @Override
@@ -313,6 +301,47 @@ public class PythonRange extends AbstractPythonLikeObject implements List<Python
         throw new UnsupportedOperationException("Cannot modify range");
     }
 
+    /**
+     * Iterator for a range whose start, stop and step all fit in a long.
+     * Keeps its position as a long, so only the yielded integers are allocated.
+     */
+    public static final class LongRangeIterator extends PythonIterator<PythonInteger> {
+        private final long stop;
+        private final long step;
+        private long current;
+
+        public LongRangeIterator(long start, long stop, long step) {
+            super(BuiltinTypes.ITERATOR_TYPE);
+            this.current = start;
+            this.stop = stop;
+            this.step = step;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return (step < 0) ? current > stop : current < stop;
+        }
+
+        @Override
+        public PythonInteger next() {
+            if (!hasNext()) {
+                throw StopIteration.getInstance();
+            }
+            return PythonInteger.valueOf(nextLong());
+        }
+
+        /**
+         * Like {@link #next()}, but does not box the item; must only be called when {@link #hasNext()} is true
+         */
+        public long nextLong() {
+            long out = current;
+            long next = current + step;
+            // On overflow, the next value is past stop (since stop fits in a long)
+            current = (((current ^ next) & (step ^ next)) < 0) ? stop : next;
+            return out;
+        }
+    }
+
     public static class RangeIterator implements ListIterator<PythonInteger> {
         final PythonInteger startValue;
         final PythonInteger stopValue;
@@ -332,7 +361,7 @@ public class PythonRange extends AbstractPythonLikeObject implements List<Python
 
         @Override
         public boolean hasNext() {
-            if (step.value.compareTo(BigInteger.ZERO) < 0) {
+            if (step.signum() < 0) {
                 return currentValue.compareTo(stopValue) > 0;
             } else {
                 return currentValue.compareTo(stopValue) < 0;
@@ -348,7 +377,7 @@ public class PythonRange extends AbstractPythonLikeObject implements List<Python
 
         @Override
         public boolean hasPrevious() {
-            if (step.value.compareTo(BigInteger.ZERO) < 0) {
+            if (step.signum() < 0) {
                 return currentValue.compareTo(startValue) < 0;
             } else {
                 return currentValue.compareTo(startValue) > 0;
@@ -364,12 +393,12 @@ public class PythonRange extends AbstractPythonLikeObject implements List<Python
 
         @Override
         public int nextIndex() {
-            return currentValue.value.divide(step.value).intValueExact() + startOffset + 1;
+            return currentValue.getValue().divide(step.getValue()).intValueExact() + startOffset + 1;
         }
 
         @Override
         public int previousIndex() {
-            return currentValue.value.divide(step.value).intValueExact() + startOffset - 1;
+            return currentValue.getValue().divide(step.getValue()).intValueExact() + startOffset - 1;
         }
 
         @Override
@@ -1,6 +1,5 @@
 package org.optaplanner.jpyinterpreter.types;
 
-import java.math.BigInteger;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -23,6 +22,10 @@ public class PythonSlice extends AbstractPythonLikeObject {
     public final PythonLikeObject stop;
     public final PythonLikeObject step;
 
+    private static final PythonString START_KEYWORD = PythonString.intern("start");
+    private static final PythonString STOP_KEYWORD = PythonString.intern("stop");
+    private static final PythonString STEP_KEYWORD = PythonString.intern("step");
+
     static {
         PythonOverloadImplementor.deferDispatchesFor(PythonSlice::registerMethods);
     }
@@ -43,19 +46,19 @@ public class PythonSlice extends AbstractPythonLikeObject {
             } else if (positionalArguments.size() == 2) {
                 start = positionalArguments.get(0);
                 stop = positionalArguments.get(1);
-                step = namedArguments.getOrDefault(PythonString.valueOf("step"), PythonNone.INSTANCE);
-            } else if (positionalArguments.size() == 1 && namedArguments.containsKey(PythonString.valueOf("stop"))) {
+                step = namedArguments.getOrDefault(STEP_KEYWORD, PythonNone.INSTANCE);
+            } else if (positionalArguments.size() == 1 && namedArguments.containsKey(STOP_KEYWORD)) {
                 start = positionalArguments.get(0);
-                stop = namedArguments.getOrDefault(PythonString.valueOf("stop"), PythonNone.INSTANCE);
-                step = namedArguments.getOrDefault(PythonString.valueOf("step"), PythonNone.INSTANCE);
+                stop = namedArguments.getOrDefault(STOP_KEYWORD, PythonNone.INSTANCE);
+                step = namedArguments.getOrDefault(STEP_KEYWORD, PythonNone.INSTANCE);
             } else if (positionalArguments.size() == 1) {
                 stop = positionalArguments.get(0);
                 start = PythonInteger.valueOf(0);
-                step = namedArguments.getOrDefault(PythonString.valueOf("step"), PythonNone.INSTANCE);
+                step = namedArguments.getOrDefault(STEP_KEYWORD, PythonNone.INSTANCE);
             } else if (positionalArguments.isEmpty()) {
-                start = namedArguments.getOrDefault(PythonString.valueOf("start"), PythonInteger.valueOf(0));
-                stop = namedArguments.getOrDefault(PythonString.valueOf("stop"), PythonNone.INSTANCE);
-                step = namedArguments.getOrDefault(PythonString.valueOf("step"), PythonNone.INSTANCE);
+                start = namedArguments.getOrDefault(START_KEYWORD, PythonInteger.valueOf(0));
+                stop = namedArguments.getOrDefault(STOP_KEYWORD, PythonNone.INSTANCE);
+                step = namedArguments.getOrDefault(STEP_KEYWORD, PythonNone.INSTANCE);
             } else {
                 throw new ValueError("slice expects 1 to 3 arguments, got " + positionalArguments.size());
             }
@@ -95,7 +98,7 @@ public class PythonSlice extends AbstractPythonLikeObject {
      * @return index, if index in [0, length -1]; length - index, if index < 0.
      */
     public static int asIntIndexForLength(PythonInteger index, int length) {
-        int indexAsInt = index.value.intValueExact();
+        int indexAsInt = index.intValueExact();
 
         if (indexAsInt < 0) {
             return length + indexAsInt;
@@ -115,7 +118,7 @@ public class PythonSlice extends AbstractPythonLikeObject {
      *         position after the sequence).
      */
     public static int asValidStartIntIndexForLength(PythonInteger index, int length) {
-        int indexAsInt = index.value.intValueExact();
+        int indexAsInt = index.intValueExact();
 
         if (indexAsInt < 0) {
             return Math.max(0, Math.min(length - 1, length + indexAsInt));
@@ -135,7 +138,7 @@ public class PythonSlice extends AbstractPythonLikeObject {
      *         position after the sequence).
      */
     public static int asValidEndIntIndexForLength(PythonInteger index, int length) {
-        int indexAsInt = index.value.intValueExact();
+        int indexAsInt = index.intValueExact();
 
         if (indexAsInt < 0) {
             return Math.max(0, Math.min(length, length + indexAsInt));
@@ -152,51 +155,51 @@ public class PythonSlice extends AbstractPythonLikeObject {
             strideLength = PythonInteger.ONE;
         } else if (this.step instanceof PythonInteger) {
             strideLength = (PythonInteger) this.step;
-            isReversed = strideLength.compareTo(PythonInteger.ZERO) < 0;
+            isReversed = strideLength.signum() < 0;
         } else {
             strideLength = (PythonInteger) UnaryDunderBuiltin.INDEX.invoke(start);
-            isReversed = strideLength.compareTo(PythonInteger.ZERO) < 0;
+            isReversed = strideLength.signum() < 0;
         }
 
-        if (strideLength.value.intValueExact() == 0) {
+        if (strideLength.signum() == 0) {
             throw new ValueError("stride length cannot be zero");
         }
 
         if (start instanceof PythonInteger) {
             startIndex = (PythonInteger) start;
         } else if (start == PythonNone.INSTANCE) {
-            startIndex = isReversed ? PythonInteger.valueOf(sequenceLength.value.subtract(BigInteger.ONE)) : PythonInteger.ZERO;
+            startIndex = isReversed ? sequenceLength.subtract(PythonInteger.ONE) : PythonInteger.ZERO;
         } else {
             startIndex = ((PythonInteger) UnaryDunderBuiltin.INDEX.invoke(start));
         }
 
-        if (startIndex.compareTo(PythonInteger.ZERO) < 0) {
+        if (startIndex.signum() < 0) {
             startIndex = sequenceLength.add(startIndex);
         }
 
-        if (!isReversed && startIndex.value.compareTo(sequenceLength.value) > 0) {
+        if (!isReversed && startIndex.compareTo(sequenceLength) > 0) {
             startIndex = sequenceLength;
-        } else if (isReversed && startIndex.value.compareTo(sequenceLength.value.subtract(BigInteger.ONE)) > 0) {
-            startIndex = PythonInteger.valueOf(sequenceLength.value.subtract(BigInteger.ONE));
+        } else if (isReversed && startIndex.compareTo(sequenceLength.subtract(PythonInteger.ONE)) > 0) {
+            startIndex = sequenceLength.subtract(PythonInteger.ONE);
         }
 
         if (stop instanceof PythonInteger) {
             stopIndex = (PythonInteger) stop;
         } else if (stop == PythonNone.INSTANCE) {
             stopIndex =
-                    isReversed ? PythonInteger.valueOf(sequenceLength.value.negate().subtract(BigInteger.ONE)) : sequenceLength;
+                    isReversed ? sequenceLength.negative().subtract(PythonInteger.ONE) : sequenceLength;
         } else {
             stopIndex = (PythonInteger) UnaryDunderBuiltin.INDEX.invoke(stop);
         }
 
-        if (stopIndex.compareTo(PythonInteger.ZERO) < 0) {
+        if (stopIndex.signum() < 0) {
             stopIndex = sequenceLength.add(stopIndex);
         }
 
-        if (!isReversed && stopIndex.value.compareTo(sequenceLength.value) > 0) {
+        if (!isReversed && stopIndex.compareTo(sequenceLength) > 0) {
             stopIndex = sequenceLength;
-        } else if (isReversed && stopIndex.value.compareTo(sequenceLength.value.subtract(BigInteger.ONE)) > 0) {
-            stopIndex = PythonInteger.valueOf(sequenceLength.value.subtract(BigInteger.ONE));
+        } else if (isReversed && stopIndex.compareTo(sequenceLength.subtract(PythonInteger.ONE)) > 0) {
+            stopIndex = sequenceLength.subtract(PythonInteger.ONE);
         }
 
         return PythonLikeTuple.fromList(List.of(startIndex, stopIndex, strideLength));
@@ -207,11 +210,11 @@ public class PythonSlice extends AbstractPythonLikeObject {
         boolean isReversed = getStrideLength() < 0;
 
         if (start instanceof PythonInteger) {
-            startIndex = ((PythonInteger) start).value.intValueExact();
+            startIndex = ((PythonInteger) start).intValueExact();
         } else if (start == PythonNone.INSTANCE) {
             startIndex = isReversed ? length - 1 : 0;
         } else {
-            startIndex = ((PythonInteger) UnaryDunderBuiltin.INDEX.invoke(start)).value.intValueExact();
+            startIndex = ((PythonInteger) UnaryDunderBuiltin.INDEX.invoke(start)).intValueExact();
         }
 
         if (startIndex < 0) {
@@ -232,11 +235,11 @@ public class PythonSlice extends AbstractPythonLikeObject {
         boolean isReversed = getStrideLength() < 0;
 
         if (stop instanceof PythonInteger) {
-            stopIndex = ((PythonInteger) stop).value.intValueExact();
+            stopIndex = ((PythonInteger) stop).intValueExact();
         } else if (stop == PythonNone.INSTANCE) {
             stopIndex = isReversed ? -length - 1 : length; // use -length - 1 so length - stopIndex = -1
         } else {
-            stopIndex = ((PythonInteger) UnaryDunderBuiltin.INDEX.invoke(stop)).value.intValueExact();
+            stopIndex = ((PythonInteger) UnaryDunderBuiltin.INDEX.invoke(stop)).intValueExact();
         }
 
         if (stopIndex < 0) {
@@ -263,13 +266,13 @@ public class PythonSlice extends AbstractPythonLikeObject {
             strideLength = (PythonInteger) UnaryDunderBuiltin.INDEX.invoke(step);
         }
 
-        int out = strideLength.value.intValueExact();
+        int out = strideLength.intValueExact();
 
         if (out == 0) {
             throw new ValueError("stride length cannot be zero");
         }
 
-        return strideLength.value.intValueExact();
+        return strideLength.intValueExact();
     }
 
     public void iterate(int length, SliceConsumer consumer) {
@@ -279,10 +282,10 @@ public class PythonSlice extends AbstractPythonLikeObject {
         if (this.step == PythonNone.INSTANCE) {
             strideLength = 1;
         } else if (this.step instanceof PythonInteger) {
-            strideLength = ((PythonInteger) this.step).value.intValueExact();
+            strideLength = ((PythonInteger) this.step).intValueExact();
             isReversed = strideLength < 0;
         } else {
-            strideLength = ((PythonInteger) UnaryDunderBuiltin.INDEX.invoke(start)).value.intValueExact();
+            strideLength = ((PythonInteger) UnaryDunderBuiltin.INDEX.invoke(start)).intValueExact();
             isReversed = strideLength < 0;
         }
 
@@ -291,11 +294,11 @@ public class PythonSlice extends AbstractPythonLikeObject {
         }
 
         if (start instanceof PythonInteger) {
-            startIndex = ((PythonInteger) start).value.intValueExact();
+            startIndex = ((PythonInteger) start).intValueExact();
         } else if (start == PythonNone.INSTANCE) {
             startIndex = isReversed ? length - 1 : 0;
         } else {
-            startIndex = ((PythonInteger) UnaryDunderBuiltin.INDEX.invoke(start)).value.intValueExact();
+            startIndex = ((PythonInteger) UnaryDunderBuiltin.INDEX.invoke(start)).intValueExact();
         }
 
         if (startIndex < 0) {
@@ -309,11 +312,11 @@ public class PythonSlice extends AbstractPythonLikeObject {
         }
 
         if (stop instanceof PythonInteger) {
-            stopIndex = ((PythonInteger) stop).value.intValueExact();
+            stopIndex = ((PythonInteger) stop).intValueExact();
         } else if (stop == PythonNone.INSTANCE) {
             stopIndex = isReversed ? -length - 1 : length; // use -length - 1 so length - stopIndex = -1
         } else {
-            stopIndex = ((PythonInteger) UnaryDunderBuiltin.INDEX.invoke(stop)).value.intValueExact();
+            stopIndex = ((PythonInteger) UnaryDunderBuiltin.INDEX.invoke(stop)).intValueExact();
         }
 
         if (stopIndex < 0) {
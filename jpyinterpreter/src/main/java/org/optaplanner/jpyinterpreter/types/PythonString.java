@@ -10,6 +10,7 @@ import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.IntPredicate;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -41,8 +42,29 @@ import org.optaplanner.jpyinterpreter.util.arguments.ArgumentSpec;
 public class PythonString extends AbstractPythonLikeObject implements PythonLikeComparable<PythonString> {
     public final String value;
 
+    /**
+     * The kind of characters in a string, from most to least restrictive. Strings without surrogate pairs have
+     * one char per code point, so their length, indexing and slicing can use the char based methods of {@link String}.
+     */
+    private static final byte KIND_UNKNOWN = 0;
+    private static final byte KIND_ASCII = 1;
+    private static final byte KIND_NO_SURROGATES = 2;
+    private static final byte KIND_SURROGATES = 3;
+
+    private static final PythonString[] ASCII_CHARACTERS = new PythonString[128];
+
     public final static PythonString EMPTY = new PythonString("");
 
+    static {
+        for (int i = 0; i < ASCII_CHARACTERS.length; i++) {
+            ASCII_CHARACTERS[i] = new PythonString(Character.toString((char) i));
+        }
+    }
+
+    // Both computed on first use
+    private byte $kind;
+    private PythonInteger $hash;
+
     static {
         PythonOverloadImplementor.deferDispatchesFor(PythonString::registerMethods);
     }
@@ -268,6 +290,70 @@ public class PythonString extends AbstractPythonLikeObject implements PythonLike
         return new PythonString(value);
     }
 
+    /**
+     * Returns the shared instance for an identifier, such as a keyword argument, attribute or global name.
+     * Interned strings are never freed, so this must not be used for arbitrary strings.
+     */
+    public static PythonString intern(String identifier) {
+        return InternedStrings.INTERNED_STRINGS.computeIfAbsent(identifier, PythonString::new);
+    }
+
+    // In its own class, so intern can be used by classes initialized while PythonString is initialized
+    private static final class InternedStrings {
+        private static final Map<String, PythonString> INTERNED_STRINGS = new ConcurrentHashMap<>();
+    }
+
+    private byte getKind() {
+        byte kind = $kind;
+        if (kind == KIND_UNKNOWN) {
+            kind = KIND_ASCII;
+            for (int i = 0; i < value.length(); i++) {
+                char character = value.charAt(i);
+                if (Character.isSurrogate(character)) {
+                    kind = KIND_SURROGATES;
+                    break;
+                }
+                if (character > 127) {
+                    kind = KIND_NO_SURROGATES;
+                }
+            }
+            $kind = kind;
+        }
+        return kind;
+    }
+
+    private int getCodePointCount() {
+        return (getKind() != KIND_SURROGATES) ? value.length() : value.codePointCount(0, value.length());
+    }
+
+    // Python indexes strings by code point, Java by char; the two only differ if the string has surrogates
+    private int toCharIndex(int codePointIndex) {
+        return (getKind() != KIND_SURROGATES) ? codePointIndex : value.offsetByCodePoints(0, codePointIndex);
+    }
+
+    private int toCodePointIndex(int charIndex) {
+        return (getKind() != KIND_SURROGATES || charIndex <= 0) ? charIndex : value.codePointCount(0, charIndex);
+    }
+
+    private int getStartCharIndex(PythonInteger start) {
+        return toCharIndex(PythonSlice.asValidStartIntIndexForLength(start, getCodePointCount()));
+    }
+
+    private int getEndCharIndex(PythonInteger end) {
+        return toCharIndex(PythonSlice.asValidEndIntIndexForLength(end, getCodePointCount()));
+    }
+
+    private static PythonString valueOfCodePoint(int codePoint) {
+        if (codePoint < ASCII_CHARACTERS.length) {
+            return ASCII_CHARACTERS[codePoint];
+        }
+        return new PythonString(Character.toString(codePoint));
+    }
+
+    private static boolean isSingleCodePoint(PythonString string) {
+        return !string.value.isEmpty() && string.getCodePointCount() == 1;
+    }
+
     public String getValue() {
         return value;
     }
@@ -358,26 +444,31 @@ public class PythonString extends AbstractPythonLikeObject implements PythonLike
     }
 
     public int length() {
-        return value.length();
+        return getCodePointCount();
     }
 
     public PythonInteger getLength() {
-        return PythonInteger.valueOf(value.length());
+        return PythonInteger.valueOf(getCodePointCount());
     }
 
     public PythonString getCharAt(PythonInteger position) {
-        int index = PythonSlice.asIntIndexForLength(position, value.length());
+        int length = getCodePointCount();
+        int index = PythonSlice.asIntIndexForLength(position, length);
 
-        if (index >= value.length()) {
-            throw new IndexError("position " + position + " larger than string length " + value.length());
+        if (index >= length) {
+            throw new IndexError("position " + position + " larger than string length " + length);
         } else if (index < 0) {
             throw new IndexError("position " + position + " is less than 0");
         }
 
-        return new PythonString(Character.toString(value.charAt(index)));
+        return valueOfCodePoint(value.codePointAt(toCharIndex(index)));
     }
 
     public PythonString getSubstring(PythonSlice slice) {
+        if (getKind() == KIND_SURROGATES) {
+            return getCodePointSubstring(slice);
+        }
+
         int length = value.length();
         int start = slice.getStartIndex(length);
         int stop = slice.getStopIndex(length);
@@ -404,6 +495,26 @@ public class PythonString extends AbstractPythonLikeObject implements PythonLike
         }
     }
 
+    private PythonString getCodePointSubstring(PythonSlice slice) {
+        int[] codePoints = value.codePoints().toArray();
+        int length = codePoints.length;
+        int start = slice.getStartIndex(length);
+        int stop = slice.getStopIndex(length);
+        int step = slice.getStrideLength();
+
+        StringBuilder out = new StringBuilder();
+        if (step > 0) {
+            for (int i = start; i < stop; i += step) {
+                out.appendCodePoint(codePoints[i]);
+            }
+        } else {
+            for (int i = start; i > stop; i += step) {
+                out.appendCodePoint(codePoints[i]);
+            }
+        }
+        return PythonString.valueOf(out.toString());
+    }
+
     public PythonBoolean containsSubstring(PythonString substring) {
         return PythonBoolean.valueOf(value.contains(substring.value));
     }
@@ -419,7 +530,7 @@ public class PythonString extends AbstractPythonLikeObject implements PythonLike
     }
 
     public PythonString repeat(PythonInteger times) {
-        int timesAsInt = times.value.intValueExact();
+        int timesAsInt = times.intValueExact();
 
         if (timesAsInt <= 0) {
             return EMPTY;
@@ -433,15 +544,18 @@ public class PythonString extends AbstractPythonLikeObject implements PythonLike
     }
 
     public PythonIterator getIterator() {
-        return new PythonIterator(value.chars().mapToObj(charVal -> new PythonString(Character.toString(charVal)))
-                .iterator());
+        return new PythonIterator(value.codePoints().mapToObj(PythonString::valueOfCodePoint).iterator());
     }
 
     public PythonString capitalize() {
         if (value.isEmpty()) {
             return this;
         }
-        return PythonString.valueOf(Character.toTitleCase(value.charAt(0)) + value.substring(1).toLowerCase());
+        int firstCodePoint = value.codePointAt(0);
+        return PythonString.valueOf(new StringBuilder(value.length())
+                .appendCodePoint(Character.toTitleCase(firstCodePoint))
+                .append(value.substring(Character.charCount(firstCodePoint)).toLowerCase())
+                .toString());
     }
 
     public PythonString title() {
@@ -453,13 +567,14 @@ public class PythonString extends AbstractPythonLikeObject implements PythonLike
         boolean previousIsWordBoundary = true;
 
         StringBuilder out = new StringBuilder(length);
-        for (int i = 0; i < length; i++) {
-            char character = value.charAt(i);
+        for (int i = 0; i < length;) {
+            int character = value.codePointAt(i);
+            i += Character.charCount(character);
 
             if (previousIsWordBoundary) {
-                out.append(Character.toTitleCase(character));
+                out.appendCodePoint(Character.toTitleCase(character));
             } else {
-                out.append(Character.toLowerCase(character));
+                out.appendCodePoint(Character.toLowerCase(character));
             }
 
             previousIsWordBoundary = !Character.isAlphabetic(character);
@@ -494,16 +609,17 @@ public class PythonString extends AbstractPythonLikeObject implements PythonLike
     }
 
     public PythonString center(PythonInteger width, PythonString fillChar) {
-        int widthAsInt = width.value.intValueExact();
-        if (widthAsInt <= value.length()) {
+        int widthAsInt = width.intValueExact();
+        int length = getCodePointCount();
+        if (widthAsInt <= length) {
             return this;
         }
-        int extraWidth = widthAsInt - value.length();
+        int extraWidth = widthAsInt - length;
         int rightPadding = extraWidth / 2;
         // left padding get extra character if extraWidth is odd
         int leftPadding = rightPadding + (extraWidth & 1); // x & 1 == x % 2
 
-        if (fillChar.value.length() != 1) {
+        if (!isSingleCodePoint(fillChar)) {
             throw new TypeError("The fill character must be exactly one character long");
         }
 
@@ -519,13 +635,14 @@ public class PythonString extends AbstractPythonLikeObject implements PythonLike
     }
 
     public PythonString rightJustify(PythonInteger width, PythonString fillChar) {
-        int widthAsInt = width.value.intValueExact();
-        if (widthAsInt <= value.length()) {
+        int widthAsInt = width.intValueExact();
+        int length = getCodePointCount();
+        if (widthAsInt <= length) {
             return this;
         }
-        int leftPadding = widthAsInt - value.length();
+        int leftPadding = widthAsInt - length;
 
-        if (fillChar.value.length() != 1) {
+        if (!isSingleCodePoint(fillChar)) {
             throw new TypeError("The fill character must be exactly one character long");
         }
 
@@ -537,13 +654,14 @@ public class PythonString extends AbstractPythonLikeObject implements PythonLike
     }
 
     public PythonString leftJustify(PythonInteger width, PythonString fillChar) {
-        int widthAsInt = width.value.intValueExact();
-        if (widthAsInt <= value.length()) {
+        int widthAsInt = width.intValueExact();
+        int length = getCodePointCount();
+        if (widthAsInt <= length) {
             return this;
         }
-        int rightPadding = widthAsInt - value.length();
+        int rightPadding = widthAsInt - length;
 
-        if (fillChar.value.length() != 1) {
+        if (!isSingleCodePoint(fillChar)) {
             throw new TypeError("The fill character must be exactly one character long");
         }
 
@@ -556,15 +674,15 @@ public class PythonString extends AbstractPythonLikeObject implements PythonLike
     }
 
     public PythonInteger count(PythonString sub, PythonInteger start) {
-        int startIndex = PythonSlice.asValidStartIntIndexForLength(start, value.length());
+        int startIndex = getStartCharIndex(start);
 
         Matcher matcher = Pattern.compile(Pattern.quote(sub.value)).matcher(value.substring(startIndex));
         return PythonInteger.valueOf(matcher.results().count());
     }
 
     public PythonInteger count(PythonString sub, PythonInteger start, PythonInteger end) {
-        int startIndex = PythonSlice.asValidStartIntIndexForLength(start, value.length());
-        int endIndex = PythonSlice.asValidEndIntIndexForLength(end, value.length());
+        int startIndex = getStartCharIndex(start);
+        int endIndex = getEndCharIndex(end);
 
         Matcher matcher = Pattern.compile(Pattern.quote(sub.value)).matcher(value.substring(startIndex, endIndex));
         return PythonInteger.valueOf(matcher.results().count());
@@ -591,12 +709,12 @@ public class PythonString extends AbstractPythonLikeObject implements PythonLike
     }
 
     public PythonBoolean startsWith(PythonString prefix, PythonInteger start) {
-        int startIndex = PythonSlice.asValidStartIntIndexForLength(start, value.length());
+        int startIndex = getStartCharIndex(start);
         return PythonBoolean.valueOf(value.substring(startIndex).startsWith(prefix.value));
     }
 
     public PythonBoolean startsWith(PythonLikeTuple prefixTuple, PythonInteger start) {
-        int startIndex = PythonSlice.asValidStartIntIndexForLength(start, value.length());
+        int startIndex = getStartCharIndex(start);
         String toCheck = value.substring(startIndex);
         for (PythonLikeObject maybePrefix : prefixTuple) {
             if (!(maybePrefix instanceof PythonString)) {
@@ -612,14 +730,14 @@ public class PythonString extends AbstractPythonLikeObject implements PythonLike
     }
 
     public PythonBoolean startsWith(PythonString prefix, PythonInteger start, PythonInteger end) {
-        int startIndex = PythonSlice.asValidStartIntIndexForLength(start, value.length());
-        int endIndex = PythonSlice.asValidEndIntIndexForLength(end, value.length());
+        int startIndex = getStartCharIndex(start);
+        int endIndex = getEndCharIndex(end);
         return PythonBoolean.valueOf(value.substring(startIndex, endIndex).startsWith(prefix.value));
     }
 
     public PythonBoolean startsWith(PythonLikeTuple prefixTuple, PythonInteger start, PythonInteger end) {
-        int startIndex = PythonSlice.asValidStartIntIndexForLength(start, value.length());
-        int endIndex = PythonSlice.asValidEndIntIndexForLength(end, value.length());
+        int startIndex = getStartCharIndex(start);
+        int endIndex = getEndCharIndex(end);
 
         String toCheck = value.substring(startIndex, endIndex);
         for (PythonLikeObject maybePrefix : prefixTuple) {
@@ -654,12 +772,12 @@ public class PythonString extends AbstractPythonLikeObject implements PythonLike
     }
 
     public PythonBoolean endsWith(PythonString suffix, PythonInteger start) {
-        int startIndex = PythonSlice.asValidStartIntIndexForLength(start, value.length());
+        int startIndex = getStartCharIndex(start);
         return PythonBoolean.valueOf(value.substring(startIndex).endsWith(suffix.value));
     }
 
     public PythonBoolean endsWith(PythonLikeTuple suffixTuple, PythonInteger start) {
-        int startIndex = PythonSlice.asValidStartIntIndexForLength(start, value.length());
+        int startIndex = getStartCharIndex(start);
         String toCheck = value.substring(startIndex);
         for (PythonLikeObject maybeSuffix : suffixTuple) {
             if (!(maybeSuffix instanceof PythonString)) {
@@ -675,15 +793,15 @@ public class PythonString extends AbstractPythonLikeObject implements PythonLike
     }
 
     public PythonBoolean endsWith(PythonString suffix, PythonInteger start, PythonInteger end) {
-        int startIndex = PythonSlice.asValidStartIntIndexForLength(start, value.length());
-        int endIndex = PythonSlice.asValidEndIntIndexForLength(end, value.length());
+        int startIndex = getStartCharIndex(start);
+        int endIndex = getEndCharIndex(end);
 
         return PythonBoolean.valueOf(value.substring(startIndex, endIndex).endsWith(suffix.value));
     }
 
     public PythonBoolean endsWith(PythonLikeTuple suffixTuple, PythonInteger start, PythonInteger end) {
-        int startIndex = PythonSlice.asValidStartIntIndexForLength(start, value.length());
-        int endIndex = PythonSlice.asValidEndIntIndexForLength(end, value.length());
+        int startIndex = getStartCharIndex(start);
+        int endIndex = getEndCharIndex(end);
 
         String toCheck = value.substring(startIndex, endIndex);
         for (PythonLikeObject maybeSuffix : suffixTuple) {
@@ -704,17 +822,18 @@ public class PythonString extends AbstractPythonLikeObject implements PythonLike
     }
 
     public PythonString expandTabs(PythonInteger tabsize) {
-        int tabsizeAsInt = tabsize.value.intValueExact();
+        int tabsizeAsInt = tabsize.intValueExact();
 
         int column = 0;
         int length = value.length();
         StringBuilder builder = new StringBuilder();
 
-        for (int i = 0; i < length; i++) {
-            char character = value.charAt(i);
+        for (int i = 0; i < length;) {
+            int character = value.codePointAt(i);
+            i += Character.charCount(character);
 
             if (character == '\n' || character == '\r') {
-                builder.append(character);
+                builder.appendCodePoint(character);
                 column = 0;
                 continue;
             }
@@ -726,7 +845,7 @@ public class PythonString extends AbstractPythonLikeObject implements PythonLike
                 continue;
             }
 
-            builder.append(character);
+            builder.appendCodePoint(character);
             column++;
         }
 
@@ -734,41 +853,41 @@ public class PythonString extends AbstractPythonLikeObject implements PythonLike
     }
 
     public PythonInteger findSubstringIndex(PythonString substring) {
-        return PythonInteger.valueOf(value.indexOf(substring.value));
+        return PythonInteger.valueOf(toCodePointIndex(value.indexOf(substring.value)));
     }
 
     public PythonInteger findSubstringIndex(PythonString substring, PythonInteger start) {
-        int startIndex = PythonSlice.asValidStartIntIndexForLength(start, value.length());
+        int startIndex = getStartCharIndex(start);
         int result = value.indexOf(substring.value, startIndex);
 
-        return PythonInteger.valueOf(result);
+        return PythonInteger.valueOf(toCodePointIndex(result));
     }
 
     public PythonInteger findSubstringIndex(PythonString substring, PythonInteger start, PythonInteger end) {
-        int startIndex = PythonSlice.asValidStartIntIndexForLength(start, value.length());
-        int endIndex = PythonSlice.asValidEndIntIndexForLength(end, value.length());
+        int startIndex = getStartCharIndex(start);
+        int endIndex = getEndCharIndex(end);
 
         int result = value.substring(startIndex, endIndex).indexOf(substring.value);
-        return PythonInteger.valueOf(result < 0 ? result : result + startIndex);
+        return PythonInteger.valueOf(result < 0 ? result : toCodePointIndex(result + startIndex));
     }
 
     public PythonInteger rightFindSubstringIndex(PythonString substring) {
-        return PythonInteger.valueOf(value.lastIndexOf(substring.value));
+        return PythonInteger.valueOf(toCodePointIndex(value.lastIndexOf(substring.value)));
     }
 
     public PythonInteger rightFindSubstringIndex(PythonString substring, PythonInteger start) {
-        int startIndex = PythonSlice.asValidStartIntIndexForLength(start, value.length());
+        int startIndex = getStartCharIndex(start);
         int result = value.substring(startIndex).lastIndexOf(substring.value);
 
-        return PythonInteger.valueOf(result < 0 ? result : result + startIndex);
+        return PythonInteger.valueOf(result < 0 ? result : toCodePointIndex(result + startIndex));
     }
 
     public PythonInteger rightFindSubstringIndex(PythonString substring, PythonInteger start, PythonInteger end) {
-        int startIndex = PythonSlice.asValidStartIntIndexForLength(start, value.length());
-        int endIndex = PythonSlice.asValidEndIntIndexForLength(end, value.length());
+        int startIndex = getStartCharIndex(start);
+        int endIndex = getEndCharIndex(end);
         int result = value.substring(startIndex, endIndex).lastIndexOf(substring.value);
 
-        return PythonInteger.valueOf(result < 0 ? result : result + startIndex);
+        return PythonInteger.valueOf(result < 0 ? result : toCodePointIndex(result + startIndex));
     }
 
     public PythonString format(List<PythonLikeObject> positionalArguments, Map<PythonString, PythonLikeObject> namedArguments) {
@@ -827,28 +946,28 @@ public class PythonString extends AbstractPythonLikeObject implements PythonLike
         if (result == -1) {
             throw new ValueError("substring not found");
         }
-        return PythonInteger.valueOf(result);
+        return PythonInteger.valueOf(toCodePointIndex(result));
     }
 
     public PythonInteger findSubstringIndexOrError(PythonString substring, PythonInteger start) {
-        int startIndex = PythonSlice.asValidStartIntIndexForLength(start, value.length());
+        int startIndex = getStartCharIndex(start);
 
         int result = value.indexOf(substring.value, startIndex);
         if (result == -1) {
             throw new ValueError("substring not found");
         }
-        return PythonInteger.valueOf(result);
+        return PythonInteger.valueOf(toCodePointIndex(result));
     }
 
     public PythonInteger findSubstringIndexOrError(PythonString substring, PythonInteger start, PythonInteger end) {
-        int startIndex = PythonSlice.asValidStartIntIndexForLength(start, value.length());
-        int endIndex = PythonSlice.asValidEndIntIndexForLength(end, value.length());
+        int startIndex = getStartCharIndex(start);
+        int endIndex = getEndCharIndex(end);
 
         int result = value.substring(startIndex, endIndex).indexOf(substring.value);
         if (result == -1) {
             throw new ValueError("substring not found");
         }
-        return PythonInteger.valueOf(result + startIndex);
+        return PythonInteger.valueOf(toCodePointIndex(result + startIndex));
     }
 
     public PythonInteger rightFindSubstringIndexOrError(PythonString substring) {
@@ -856,46 +975,37 @@ public class PythonString extends AbstractPythonLikeObject implements PythonLike
         if (result == -1) {
             throw new ValueError("substring not found");
         }
-        return PythonInteger.valueOf(result);
+        return PythonInteger.valueOf(toCodePointIndex(result));
     }
 
     public PythonInteger rightFindSubstringIndexOrError(PythonString substring, PythonInteger start) {
-        int startIndex = PythonSlice.asValidStartIntIndexForLength(start, value.length());
+        int startIndex = getStartCharIndex(start);
 
         int result = value.substring(startIndex).lastIndexOf(substring.value);
         if (result == -1) {
             throw new ValueError("substring not found");
         }
-        return PythonInteger.valueOf(result + startIndex);
+        return PythonInteger.valueOf(toCodePointIndex(result + startIndex));
     }
 
     public PythonInteger rightFindSubstringIndexOrError(PythonString substring, PythonInteger start,
             PythonInteger end) {
-        int startIndex = PythonSlice.asValidStartIntIndexForLength(start, value.length());
-        int endIndex = PythonSlice.asValidEndIntIndexForLength(end, value.length());
+        int startIndex = getStartCharIndex(start);
+        int endIndex = getEndCharIndex(end);
 
         int result = value.substring(startIndex, endIndex).lastIndexOf(substring.value);
         if (result == -1) {
             throw new ValueError("substring not found");
         }
-        return PythonInteger.valueOf(result + startIndex);
+        return PythonInteger.valueOf(toCodePointIndex(result + startIndex));
     }
 
     private PythonBoolean allCharactersHaveProperty(IntPredicate predicate) {
-        int length = value.length();
-        if (length == 0) {
+        if (value.isEmpty()) {
             return PythonBoolean.FALSE;
         }
 
-        for (int i = 0; i < length; i++) {
-            char character = value.charAt(i);
-
-            if (!predicate.test(character)) {
-                return PythonBoolean.FALSE;
-            }
-        }
-
-        return PythonBoolean.TRUE;
+        return PythonBoolean.valueOf(value.codePoints().allMatch(predicate));
     }
 
     public PythonBoolean isAlphaNumeric() {
@@ -908,10 +1018,7 @@ public class PythonString extends AbstractPythonLikeObject implements PythonLike
     }
 
     public PythonBoolean isAscii() {
-        if (value.isEmpty()) {
-            return PythonBoolean.TRUE;
-        }
-        return allCharactersHaveProperty(character -> character <= 127);
+        return PythonBoolean.valueOf(getKind() == KIND_ASCII);
     }
 
     public PythonBoolean isDecimal() {
@@ -934,28 +1041,19 @@ public class PythonString extends AbstractPythonLikeObject implements PythonLike
     }
 
     public PythonBoolean isIdentifier() {
-        int length = value.length();
-        if (length == 0) {
+        if (value.isEmpty()) {
             return PythonBoolean.FALSE;
         }
 
-        char firstChar = value.charAt(0);
-        if (!isPythonIdentifierStart(firstChar)) {
+        int firstCodePoint = value.codePointAt(0);
+        if (!isPythonIdentifierStart(firstCodePoint)) {
             return PythonBoolean.FALSE;
         }
 
-        for (int i = 1; i < length; i++) {
-            char character = value.charAt(i);
-
-            if (!isPythonIdentifierPart(character)) {
-                return PythonBoolean.FALSE;
-            }
-        }
-
-        return PythonBoolean.TRUE;
+        return PythonBoolean.valueOf(value.codePoints().skip(1).allMatch(PythonString::isPythonIdentifierPart));
     }
 
-    private static boolean isPythonIdentifierStart(char character) {
+    private static boolean isPythonIdentifierStart(int character) {
         if (Character.isLetter(character)) {
             return true;
         }
@@ -977,7 +1075,7 @@ public class PythonString extends AbstractPythonLikeObject implements PythonLike
         }
     }
 
-    private static boolean isPythonIdentifierPart(char character) {
+    private static boolean isPythonIdentifierPart(int character) {
         if (isPythonIdentifierStart(character)) {
             return true;
         }
@@ -1103,8 +1201,9 @@ public class PythonString extends AbstractPythonLikeObject implements PythonLike
         }
 
         CharacterCase previousType = CharacterCase.UNCASED;
-        for (int i = 0; i < length; i++) {
-            char character = value.charAt(i);
+        for (int i = 0; i < length;) {
+            int character = value.codePointAt(i);
+            i += Character.charCount(character);
 
             CharacterCase characterCase = CharacterCase.getCase(character);
             if (characterCase == CharacterCase.UNCASED && Character.isLetter(character)) {
@@ -1163,25 +1262,29 @@ public class PythonString extends AbstractPythonLikeObject implements PythonLike
         int length = value.length();
 
         int start = 0;
-        int end = length - 1;
+        int end = length;
 
-        for (; start < length; start++) {
-            if (toStrip.value.indexOf(value.charAt(start)) == -1) {
+        while (start < length) {
+            int character = value.codePointAt(start);
+            if (toStrip.value.indexOf(character) == -1) {
                 break;
             }
+            start += Character.charCount(character);
         }
 
         if (start == length) {
             return EMPTY;
         }
 
-        for (; end >= start; end--) {
-            if (toStrip.value.indexOf(value.charAt(end)) == -1) {
+        while (end > start) {
+            int character = value.codePointBefore(end);
+            if (toStrip.value.indexOf(character) == -1) {
                 break;
             }
+            end -= Character.charCount(character);
         }
 
-        return PythonString.valueOf(value.substring(start, end + 1));
+        return PythonString.valueOf(value.substring(start, end));
     }
 
     public PythonString leftStrip() {
@@ -1194,10 +1297,12 @@ public class PythonString extends AbstractPythonLikeObject implements PythonLike
 
     public PythonString leftStrip(PythonString toStrip) {
         int length = value.length();
-        for (int i = 0; i < length; i++) {
-            if (toStrip.value.indexOf(value.charAt(i)) == -1) {
+        for (int i = 0; i < length;) {
+            int character = value.codePointAt(i);
+            if (toStrip.value.indexOf(character) == -1) {
                 return PythonString.valueOf(value.substring(i));
             }
+            i += Character.charCount(character);
         }
         return EMPTY;
     }
@@ -1211,11 +1316,12 @@ public class PythonString extends AbstractPythonLikeObject implements PythonLike
     }
 
     public PythonString rightStrip(PythonString toStrip) {
-        int length = value.length();
-        for (int i = length - 1; i >= 0; i--) {
-            if (toStrip.value.indexOf(value.charAt(i)) == -1) {
-                return PythonString.valueOf(value.substring(0, i + 1));
+        for (int i = value.length(); i > 0;) {
+            int character = value.codePointBefore(i);
+            if (toStrip.value.indexOf(character) == -1) {
+                return PythonString.valueOf(value.substring(0, i));
             }
+            i -= Character.charCount(character);
         }
         return EMPTY;
     }
@@ -1269,7 +1375,7 @@ public class PythonString extends AbstractPythonLikeObject implements PythonLike
     }
 
     public PythonString replaceUpToCount(PythonString old, PythonString replacement, PythonInteger count) {
-        int countAsInt = count.value.intValueExact();
+        int countAsInt = count.intValueExact();
         if (countAsInt < 0) { // negative count act the same as replace all
             return replaceAll(old, replacement);
         }
@@ -1308,7 +1414,7 @@ public class PythonString extends AbstractPythonLikeObject implements PythonLike
     }
 
     public PythonLikeList<PythonString> split(PythonString seperator, PythonInteger maxSplits) {
-        int maxSplitsAsInt = maxSplits.value.intValueExact();
+        int maxSplitsAsInt = maxSplits.intValueExact();
         if (maxSplitsAsInt == -1) {
             return split(seperator);
         }
@@ -1319,7 +1425,7 @@ public class PythonString extends AbstractPythonLikeObject implements PythonLike
     }
 
     public PythonLikeList<PythonString> split(PythonNone ignored, PythonInteger maxSplits) {
-        int maxSplitsAsInt = maxSplits.value.intValueExact();
+        int maxSplitsAsInt = maxSplits.intValueExact();
         if (maxSplitsAsInt == -1) {
             return split();
         }
@@ -1342,7 +1448,7 @@ public class PythonString extends AbstractPythonLikeObject implements PythonLike
     }
 
     public PythonLikeList<PythonString> rightSplit(PythonString seperator, PythonInteger maxSplits) {
-        int maxSplitsAsInt = maxSplits.value.intValueExact();
+        int maxSplitsAsInt = maxSplits.intValueExact();
         if (maxSplitsAsInt == -1) {
             return split(seperator);
         }
@@ -1359,7 +1465,7 @@ public class PythonString extends AbstractPythonLikeObject implements PythonLike
     }
 
     public PythonLikeList<PythonString> rightSplit(PythonNone ignored, PythonInteger maxSplits) {
-        int maxSplitsAsInt = maxSplits.value.intValueExact();
+        int maxSplitsAsInt = maxSplits.intValueExact();
         if (maxSplitsAsInt == -1) {
             return split();
         }
@@ -1424,7 +1530,7 @@ public class PythonString extends AbstractPythonLikeObject implements PythonLike
                         }
 
                         if (translated instanceof PythonInteger) {
-                            return IntStream.of(((PythonInteger) translated).value.intValueExact());
+                            return IntStream.of(((PythonInteger) translated).intValueExact());
                         }
 
                         if (translated instanceof PythonString) {
@@ -1439,12 +1545,13 @@ public class PythonString extends AbstractPythonLikeObject implements PythonLike
     }
 
     public PythonString zfill(PythonInteger width) {
-        int widthAsInt = width.value.intValueExact();
-        if (widthAsInt <= value.length()) {
+        int widthAsInt = width.intValueExact();
+        int length = getCodePointCount();
+        if (widthAsInt <= length) {
             return this;
         }
 
-        int leftPadding = widthAsInt - value.length();
+        int leftPadding = widthAsInt - length;
         if (!value.isEmpty() && (value.charAt(0) == '+' || value.charAt(0) == '-')) {
             return PythonString.valueOf(value.charAt(0) + "0".repeat(leftPadding) + value.substring(1));
         } else {
@@ -1529,6 +1636,11 @@ public class PythonString extends AbstractPythonLikeObject implements PythonLike
 
     @Override
     public PythonInteger $method$__hash__() {
-        return PythonInteger.valueOf(hashCode());
+        PythonInteger out = $hash;
+        if (out == null) {
+            out = PythonInteger.valueOf(hashCode());
+            $hash = out;
+        }
+        return out;
     }
 }
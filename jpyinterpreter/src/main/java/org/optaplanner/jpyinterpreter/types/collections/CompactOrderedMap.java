@@ -0,0 +1,619 @@
+package org.optaplanner.jpyinterpreter.types.collections;
+
+import java.util.AbstractCollection;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Collection;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+
+import org.apache.commons.collections4.OrderedMap;
+import org.apache.commons.collections4.OrderedMapIterator;
+
+/**
+ * An insertion ordered map laid out like a CPython 3.6+ dict.
+ * <p>
+ * Entries are appended to dense key, value and hash arrays, so iterating the map walks the arrays in insertion order
+ * without following any links. Lookups go through a sparse open addressing table that stores the index of an entry
+ * in the dense arrays; the table uses bytes, shorts or ints depending on how many entries the map can hold.
+ * Removing an entry leaves a hole in the dense arrays, which is compacted away when the map is next resized.
+ */
+final class CompactOrderedMap<Key_, Value_> extends AbstractMap<Key_, Value_> implements OrderedMap<Key_, Value_> {
+    /**
+     * Marks an entry in the dense arrays that was removed.
+     */
+    private static final Object DELETED = new Object();
+
+    /**
+     * Index table values for a slot that was never used and a slot whose entry was removed; every other value is
+     * the index of the entry plus one.
+     */
+    private static final int EMPTY = 0;
+    private static final int DUMMY = -1;
+
+    private static final int MIN_TABLE_SIZE = 8;
+    private static final int PERTURB_SHIFT = 5;
+
+    // Exactly one of the index tables is non-null
+    private byte[] byteIndexTable;
+    private short[] shortIndexTable;
+    private int[] intIndexTable;
+    private int indexMask;
+
+    private Object[] keys;
+    private Object[] values;
+    private int[] hashes;
+
+    /**
+     * Number of entries in the dense arrays, including removed ones
+     */
+    private int usedCount;
+    private int size;
+    private int modCount;
+
+    CompactOrderedMap() {
+        this(0);
+    }
+
+    CompactOrderedMap(int expectedSize) {
+        allocate(getTableSize(expectedSize));
+    }
+
+    CompactOrderedMap(Map<? extends Key_, ? extends Value_> source) {
+        this(source.size());
+        putAll(source);
+    }
+
+    private static int getTableSize(int entryCount) {
+        int tableSize = MIN_TABLE_SIZE;
+        while (getUsableSize(tableSize) < entryCount) {
+            tableSize <<= 1;
+        }
+        return tableSize;
+    }
+
+    /**
+     * The index table is kept at most two thirds full, so probing always finds an empty slot.
+     */
+    private static int getUsableSize(int tableSize) {
+        return (tableSize << 1) / 3;
+    }
+
+    private void allocate(int tableSize) {
+        byteIndexTable = null;
+        shortIndexTable = null;
+        intIndexTable = null;
+        if (tableSize <= 128) {
+            byteIndexTable = new byte[tableSize];
+        } else if (tableSize <= 32768) {
+            shortIndexTable = new short[tableSize];
+        } else {
+            intIndexTable = new int[tableSize];
+        }
+        indexMask = tableSize - 1;
+
+        int usableSize = getUsableSize(tableSize);
+        keys = new Object[usableSize];
+        values = new Object[usableSize];
+        hashes = new int[usableSize];
+        usedCount = 0;
+    }
+
+    private int getIndex(int slot) {
+        if (byteIndexTable != null) {
+            return byteIndexTable[slot];
+        }
+        if (shortIndexTable != null) {
+            return shortIndexTable[slot];
+        }
+        return intIndexTable[slot];
+    }
+
+    private void setIndex(int slot, int index) {
+        if (byteIndexTable != null) {
+            byteIndexTable[slot] = (byte) index;
+        } else if (shortIndexTable != null) {
+            shortIndexTable[slot] = (short) index;
+        } else {
+            intIndexTable[slot] = index;
+        }
+    }
+
+    private static int hash(Object key) {
+        int hash = Objects.hashCode(key);
+        return hash ^ (hash >>> 16);
+    }
+
+    /**
+     * @return the slot in the index table that holds {@code key}, or -1 if the map does not contain it
+     */
+    private int findSlot(Object key, int hash) {
+        int slot = hash & indexMask;
+        int perturb = hash;
+        while (true) {
+            int index = getIndex(slot);
+            if (index == EMPTY) {
+                return -1;
+            }
+            if (index != DUMMY) {
+                int entry = index - 1;
+                Object entryKey = keys[entry];
+                if (entryKey == key || (hashes[entry] == hash && Objects.equals(entryKey, key))) {
+                    return slot;
+                }
+            }
+            perturb >>>= PERTURB_SHIFT;
+            slot = (slot * 5 + perturb + 1) & indexMask;
+        }
+    }
+
+    private int findEntry(Object key) {
+        int slot = findSlot(key, hash(key));
+        return (slot != -1) ? getIndex(slot) - 1 : -1;
+    }
+
+    /**
+     * @return an empty or dummy slot for a new entry with the given hash
+     */
+    private int findFreeSlot(int hash) {
+        int slot = hash & indexMask;
+        int perturb = hash;
+        while (getIndex(slot) > 0) {
+            perturb >>>= PERTURB_SHIFT;
+            slot = (slot * 5 + perturb + 1) & indexMask;
+        }
+        return slot;
+    }
+
+    /**
+     * Moves the entries into new arrays sized for the current number of entries, dropping removed entries.
+     */
+    private void resize(int tableSize) {
+        Object[] oldKeys = keys;
+        Object[] oldValues = values;
+        int[] oldHashes = hashes;
+        int oldUsedCount = usedCount;
+
+        allocate(tableSize);
+        for (int i = 0; i < oldUsedCount; i++) {
+            if (oldKeys[i] != DELETED) {
+                keys[usedCount] = oldKeys[i];
+                values[usedCount] = oldValues[i];
+                hashes[usedCount] = oldHashes[i];
+                setIndex(findFreeSlot(oldHashes[i]), usedCount + 1);
+                usedCount++;
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private Key_ keyAt(int entry) {
+        return (Key_) keys[entry];
+    }
+
+    @SuppressWarnings("unchecked")
+    private Value_ valueAt(int entry) {
+        return (Value_) values[entry];
+    }
+
+    private void removeEntryAt(int slot) {
+        int entry = getIndex(slot) - 1;
+        setIndex(slot, DUMMY);
+        keys[entry] = DELETED;
+        values[entry] = null;
+        size--;
+        modCount++;
+    }
+
+    /**
+     * @return the index of the first entry at or after {@code entry} that was not removed, or -1 if there is none
+     */
+    private int nextEntry(int entry) {
+        for (; entry < usedCount; entry++) {
+            if (keys[entry] != DELETED) {
+                return entry;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * @return the index of the last entry at or before {@code entry} that was not removed, or -1 if there is none
+     */
+    private int previousEntry(int entry) {
+        for (; entry >= 0; entry--) {
+            if (keys[entry] != DELETED) {
+                return entry;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return findEntry(key) != -1;
+    }
+
+    @Override
+    public boolean containsValue(Object value) {
+        for (int i = 0; i < usedCount; i++) {
+            if (keys[i] != DELETED && Objects.equals(values[i], value)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public Value_ get(Object key) {
+        int entry = findEntry(key);
+        return (entry != -1) ? valueAt(entry) : null;
+    }
+
+    @Override
+    public Value_ put(Key_ key, Value_ value) {
+        int hash = hash(key);
+        int slot = findSlot(key, hash);
+        if (slot != -1) {
+            int entry = getIndex(slot) - 1;
+            Value_ out = valueAt(entry);
+            values[entry] = value;
+            return out;
+        }
+
+        if (usedCount == keys.length) {
+            // Only grow if removed entries would not free enough space
+            resize(getTableSize(size * 2));
+        }
+        keys[usedCount] = key;
+        values[usedCount] = value;
+        hashes[usedCount] = hash;
+        setIndex(findFreeSlot(hash), usedCount + 1);
+        usedCount++;
+        size++;
+        modCount++;
+        return null;
+    }
+
+    @Override
+    public Value_ remove(Object key) {
+        int slot = findSlot(key, hash(key));
+        if (slot == -1) {
+            return null;
+        }
+        Value_ out = valueAt(getIndex(slot) - 1);
+        removeEntryAt(slot);
+        return out;
+    }
+
+    @Override
+    public void clear() {
+        allocate(MIN_TABLE_SIZE);
+        size = 0;
+        modCount++;
+    }
+
+    @Override
+    public Key_ firstKey() {
+        int entry = nextEntry(0);
+        if (entry == -1) {
+            throw new NoSuchElementException("Map is empty");
+        }
+        return keyAt(entry);
+    }
+
+    @Override
+    public Key_ lastKey() {
+        int entry = previousEntry(usedCount - 1);
+        if (entry == -1) {
+            throw new NoSuchElementException("Map is empty");
+        }
+        return keyAt(entry);
+    }
+
+    @Override
+    public Key_ nextKey(Key_ key) {
+        int entry = findEntry(key);
+        if (entry == -1) {
+            return null;
+        }
+        entry = nextEntry(entry + 1);
+        return (entry != -1) ? keyAt(entry) : null;
+    }
+
+    @Override
+    public Key_ previousKey(Key_ key) {
+        int entry = findEntry(key);
+        if (entry == -1) {
+            return null;
+        }
+        entry = previousEntry(entry - 1);
+        return (entry != -1) ? keyAt(entry) : null;
+    }
+
+    @Override
+    public OrderedMapIterator<Key_, Value_> mapIterator() {
+        return new EntryIterator();
+    }
+
+    @Override
+    public Set<Key_> keySet() {
+        return new AbstractSet<>() {
+            @Override
+            public Iterator<Key_> iterator() {
+                return new EntryIterator();
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+
+            @Override
+            public boolean contains(Object key) {
+                return containsKey(key);
+            }
+
+            @Override
+            public boolean remove(Object key) {
+                int slot = findSlot(key, hash(key));
+                if (slot == -1) {
+                    return false;
+                }
+                removeEntryAt(slot);
+                return true;
+            }
+
+            @Override
+            public void clear() {
+                CompactOrderedMap.this.clear();
+            }
+        };
+    }
+
+    @Override
+    public Collection<Value_> values() {
+        return new AbstractCollection<>() {
+            @Override
+            public Iterator<Value_> iterator() {
+                EntryIterator entryIterator = new EntryIterator();
+                return new Iterator<>() {
+                    @Override
+                    public boolean hasNext() {
+                        return entryIterator.hasNext();
+                    }
+
+                    @Override
+                    public Value_ next() {
+                        entryIterator.next();
+                        return entryIterator.getValue();
+                    }
+
+                    @Override
+                    public void remove() {
+                        entryIterator.remove();
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+
+            @Override
+            public boolean contains(Object value) {
+                return containsValue(value);
+            }
+
+            @Override
+            public void clear() {
+                CompactOrderedMap.this.clear();
+            }
+        };
+    }
+
+    @Override
+    public Set<Entry<Key_, Value_>> entrySet() {
+        return new AbstractSet<>() {
+            @Override
+            public Iterator<Entry<Key_, Value_>> iterator() {
+                EntryIterator entryIterator = new EntryIterator();
+                return new Iterator<>() {
+                    @Override
+                    public boolean hasNext() {
+                        return entryIterator.hasNext();
+                    }
+
+                    @Override
+                    public Entry<Key_, Value_> next() {
+                        Key_ key = entryIterator.next();
+                        return new IteratorEntry(key, entryIterator.getValue());
+                    }
+
+                    @Override
+                    public void remove() {
+                        entryIterator.remove();
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+
+            @Override
+            public boolean contains(Object o) {
+                if (!(o instanceof Entry)) {
+                    return false;
+                }
+                Entry<?, ?> entry = (Entry<?, ?>) o;
+                int index = findEntry(entry.getKey());
+                return index != -1 && Objects.equals(values[index], entry.getValue());
+            }
+
+            @Override
+            public void clear() {
+                CompactOrderedMap.this.clear();
+            }
+        };
+    }
+
+    /**
+     * Iterates over the entries in insertion order; it is also the iterator of {@link #keySet()}.
+     */
+    private final class EntryIterator implements OrderedMapIterator<Key_, Value_> {
+        private int expectedModCount = modCount;
+        private int current = -1;
+        private int next = nextEntry(0);
+        private int previous = -1;
+
+        private void checkForComodification() {
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+        }
+
+        private void checkCurrent() {
+            if (current == -1) {
+                throw new IllegalStateException();
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next != -1;
+        }
+
+        @Override
+        public Key_ next() {
+            checkForComodification();
+            if (next == -1) {
+                throw new NoSuchElementException();
+            }
+            current = next;
+            previous = current;
+            next = nextEntry(current + 1);
+            return keyAt(current);
+        }
+
+        @Override
+        public boolean hasPrevious() {
+            return previous != -1;
+        }
+
+        @Override
+        public Key_ previous() {
+            checkForComodification();
+            if (previous == -1) {
+                throw new NoSuchElementException();
+            }
+            current = previous;
+            next = current;
+            previous = previousEntry(current - 1);
+            return keyAt(current);
+        }
+
+        @Override
+        public Key_ getKey() {
+            checkCurrent();
+            return keyAt(current);
+        }
+
+        @Override
+        public Value_ getValue() {
+            checkCurrent();
+            return valueAt(current);
+        }
+
+        @Override
+        public Value_ setValue(Value_ value) {
+            checkCurrent();
+            Value_ out = valueAt(current);
+            values[current] = value;
+            return out;
+        }
+
+        @Override
+        public void remove() {
+            checkForComodification();
+            checkCurrent();
+            // Removing does not move entries, so next and previous stay valid
+            removeEntryAt(findSlot(keys[current], hashes[current]));
+            if (next == current) {
+                next = nextEntry(current + 1);
+            }
+            if (previous == current) {
+                previous = previousEntry(current - 1);
+            }
+            current = -1;
+            expectedModCount = modCount;
+        }
+    }
+
+    /**
+     * An entry returned by the {@link #entrySet()} iterator. Since entries can move in the dense arrays, it keeps its
+     * key and value instead of an index, and {@link #setValue} writes through with {@link #put}.
+     */
+    private final class IteratorEntry implements Entry<Key_, Value_> {
+        private final Key_ key;
+        private Value_ value;
+
+        private IteratorEntry(Key_ key, Value_ value) {
+            this.key = key;
+            this.value = value;
+        }
+
+        @Override
+        public Key_ getKey() {
+            return key;
+        }
+
+        @Override
+        public Value_ getValue() {
+            return value;
+        }
+
+        @Override
+        public Value_ setValue(Value_ value) {
+            Value_ out = this.value;
+            this.value = value;
+            put(key, value);
+            return out;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Entry)) {
+                return false;
+            }
+            Entry<?, ?> other = (Entry<?, ?>) o;
+            return Objects.equals(key, other.getKey()) && Objects.equals(value, other.getValue());
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hashCode(key) ^ Objects.hashCode(value);
+        }
+
+        @Override
+        public String toString() {
+            return key + "=" + value;
+        }
+    }
+}
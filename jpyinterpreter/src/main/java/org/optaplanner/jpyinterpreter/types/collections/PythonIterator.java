@@ -41,14 +41,14 @@ public class PythonIterator<T> extends AbstractPythonLikeObject implements Itera
     @Override
     public T next() {
         if (!delegate.hasNext()) {
-            throw new StopIteration();
+            throw StopIteration.getInstance();
         }
         return delegate.next();
     }
 
     public PythonLikeObject nextPythonItem() {
         if (!delegate.hasNext()) {
-            throw new StopIteration();
+            throw StopIteration.getInstance();
         }
         return (PythonLikeObject) delegate.next();
     }
@@ -11,7 +11,6 @@ import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import org.apache.commons.collections4.OrderedMap;
-import org.apache.commons.collections4.map.LinkedMap;
 import org.optaplanner.jpyinterpreter.PythonBinaryOperators;
 import org.optaplanner.jpyinterpreter.PythonLikeObject;
 import org.optaplanner.jpyinterpreter.PythonOverloadImplementor;
@@ -109,12 +108,12 @@ public class PythonLikeDict extends AbstractPythonLikeObject
 
     public PythonLikeDict() {
         super(BuiltinTypes.DICT_TYPE);
-        delegate = new LinkedMap<>();
+        delegate = new CompactOrderedMap<>();
     }
 
     public PythonLikeDict(int size) {
         super(BuiltinTypes.DICT_TYPE);
-        delegate = new LinkedMap<>(size);
+        delegate = new CompactOrderedMap<>(size);
     }
 
     public PythonLikeDict(OrderedMap<PythonLikeObject, PythonLikeObject> source) {
@@ -133,7 +132,7 @@ public class PythonLikeDict extends AbstractPythonLikeObject
     }
 
     public PythonLikeDict copy() {
-        return new PythonLikeDict(new LinkedMap<>(delegate));
+        return new PythonLikeDict(new CompactOrderedMap<>(delegate));
     }
 
     public PythonLikeDict concatToNew(PythonLikeDict other) {
@@ -159,7 +158,7 @@ public class PythonLikeDict extends AbstractPythonLikeObject
     public PythonLikeObject getItemOrError(PythonLikeObject key) {
         PythonLikeObject out = delegate.get(key);
         if (out == null) {
-            throw new KeyError(key.toString());
+            throw new KeyError(key::toString);
         }
         return out;
     }
@@ -195,7 +194,7 @@ public class PythonLikeDict extends AbstractPythonLikeObject
 
     public PythonNone removeItemOrError(PythonLikeObject key) {
         if (delegate.remove(key) == null) {
-            throw new KeyError(key.toString());
+            throw new KeyError(key::toString);
         }
         return PythonNone.INSTANCE;
     }
@@ -212,7 +211,7 @@ public class PythonLikeDict extends AbstractPythonLikeObject
     public PythonLikeObject popItemOrError(PythonLikeObject key) {
         PythonLikeObject out = delegate.remove(key);
         if (out == null) {
-            throw new KeyError(key.toString());
+            throw new KeyError(key::toString);
         }
         return out;
     }
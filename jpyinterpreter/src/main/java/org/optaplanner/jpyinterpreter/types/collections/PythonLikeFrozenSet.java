@@ -4,7 +4,6 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.Iterator;
-import java.util.Objects;
 import java.util.Set;
 import java.util.function.Predicate;
 
@@ -24,6 +23,12 @@ import org.optaplanner.jpyinterpreter.types.numeric.PythonInteger;
 public class PythonLikeFrozenSet extends AbstractPythonLikeObject implements Set<PythonLikeObject> {
     public final Set<PythonLikeObject> delegate;
 
+    /**
+     * The hash of this frozenset, computed on first use. Only {@link #reverseAdd} can change the items
+     * after this is computed, and it resets it.
+     */
+    private PythonInteger $hash;
+
     static {
         PythonOverloadImplementor.deferDispatchesFor(PythonLikeFrozenSet::registerMethods);
     }
@@ -141,6 +146,7 @@ public class PythonLikeFrozenSet extends AbstractPythonLikeObject implements Set
     // Required for bytecode generation
     @SuppressWarnings("unused")
     public void reverseAdd(PythonLikeObject item) {
+        $hash = null;
         delegate.add(item);
     }
 
@@ -341,11 +347,16 @@ public class PythonLikeFrozenSet extends AbstractPythonLikeObject implements Set
 
     @Override
     public int hashCode() {
-        return Objects.hash(delegate);
+        return $method$__hash__().intValue();
     }
 
     @Override
     public PythonInteger $method$__hash__() {
-        return PythonInteger.valueOf(hashCode());
+        PythonInteger out = $hash;
+        if (out == null) {
+            out = PythonInteger.valueOf(delegate.hashCode());
+            $hash = out;
+        }
+        return out;
     }
 }
@@ -1,6 +1,5 @@
 package org.optaplanner.jpyinterpreter.types.collections;
 
-import java.math.BigInteger;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
@@ -154,12 +153,12 @@ public class PythonLikeList<T> extends AbstractPythonLikeObject implements List<
     }
 
     public PythonLikeList multiplyToNew(PythonInteger times) {
-        if (times.value.compareTo(BigInteger.ZERO) <= 0) {
+        if (times.signum() <= 0) {
             return new PythonLikeList();
         }
 
         PythonLikeList result = new PythonLikeList();
-        int timesAsInt = times.value.intValueExact();
+        int timesAsInt = times.intValueExact();
 
         for (int i = 0; i < timesAsInt; i++) {
             result.addAll(delegate);
@@ -169,12 +168,12 @@ public class PythonLikeList<T> extends AbstractPythonLikeObject implements List<
     }
 
     public PythonLikeList multiplyToSelf(PythonInteger times) {
-        if (times.value.compareTo(BigInteger.ZERO) <= 0) {
+        if (times.signum() <= 0) {
             delegate.clear();
             return this;
         }
         List<PythonLikeObject> copy = new ArrayList<>(delegate);
-        int timesAsInt = times.value.intValueExact() - 1;
+        int timesAsInt = times.intValueExact() - 1;
 
         for (int i = 0; i < timesAsInt; i++) {
             delegate.addAll(copy);
@@ -198,7 +197,7 @@ public class PythonLikeList<T> extends AbstractPythonLikeObject implements List<
     }
 
     public PythonInteger index(PythonLikeObject item, PythonInteger start) {
-        int startAsInt = start.value.intValueExact();
+        int startAsInt = start.intValueExact();
         if (startAsInt < 0) {
             startAsInt = delegate.size() + startAsInt;
         }
@@ -213,8 +212,8 @@ public class PythonLikeList<T> extends AbstractPythonLikeObject implements List<
     }
 
     public PythonInteger index(PythonLikeObject item, PythonInteger start, PythonInteger end) {
-        int startAsInt = start.value.intValueExact();
-        int endAsInt = end.value.intValueExact();
+        int startAsInt = start.intValueExact();
+        int endAsInt = end.intValueExact();
 
         if (startAsInt < 0) {
             startAsInt = delegate.size() + startAsInt;
@@ -234,10 +233,10 @@ public class PythonLikeList<T> extends AbstractPythonLikeObject implements List<
     }
 
     public PythonLikeObject getItem(PythonInteger index) {
-        int indexAsInt = index.value.intValueExact();
+        int indexAsInt = index.intValueExact();
 
         if (indexAsInt < 0) {
-            indexAsInt = delegate.size() + index.value.intValueExact();
+            indexAsInt = delegate.size() + index.intValueExact();
         }
 
         if (indexAsInt < 0 || indexAsInt >= delegate.size()) {
@@ -260,10 +259,10 @@ public class PythonLikeList<T> extends AbstractPythonLikeObject implements List<
     }
 
     public PythonLikeObject setItem(PythonInteger index, PythonLikeObject value) {
-        int indexAsInt = index.value.intValueExact();
+        int indexAsInt = index.intValueExact();
 
         if (indexAsInt < 0) {
-            indexAsInt = delegate.size() + index.value.intValueExact();
+            indexAsInt = delegate.size() + index.intValueExact();
         }
 
         if (indexAsInt < 0 || indexAsInt >= delegate.size()) {
@@ -306,10 +305,10 @@ public class PythonLikeList<T> extends AbstractPythonLikeObject implements List<
     }
 
     public PythonNone deleteItem(PythonInteger index) {
-        if (index.value.compareTo(BigInteger.ZERO) < 0) {
-            delegate.remove(delegate.size() + index.value.intValueExact());
+        if (index.signum() < 0) {
+            delegate.remove(delegate.size() + index.intValueExact());
         } else {
-            delegate.remove(index.value.intValueExact());
+            delegate.remove(index.intValueExact());
         }
         return PythonNone.INSTANCE;
     }
@@ -376,7 +375,7 @@ public class PythonLikeList<T> extends AbstractPythonLikeObject implements List<
             throw new IndexError("pop from empty list");
         }
 
-        int indexAsInt = index.value.intValueExact();
+        int indexAsInt = index.intValueExact();
         if (indexAsInt < 0) {
             indexAsInt = delegate.size() + indexAsInt;
         }
@@ -1,8 +1,8 @@
 package org.optaplanner.jpyinterpreter.types.collections;
 
-import java.math.BigInteger;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
 import java.util.ListIterator;
@@ -29,6 +29,12 @@ public class PythonLikeTuple extends AbstractPythonLikeObject implements List<Py
     final List<PythonLikeObject> delegate;
     private int remainderToAdd;
 
+    /**
+     * The hash of this tuple, computed on first use. Python code cannot modify a tuple, so this is only
+     * reset by the {@link List} methods used to fill it in.
+     */
+    private PythonInteger $hash;
+
     static {
         PythonOverloadImplementor.deferDispatchesFor(PythonLikeTuple::registerMethods);
     }
@@ -95,6 +101,12 @@ public class PythonLikeTuple extends AbstractPythonLikeObject implements List<Py
         }
     }
 
+    public static PythonLikeTuple fromItems(PythonLikeObject... items) {
+        PythonLikeTuple result = new PythonLikeTuple();
+        Collections.addAll(result.delegate, items);
+        return result;
+    }
+
     public static PythonLikeTuple fromList(List<PythonLikeObject> other) {
         PythonLikeTuple result = new PythonLikeTuple();
         result.addAll(other);
@@ -115,19 +127,19 @@ public class PythonLikeTuple extends AbstractPythonLikeObject implements List<Py
     }
 
     public PythonLikeTuple multiplyToNew(PythonInteger times) {
-        if (times.value.compareTo(BigInteger.ZERO) <= 0) {
+        if (times.signum() <= 0) {
             if (delegate.isEmpty()) {
                 return this;
             }
             return new PythonLikeTuple();
         }
 
-        if (times.value.equals(BigInteger.ONE)) {
+        if (times.compareTo(1L) == 0) {
             return this;
         }
 
         PythonLikeTuple result = new PythonLikeTuple();
-        int timesAsInt = times.value.intValueExact();
+        int timesAsInt = times.intValueExact();
 
         for (int i = 0; i < timesAsInt; i++) {
             result.addAll(delegate);
@@ -165,10 +177,10 @@ public class PythonLikeTuple extends AbstractPythonLikeObject implements List<Py
     }
 
     public PythonLikeObject getItem(PythonInteger index) {
-        int indexAsInt = index.value.intValueExact();
+        int indexAsInt = index.intValueExact();
 
         if (indexAsInt < 0) {
-            indexAsInt = delegate.size() + index.value.intValueExact();
+            indexAsInt = delegate.size() + index.intValueExact();
         }
 
         if (indexAsInt < 0 || indexAsInt >= delegate.size()) {
@@ -211,7 +223,7 @@ public class PythonLikeTuple extends AbstractPythonLikeObject implements List<Py
     }
 
     public PythonInteger index(PythonLikeObject item, PythonInteger start) {
-        int startAsInt = start.value.intValueExact();
+        int startAsInt = start.intValueExact();
         if (startAsInt < 0) {
             startAsInt = delegate.size() + startAsInt;
         }
@@ -226,8 +238,8 @@ public class PythonLikeTuple extends AbstractPythonLikeObject implements List<Py
     }
 
     public PythonInteger index(PythonLikeObject item, PythonInteger start, PythonInteger end) {
-        int startAsInt = start.value.intValueExact();
-        int endAsInt = end.value.intValueExact();
+        int startAsInt = start.intValueExact();
+        int endAsInt = end.intValueExact();
 
         if (startAsInt < 0) {
             startAsInt = delegate.size() + startAsInt;
@@ -247,6 +259,7 @@ public class PythonLikeTuple extends AbstractPythonLikeObject implements List<Py
     }
 
     public void reverseAdd(PythonLikeObject object) {
+        $hash = null;
         delegate.set(remainderToAdd - 1, object);
         remainderToAdd--;
     }
@@ -283,11 +296,13 @@ public class PythonLikeTuple extends AbstractPythonLikeObject implements List<Py
 
     @Override
     public boolean add(PythonLikeObject pythonLikeObject) {
+        $hash = null;
         return delegate.add(pythonLikeObject);
     }
 
     @Override
     public boolean remove(Object o) {
+        $hash = null;
         return delegate.remove(o);
     }
 
@@ -298,26 +313,31 @@ public class PythonLikeTuple extends AbstractPythonLikeObject implements List<Py
 
     @Override
     public boolean addAll(Collection<? extends PythonLikeObject> collection) {
+        $hash = null;
         return delegate.addAll(collection);
     }
 
     @Override
     public boolean addAll(int i, Collection<? extends PythonLikeObject> collection) {
+        $hash = null;
         return delegate.addAll(i, collection);
     }
 
     @Override
     public boolean removeAll(Collection<?> collection) {
+        $hash = null;
         return delegate.removeAll(collection);
     }
 
     @Override
     public boolean retainAll(Collection<?> collection) {
+        $hash = null;
         return delegate.retainAll(collection);
     }
 
     @Override
     public void clear() {
+        $hash = null;
         delegate.clear();
     }
 
@@ -328,16 +348,19 @@ public class PythonLikeTuple extends AbstractPythonLikeObject implements List<Py
 
     @Override
     public PythonLikeObject set(int i, PythonLikeObject pythonLikeObject) {
+        $hash = null;
         return delegate.set(i, pythonLikeObject);
     }
 
     @Override
     public void add(int i, PythonLikeObject pythonLikeObject) {
+        $hash = null;
         delegate.add(i, pythonLikeObject);
     }
 
     @Override
     public PythonLikeObject remove(int i) {
+        $hash = null;
         return delegate.remove(i);
     }
 
@@ -386,12 +409,17 @@ public class PythonLikeTuple extends AbstractPythonLikeObject implements List<Py
 
     @Override
     public int hashCode() {
-        return Objects.hash(delegate);
+        return $method$__hash__().intValue();
     }
 
     @Override
     public PythonInteger $method$__hash__() {
-        return PythonInteger.valueOf(hashCode());
+        PythonInteger out = $hash;
+        if (out == null) {
+            out = PythonInteger.valueOf(delegate.hashCode());
+            $hash = out;
+        }
+        return out;
     }
 
     @Override
@@ -217,7 +217,7 @@ public class PythonTimeDelta extends AbstractPythonLikeObject implements PythonL
     }
 
     public PythonTimeDelta divide_integer(PythonInteger divisor) {
-        if (divisor.value.equals(BigInteger.ZERO)) {
+        if (divisor.getValue().equals(BigInteger.ZERO)) {
             throw new ZeroDivisionError("timedelta division or modulo by zero");
         }
         return new PythonTimeDelta(duration.dividedBy(divisor.getValue().longValue()));
@@ -256,7 +256,7 @@ public class PythonTimeDelta extends AbstractPythonLikeObject implements PythonL
     }
 
     public PythonTimeDelta floor_divide_integer(PythonInteger divisor) {
-        if (divisor.value.equals(BigInteger.ZERO)) {
+        if (divisor.getValue().equals(BigInteger.ZERO)) {
             throw new ZeroDivisionError("timedelta division or modulo by zero");
         }
         return new PythonTimeDelta(duration.dividedBy(divisor.getValue().longValue()));
@@ -309,16 +309,16 @@ public class PythonTimeDelta extends AbstractPythonLikeObject implements PythonL
 
     public PythonString toPythonRepr() {
         StringBuilder out = new StringBuilder("datetime.timedelta(");
-        if (!days.value.equals(BigInteger.ZERO)) {
+        if (!days.getValue().equals(BigInteger.ZERO)) {
             out.append("days=").append(days);
         }
-        if (!seconds.value.equals(BigInteger.ZERO)) {
+        if (!seconds.getValue().equals(BigInteger.ZERO)) {
             if (out.charAt(out.length() - 1) != '(') {
                 out.append(", ");
             }
             out.append("seconds=").append(seconds);
         }
-        if (!microseconds.value.equals(BigInteger.ZERO)) {
+        if (!microseconds.getValue().equals(BigInteger.ZERO)) {
             if (out.charAt(out.length() - 1) != '(') {
                 out.append(", ");
             }
@@ -1,6 +1,7 @@
 package org.optaplanner.jpyinterpreter.types.errors;
 
 import java.util.List;
+import java.util.function.Supplier;
 
 import org.optaplanner.jpyinterpreter.PythonLikeObject;
 import org.optaplanner.jpyinterpreter.types.PythonLikeType;
@@ -28,4 +29,8 @@ public class AttributeError extends PythonException {
         super(type, args);
     }
 
+    public AttributeError(Supplier<String> messageSupplier) {
+        super(ATTRIBUTE_ERROR_TYPE, messageSupplier);
+    }
+
 }
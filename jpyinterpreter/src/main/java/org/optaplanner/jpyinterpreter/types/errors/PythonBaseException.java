@@ -3,6 +3,7 @@ package org.optaplanner.jpyinterpreter.types.errors;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Supplier;
 
 import org.optaplanner.jpyinterpreter.PythonLikeObject;
 import org.optaplanner.jpyinterpreter.types.PythonLikeType;
@@ -23,10 +24,19 @@ public class PythonBaseException extends RuntimeException implements PythonLikeO
                         positionalArguments)));
     }
 
+    /**
+     * Attributes set on this exception; created on first write, since most exceptions
+     * are caught without their attributes ever being looked at
+     */
     Map<String, PythonLikeObject> dict;
 
     final PythonLikeType type;
-    final List<PythonLikeObject> args;
+
+    /**
+     * The arguments of this exception; null if they are derived from a lazily computed message
+     */
+    List<PythonLikeObject> args;
+    private Supplier<String> messageSupplier;
 
     private static String getMessageFromArgs(List<PythonLikeObject> args) {
         if (args.size() < 1) {
@@ -48,18 +58,48 @@ public class PythonBaseException extends RuntimeException implements PythonLikeO
         super(getMessageFromArgs(args));
         this.type = type;
         this.args = args;
-        this.dict = new HashMap<>();
-        __setAttribute("args", PythonLikeTuple.fromList(args));
-        __setAttribute("__cause__", PythonNone.INSTANCE);
+    }
+
+    /**
+     * Creates an exception that records no suppressed exceptions, for instances that are shared
+     */
+    protected PythonBaseException(PythonLikeType type, List<PythonLikeObject> args, boolean enableSuppression) {
+        super(getMessageFromArgs(args), null, enableSuppression, false);
+        this.type = type;
+        this.args = args;
     }
 
     public PythonBaseException(PythonLikeType type, String message) {
         super(message);
         this.type = type;
         this.args = List.of(PythonString.valueOf(message));
-        this.dict = new HashMap<>();
-        __setAttribute("args", PythonLikeTuple.fromList(args));
-        __setAttribute("__cause__", PythonNone.INSTANCE);
+    }
+
+    /**
+     * Creates an exception whose message is only computed if it is used, for exceptions that are
+     * expected to be caught (such as the {@link AttributeError} caught by {@code hasattr}).
+     */
+    public PythonBaseException(PythonLikeType type, Supplier<String> messageSupplier) {
+        super((String) null);
+        this.type = type;
+        this.args = null;
+        this.messageSupplier = messageSupplier;
+    }
+
+    @Override
+    public String getMessage() {
+        if (args == null) {
+            return ((PythonString) getArgsList().get(0)).getValue();
+        }
+        return super.getMessage();
+    }
+
+    private List<PythonLikeObject> getArgsList() {
+        if (args == null) {
+            args = List.of(PythonString.valueOf(messageSupplier.get()));
+            messageSupplier = null;
+        }
+        return args;
     }
 
     /**
@@ -76,26 +116,41 @@ public class PythonBaseException extends RuntimeException implements PythonLikeO
         return this;
     }
 
-    @Override
-    public Throwable initCause(Throwable cause) {
-        super.initCause(cause);
-        __setAttribute("__cause__", (PythonLikeObject) cause);
-        return this;
-    }
-
     @Override
     public PythonLikeObject __getAttributeOrNull(String attributeName) {
-        return dict.get(attributeName);
+        if (dict != null) {
+            PythonLikeObject out = dict.get(attributeName);
+            if (out != null) {
+                return out;
+            }
+        }
+
+        switch (attributeName) {
+            case "args": {
+                PythonLikeTuple argsTuple = PythonLikeTuple.fromList(getArgsList());
+                __setAttribute("args", argsTuple);
+                return argsTuple;
+            }
+            case "__cause__":
+                return (getCause() instanceof PythonLikeObject) ? (PythonLikeObject) getCause() : PythonNone.INSTANCE;
+            default:
+                return null;
+        }
     }
 
     @Override
     public void __setAttribute(String attributeName, PythonLikeObject value) {
+        if (dict == null) {
+            dict = new HashMap<>();
+        }
         dict.put(attributeName, value);
     }
 
     @Override
     public void __deleteAttribute(String attributeName) {
-        dict.remove(attributeName);
+        if (dict != null) {
+            dict.remove(attributeName);
+        }
     }
 
     public PythonLikeTuple $getArgs() {
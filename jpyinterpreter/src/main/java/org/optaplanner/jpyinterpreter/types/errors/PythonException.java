@@ -1,6 +1,7 @@
 package org.optaplanner.jpyinterpreter.types.errors;
 
 import java.util.List;
+import java.util.function.Supplier;
 
 import org.optaplanner.jpyinterpreter.PythonLikeObject;
 import org.optaplanner.jpyinterpreter.types.PythonLikeType;
@@ -27,7 +28,15 @@ public class PythonException extends PythonBaseException {
         super(type, args);
     }
 
+    protected PythonException(PythonLikeType type, List<PythonLikeObject> args, boolean enableSuppression) {
+        super(type, args, enableSuppression);
+    }
+
     public PythonException(PythonLikeType type, String message) {
         super(type, message);
     }
+
+    public PythonException(PythonLikeType type, Supplier<String> messageSupplier) {
+        super(type, messageSupplier);
+    }
 }
@@ -5,6 +5,7 @@ import java.util.List;
 import org.optaplanner.jpyinterpreter.PythonLikeObject;
 import org.optaplanner.jpyinterpreter.types.PythonLikeType;
 import org.optaplanner.jpyinterpreter.types.PythonNone;
+import org.optaplanner.jpyinterpreter.types.collections.PythonLikeTuple;
 
 /**
  * Error thrown when a Python iterator has no more values to return.
@@ -39,7 +40,63 @@ public class StopIteration extends PythonException {
         }
     }
 
+    private StopIteration(boolean enableSuppression) {
+        super(STOP_ITERATION_TYPE, List.of(), enableSuppression);
+        value = PythonNone.INSTANCE;
+    }
+
+    /**
+     * Returns the {@link StopIteration} thrown by iterators implemented in Java when they are exhausted.
+     * It has no value and does not fill in its stack trace, so a single instance is reused.
+     */
+    public static StopIteration getInstance() {
+        return SharedStopIteration.INSTANCE;
+    }
+
+    /**
+     * Returns a {@link StopIteration} for a generator that returned {@code value}
+     */
+    public static StopIteration valueOf(PythonLikeObject value) {
+        if (value == PythonNone.INSTANCE) {
+            return getInstance();
+        }
+        return new StopIteration(value);
+    }
+
     public PythonLikeObject getValue() {
         return value;
     }
+
+    /**
+     * The shared {@link StopIteration}. It is created on first use instead of in {@link StopIteration}'s
+     * static initializer, which can run while the builtin types (such as None) are still being initialized.
+     * Since every exhausted iterator throws it, it cannot be changed: it does not record suppressed exceptions,
+     * {@link #initCause(Throwable)} returns a new {@link StopIteration} and setting an attribute throws.
+     */
+    private static final class SharedStopIteration extends StopIteration {
+        private static final SharedStopIteration INSTANCE = new SharedStopIteration();
+
+        private SharedStopIteration() {
+            super(false);
+        }
+
+        @Override
+        public synchronized Throwable initCause(Throwable cause) {
+            return new StopIteration().initCause(cause);
+        }
+
+        @Override
+        public PythonLikeObject __getAttributeOrNull(String attributeName) {
+            if ("args".equals(attributeName)) {
+                return new PythonLikeTuple();
+            }
+            return super.__getAttributeOrNull(attributeName);
+        }
+
+        @Override
+        public void __setAttribute(String attributeName, PythonLikeObject value) {
+            throw new TypeError("cannot set attribute '" + attributeName
+                    + "' on the StopIteration shared by exhausted iterators");
+        }
+    }
 }
@@ -1,6 +1,7 @@
 package org.optaplanner.jpyinterpreter.types.errors.lookup;
 
 import java.util.List;
+import java.util.function.Supplier;
 
 import org.optaplanner.jpyinterpreter.PythonLikeObject;
 import org.optaplanner.jpyinterpreter.types.PythonLikeType;
@@ -27,6 +28,10 @@ public class KeyError extends LookupError {
         super(KEY_ERROR_TYPE, message);
     }
 
+    public KeyError(Supplier<String> messageSupplier) {
+        super(KEY_ERROR_TYPE, messageSupplier);
+    }
+
     public KeyError(PythonLikeType type, List<PythonLikeObject> args) {
         super(type, args);
     }
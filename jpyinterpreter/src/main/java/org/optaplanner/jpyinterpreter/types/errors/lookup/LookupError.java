@@ -1,6 +1,7 @@
 package org.optaplanner.jpyinterpreter.types.errors.lookup;
 
 import java.util.List;
+import java.util.function.Supplier;
 
 import org.optaplanner.jpyinterpreter.PythonLikeObject;
 import org.optaplanner.jpyinterpreter.types.PythonLikeType;
@@ -31,4 +32,8 @@ public class LookupError extends PythonException {
     public LookupError(PythonLikeType type, String message) {
         super(type, message);
     }
+
+    public LookupError(PythonLikeType type, Supplier<String> messageSupplier) {
+        super(type, messageSupplier);
+    }
 }
@@ -26,14 +26,41 @@ import org.optaplanner.jpyinterpreter.util.DefaultFormatSpec;
 import org.optaplanner.jpyinterpreter.util.StringFormatter;
 
 public class PythonInteger extends AbstractPythonLikeObject implements PythonNumber {
-    private static final BigInteger MIN_BYTE = BigInteger.valueOf(0);
-    private static final BigInteger MAX_BYTE = BigInteger.valueOf(255);
+    private static final long MODULUS_LONG_VALUE = (1L << 61) - 1;
+
+    // Like CPython, commonly used values are shared instead of allocated by valueOf
+    private static final int SMALL_VALUE_CACHE_MIN = -128;
+    private static final int SMALL_VALUE_CACHE_MAX = 1024;
+
+    /**
+     * Holds the shared values, so they are created on first use instead of in PythonInteger's static initializer.
+     * valueOf is called while the builtin types are still being initialized (by PythonBytes, for instance),
+     * which can happen before or during PythonInteger's static initializer.
+     */
+    private static final class SmallValueCache {
+        private static final PythonInteger[] VALUES = new PythonInteger[SMALL_VALUE_CACHE_MAX - SMALL_VALUE_CACHE_MIN + 1];
+
+        static {
+            for (int i = 0; i < VALUES.length; i++) {
+                VALUES[i] = new PythonInteger(BuiltinTypes.INT_TYPE, (long) (i + SMALL_VALUE_CACHE_MIN));
+            }
+        }
+    }
+
+    /**
+     * The value of this integer if it fits in a long. Operations on two integers that both fit in a long
+     * are done on longs, and only use BigInteger if the result overflows.
+     */
+    private final long longValue;
 
-    public final BigInteger value;
+    /**
+     * The value of this integer if it does not fit in a long, null otherwise.
+     */
+    private final BigInteger bigValue;
 
-    public final static PythonInteger ZERO = new PythonInteger(BigInteger.ZERO);
-    public final static PythonInteger ONE = new PythonInteger(BigInteger.ONE);
-    public final static PythonInteger TWO = new PythonInteger(BigInteger.TWO);
+    public final static PythonInteger ZERO = valueOf(0);
+    public final static PythonInteger ONE = valueOf(1);
+    public final static PythonInteger TWO = valueOf(2);
 
     static {
         PythonOverloadImplementor.deferDispatchesFor(PythonInteger::registerMethods);
@@ -211,49 +238,130 @@ public class PythonInteger extends AbstractPythonLikeObject implements PythonNum
     }
 
     public PythonInteger(PythonLikeType type) {
+        this(type, 0L);
+    }
+
+    public PythonInteger(PythonLikeType type, long value) {
         super(type);
-        this.value = BigInteger.ZERO;
+        this.longValue = value;
+        this.bigValue = null;
     }
 
     public PythonInteger(PythonLikeType type, BigInteger value) {
         super(type);
-        this.value = value;
+        if (value.bitLength() < Long.SIZE) {
+            this.longValue = value.longValue();
+            this.bigValue = null;
+        } else {
+            this.longValue = 0L;
+            this.bigValue = value;
+        }
     }
 
     public PythonInteger(long value) {
-        this(BigInteger.valueOf(value));
+        this(BuiltinTypes.INT_TYPE, value);
     }
 
     public PythonInteger(BigInteger value) {
-        super(BuiltinTypes.INT_TYPE);
-        this.value = value;
+        this(BuiltinTypes.INT_TYPE, value);
     }
 
+    /**
+     * @return the value of this integer; allocates a BigInteger if the value fits in a long,
+     *         so prefer {@link #longValueExact()} and friends where possible.
+     */
     @Override
-    public Number getValue() {
-        return value;
+    public BigInteger getValue() {
+        return (bigValue != null) ? bigValue : BigInteger.valueOf(longValue);
+    }
+
+    public boolean fitsInLong() {
+        return bigValue == null;
+    }
+
+    public long longValue() {
+        return (bigValue != null) ? bigValue.longValue() : longValue;
+    }
+
+    public long longValueExact() {
+        return (bigValue != null) ? bigValue.longValueExact() : longValue;
+    }
+
+    public int intValue() {
+        return (int) longValue();
+    }
+
+    public int intValueExact() {
+        return (bigValue != null) ? bigValue.intValueExact() : Math.toIntExact(longValue);
+    }
+
+    public double doubleValue() {
+        return (bigValue != null) ? bigValue.doubleValue() : longValue;
+    }
+
+    /**
+     * @return -1, 0 or 1 as this integer is negative, zero or positive; unlike {@code getValue().signum()},
+     *         does not allocate
+     */
+    public int signum() {
+        return (bigValue != null) ? bigValue.signum() : Long.signum(longValue);
+    }
+
+    /**
+     * Compares this integer to {@code other} without allocating.
+     *
+     * @return a negative number, zero or a positive number as this integer is less than, equal to or greater than
+     *         {@code other}
+     */
+    public int compareTo(long other) {
+        // bigValue is only set when the value does not fit in a long, so its sign decides
+        return (bigValue != null) ? bigValue.signum() : Long.compare(longValue, other);
+    }
+
+    /**
+     * Compares this integer to {@code other} without allocating when both fit in a long.
+     */
+    public int compareTo(PythonInteger other) {
+        return compareValue(other);
+    }
+
+    private int compareValue(PythonInteger other) {
+        if (bigValue == null && other.bigValue == null) {
+            return Long.compare(longValue, other.longValue);
+        }
+        return getValue().compareTo(other.getValue());
+    }
+
+    @Override
+    public int compareTo(PythonNumber pythonNumber) {
+        if (pythonNumber instanceof PythonInteger) {
+            return compareValue((PythonInteger) pythonNumber);
+        }
+        return PythonNumber.super.compareTo(pythonNumber);
     }
 
     @Override
     public String toString() {
-        return value.toString();
+        return (bigValue != null) ? bigValue.toString() : Long.toString(longValue);
     }
 
     public byte asByte() {
-        if (value.compareTo(MIN_BYTE) < 0 || value.compareTo(MAX_BYTE) > 0) {
-            throw new ValueError(value + " cannot represent a byte because it outside the range [0, 255].");
+        if (bigValue != null || longValue < 0 || longValue > 255) {
+            throw new ValueError(this + " cannot represent a byte because it outside the range [0, 255].");
         }
-        return value.byteValue();
+        return (byte) longValue;
     }
 
     @Override
     public boolean equals(Object o) {
         if (o instanceof Number) {
-            return value.equals(BigInteger.valueOf(((Number) o).longValue()));
+            return bigValue == null && longValue == ((Number) o).longValue();
         } else if (o instanceof PythonInteger) {
-            return ((PythonInteger) o).value.equals(value);
+            PythonInteger other = (PythonInteger) o;
+            return (bigValue == null) ? other.bigValue == null && longValue == other.longValue
+                    : bigValue.equals(other.bigValue);
         } else if (o instanceof PythonFloat) {
-            return value.doubleValue() == ((PythonFloat) o).value;
+            return doubleValue() == ((PythonFloat) o).value;
         } else {
             return false;
         }
@@ -261,35 +369,50 @@ public class PythonInteger extends AbstractPythonLikeObject implements PythonNum
 
     @Override
     public int hashCode() {
-        return $method$__hash__().value.intValue();
+        return $method$__hash__().intValue();
     }
 
     public PythonInteger $method$__hash__() {
+        if (bigValue == null && longValue != Long.MIN_VALUE) {
+            // Same as computeHash(this, ONE), without BigInteger arithmetic
+            long hash = Math.abs(longValue) % MODULUS_LONG_VALUE;
+            if (longValue < 0) {
+                hash = -hash;
+            }
+            return valueOf(hash == -1 ? -2 : hash);
+        }
         return PythonNumber.computeHash(this, ONE);
     }
 
     public static PythonInteger valueOf(byte value) {
-        return new PythonInteger(value);
+        return valueOf((long) value);
     }
 
     public static PythonInteger valueOf(short value) {
-        return new PythonInteger(value);
+        return valueOf((long) value);
     }
 
     public static PythonInteger valueOf(int value) {
-        return new PythonInteger(value);
+        return valueOf((long) value);
     }
 
     public static PythonInteger valueOf(long value) {
+        // Until the int type is created, the shared values would be created without a type
+        if (value >= SMALL_VALUE_CACHE_MIN && value <= SMALL_VALUE_CACHE_MAX && BuiltinTypes.INT_TYPE != null) {
+            return SmallValueCache.VALUES[(int) (value - SMALL_VALUE_CACHE_MIN)];
+        }
         return new PythonInteger(value);
     }
 
     public static PythonInteger valueOf(BigInteger value) {
+        if (value.bitLength() < Long.SIZE) {
+            return valueOf(value.longValue());
+        }
         return new PythonInteger(value);
     }
 
     public PythonBoolean asBoolean() {
-        return value.signum() == 0 ? PythonBoolean.FALSE : PythonBoolean.TRUE;
+        return signum() == 0 ? PythonBoolean.FALSE : PythonBoolean.TRUE;
     }
 
     public PythonInteger asInteger() {
@@ -297,19 +420,28 @@ public class PythonInteger extends AbstractPythonLikeObject implements PythonNum
     }
 
     public PythonFloat asFloat() {
-        return new PythonFloat(value.doubleValue());
+        return new PythonFloat(doubleValue());
     }
 
     public PythonInteger negative() {
-        return new PythonInteger(value.negate());
+        if (bigValue == null && longValue != Long.MIN_VALUE) {
+            return valueOf(-longValue);
+        }
+        return valueOf(getValue().negate());
     }
 
     public PythonInteger invert() {
-        return new PythonInteger(value.add(BigInteger.ONE).negate());
+        if (bigValue == null) {
+            return valueOf(~longValue);
+        }
+        return valueOf(bigValue.add(BigInteger.ONE).negate());
     }
 
     public PythonInteger abs() {
-        return new PythonInteger(value.abs());
+        if (bigValue == null && longValue != Long.MIN_VALUE) {
+            return valueOf(Math.abs(longValue));
+        }
+        return valueOf(getValue().abs());
     }
 
     public PythonLikeObject add(PythonLikeObject other) {
@@ -323,11 +455,18 @@ public class PythonInteger extends AbstractPythonLikeObject implements PythonNum
     }
 
     public PythonInteger add(PythonInteger other) {
-        return new PythonInteger(value.add(other.value));
+        if (bigValue == null && other.bigValue == null) {
+            try {
+                return valueOf(Math.addExact(longValue, other.longValue));
+            } catch (ArithmeticException e) {
+                // overflow; fall through to BigInteger
+            }
+        }
+        return valueOf(getValue().add(other.getValue()));
     }
 
     public PythonFloat add(PythonFloat other) {
-        return new PythonFloat(value.doubleValue() + other.value);
+        return new PythonFloat(doubleValue() + other.value);
     }
 
     public PythonLikeObject subtract(PythonLikeObject other) {
@@ -341,11 +480,18 @@ public class PythonInteger extends AbstractPythonLikeObject implements PythonNum
     }
 
     public PythonInteger subtract(PythonInteger other) {
-        return new PythonInteger(value.subtract(other.value));
+        if (bigValue == null && other.bigValue == null) {
+            try {
+                return valueOf(Math.subtractExact(longValue, other.longValue));
+            } catch (ArithmeticException e) {
+                // overflow; fall through to BigInteger
+            }
+        }
+        return valueOf(getValue().subtract(other.getValue()));
     }
 
     public PythonFloat subtract(PythonFloat other) {
-        return new PythonFloat(value.doubleValue() - other.value);
+        return new PythonFloat(doubleValue() - other.value);
     }
 
     public PythonLikeObject multiply(PythonLikeObject other) {
@@ -359,11 +505,18 @@ public class PythonInteger extends AbstractPythonLikeObject implements PythonNum
     }
 
     public PythonInteger multiply(PythonInteger other) {
-        return new PythonInteger(value.multiply(other.value));
+        if (bigValue == null && other.bigValue == null) {
+            try {
+                return valueOf(Math.multiplyExact(longValue, other.longValue));
+            } catch (ArithmeticException e) {
+                // overflow; fall through to BigInteger
+            }
+        }
+        return valueOf(getValue().multiply(other.getValue()));
     }
 
     public PythonFloat multiply(PythonFloat other) {
-        return new PythonFloat(value.doubleValue() * other.value);
+        return new PythonFloat(doubleValue() * other.value);
     }
 
     public PythonLikeObject trueDivide(PythonLikeObject other) {
@@ -377,17 +530,17 @@ public class PythonInteger extends AbstractPythonLikeObject implements PythonNum
     }
 
     public PythonFloat trueDivide(PythonInteger other) {
-        if (other.value.equals(BigInteger.ZERO)) {
+        if (other.signum() == 0) {
             throw new ZeroDivisionError("integer division or modulo by zero");
         }
-        return new PythonFloat(value.doubleValue() / other.value.doubleValue());
+        return new PythonFloat(doubleValue() / other.doubleValue());
     }
 
     public PythonFloat trueDivide(PythonFloat other) {
         if (other.value == 0.0) {
             throw new ZeroDivisionError("integer division or modulo by zero");
         }
-        return new PythonFloat(value.doubleValue() / other.value);
+        return new PythonFloat(doubleValue() / other.value);
     }
 
     public PythonLikeObject floorDivide(PythonLikeObject other) {
@@ -401,17 +554,20 @@ public class PythonInteger extends AbstractPythonLikeObject implements PythonNum
     }
 
     public PythonInteger floorDivide(PythonInteger other) {
-        if (other.value.equals(BigInteger.ZERO)) {
+        if (other.signum() == 0) {
             throw new ZeroDivisionError("integer division or modulo by zero");
         }
-        return new PythonInteger(value.divide(other.value));
+        if (bigValue == null && other.bigValue == null && !(longValue == Long.MIN_VALUE && other.longValue == -1L)) {
+            return valueOf(longValue / other.longValue);
+        }
+        return valueOf(getValue().divide(other.getValue()));
     }
 
     public PythonFloat floorDivide(PythonFloat other) {
         if (other.value == 0.0) {
             throw new ZeroDivisionError("integer division or modulo by zero");
         }
-        return PythonFloat.valueOf(new BigDecimal(value)
+        return PythonFloat.valueOf(new BigDecimal(getValue())
                 .divideToIntegralValue(BigDecimal.valueOf(other.value))
                 .doubleValue());
     }
@@ -420,7 +576,7 @@ public class PythonInteger extends AbstractPythonLikeObject implements PythonNum
         if (other.value == 0.0) {
             throw new ZeroDivisionError("integer division or modulo by zero");
         }
-        return PythonFloat.valueOf(new BigDecimal(value)
+        return PythonFloat.valueOf(new BigDecimal(getValue())
                 .divide(BigDecimal.valueOf(other.value), RoundingMode.CEILING)
                 .doubleValue());
     }
@@ -436,28 +592,34 @@ public class PythonInteger extends AbstractPythonLikeObject implements PythonNum
     }
 
     public PythonInteger modulo(PythonInteger other) {
-        int remainderSign = other.compareTo(ZERO);
+        int remainderSign = other.signum();
 
         if (remainderSign == 0) {
             throw new ZeroDivisionError("integer division or modulo by zero");
-        } else if (remainderSign > 0) {
-            BigInteger remainder = value.remainder(other.value);
+        } else if (bigValue == null && other.bigValue == null) {
+            // Like Python, floorMod gives the remainder the sign of the divisor
+            return valueOf(Math.floorMod(longValue, other.longValue));
+        }
+
+        BigInteger otherValue = other.getValue();
+        if (remainderSign > 0) {
+            BigInteger remainder = getValue().remainder(otherValue);
             if (remainder.compareTo(BigInteger.ZERO) < 0) {
-                remainder = other.value.add(remainder);
+                remainder = otherValue.add(remainder);
             }
-            return new PythonInteger(remainder);
+            return valueOf(remainder);
         } else {
-            BigInteger remainder = value.remainder(other.value);
+            BigInteger remainder = getValue().remainder(otherValue);
             if (remainder.compareTo(BigInteger.ZERO) > 0) {
-                remainder = other.value.add(remainder);
+                remainder = otherValue.add(remainder);
             }
-            return new PythonInteger(remainder);
+            return valueOf(remainder);
         }
     }
 
     public PythonFloat modulo(PythonFloat other) {
         int remainderSign = other.compareTo(ZERO);
-        double doubleValue = value.doubleValue();
+        double doubleValue = doubleValue();
 
         if (remainderSign == 0) {
             throw new ZeroDivisionError("integer division or modulo by zero");
@@ -477,18 +639,25 @@ public class PythonInteger extends AbstractPythonLikeObject implements PythonNum
     }
 
     public PythonLikeTuple divmod(PythonInteger other) {
-        BigInteger[] result = value.divideAndRemainder(other.value);
+        if (bigValue == null && other.bigValue == null && other.longValue != 0L
+                && !(longValue == Long.MIN_VALUE && other.longValue == -1L)) {
+            // floorDiv and floorMod give the remainder the sign of the divisor, like Python
+            return PythonLikeTuple.fromList(List.of(valueOf(Math.floorDiv(longValue, other.longValue)),
+                    valueOf(Math.floorMod(longValue, other.longValue))));
+        }
+        BigInteger otherValue = other.getValue();
+        BigInteger[] result = getValue().divideAndRemainder(otherValue);
 
         // Python remainder has sign of divisor
-        if (other.value.compareTo(BigInteger.ZERO) < 0) {
+        if (otherValue.compareTo(BigInteger.ZERO) < 0) {
             if (result[1].compareTo(BigInteger.ZERO) > 0) {
                 result[0] = result[0].subtract(BigInteger.ONE);
-                result[1] = result[1].add(other.value);
+                result[1] = result[1].add(otherValue);
             }
         } else {
             if (result[1].compareTo(BigInteger.ZERO) < 0) {
                 result[0] = result[0].subtract(BigInteger.ONE);
-                result[1] = result[1].add(other.value);
+                result[1] = result[1].add(otherValue);
             }
         }
         return PythonLikeTuple.fromList(List.of(PythonInteger.valueOf(result[0]),
@@ -498,14 +667,14 @@ public class PythonInteger extends AbstractPythonLikeObject implements PythonNum
     public PythonLikeTuple divmod(PythonFloat other) {
         PythonFloat quotient;
 
-        if (value.compareTo(BigInteger.ZERO) < 0 == other.value < 0) {
+        if (signum() < 0 == other.value < 0) {
             // Same sign, use floor division
             quotient = floorDivide(other);
         } else {
             // Different sign, use ceil division
             quotient = ceilDivide(other);
         }
-        double remainder = value.doubleValue() % other.value;
+        double remainder = doubleValue() % other.value;
 
         // Python remainder has sign of divisor
         if (other.value < 0) {
@@ -531,7 +700,8 @@ public class PythonInteger extends AbstractPythonLikeObject implements PythonNum
             return this;
         }
 
-        BigInteger powerOfTen = BigInteger.TEN.pow(-digitsAfterDecimal.value.intValueExact());
+        BigInteger value = getValue();
+        BigInteger powerOfTen = BigInteger.TEN.pow(-digitsAfterDecimal.intValueExact());
         BigInteger halfPowerOfTen = powerOfTen.shiftRight(1);
         BigInteger remainder = value.mod(powerOfTen);
 
@@ -566,18 +736,18 @@ public class PythonInteger extends AbstractPythonLikeObject implements PythonNum
     }
 
     public PythonNumber power(PythonInteger other) {
-        if (other.value.signum() >= 0) {
-            return new PythonInteger(value.pow(other.value.intValueExact()));
+        if (other.signum() >= 0) {
+            return valueOf(getValue().pow(other.intValueExact()));
         }
-        return new PythonFloat(Math.pow(value.doubleValue(), other.value.doubleValue()));
+        return new PythonFloat(Math.pow(doubleValue(), other.doubleValue()));
     }
 
     public PythonInteger power(PythonInteger exponent, PythonInteger modulus) {
-        return PythonInteger.valueOf(value.modPow(exponent.value, modulus.value));
+        return PythonInteger.valueOf(getValue().modPow(exponent.getValue(), modulus.getValue()));
     }
 
     public PythonFloat power(PythonFloat other) {
-        return new PythonFloat(Math.pow(value.doubleValue(), other.value));
+        return new PythonFloat(Math.pow(doubleValue(), other.value));
     }
 
     public PythonLikeObject shiftLeft(PythonLikeObject other) {
@@ -589,7 +759,14 @@ public class PythonInteger extends AbstractPythonLikeObject implements PythonNum
     }
 
     public PythonInteger shiftLeft(PythonInteger other) {
-        return new PythonInteger(value.shiftLeft(other.value.intValueExact()));
+        int shift = other.intValueExact();
+        if (bigValue == null && shift >= 0 && shift < Long.SIZE - 1) {
+            long result = longValue << shift;
+            if (result >> shift == longValue) {
+                return valueOf(result);
+            }
+        }
+        return valueOf(getValue().shiftLeft(shift));
     }
 
     public PythonLikeObject shiftRight(PythonLikeObject other) {
@@ -601,7 +778,11 @@ public class PythonInteger extends AbstractPythonLikeObject implements PythonNum
     }
 
     public PythonInteger shiftRight(PythonInteger other) {
-        return new PythonInteger(value.shiftRight(other.value.intValueExact()));
+        int shift = other.intValueExact();
+        if (bigValue == null && shift >= 0) {
+            return valueOf(longValue >> Math.min(shift, Long.SIZE - 1));
+        }
+        return valueOf(getValue().shiftRight(shift));
     }
 
     public PythonLikeObject bitwiseAnd(PythonLikeObject other) {
@@ -613,7 +794,10 @@ public class PythonInteger extends AbstractPythonLikeObject implements PythonNum
     }
 
     public PythonInteger bitwiseAnd(PythonInteger other) {
-        return new PythonInteger(value.and(other.value));
+        if (bigValue == null && other.bigValue == null) {
+            return valueOf(longValue & other.longValue);
+        }
+        return valueOf(getValue().and(other.getValue()));
     }
 
     public PythonLikeObject bitwiseOr(PythonLikeObject other) {
@@ -625,7 +809,10 @@ public class PythonInteger extends AbstractPythonLikeObject implements PythonNum
     }
 
     public PythonInteger bitwiseOr(PythonInteger other) {
-        return new PythonInteger(value.or(other.value));
+        if (bigValue == null && other.bigValue == null) {
+            return valueOf(longValue | other.longValue);
+        }
+        return valueOf(getValue().or(other.getValue()));
     }
 
     public PythonLikeObject bitwiseXor(PythonLikeObject other) {
@@ -637,7 +824,10 @@ public class PythonInteger extends AbstractPythonLikeObject implements PythonNum
     }
 
     public PythonInteger bitwiseXor(PythonInteger other) {
-        return new PythonInteger(value.xor(other.value));
+        if (bigValue == null && other.bigValue == null) {
+            return valueOf(longValue ^ other.longValue);
+        }
+        return valueOf(getValue().xor(other.getValue()));
     }
 
     public PythonLikeObject equal(PythonLikeObject other) {
@@ -701,59 +891,59 @@ public class PythonInteger extends AbstractPythonLikeObject implements PythonNum
     }
 
     public PythonBoolean equal(PythonInteger other) {
-        return PythonBoolean.valueOf(value.compareTo(other.value) == 0);
+        return PythonBoolean.valueOf(compareValue(other) == 0);
     }
 
     public PythonBoolean notEqual(PythonInteger other) {
-        return PythonBoolean.valueOf(value.compareTo(other.value) != 0);
+        return PythonBoolean.valueOf(compareValue(other) != 0);
     }
 
     public PythonBoolean lessThan(PythonInteger other) {
-        return PythonBoolean.valueOf(value.compareTo(other.value) < 0);
+        return PythonBoolean.valueOf(compareValue(other) < 0);
     }
 
     public PythonBoolean lessThanOrEqual(PythonInteger other) {
-        return PythonBoolean.valueOf(value.compareTo(other.value) <= 0);
+        return PythonBoolean.valueOf(compareValue(other) <= 0);
     }
 
     public PythonBoolean greaterThan(PythonInteger other) {
-        return PythonBoolean.valueOf(value.compareTo(other.value) > 0);
+        return PythonBoolean.valueOf(compareValue(other) > 0);
     }
 
     public PythonBoolean greaterThanOrEqual(PythonInteger other) {
-        return PythonBoolean.valueOf(value.compareTo(other.value) >= 0);
+        return PythonBoolean.valueOf(compareValue(other) >= 0);
     }
 
     public PythonBoolean equal(PythonFloat other) {
-        return PythonBoolean.valueOf(value.doubleValue() == other.value);
+        return PythonBoolean.valueOf(doubleValue() == other.value);
     }
 
     public PythonBoolean notEqual(PythonFloat other) {
-        return PythonBoolean.valueOf(value.doubleValue() != other.value);
+        return PythonBoolean.valueOf(doubleValue() != other.value);
     }
 
     public PythonBoolean lessThan(PythonFloat other) {
-        return PythonBoolean.valueOf(value.doubleValue() < other.value);
+        return PythonBoolean.valueOf(doubleValue() < other.value);
     }
 
     public PythonBoolean lessThanOrEqual(PythonFloat other) {
-        return PythonBoolean.valueOf(value.doubleValue() <= other.value);
+        return PythonBoolean.valueOf(doubleValue() <= other.value);
     }
 
     public PythonBoolean greaterThan(PythonFloat other) {
-        return PythonBoolean.valueOf(value.doubleValue() > other.value);
+        return PythonBoolean.valueOf(doubleValue() > other.value);
     }
 
     public PythonBoolean greaterThanOrEqual(PythonFloat other) {
-        return PythonBoolean.valueOf(value.doubleValue() >= other.value);
+        return PythonBoolean.valueOf(doubleValue() >= other.value);
     }
 
     public PythonString asString() {
-        return PythonString.valueOf(value.toString());
+        return PythonString.valueOf(toString());
     }
 
     public PythonString $method$__format__() {
-        return PythonString.valueOf(value.toString());
+        return PythonString.valueOf(toString());
     }
 
     public PythonString $method$__format__(PythonLikeObject specObject) {
@@ -779,34 +969,34 @@ public class PythonInteger extends AbstractPythonLikeObject implements PythonNum
             case BINARY:
                 alternateFormPrefix = "0b";
                 groupSize = 4;
-                out.append(value.toString(2));
+                out.append(getValue().toString(2));
                 break;
             case OCTAL:
                 alternateFormPrefix = "0o";
                 groupSize = 4;
-                out.append(value.toString(8));
+                out.append(getValue().toString(8));
                 break;
             case DECIMAL:
-                out.append(value.toString(10));
+                out.append(getValue().toString(10));
                 groupSize = 3;
                 break;
             case LOWERCASE_HEX:
                 alternateFormPrefix = "0x";
                 groupSize = 4;
-                out.append(value.toString(16));
+                out.append(getValue().toString(16));
                 break;
             case UPPERCASE_HEX:
                 alternateFormPrefix = "0X";
                 groupSize = 4;
-                out.append(value.toString(16).toUpperCase());
+                out.append(getValue().toString(16).toUpperCase());
                 break;
             case CHARACTER:
                 groupSize = -1;
-                out.appendCodePoint(value.intValueExact());
+                out.appendCodePoint(intValueExact());
                 break;
             case LOCALE_SENSITIVE:
                 groupSize = -1;
-                NumberFormat.getIntegerInstance().format(value);
+                NumberFormat.getIntegerInstance().format(getValue());
                 break;
             default:
                 throw new ValueError("Invalid format spec for int: " + spec);
@@ -0,0 +1,310 @@
+package org.optaplanner.jpyinterpreter.util;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * A map from CPython object ids to the Java objects they were converted to.
+ * Keys are stored as primitive longs in an open addressing table, and values are only weakly reachable from
+ * the map, so an entry is evicted as soon as nothing else references its converted object. This prevents
+ * the map from growing forever, and reduces the chance a reused CPython id returns a stale conversion.
+ * <p>
+ * A null value is stored strongly. All operations are synchronized, since solver threads read the map
+ * while the translator writes to it.
+ *
+ * @param <Value_> The type of the converted objects
+ */
+public final class WeakValueIdMap<Value_> extends AbstractMap<Number, Value_> {
+    private static final int INITIAL_CAPACITY = 64;
+    private static final Object NULL_VALUE = new Object();
+
+    private long[] keys;
+    private Object[] values; // IdWeakReference, NULL_VALUE or null (empty slot)
+    private boolean[] deleted;
+    private int size;
+    private int usedSlots; // size + deleted slots
+    private final ReferenceQueue<Object> referenceQueue = new ReferenceQueue<>();
+
+    private long hitCount = 0L;
+    private long missCount = 0L;
+    private long evictionCount = 0L;
+
+    public WeakValueIdMap() {
+        allocate(INITIAL_CAPACITY);
+    }
+
+    private static final class IdWeakReference extends WeakReference<Object> {
+        private final long id;
+
+        private IdWeakReference(long id, Object referent, ReferenceQueue<Object> queue) {
+            super(referent, queue);
+            this.id = id;
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        values = new Object[capacity];
+        deleted = new boolean[capacity];
+        usedSlots = size;
+    }
+
+    private static int hash(long key) {
+        long mixed = key * 0x9E3779B97F4A7C15L;
+        return (int) (mixed ^ (mixed >>> 32));
+    }
+
+    /**
+     * @return the slot containing key, or -1 if there is no such slot
+     */
+    private int findSlot(long key) {
+        int mask = keys.length - 1;
+        int slot = hash(key) & mask;
+        while (values[slot] != null || deleted[slot]) {
+            if (values[slot] != null && keys[slot] == key) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    private void removeSlot(int slot) {
+        values[slot] = null;
+        deleted[slot] = true;
+        size--;
+    }
+
+    private void expungeStaleEntries() {
+        IdWeakReference reference;
+        while ((reference = (IdWeakReference) referenceQueue.poll()) != null) {
+            int slot = findSlot(reference.id);
+            // The slot may have been reassigned to a newer value for the same id
+            if (slot != -1 && values[slot] == reference) {
+                removeSlot(slot);
+                evictionCount++;
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private Value_ unwrap(Object stored) {
+        if (stored == NULL_VALUE) {
+            return null;
+        }
+        return (Value_) ((IdWeakReference) stored).get();
+    }
+
+    private void ensureCapacityForInsert() {
+        if ((usedSlots + 1) * 4 > keys.length * 3) {
+            long[] oldKeys = keys;
+            Object[] oldValues = values;
+            int newCapacity = (size + 1) * 2 > keys.length ? keys.length * 2 : keys.length;
+            allocate(newCapacity);
+            size = 0;
+            usedSlots = 0;
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldValues[i] != null) {
+                    insert(oldKeys[i], oldValues[i]);
+                }
+            }
+        }
+    }
+
+    private void insert(long key, Object stored) {
+        int mask = keys.length - 1;
+        int slot = hash(key) & mask;
+        while (values[slot] != null) {
+            slot = (slot + 1) & mask;
+        }
+        if (!deleted[slot]) {
+            usedSlots++;
+        }
+        deleted[slot] = false;
+        keys[slot] = key;
+        values[slot] = stored;
+        size++;
+    }
+
+    public synchronized Value_ get(long key) {
+        expungeStaleEntries();
+        int slot = findSlot(key);
+        if (slot != -1) {
+            Value_ out = unwrap(values[slot]);
+            if (out != null || values[slot] == NULL_VALUE) {
+                hitCount++;
+                return out;
+            }
+        }
+        missCount++;
+        return null;
+    }
+
+    public synchronized boolean containsKey(long key) {
+        expungeStaleEntries();
+        int slot = findSlot(key);
+        return slot != -1 && (values[slot] == NULL_VALUE || unwrap(values[slot]) != null);
+    }
+
+    public synchronized Value_ put(long key, Value_ value) {
+        expungeStaleEntries();
+        Object stored = (value == null) ? NULL_VALUE : new IdWeakReference(key, value, referenceQueue);
+        int slot = findSlot(key);
+        if (slot != -1) {
+            Value_ old = unwrap(values[slot]);
+            values[slot] = stored;
+            return old;
+        }
+        ensureCapacityForInsert();
+        insert(key, stored);
+        return null;
+    }
+
+    public synchronized Value_ remove(long key) {
+        expungeStaleEntries();
+        int slot = findSlot(key);
+        if (slot == -1) {
+            return null;
+        }
+        Value_ old = unwrap(values[slot]);
+        removeSlot(slot);
+        return old;
+    }
+
+    @Override
+    public Value_ get(Object key) {
+        if (!(key instanceof Number)) {
+            return null;
+        }
+        return get(((Number) key).longValue());
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        if (!(key instanceof Number)) {
+            return false;
+        }
+        return containsKey(((Number) key).longValue());
+    }
+
+    @Override
+    public Value_ put(Number key, Value_ value) {
+        return put(key.longValue(), value);
+    }
+
+    @Override
+    public Value_ remove(Object key) {
+        if (!(key instanceof Number)) {
+            return null;
+        }
+        return remove(((Number) key).longValue());
+    }
+
+    @Override
+    public synchronized int size() {
+        expungeStaleEntries();
+        return size;
+    }
+
+    @Override
+    public synchronized void clear() {
+        expungeStaleEntries();
+        Arrays.fill(values, null);
+        Arrays.fill(deleted, false);
+        size = 0;
+        usedSlots = 0;
+    }
+
+    public synchronized long getHitCount() {
+        return hitCount;
+    }
+
+    public synchronized long getMissCount() {
+        return missCount;
+    }
+
+    /**
+     * @return the fraction of lookups that found a live value, or 0 if there were no lookups
+     */
+    public synchronized double getHitRate() {
+        long lookupCount = hitCount + missCount;
+        return (lookupCount == 0L) ? 0.0 : (double) hitCount / lookupCount;
+    }
+
+    /**
+     * @return the number of entries removed because their value was garbage collected
+     */
+    public synchronized long getEvictionCount() {
+        expungeStaleEntries();
+        return evictionCount;
+    }
+
+    /**
+     * A snapshot of the live entries; changes to the map are not reflected in it,
+     * but {@link Iterator#remove()} removes the entry from the map.
+     */
+    @Override
+    public synchronized Set<Entry<Number, Value_>> entrySet() {
+        expungeStaleEntries();
+        Object[] entryArray = new Object[size];
+        int entryCount = 0;
+        for (int i = 0; i < keys.length; i++) {
+            if (values[i] != null) {
+                Value_ value = unwrap(values[i]);
+                if (value != null || values[i] == NULL_VALUE) {
+                    entryArray[entryCount++] = new SimpleImmutableEntry<Number, Value_>(keys[i], value);
+                }
+            }
+        }
+        final int snapshotSize = entryCount;
+        return new AbstractSet<>() {
+            @Override
+            public Iterator<Entry<Number, Value_>> iterator() {
+                return new Iterator<>() {
+                    int index = 0;
+                    Entry<Number, Value_> last = null;
+
+                    @Override
+                    public boolean hasNext() {
+                        return index < snapshotSize;
+                    }
+
+                    @Override
+                    @SuppressWarnings("unchecked")
+                    public Entry<Number, Value_> next() {
+                        if (index >= snapshotSize) {
+                            throw new NoSuchElementException();
+                        }
+                        last = (Entry<Number, Value_>) entryArray[index++];
+                        return last;
+                    }
+
+                    @Override
+                    public void remove() {
+                        if (last == null) {
+                            throw new IllegalStateException();
+                        }
+                        WeakValueIdMap.this.remove(last.getKey());
+                        last = null;
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return snapshotSize;
+            }
+        };
+    }
+
+    @Override
+    public String toString() {
+        return "WeakValueIdMap{size=" + size() + ", hitRate=" + getHitRate() + ", evictions=" + getEvictionCount() + "}";
+    }
+}
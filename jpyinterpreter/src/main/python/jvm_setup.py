@@ -52,6 +52,8 @@ def init(*args, path: List[str] = None, include_translator_jars: bool = True,
         GetAttributePointerArrayOnPythonObject()
     CPythonBackedPythonInterpreter.lookupAttributeOnPythonReferenceWithMapPythonFunction = \
         GetAttributeOnPythonObjectWithMap()
+    CPythonBackedPythonInterpreter.lookupAttributesOnPythonReferencesWithMapPythonFunction = \
+        GetAttributesOnPythonObjectsWithMap()
     CPythonBackedPythonInterpreter.lookupDictOnPythonReferencePythonFunction = GetDictOnPythonObject()
     CPythonBackedPythonInterpreter.setAttributeOnPythonReferencePythonFunction = SetAttributeOnPythonObject()
     CPythonBackedPythonInterpreter.deleteAttributeOnPythonReferencePythonFunction = DeleteAttributeOnPythonObject()
@@ -129,6 +131,29 @@ class GetAttributeOnPythonObjectWithMap:
             raise e
 
 
+@jpype.JImplements('org.optaplanner.jpyinterpreter.util.function.TriFunction', deferred=True)
+class GetAttributesOnPythonObjectsWithMap:
+    @jpype.JOverride()
+    def apply(self, python_objects, attribute_names, instance_map):
+        from .python_to_java_bytecode_translator import convert_to_java_python_like_object
+        from org.optaplanner.jpyinterpreter import PythonLikeObject
+        attribute_names = [str(attribute_name) for attribute_name in attribute_names]
+        out = []
+        for python_object in python_objects:
+            for attribute_name in attribute_names:
+                if not hasattr(python_object, attribute_name):
+                    out.append(None)
+                    continue
+                try:
+                    out.append(convert_to_java_python_like_object(getattr(python_object, attribute_name),
+                                                                  instance_map))
+                except Exception as e:
+                    import traceback
+                    traceback.print_exception(e)
+                    raise e
+        return jpype.JArray(PythonLikeObject)(out)
+
+
 @jpype.JImplements('org.optaplanner.jpyinterpreter.util.function.TriConsumer', deferred=True)
 class SetAttributeOnPythonObject:
     @jpype.JOverride()
@@ -218,7 +243,7 @@ class ImportModule:
         python_from_list = unwrap_python_like_object(from_list, None)
         return convert_to_java_python_like_object(
             __import__(module_name, python_globals, python_locals, python_from_list, level),
-            CPythonBackedPythonInterpreter.pythonObjectIdToConvertedObjectMap
+            CPythonBackedPythonInterpreter.getPythonObjectIdToConvertedObjectMap()
         )
 
 
@@ -331,8 +331,9 @@ def convert_to_java_python_like_object(value, instance_map=None):
     if instance_map is None:
         instance_map = HashMap()
 
-    if instance_map.containsKey(JLong(id(value))):
-        return instance_map.get(JLong(id(value)))
+    existing_value = instance_map.get(JLong(id(value)))
+    if existing_value is not None:
+        return existing_value
     elif isinstance(value, PythonLikeObject):
         put_in_instance_map(instance_map, value, value)
         return value
@@ -343,7 +344,10 @@ def convert_to_java_python_like_object(value, instance_map=None):
     elif isinstance(value, bool):
         return PythonBoolean.valueOf(JBoolean(value))
     elif isinstance(value, int):
-        out = PythonInteger.valueOf(BigInteger("{0:x}".format(value), 16))
+        if -2**63 <= value < 2**63:
+            out = PythonInteger.valueOf(JLong(value))
+        else:
+            out = PythonInteger.valueOf(BigInteger("{0:x}".format(value), 16))
         put_in_instance_map(instance_map, value, out)
         return out
     elif isinstance(value, float):
@@ -702,7 +706,7 @@ def copy_constants(constants_iterable):
         return None
     iterable_copy = ArrayList()
     for item in constants_iterable:
-        iterable_copy.add(convert_to_java_python_like_object(item, CPythonBackedPythonInterpreter.pythonObjectIdToConvertedObjectMap))
+        iterable_copy.add(convert_to_java_python_like_object(item, CPythonBackedPythonInterpreter.getPythonObjectIdToConvertedObjectMap()))
     return iterable_copy
 
 
@@ -716,7 +720,7 @@ def copy_closure(closure):
     else:
         for cell in closure:
             java_cell = PythonCell()
-            java_cell.cellValue = convert_to_java_python_like_object(cell.cell_contents, CPythonBackedPythonInterpreter.pythonObjectIdToConvertedObjectMap)
+            java_cell.cellValue = convert_to_java_python_like_object(cell.cell_contents, CPythonBackedPythonInterpreter.getPythonObjectIdToConvertedObjectMap())
             out.add(java_cell)
         return out
 
@@ -726,6 +730,7 @@ def copy_globals(globals_dict, co_names):
     global global_dict_to_key_set
     from java.util import HashMap
     from org.optaplanner.jpyinterpreter import CPythonBackedPythonInterpreter
+    from org.optaplanner.jpyinterpreter.implementors import GlobalVariableCallSite
 
     globals_dict_key = id(globals_dict)
     if globals_dict_key in global_dict_to_instance:
@@ -737,11 +742,16 @@ def copy_globals(globals_dict, co_names):
         global_dict_to_instance[globals_dict_key] = out
         global_dict_to_key_set[globals_dict_key] = key_set
 
-    instance_map = CPythonBackedPythonInterpreter.pythonObjectIdToConvertedObjectMap
+    instance_map = CPythonBackedPythonInterpreter.getPythonObjectIdToConvertedObjectMap()
+    is_changed = False
     for key, value in globals_dict.items():
         if key not in key_set and key in co_names:
             key_set.add(key)
             out.put(key, convert_to_java_python_like_object(value, instance_map))
+            is_changed = True
+
+    if is_changed:
+        GlobalVariableCallSite.invalidateAll()
 
     return out
 
@@ -1220,5 +1230,5 @@ def translate_python_class_to_java_class(python_class):
     out = PythonClassTranslator.translatePythonClass(python_compiled_class)
     type_to_compiled_java_class[python_class] = out
     PythonClassTranslator.setSelfStaticInstances(python_compiled_class, out.getJavaClass(), out,
-                                                 CPythonBackedPythonInterpreter.pythonObjectIdToConvertedObjectMap)
+                                                 CPythonBackedPythonInterpreter.getPythonObjectIdToConvertedObjectMap())
     return out
@@ -0,0 +1,147 @@
+package org.optaplanner.jpyinterpreter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.optaplanner.jpyinterpreter.types.BuiltinTypes;
+import org.optaplanner.jpyinterpreter.types.CPythonBackedPythonLikeObject;
+import org.optaplanner.jpyinterpreter.types.PythonLikeType;
+import org.optaplanner.jpyinterpreter.types.PythonNone;
+import org.optaplanner.jpyinterpreter.types.PythonString;
+import org.optaplanner.jpyinterpreter.types.numeric.PythonInteger;
+import org.optaplanner.jpyinterpreter.types.wrappers.OpaquePythonReference;
+import org.optaplanner.jpyinterpreter.util.PythonFunctionBuilder;
+
+public class CPythonBackedPythonInterpreterTest {
+    /**
+     * Stands in for a CPython object.
+     */
+    private static final class FakePythonObject implements OpaquePythonReference {
+        private final Map<String, PythonLikeObject> attributeMap;
+
+        private FakePythonObject(long age, String name) {
+            this.attributeMap = Map.of("age", PythonInteger.valueOf(age),
+                    "name", (name != null) ? PythonString.valueOf(name) : PythonNone.INSTANCE);
+        }
+    }
+
+    private final AtomicInteger singleLookupCount = new AtomicInteger();
+    private final AtomicInteger bulkLookupCount = new AtomicInteger();
+
+    @AfterEach
+    public void tearDown() {
+        CPythonBackedPythonInterpreter.lookupAttributeOnPythonReferenceWithMapPythonFunction = null;
+        CPythonBackedPythonInterpreter.lookupAttributesOnPythonReferencesWithMapPythonFunction = null;
+    }
+
+    private void setLookupFunctions(boolean withBulkFunction) {
+        CPythonBackedPythonInterpreter.lookupAttributeOnPythonReferenceWithMapPythonFunction = (object, attribute, map) -> {
+            singleLookupCount.incrementAndGet();
+            return ((FakePythonObject) object).attributeMap.get(attribute);
+        };
+        if (withBulkFunction) {
+            CPythonBackedPythonInterpreter.lookupAttributesOnPythonReferencesWithMapPythonFunction =
+                    (objects, attributes, map) -> {
+                        bulkLookupCount.incrementAndGet();
+                        List<PythonLikeObject> out = new ArrayList<>(objects.size() * attributes.length);
+                        for (OpaquePythonReference object : objects) {
+                            for (String attribute : attributes) {
+                                out.add(((FakePythonObject) object).attributeMap.get(attribute));
+                            }
+                        }
+                        return out.toArray(new PythonLikeObject[0]);
+                    };
+        }
+    }
+
+    private static Class<?> translateClass(String className) throws ClassNotFoundException {
+        PythonCompiledFunction initFunction = PythonFunctionBuilder.newFunction("self", "age", "name")
+                .loadParameter("age")
+                .loadParameter("self")
+                .storeAttribute("age")
+                .loadParameter("name")
+                .loadParameter("self")
+                .storeAttribute("name")
+                .loadConstant(null)
+                .op(OpcodeIdentifier.RETURN_VALUE)
+                .build();
+
+        PythonCompiledClass compiledClass = new PythonCompiledClass();
+        compiledClass.className = className;
+        compiledClass.superclassList = List.of(CPythonBackedPythonLikeObject.CPYTHON_BACKED_OBJECT_TYPE);
+        compiledClass.staticAttributeNameToObject = Map.of();
+        compiledClass.staticAttributeNameToClassInstance = Map.of();
+        compiledClass.typeAnnotations = Map.of("age", BuiltinTypes.INT_TYPE, "name", BuiltinTypes.STRING_TYPE);
+        compiledClass.instanceFunctionNameToPythonBytecode = Map.of("__init__", initFunction);
+        compiledClass.staticFunctionNameToPythonBytecode = Map.of();
+        compiledClass.classFunctionNameToPythonBytecode = Map.of();
+
+        PythonLikeType classType = PythonClassTranslator.translatePythonClass(compiledClass);
+        return BuiltinTypes.asmClassLoader.loadClass(classType.getJavaTypeInternalName().replace('/', '.'));
+    }
+
+    private static CPythonBackedPythonLikeObject newInstance(Class<?> generatedClass, OpaquePythonReference reference,
+            Map<Number, PythonLikeObject> instanceMap) throws ReflectiveOperationException {
+        CPythonBackedPythonLikeObject out =
+                (CPythonBackedPythonLikeObject) generatedClass.getConstructor().newInstance();
+        out.$setCPythonReference(reference);
+        out.$setInstanceMap(instanceMap);
+        return out;
+    }
+
+    private static Object getField(Object instance, String attributeName) throws ReflectiveOperationException {
+        return instance.getClass().getField(PythonClassTranslator.getJavaFieldName(attributeName)).get(instance);
+    }
+
+    private void assertFieldsAreRead(String className) throws ReflectiveOperationException {
+        Class<?> generatedClass = translateClass(className);
+        Map<Number, PythonLikeObject> instanceMap = new HashMap<>();
+        Map<Number, PythonLikeObject> otherInstanceMap = new HashMap<>();
+
+        List<CPythonBackedPythonLikeObject> javaObjectList = List.of(
+                newInstance(generatedClass, new FakePythonObject(1, "a"), instanceMap),
+                newInstance(generatedClass, new FakePythonObject(2, null), instanceMap),
+                newInstance(generatedClass, new FakePythonObject(3, "c"), otherInstanceMap),
+                newInstance(generatedClass, null, instanceMap));
+
+        List<String> attributeNameList = new ArrayList<>();
+        javaObjectList.get(0).$addCPythonAttributeNames(attributeNameList);
+        assertThat(attributeNameList).containsExactlyInAnyOrder("age", "name");
+
+        CPythonBackedPythonInterpreter.readFieldsFromCPythonReferences(javaObjectList);
+
+        assertThat(getField(javaObjectList.get(0), "age")).isEqualTo(PythonInteger.valueOf(1));
+        assertThat(getField(javaObjectList.get(0), "name")).isEqualTo(PythonString.valueOf("a"));
+        assertThat(getField(javaObjectList.get(1), "age")).isEqualTo(PythonInteger.valueOf(2));
+        assertThat(getField(javaObjectList.get(1), "name")).isNull();
+        assertThat(getField(javaObjectList.get(2), "age")).isEqualTo(PythonInteger.valueOf(3));
+        assertThat(getField(javaObjectList.get(2), "name")).isEqualTo(PythonString.valueOf("c"));
+        // Objects without a CPython reference are not read
+        assertThat(getField(javaObjectList.get(3), "age")).isNull();
+    }
+
+    @Test
+    public void testReadFieldsFromCPythonReferencesUsesOneCallPerInstanceMap() throws ReflectiveOperationException {
+        setLookupFunctions(true);
+        assertFieldsAreRead("BulkReadClass");
+
+        assertThat(bulkLookupCount.get()).isEqualTo(2);
+        assertThat(singleLookupCount.get()).isZero();
+    }
+
+    @Test
+    public void testReadFieldsFromCPythonReferencesWithoutBulkFunction() throws ReflectiveOperationException {
+        setLookupFunctions(false);
+        assertFieldsAreRead("SingleReadClass");
+
+        assertThat(bulkLookupCount.get()).isZero();
+        assertThat(singleLookupCount.get()).isEqualTo(6);
+    }
+}
@@ -0,0 +1,90 @@
+package org.optaplanner.jpyinterpreter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.Test;
+import org.optaplanner.jpyinterpreter.types.AbstractPythonLikeObject;
+import org.optaplanner.jpyinterpreter.types.BuiltinTypes;
+import org.optaplanner.jpyinterpreter.types.PythonNone;
+import org.optaplanner.jpyinterpreter.types.PythonString;
+import org.optaplanner.jpyinterpreter.types.errors.StopIteration;
+import org.optaplanner.jpyinterpreter.types.numeric.PythonInteger;
+import org.optaplanner.jpyinterpreter.util.PythonFunctionBuilder;
+
+/**
+ * The builtin types have cyclic static initializers, so the class that is used first decides the order
+ * in which they are initialized. Each test runs an entry point in a fresh JVM, so no interpreter class
+ * is initialized before it.
+ */
+public class ClassInitializationTest {
+
+    /**
+     * Entry points, called by name from {@link #main(String[])} in a fresh JVM
+     */
+    public static final class EntryPoints {
+        public static void integerFirst() {
+            PythonInteger value = PythonInteger.valueOf(1);
+            assertThat(value.__getType()).isSameAs(BuiltinTypes.INT_TYPE);
+            assertThat(PythonInteger.valueOf(1)).isSameAs(value);
+        }
+
+        public static void pythonLikeObjectFirst() {
+            assertThat(AbstractPythonLikeObject.OBJECT_TYPE).isNotNull();
+            PythonLikeObject value = PythonInteger.valueOf(5);
+            assertThat(value.__getType()).isSameAs(BuiltinTypes.INT_TYPE);
+        }
+
+        public static void functionBuilderFirst() {
+            PythonCompiledFunction function = PythonFunctionBuilder.newFunction("x")
+                    .loadParameter("x")
+                    .loadConstant(0)
+                    .op(OpcodeIdentifier.RETURN_VALUE)
+                    .build();
+            assertThat(function.co_constants).containsExactly(PythonInteger.ZERO);
+        }
+
+        public static void stringFirst() {
+            PythonString string = PythonString.valueOf("a");
+            assertThat(string.__getType()).isSameAs(BuiltinTypes.STRING_TYPE);
+            assertThat(StopIteration.getInstance().getValue()).isSameAs(PythonNone.INSTANCE);
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        EntryPoints.class.getMethod(args[0]).invoke(null);
+    }
+
+    private static void runInFreshJvm(String entryPoint) throws IOException, InterruptedException {
+        Process process = new ProcessBuilder(Path.of(System.getProperty("java.home"), "bin", "java").toString(),
+                "-cp", System.getProperty("java.class.path"),
+                ClassInitializationTest.class.getName(), entryPoint)
+                .redirectErrorStream(true)
+                .start();
+        String output = new String(process.getInputStream().readAllBytes(), StandardCharsets.UTF_8);
+        assertThat(process.waitFor()).as(output).isZero();
+    }
+
+    @Test
+    public void testIntegerInitializedFirst() throws Exception {
+        runInFreshJvm("integerFirst");
+    }
+
+    @Test
+    public void testPythonLikeObjectInitializedFirst() throws Exception {
+        runInFreshJvm("pythonLikeObjectFirst");
+    }
+
+    @Test
+    public void testFunctionBuilderInitializedFirst() throws Exception {
+        runInFreshJvm("functionBuilderFirst");
+    }
+
+    @Test
+    public void testStringInitializedFirst() throws Exception {
+        runInFreshJvm("stringFirst");
+    }
+}
@@ -0,0 +1,110 @@
+package org.optaplanner.jpyinterpreter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.function.Function;
+
+import org.junit.jupiter.api.Test;
+import org.optaplanner.jpyinterpreter.types.BuiltinTypes;
+import org.optaplanner.jpyinterpreter.types.PythonLikeType;
+import org.optaplanner.jpyinterpreter.types.numeric.PythonInteger;
+import org.optaplanner.jpyinterpreter.util.PythonFunctionBuilder;
+
+@SuppressWarnings({ "unchecked", "rawtypes" })
+public class PythonBytecodeToJavaBytecodeTranslatorTest {
+
+    @Test
+    public void testAsmClassLoaderIsParallelCapable() {
+        assertThat(BuiltinTypes.asmClassLoader.isRegisteredAsParallelCapable()).isTrue();
+    }
+
+    @Test
+    public void testTranslateAllPythonBytecode() {
+        // Every function has the same name, so they all share (and race on) the same generated class name
+        int functionCount = 64;
+        List<PythonCompiledFunction> pythonCompiledFunctionList = new ArrayList<>(functionCount);
+        for (int i = 0; i < functionCount; i++) {
+            pythonCompiledFunctionList.add(PythonFunctionBuilder.newFunction("x")
+                    .loadParameter("x")
+                    .loadConstant(i)
+                    .op(OpcodeIdentifier.BINARY_ADD)
+                    .op(OpcodeIdentifier.RETURN_VALUE)
+                    .build());
+        }
+
+        List<CompletableFuture<Function>> futureList =
+                PythonBytecodeToJavaBytecodeTranslator.translateAllPythonBytecode(pythonCompiledFunctionList,
+                        Function.class, List.of(PythonInteger.class, PythonLikeObject.class));
+
+        assertThat(futureList).hasSize(functionCount);
+        for (int i = 0; i < functionCount; i++) {
+            Function javaFunction = futureList.get(i).join();
+            assertThat(javaFunction.apply(PythonInteger.valueOf(100))).isEqualTo(PythonInteger.valueOf(100 + i));
+        }
+    }
+
+    @Test
+    public void testTranslateAllPythonBytecodeWithSharedType() throws Exception {
+        // Every function looks up methods on sharedType while it is being modified from other threads
+        PythonLikeType sharedType = new PythonLikeType("shared_int", PythonInteger.class, List.of(BuiltinTypes.INT_TYPE));
+        PythonFunctionSignature signature =
+                PythonFunctionSignature.forMethod(PythonLikeObject.class.getMethod("$method$__str__"));
+        int functionCount = 64;
+        int modifierThreadCount = 4;
+        int modificationsPerThread = 2000;
+
+        List<PythonCompiledFunction> pythonCompiledFunctionList = new ArrayList<>(functionCount);
+        for (int i = 0; i < functionCount; i++) {
+            PythonCompiledFunction pythonCompiledFunction = PythonFunctionBuilder.newFunction("x")
+                    .loadParameter("x")
+                    .loadConstant(i)
+                    .op(OpcodeIdentifier.BINARY_ADD)
+                    .op(OpcodeIdentifier.RETURN_VALUE)
+                    .build();
+            pythonCompiledFunction.typeAnnotations = Map.of("x", sharedType);
+            pythonCompiledFunctionList.add(pythonCompiledFunction);
+        }
+
+        CountDownLatch startLatch = new CountDownLatch(1);
+        List<Thread> modifierThreadList = new ArrayList<>(modifierThreadCount);
+        for (int i = 0; i < modifierThreadCount; i++) {
+            String prefix = "thread" + i + "_";
+            Thread thread = new Thread(() -> {
+                try {
+                    startLatch.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                for (int j = 0; j < modificationsPerThread; j++) {
+                    sharedType.addMethod(prefix + "method" + j, signature);
+                    sharedType.__setAttribute(prefix + "attribute" + j, PythonInteger.valueOf(j));
+                }
+            });
+            modifierThreadList.add(thread);
+            thread.start();
+        }
+
+        startLatch.countDown();
+        List<CompletableFuture<Function>> futureList =
+                PythonBytecodeToJavaBytecodeTranslator.translateAllPythonBytecode(pythonCompiledFunctionList,
+                        Function.class, List.of(PythonInteger.class, PythonLikeObject.class));
+        for (Thread thread : modifierThreadList) {
+            thread.join();
+        }
+
+        for (int i = 0; i < functionCount; i++) {
+            Function javaFunction = futureList.get(i).join();
+            assertThat(javaFunction.apply(PythonInteger.valueOf(100))).isEqualTo(PythonInteger.valueOf(100 + i));
+        }
+        // No modification was lost
+        assertThat(sharedType.getKnownMethodsDefinedByClass()).hasSize(modifierThreadCount * modificationsPerThread);
+        assertThat(sharedType.__dir__).hasSize(modifierThreadCount * modificationsPerThread);
+        assertThat(sharedType.__getAttributeOrNull("thread3_attribute7")).isEqualTo(PythonInteger.valueOf(7));
+    }
+}
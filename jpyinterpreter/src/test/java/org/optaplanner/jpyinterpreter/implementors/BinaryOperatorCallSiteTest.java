@@ -0,0 +1,150 @@
+package org.optaplanner.jpyinterpreter.implementors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+
+import java.util.List;
+import java.util.function.BiFunction;
+
+import org.junit.jupiter.api.Test;
+import org.optaplanner.jpyinterpreter.OpcodeIdentifier;
+import org.optaplanner.jpyinterpreter.PythonBytecodeToJavaBytecodeTranslator;
+import org.optaplanner.jpyinterpreter.PythonCompiledFunction;
+import org.optaplanner.jpyinterpreter.PythonLikeObject;
+import org.optaplanner.jpyinterpreter.types.AbstractPythonLikeObject;
+import org.optaplanner.jpyinterpreter.types.BuiltinTypes;
+import org.optaplanner.jpyinterpreter.types.PythonLikeFunction;
+import org.optaplanner.jpyinterpreter.types.PythonLikeType;
+import org.optaplanner.jpyinterpreter.types.errors.TypeError;
+import org.optaplanner.jpyinterpreter.types.numeric.PythonInteger;
+import org.optaplanner.jpyinterpreter.util.PythonFunctionBuilder;
+
+@SuppressWarnings({ "unchecked", "rawtypes" })
+public class BinaryOperatorCallSiteTest {
+
+    private static BiFunction getFunction(OpcodeIdentifier opcodeIdentifier) {
+        PythonCompiledFunction pythonCompiledFunction = PythonFunctionBuilder.newFunction("a", "b")
+                .loadParameter("a")
+                .loadParameter("b")
+                .op(opcodeIdentifier)
+                .op(OpcodeIdentifier.RETURN_VALUE)
+                .build();
+
+        return PythonBytecodeToJavaBytecodeTranslator.translatePythonBytecode(pythonCompiledFunction, BiFunction.class);
+    }
+
+    @Test
+    public void testMonomorphicSite() {
+        BiFunction javaFunction = getFunction(OpcodeIdentifier.BINARY_ADD);
+
+        for (long i = 0; i < 10; i++) {
+            assertThat(javaFunction.apply(i, 2L)).isEqualTo(i + 2);
+        }
+    }
+
+    @Test
+    public void testPolymorphicSite() {
+        BiFunction javaFunction = getFunction(OpcodeIdentifier.BINARY_ADD);
+
+        for (int i = 0; i < 3; i++) {
+            assertThat(javaFunction.apply(1L, 2L)).isEqualTo(3L);
+            assertThat(javaFunction.apply("a", "b")).isEqualTo("ab");
+            assertThat(javaFunction.apply(1L, 0.5d)).isEqualTo(1.5d);
+            assertThat(javaFunction.apply(0.5d, 1L)).isEqualTo(1.5d);
+        }
+    }
+
+    @Test
+    public void testMegamorphicSite() {
+        BiFunction javaFunction = getFunction(OpcodeIdentifier.BINARY_ADD);
+
+        for (int i = 0; i < 3; i++) {
+            assertThat(javaFunction.apply(1L, 2L)).isEqualTo(3L);
+            assertThat(javaFunction.apply("a", "b")).isEqualTo("ab");
+            assertThat(javaFunction.apply(1L, 0.5d)).isEqualTo(1.5d);
+            assertThat(javaFunction.apply(0.5d, 1L)).isEqualTo(1.5d);
+            assertThat(javaFunction.apply(0.5d, 0.25d)).isEqualTo(0.75d);
+            assertThat(javaFunction.apply(List.of(1L), List.of(2L))).isEqualTo(List.of(1L, 2L));
+        }
+    }
+
+    @Test
+    public void testReversedOperator() {
+        BiFunction javaFunction = getFunction(OpcodeIdentifier.BINARY_MULTIPLY);
+
+        for (int i = 0; i < 3; i++) {
+            assertThat(javaFunction.apply("ab", 2L)).isEqualTo("abab");
+            assertThat(javaFunction.apply(2L, "ab")).isEqualTo("abab");
+        }
+    }
+
+    @Test
+    public void testInplaceOperatorFallback() {
+        BiFunction javaFunction = getFunction(OpcodeIdentifier.INPLACE_ADD);
+
+        for (int i = 0; i < 3; i++) {
+            assertThat(javaFunction.apply(1L, 2L)).isEqualTo(3L);
+        }
+    }
+
+    @Test
+    public void testUnsupportedTypes() {
+        BiFunction javaFunction = getFunction(OpcodeIdentifier.BINARY_SUBTRACT);
+
+        for (int i = 0; i < 3; i++) {
+            assertThatCode(() -> javaFunction.apply("a", 1L))
+                    .isInstanceOf(TypeError.class)
+                    .hasMessage("unsupported operand type(s) for -: 'str' and 'int'");
+        }
+    }
+
+    private static PythonLikeFunction returning(long value) {
+        return (positionalArguments, namedArguments, callerInstance) -> PythonInteger.valueOf(value);
+    }
+
+    @Test
+    public void testChangedDunderMethodRelinksSite() {
+        PythonLikeType type = new PythonLikeType("Type", "test/Type", List.of(BuiltinTypes.BASE_TYPE));
+        type.__setAttribute("__add__", returning(1L));
+        PythonLikeObject instance = new AbstractPythonLikeObject(type) {
+        };
+        BiFunction javaFunction = getFunction(OpcodeIdentifier.BINARY_ADD);
+
+        assertThat(javaFunction.apply(instance, instance)).isEqualTo(1L);
+        type.__setAttribute("__add__", returning(2L));
+        assertThat(javaFunction.apply(instance, instance)).isEqualTo(2L);
+        type.__deleteAttribute("__add__");
+        assertThatCode(() -> javaFunction.apply(instance, instance))
+                .isInstanceOf(TypeError.class)
+                .hasMessage("unsupported operand type(s) for +: 'Type' and 'Type'");
+    }
+
+    @Test
+    public void testChangedAncestorDunderMethodRelinksSite() {
+        PythonLikeType parent = new PythonLikeType("Parent", "test/Parent", List.of(BuiltinTypes.BASE_TYPE));
+        PythonLikeType child = new PythonLikeType("Child", "test/Child", List.of(parent));
+        parent.__setAttribute("__add__", returning(1L));
+        PythonLikeObject instance = new AbstractPythonLikeObject(child) {
+        };
+        BiFunction javaFunction = getFunction(OpcodeIdentifier.BINARY_ADD);
+
+        assertThat(javaFunction.apply(instance, 1L)).isEqualTo(1L);
+        parent.__setAttribute("__add__", returning(2L));
+        assertThat(javaFunction.apply(instance, 1L)).isEqualTo(2L);
+        child.__setAttribute("__add__", returning(3L));
+        assertThat(javaFunction.apply(instance, 1L)).isEqualTo(3L);
+    }
+
+    @Test
+    public void testMatchesUncachedLookup() {
+        BiFunction cachedFunction = getFunction(OpcodeIdentifier.BINARY_TRUE_DIVIDE);
+        DunderOperatorImplementor.setUseBinaryOperatorInlineCaches(false);
+        try {
+            BiFunction uncachedFunction = getFunction(OpcodeIdentifier.BINARY_TRUE_DIVIDE);
+            assertThat(cachedFunction.apply(3L, 2L)).isEqualTo(uncachedFunction.apply(3L, 2L));
+            assertThat(cachedFunction.apply(3L, 0.5d)).isEqualTo(uncachedFunction.apply(3L, 0.5d));
+        } finally {
+            DunderOperatorImplementor.setUseBinaryOperatorInlineCaches(true);
+        }
+    }
+}
@@ -4,6 +4,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatCode;
 import static org.optaplanner.jpyinterpreter.PythonBytecodeToJavaBytecodeTranslator.translatePythonBytecode;
 
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -16,9 +17,16 @@ import org.junit.jupiter.api.Test;
 import org.optaplanner.jpyinterpreter.OpcodeIdentifier;
 import org.optaplanner.jpyinterpreter.PythonBytecodeToJavaBytecodeTranslator;
 import org.optaplanner.jpyinterpreter.PythonCompiledFunction;
+import org.optaplanner.jpyinterpreter.PythonLikeObject;
+import org.optaplanner.jpyinterpreter.types.AbstractPythonLikeObject;
+import org.optaplanner.jpyinterpreter.types.BuiltinTypes;
+import org.optaplanner.jpyinterpreter.types.PythonLikeFunction;
+import org.optaplanner.jpyinterpreter.types.PythonLikeType;
 import org.optaplanner.jpyinterpreter.types.PythonSlice;
 import org.optaplanner.jpyinterpreter.types.collections.PythonLikeList;
 import org.optaplanner.jpyinterpreter.types.collections.PythonLikeTuple;
+import org.optaplanner.jpyinterpreter.types.errors.StopIteration;
+import org.optaplanner.jpyinterpreter.types.errors.ValueError;
 import org.optaplanner.jpyinterpreter.types.numeric.PythonInteger;
 import org.optaplanner.jpyinterpreter.util.PythonFunctionBuilder;
 import org.optaplanner.jpyinterpreter.util.function.TriFunction;
@@ -66,6 +74,203 @@ public class CollectionImplementorTest {
         assertThat(javaFunction.get()).isEqualTo(6L);
     }
 
+    @Test
+    public void testIterationKeepsStackBelowIterator() {
+        PythonCompiledFunction pythonCompiledFunction = PythonFunctionBuilder.newFunction("a")
+                .loadConstant(0)
+                .storeVariable("sum")
+                .loadConstant(10)
+                .loadParameter("a")
+                .op(OpcodeIdentifier.GET_ITER)
+                .loop(block -> {
+                    block.loadVariable("sum");
+                    block.op(OpcodeIdentifier.BINARY_ADD);
+                    block.storeVariable("sum");
+                })
+                .loadVariable("sum")
+                .op(OpcodeIdentifier.BINARY_ADD)
+                .op(OpcodeIdentifier.RETURN_VALUE)
+                .build();
+
+        Function javaFunction =
+                PythonBytecodeToJavaBytecodeTranslator.translatePythonBytecode(pythonCompiledFunction, Function.class);
+        assertThat(javaFunction.apply(List.of(1, 2, 3))).isEqualTo(16L);
+
+        pythonCompiledFunction = PythonFunctionBuilder.newFunction()
+                .loadConstant(0)
+                .storeVariable("sum")
+                .loadConstant(10)
+                .loadConstant(1)
+                .loadConstant(2)
+                .loadConstant(3)
+                .list(3)
+                .op(OpcodeIdentifier.GET_ITER)
+                .loop(block -> {
+                    block.loadVariable("sum");
+                    block.op(OpcodeIdentifier.BINARY_ADD);
+                    block.storeVariable("sum");
+                })
+                .loadVariable("sum")
+                .op(OpcodeIdentifier.BINARY_ADD)
+                .op(OpcodeIdentifier.RETURN_VALUE)
+                .build();
+
+        Supplier supplier =
+                PythonBytecodeToJavaBytecodeTranslator.translatePythonBytecode(pythonCompiledFunction, Supplier.class);
+        assertThat(supplier.get()).isEqualTo(16L);
+    }
+
+    @Test
+    public void testIterationOfPythonIterator() {
+        // An iterator that only implements __next__, so it is not a java.util.Iterator
+        PythonLikeType countDownType = new PythonLikeType("CountDown", "test/CountDown", List.of(BuiltinTypes.BASE_TYPE));
+        int[] remaining = { 3 };
+        countDownType.__setAttribute("__iter__",
+                (PythonLikeFunction) (positionalArguments, namedArguments, callerInstance) -> positionalArguments.get(0));
+        countDownType.__setAttribute("__next__",
+                (PythonLikeFunction) (positionalArguments, namedArguments, callerInstance) -> {
+                    if (remaining[0] == 0) {
+                        throw new StopIteration();
+                    }
+                    return PythonInteger.valueOf(remaining[0]--);
+                });
+        PythonLikeObject countDown = new AbstractPythonLikeObject(countDownType) {
+        };
+
+        PythonCompiledFunction pythonCompiledFunction = PythonFunctionBuilder.newFunction("a")
+                .loadConstant(0)
+                .storeVariable("sum")
+                .loadConstant(10)
+                .loadParameter("a")
+                .op(OpcodeIdentifier.GET_ITER)
+                .loop(block -> {
+                    block.loadVariable("sum");
+                    block.op(OpcodeIdentifier.BINARY_ADD);
+                    block.storeVariable("sum");
+                })
+                .loadVariable("sum")
+                .op(OpcodeIdentifier.BINARY_ADD)
+                .op(OpcodeIdentifier.RETURN_VALUE)
+                .build();
+
+        Function javaFunction =
+                PythonBytecodeToJavaBytecodeTranslator.translatePythonBytecode(pythonCompiledFunction, Function.class);
+        assertThat(javaFunction.apply(countDown)).isEqualTo(16L);
+    }
+
+    @Test
+    public void testRangeIteration() {
+        // range is not in the globals, so it is assumed to be the builtin range
+        PythonCompiledFunction pythonCompiledFunction = PythonFunctionBuilder.newFunction("n")
+                .loadConstant(0)
+                .storeVariable("sum")
+                .loadGlobalVariable("range")
+                .loadParameter("n")
+                .callFunction(1)
+                .op(OpcodeIdentifier.GET_ITER)
+                .loop(block -> {
+                    block.storeVariable("i");
+                    block.loadVariable("sum");
+                    block.loadVariable("i");
+                    block.loadVariable("i");
+                    block.op(OpcodeIdentifier.BINARY_MULTIPLY);
+                    block.op(OpcodeIdentifier.BINARY_ADD);
+                    block.storeVariable("sum");
+                })
+                .loadVariable("sum")
+                .op(OpcodeIdentifier.RETURN_VALUE)
+                .build();
+
+        Function javaFunction =
+                PythonBytecodeToJavaBytecodeTranslator.translatePythonBytecode(pythonCompiledFunction, Function.class);
+        assertThat(javaFunction.apply(0)).isEqualTo(0L);
+        assertThat(javaFunction.apply(4)).isEqualTo(14L);
+        assertThat(javaFunction.apply(2000)).isEqualTo(2664667000L);
+
+        pythonCompiledFunction = PythonFunctionBuilder.newFunction()
+                .loadConstant(0)
+                .storeVariable("sum")
+                .loadGlobalVariable("range")
+                .loadConstant(10)
+                .loadConstant(0)
+                .loadConstant(-3)
+                .callFunction(3)
+                .op(OpcodeIdentifier.GET_ITER)
+                .loop(block -> {
+                    block.loadVariable("sum");
+                    block.op(OpcodeIdentifier.BINARY_ADD);
+                    block.storeVariable("sum");
+                })
+                .loadVariable("sum")
+                .op(OpcodeIdentifier.RETURN_VALUE)
+                .build();
+
+        Supplier supplier =
+                PythonBytecodeToJavaBytecodeTranslator.translatePythonBytecode(pythonCompiledFunction, Supplier.class);
+        assertThat(supplier.get()).isEqualTo(22L);
+    }
+
+    private static PythonCompiledFunction collectRange(Map<String, PythonLikeObject> globalsMap) {
+        // out = []
+        // for i in range(start, stop, step):
+        //     out.append(i)
+        // return out
+        return PythonFunctionBuilder.newFunction("start", "stop", "step")
+                .usingGlobalsMap(globalsMap)
+                .list(0)
+                .storeVariable("out")
+                .loadGlobalVariable("range")
+                .loadParameter("start")
+                .loadParameter("stop")
+                .loadParameter("step")
+                .callFunction(3)
+                .op(OpcodeIdentifier.GET_ITER)
+                .loop(block -> {
+                    block.storeVariable("i");
+                    block.loadVariable("out");
+                    block.getAttribute("append");
+                    block.loadVariable("i");
+                    block.callFunction(1);
+                    block.op(OpcodeIdentifier.POP_TOP);
+                })
+                .loadVariable("out")
+                .op(OpcodeIdentifier.RETURN_VALUE)
+                .build();
+    }
+
+    @Test
+    public void testRangeIterationVariableEscapes() {
+        TriFunction javaFunction = translatePythonBytecode(collectRange(new HashMap<>()), TriFunction.class);
+
+        assertThat((List) javaFunction.apply(0, 5, 2)).containsExactly(PythonInteger.valueOf(0),
+                PythonInteger.valueOf(2), PythonInteger.valueOf(4));
+        assertThat((List) javaFunction.apply(3, 0, -1)).containsExactly(PythonInteger.valueOf(3),
+                PythonInteger.valueOf(2), PythonInteger.valueOf(1));
+
+        // Does not fit in a long, so the range is iterated boxed
+        PythonInteger big = PythonInteger.valueOf(Long.MAX_VALUE).add(PythonInteger.ONE);
+        assertThat((List) javaFunction.apply(big, big.add(PythonInteger.TWO), 1)).containsExactly(big,
+                big.add(PythonInteger.ONE));
+
+        assertThatCode(() -> javaFunction.apply(0, 5, 0))
+                .isInstanceOf(ValueError.class)
+                .hasMessageContaining("range() arg 3 must not be zero");
+    }
+
+    @Test
+    public void testBuiltinRangeDefinedAfterTranslation() {
+        Map<String, PythonLikeObject> globalsMap = new HashMap<>();
+        TriFunction javaFunction = translatePythonBytecode(collectRange(globalsMap), TriFunction.class);
+        assertThat((List) javaFunction.apply(0, 2, 1)).containsExactly(PythonInteger.valueOf(0),
+                PythonInteger.valueOf(1));
+
+        globalsMap.put("range", BuiltinTypes.LIST_TYPE);
+        GlobalVariableCallSite.invalidateAll();
+        assertThatCode(() -> javaFunction.apply(0, 2, 1))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("range");
+    }
+
     @Test
     public void testContains() {
         PythonCompiledFunction pythonCompiledFunction = PythonFunctionBuilder.newFunction("a")
@@ -1,6 +1,7 @@
 package org.optaplanner.jpyinterpreter.implementors;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
 import static org.optaplanner.jpyinterpreter.PythonBytecodeToJavaBytecodeTranslator.translatePythonBytecode;
 import static org.optaplanner.jpyinterpreter.PythonBytecodeToJavaBytecodeTranslator.translatePythonBytecodeToClass;
 
@@ -15,9 +16,12 @@ import org.optaplanner.jpyinterpreter.MyObject;
 import org.optaplanner.jpyinterpreter.OpcodeIdentifier;
 import org.optaplanner.jpyinterpreter.PythonBytecodeToJavaBytecodeTranslator;
 import org.optaplanner.jpyinterpreter.PythonCompiledFunction;
+import org.optaplanner.jpyinterpreter.PythonInterpreter;
 import org.optaplanner.jpyinterpreter.types.PythonCode;
 import org.optaplanner.jpyinterpreter.types.PythonLikeFunction;
 import org.optaplanner.jpyinterpreter.types.PythonString;
+import org.optaplanner.jpyinterpreter.types.errors.TypeError;
+import org.optaplanner.jpyinterpreter.types.numeric.PythonInteger;
 import org.optaplanner.jpyinterpreter.types.wrappers.JavaMethodReference;
 import org.optaplanner.jpyinterpreter.util.PythonFunctionBuilder;
 
@@ -232,6 +236,42 @@ public class FunctionImplementorTest {
         assertThat(javaFunction.get()).isEqualTo(321);
     }
 
+    @Test
+    public void testCallFixedArityFunction() {
+        PythonCompiledFunction dependentFunction = PythonFunctionBuilder.newFunction("a", "b")
+                .loadParameter("a")
+                .loadParameter("b")
+                .op(OpcodeIdentifier.BINARY_SUBTRACT)
+                .op(OpcodeIdentifier.RETURN_VALUE)
+                .build();
+
+        Class<?> dependentFunctionClass = PythonBytecodeToJavaBytecodeTranslator
+                .translatePythonBytecodeToClass(dependentFunction, PythonLikeFunction.class);
+
+        PythonCompiledFunction parentFunction = PythonFunctionBuilder.newFunction()
+                .loadConstant(dependentFunctionClass)
+                .loadConstant("parent.sub")
+                .op(OpcodeIdentifier.MAKE_FUNCTION, 0)
+                .storeVariable("sub")
+                .loadVariable("sub")
+                .loadConstant(10)
+                .loadConstant(3)
+                .callFunction(2)
+                .op(OpcodeIdentifier.RETURN_VALUE)
+                .build();
+
+        Supplier javaFunction = PythonBytecodeToJavaBytecodeTranslator.translatePythonBytecode(parentFunction, Supplier.class);
+        assertThat(javaFunction.get()).isEqualTo(7);
+
+        PythonLikeFunction sub = (PythonLikeFunction) PythonBytecodeToJavaBytecodeTranslator
+                .createInstance(dependentFunctionClass, PythonInterpreter.DEFAULT);
+        assertThat(sub.$call2(PythonInteger.valueOf(10), PythonInteger.valueOf(3), null))
+                .isEqualTo(PythonInteger.valueOf(7));
+        assertThat(sub.$call(List.of(PythonInteger.valueOf(10)), Map.of(PythonString.valueOf("b"), PythonInteger.valueOf(3)),
+                null)).isEqualTo(PythonInteger.valueOf(7));
+        assertThatCode(() -> sub.$call1(PythonInteger.valueOf(10), null)).isInstanceOf(TypeError.class);
+    }
+
     @Test
     public void testEnumDir() {
         // Test a complicated list comp used in enums (ensuring it creates valid Java bytecode)
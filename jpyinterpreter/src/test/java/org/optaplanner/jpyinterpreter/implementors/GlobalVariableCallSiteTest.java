@@ -0,0 +1,59 @@
+package org.optaplanner.jpyinterpreter.implementors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.optaplanner.jpyinterpreter.PythonInterpreter;
+import org.optaplanner.jpyinterpreter.PythonLikeObject;
+import org.optaplanner.jpyinterpreter.types.numeric.PythonInteger;
+
+public class GlobalVariableCallSiteTest {
+
+    private static MethodHandle newLoad(String globalName) throws Throwable {
+        return GlobalVariableCallSite.bootstrap(MethodHandles.lookup(), globalName,
+                MethodType.methodType(PythonLikeObject.class, PythonInterpreter.class, Map.class)).dynamicInvoker();
+    }
+
+    private static PythonLikeObject load(MethodHandle load, Map<String, PythonLikeObject> globalsMap) throws Throwable {
+        return (PythonLikeObject) load.invoke(PythonInterpreter.DEFAULT, globalsMap);
+    }
+
+    @Test
+    public void testInvalidateAll() throws Throwable {
+        MethodHandle load = newLoad("x");
+        Map<String, PythonLikeObject> globalsMap = new HashMap<>(Map.of("x", PythonInteger.ONE));
+
+        assertThat(load(load, globalsMap)).isEqualTo(PythonInteger.ONE);
+
+        // Changes that do not invalidate are not seen
+        globalsMap.put("x", PythonInteger.TWO);
+        assertThat(load(load, globalsMap)).isEqualTo(PythonInteger.ONE);
+
+        GlobalVariableCallSite.invalidateAll();
+        assertThat(load(load, globalsMap)).isEqualTo(PythonInteger.TWO);
+    }
+
+    @Test
+    public void testDisableCachingOnlyAffectsItsGlobalsMap() throws Throwable {
+        MethodHandle escapedLoad = newLoad("x");
+        MethodHandle otherLoad = newLoad("x");
+        Map<String, PythonLikeObject> escapedGlobalsMap = new HashMap<>(Map.of("x", PythonInteger.ONE));
+        // Equal to escapedGlobalsMap, but a different module
+        Map<String, PythonLikeObject> otherGlobalsMap = new HashMap<>(Map.of("x", PythonInteger.ONE));
+
+        GlobalVariableCallSite.disableCaching(escapedGlobalsMap);
+        assertThat(load(escapedLoad, escapedGlobalsMap)).isEqualTo(PythonInteger.ONE);
+        assertThat(load(otherLoad, otherGlobalsMap)).isEqualTo(PythonInteger.ONE);
+
+        escapedGlobalsMap.put("x", PythonInteger.TWO);
+        otherGlobalsMap.put("x", PythonInteger.TWO);
+        assertThat(load(escapedLoad, escapedGlobalsMap)).isEqualTo(PythonInteger.TWO);
+        assertThat(load(otherLoad, otherGlobalsMap)).isEqualTo(PythonInteger.ONE);
+    }
+}
@@ -32,7 +32,7 @@ public class ObjectImplementorTest {
         assertThat(javaFunction.get()).isEqualTo(PythonBoolean.TRUE);
 
         pythonCompiledFunction = PythonFunctionBuilder.newFunction()
-                .loadConstant(5)
+                .loadConstant(5000) // outside the small int cache, so the sum is a different object
                 .op(OpcodeIdentifier.DUP_TOP)
                 .loadConstant(0)
                 .op(OpcodeIdentifier.BINARY_ADD)
@@ -55,7 +55,7 @@ public class ObjectImplementorTest {
         assertThat(javaFunction.get()).isEqualTo(PythonBoolean.FALSE);
 
         pythonCompiledFunction = PythonFunctionBuilder.newFunction()
-                .loadConstant(5)
+                .loadConstant(5000) // outside the small int cache, so the sum is a different object
                 .op(OpcodeIdentifier.DUP_TOP)
                 .loadConstant(0)
                 .op(OpcodeIdentifier.BINARY_ADD)
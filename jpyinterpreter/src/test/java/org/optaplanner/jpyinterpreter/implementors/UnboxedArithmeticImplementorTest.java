@@ -0,0 +1,262 @@
+package org.optaplanner.jpyinterpreter.implementors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigInteger;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.Test;
+import org.objectweb.asm.ClassReader;
+import org.objectweb.asm.ClassVisitor;
+import org.objectweb.asm.MethodVisitor;
+import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.Type;
+import org.optaplanner.jpyinterpreter.CompareOp;
+import org.optaplanner.jpyinterpreter.OpcodeIdentifier;
+import org.optaplanner.jpyinterpreter.PythonBytecodeToJavaBytecodeTranslator;
+import org.optaplanner.jpyinterpreter.PythonCompiledFunction;
+import org.optaplanner.jpyinterpreter.types.BuiltinTypes;
+import org.optaplanner.jpyinterpreter.types.PythonRange;
+import org.optaplanner.jpyinterpreter.types.PythonString;
+import org.optaplanner.jpyinterpreter.types.numeric.PythonBoolean;
+import org.optaplanner.jpyinterpreter.types.numeric.PythonFloat;
+import org.optaplanner.jpyinterpreter.types.numeric.PythonInteger;
+import org.optaplanner.jpyinterpreter.util.PythonFunctionBuilder;
+
+@SuppressWarnings({ "unchecked", "rawtypes" })
+public class UnboxedArithmeticImplementorTest {
+
+    private static Object multiplyAdd(Object a, Object b) {
+        // a * b + 3, where a and b are locals assigned from constants (so flow analysis knows their type)
+        PythonCompiledFunction pythonCompiledFunction = PythonFunctionBuilder.newFunction()
+                .loadConstant(a)
+                .storeVariable("a")
+                .loadConstant(b)
+                .storeVariable("b")
+                .loadVariable("a")
+                .loadVariable("b")
+                .op(OpcodeIdentifier.BINARY_MULTIPLY)
+                .loadConstant(3)
+                .op(OpcodeIdentifier.BINARY_ADD)
+                .op(OpcodeIdentifier.RETURN_VALUE)
+                .build();
+
+        Supplier javaFunction =
+                PythonBytecodeToJavaBytecodeTranslator.translatePythonBytecode(pythonCompiledFunction, Supplier.class);
+        return javaFunction.get();
+    }
+
+    @Test
+    public void testIntArithmetic() {
+        assertThat(multiplyAdd(4, 5)).isEqualTo(PythonInteger.valueOf(23));
+        assertThat(multiplyAdd(-4, 5)).isEqualTo(PythonInteger.valueOf(-17));
+    }
+
+    @Test
+    public void testIntArithmeticOverflow() {
+        assertThat(multiplyAdd(Long.MAX_VALUE, 2))
+                .isEqualTo(PythonInteger.valueOf(BigInteger.valueOf(Long.MAX_VALUE).multiply(BigInteger.TWO)
+                        .add(BigInteger.valueOf(3))));
+        assertThat(multiplyAdd(Long.MAX_VALUE, 1))
+                .isEqualTo(PythonInteger.valueOf(BigInteger.valueOf(Long.MAX_VALUE).add(BigInteger.valueOf(3))));
+        assertThat(multiplyAdd(Long.MIN_VALUE, -1))
+                .isEqualTo(PythonInteger.valueOf(BigInteger.valueOf(Long.MIN_VALUE).negate().add(BigInteger.valueOf(3))));
+    }
+
+    @Test
+    public void testIntTooBigForLong() {
+        assertThat(multiplyAdd(BigInteger.ONE.shiftLeft(70), 1))
+                .isEqualTo(PythonInteger.valueOf(BigInteger.ONE.shiftLeft(70).add(BigInteger.valueOf(3))));
+    }
+
+    @Test
+    public void testMixedArithmetic() {
+        assertThat(multiplyAdd(0.5, 3)).isEqualTo(PythonFloat.valueOf(4.5));
+        assertThat(multiplyAdd(3, 0.5)).isEqualTo(PythonFloat.valueOf(4.5));
+        assertThat(multiplyAdd(1.5, 2.0)).isEqualTo(PythonFloat.valueOf(6.0));
+    }
+
+    @Test
+    public void testCompare() {
+        // a + 1 < 3
+        PythonCompiledFunction pythonCompiledFunction = PythonFunctionBuilder.newFunction()
+                .loadConstant(1)
+                .storeVariable("a")
+                .loadVariable("a")
+                .loadConstant(1)
+                .op(OpcodeIdentifier.BINARY_ADD)
+                .loadConstant(3)
+                .compare(CompareOp.LESS_THAN)
+                .op(OpcodeIdentifier.RETURN_VALUE)
+                .build();
+
+        Supplier javaFunction =
+                PythonBytecodeToJavaBytecodeTranslator.translatePythonBytecode(pythonCompiledFunction, Supplier.class);
+
+        assertThat(javaFunction.get()).isEqualTo(PythonBoolean.TRUE);
+    }
+
+    @Test
+    public void testFloatCompareWithNaN() {
+        PythonCompiledFunction pythonCompiledFunction = PythonFunctionBuilder.newFunction()
+                .loadConstant(Double.NaN)
+                .storeVariable("a")
+                .loadVariable("a")
+                .loadVariable("a")
+                .compare(CompareOp.NOT_EQUALS)
+                .op(OpcodeIdentifier.RETURN_VALUE)
+                .build();
+
+        Supplier javaFunction =
+                PythonBytecodeToJavaBytecodeTranslator.translatePythonBytecode(pythonCompiledFunction, Supplier.class);
+
+        assertThat(javaFunction.get()).isEqualTo(PythonBoolean.TRUE);
+    }
+
+    /**
+     * Returns true if the bytecode of {@code javaFunction} uses the field or method {@code memberName} of
+     * {@code memberOwner}
+     */
+    private static boolean usesMember(Object javaFunction, Class<?> memberOwner, String memberName) {
+        AtomicBoolean out = new AtomicBoolean(false);
+        new ClassReader(BuiltinTypes.classNameToBytecode.get(javaFunction.getClass().getName()))
+                .accept(new ClassVisitor(Opcodes.ASM9) {
+                    @Override
+                    public MethodVisitor visitMethod(int access, String name, String descriptor, String signature,
+                            String[] exceptions) {
+                        return new MethodVisitor(Opcodes.ASM9) {
+                            @Override
+                            public void visitFieldInsn(int opcode, String owner, String fieldName,
+                                    String fieldDescriptor) {
+                                visitMember(owner, fieldName);
+                            }
+
+                            @Override
+                            public void visitMethodInsn(int opcode, String owner, String methodName,
+                                    String methodDescriptor, boolean isInterface) {
+                                visitMember(owner, methodName);
+                            }
+
+                            private void visitMember(String owner, String name) {
+                                if (owner.equals(Type.getInternalName(memberOwner)) && name.equals(memberName)) {
+                                    out.set(true);
+                                }
+                            }
+                        };
+                    }
+                }, 0);
+        return out.get();
+    }
+
+    private static boolean usesUnboxedLocal(Object javaFunction) {
+        return usesMember(javaFunction, UnboxedArithmeticImplementor.class, "UNBOXED_LOCAL");
+    }
+
+    private static Function multiplyInLoop(Object initialValue, Object factor) {
+        // product = initialValue
+        // for _ in range(n):
+        //     product = product * factor
+        // return product
+        PythonCompiledFunction pythonCompiledFunction = PythonFunctionBuilder.newFunction("n")
+                .usingGlobalsMap(Map.of("range", BuiltinTypes.RANGE_TYPE))
+                .loadConstant(initialValue)
+                .storeVariable("product")
+                .loadGlobalVariable("range")
+                .loadParameter("n")
+                .callFunction(1)
+                .op(OpcodeIdentifier.GET_ITER)
+                .loop(block -> {
+                    block.op(OpcodeIdentifier.POP_TOP);
+                    block.loadVariable("product");
+                    block.loadConstant(factor);
+                    block.op(OpcodeIdentifier.BINARY_MULTIPLY);
+                    block.storeVariable("product");
+                })
+                .loadVariable("product")
+                .op(OpcodeIdentifier.RETURN_VALUE)
+                .build();
+
+        return PythonBytecodeToJavaBytecodeTranslator.translatePythonBytecode(pythonCompiledFunction, Function.class);
+    }
+
+    @Test
+    public void testUnboxedIntLocal() {
+        Function javaFunction = multiplyInLoop(1, 3);
+        assertThat(usesUnboxedLocal(javaFunction)).isTrue();
+
+        assertThat(javaFunction.apply(0)).isEqualTo(PythonInteger.valueOf(1));
+        assertThat(javaFunction.apply(4)).isEqualTo(PythonInteger.valueOf(81));
+        // Overflows a long after 40 iterations, so the local is boxed from then on
+        assertThat(javaFunction.apply(50)).isEqualTo(PythonInteger.valueOf(BigInteger.valueOf(3).pow(50)));
+        assertThat(javaFunction.apply(4)).isEqualTo(PythonInteger.valueOf(81));
+    }
+
+    @Test
+    public void testUnboxedFloatLocal() {
+        Function javaFunction = multiplyInLoop(1.0, 0.5);
+        assertThat(usesUnboxedLocal(javaFunction)).isTrue();
+
+        assertThat(javaFunction.apply(0)).isEqualTo(PythonFloat.valueOf(1.0));
+        assertThat(javaFunction.apply(3)).isEqualTo(PythonFloat.valueOf(0.125));
+    }
+
+    @Test
+    public void testLocalWithDifferentTypesIsBoxed() {
+        // a = 1; a = a * 2; a = 'text'; return a
+        PythonCompiledFunction pythonCompiledFunction = PythonFunctionBuilder.newFunction()
+                .loadConstant(1)
+                .storeVariable("a")
+                .loadVariable("a")
+                .loadConstant(2)
+                .op(OpcodeIdentifier.BINARY_MULTIPLY)
+                .storeVariable("a")
+                .loadConstant("text")
+                .storeVariable("a")
+                .loadVariable("a")
+                .op(OpcodeIdentifier.RETURN_VALUE)
+                .build();
+
+        Supplier javaFunction =
+                PythonBytecodeToJavaBytecodeTranslator.translatePythonBytecode(pythonCompiledFunction, Supplier.class);
+        assertThat(usesUnboxedLocal(javaFunction)).isFalse();
+        assertThat(javaFunction.get()).isEqualTo(PythonString.valueOf("text"));
+    }
+
+    @Test
+    public void testUnboxedRangeIteration() {
+        // total = 0
+        // for i in range(n):
+        //     total = total + i * i
+        // return total
+        PythonCompiledFunction pythonCompiledFunction = PythonFunctionBuilder.newFunction("n")
+                .loadConstant(0)
+                .storeVariable("total")
+                .loadGlobalVariable("range")
+                .loadParameter("n")
+                .callFunction(1)
+                .op(OpcodeIdentifier.GET_ITER)
+                .loop(block -> {
+                    block.storeVariable("i");
+                    block.loadVariable("total");
+                    block.loadVariable("i");
+                    block.loadVariable("i");
+                    block.op(OpcodeIdentifier.BINARY_MULTIPLY);
+                    block.op(OpcodeIdentifier.BINARY_ADD);
+                    block.storeVariable("total");
+                })
+                .loadVariable("total")
+                .op(OpcodeIdentifier.RETURN_VALUE)
+                .build();
+
+        Function javaFunction =
+                PythonBytecodeToJavaBytecodeTranslator.translatePythonBytecode(pythonCompiledFunction, Function.class);
+        assertThat(usesMember(javaFunction, PythonRange.LongRangeIterator.class, "nextLong")).isTrue();
+
+        assertThat(javaFunction.apply(0)).isEqualTo(PythonInteger.valueOf(0));
+        assertThat(javaFunction.apply(4)).isEqualTo(PythonInteger.valueOf(14));
+        assertThat(javaFunction.apply(2000)).isEqualTo(PythonInteger.valueOf(2664667000L));
+    }
+}
@@ -62,4 +62,43 @@ public class VariableImplementorTest {
                 Mockito.eq(PythonString.valueOf("Value 2")));
         assertThat(getter.get()).isEqualTo(PythonString.valueOf("Value 2"));
     }
+
+    @Test
+    public void testGlobalVariablesAreCachedUntilChanged() {
+        PythonCompiledFunction setterCompiledFunction = PythonFunctionBuilder.newFunction("value")
+                .loadParameter("value")
+                .storeGlobalVariable("my_global")
+                .op(OpcodeIdentifier.RETURN_VALUE)
+                .build();
+
+        PythonCompiledFunction getterCompiledFunction = PythonFunctionBuilder.newFunction()
+                .loadGlobalVariable("my_global")
+                .op(OpcodeIdentifier.RETURN_VALUE)
+                .build();
+
+        AtomicReference<PythonLikeObject> myGlobalReference = new AtomicReference<>(PythonString.valueOf("Value 1"));
+        PythonInterpreter interpreter = Mockito.mock(PythonInterpreter.class);
+
+        Mockito.when(interpreter.getGlobal(Mockito.any(), Mockito.eq("my_global")))
+                .thenAnswer(invocationOnMock -> myGlobalReference.get());
+        Mockito.doAnswer(invocationOnMock -> {
+            myGlobalReference.set(invocationOnMock.getArgument(2, PythonLikeObject.class));
+            return null;
+        }).when(interpreter).setGlobal(Mockito.any(), Mockito.eq("my_global"), Mockito.any());
+
+        Consumer setter = PythonBytecodeToJavaBytecodeTranslator.createInstance(
+                translatePythonBytecodeToClass(setterCompiledFunction, Consumer.class), interpreter);
+        Supplier getter = PythonBytecodeToJavaBytecodeTranslator.createInstance(
+                translatePythonBytecodeToClass(getterCompiledFunction, Supplier.class), interpreter);
+
+        assertThat(getter.get()).isEqualTo(PythonString.valueOf("Value 1"));
+        assertThat(getter.get()).isEqualTo(PythonString.valueOf("Value 1"));
+        Mockito.verify(interpreter, Mockito.times(1)).getGlobal(Mockito.any(), Mockito.eq("my_global"));
+
+        setter.accept("Value 2");
+
+        assertThat(getter.get()).isEqualTo(PythonString.valueOf("Value 2"));
+        assertThat(getter.get()).isEqualTo(PythonString.valueOf("Value 2"));
+        Mockito.verify(interpreter, Mockito.times(2)).getGlobal(Mockito.any(), Mockito.eq("my_global"));
+    }
 }
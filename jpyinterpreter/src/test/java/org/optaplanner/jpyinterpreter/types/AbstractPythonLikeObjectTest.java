@@ -0,0 +1,108 @@
+package org.optaplanner.jpyinterpreter.types;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+
+import org.junit.jupiter.api.Test;
+import org.optaplanner.jpyinterpreter.types.errors.AttributeError;
+import org.optaplanner.jpyinterpreter.types.numeric.PythonInteger;
+
+public class AbstractPythonLikeObjectTest {
+
+    private static class TestObject extends AbstractPythonLikeObject {
+        TestObject() {
+            super(BuiltinTypes.BASE_TYPE);
+        }
+    }
+
+    @Test
+    public void testSetAndGetAttributes() {
+        TestObject object = new TestObject();
+        assertThat(object.__getAttributeOrNull("a")).isNull();
+
+        object.__setAttribute("a", PythonInteger.ONE);
+        object.__setAttribute("b", PythonInteger.TWO);
+        object.__setAttribute("a", PythonInteger.ZERO);
+
+        assertThat(object.__getAttributeOrNull("a")).isEqualTo(PythonInteger.ZERO);
+        assertThat(object.__getAttributeOrNull("b")).isEqualTo(PythonInteger.TWO);
+        assertThat(object.__getAttributeOrNull("c")).isNull();
+    }
+
+    @Test
+    public void testObjectsWithSameAttributeOrderShareShape() {
+        ObjectShape shape = ObjectShape.EMPTY.withAttribute("x").withAttribute("y");
+
+        assertThat(ObjectShape.EMPTY.withAttribute("x").withAttribute("y")).isSameAs(shape);
+        assertThat(ObjectShape.EMPTY.withAttribute("y").withAttribute("x")).isNotSameAs(shape);
+        assertThat(shape.getSlotIndex("x")).isEqualTo(0);
+        assertThat(shape.getSlotIndex("y")).isEqualTo(1);
+        assertThat(shape.getSlotIndex("z")).isEqualTo(-1);
+    }
+
+    @Test
+    public void testDeleteAttribute() {
+        TestObject object = new TestObject();
+        object.__setAttribute("a", PythonInteger.ONE);
+        object.__setAttribute("b", PythonInteger.TWO);
+
+        assertThatCode(() -> object.__deleteAttribute("c")).isInstanceOf(AttributeError.class);
+
+        object.__deleteAttribute("a");
+        assertThat(object.__getAttributeOrNull("a")).isNull();
+        assertThat(object.__getAttributeOrNull("b")).isEqualTo(PythonInteger.TWO);
+
+        object.__setAttribute("a", PythonInteger.ZERO);
+        assertThat(object.__getAttributeOrNull("a")).isEqualTo(PythonInteger.ZERO);
+    }
+
+    @Test
+    public void testManyAttributes() {
+        TestObject object = new TestObject();
+        int attributeCount = ObjectShape.MAX_SLOT_COUNT * 2;
+        for (int i = 0; i < attributeCount; i++) {
+            object.__setAttribute("attribute" + i, PythonInteger.valueOf(i));
+        }
+
+        for (int i = 0; i < attributeCount; i++) {
+            assertThat(object.__getAttributeOrNull("attribute" + i)).isEqualTo(PythonInteger.valueOf(i));
+        }
+    }
+
+    @Test
+    public void testCopyAttributesFrom() {
+        TestObject original = new TestObject();
+        original.__setAttribute("a", PythonInteger.ONE);
+        original.__setAttribute("b", PythonInteger.TWO);
+
+        TestObject copy = new TestObject();
+        copy.__setAttribute("c", PythonInteger.ONE);
+        copy.$copyAttributesFrom(original, value -> ((PythonInteger) value).add(PythonInteger.ONE));
+
+        assertThat(copy.__getAttributeOrNull("a")).isEqualTo(PythonInteger.TWO);
+        assertThat(copy.__getAttributeOrNull("b")).isEqualTo(PythonInteger.valueOf(3));
+        assertThat(copy.__getAttributeOrNull("c")).isNull();
+
+        // The copy has its own slots
+        copy.__setAttribute("a", PythonInteger.ZERO);
+        copy.__setAttribute("d", PythonInteger.ZERO);
+        assertThat(original.__getAttributeOrNull("a")).isEqualTo(PythonInteger.ONE);
+        assertThat(original.__getAttributeOrNull("d")).isNull();
+    }
+
+    @Test
+    public void testCopyAttributesFromAttributeMap() {
+        TestObject original = new TestObject();
+        original.__setAttribute("a", PythonInteger.ONE);
+        original.__setAttribute("b", PythonInteger.TWO);
+        original.__deleteAttribute("b"); // switches to an attribute map
+
+        TestObject copy = new TestObject();
+        copy.$copyAttributesFrom(original, value -> value);
+        copy.__setAttribute("c", PythonInteger.ZERO);
+
+        assertThat(copy.__getAttributeOrNull("a")).isEqualTo(PythonInteger.ONE);
+        assertThat(copy.__getAttributeOrNull("b")).isNull();
+        assertThat(original.__getAttributeOrNull("c")).isNull();
+    }
+}
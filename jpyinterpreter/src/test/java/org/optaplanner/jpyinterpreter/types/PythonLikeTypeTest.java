@@ -0,0 +1,74 @@
+package org.optaplanner.jpyinterpreter.types;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.optaplanner.jpyinterpreter.PythonFunctionSignature;
+import org.optaplanner.jpyinterpreter.PythonLikeObject;
+import org.optaplanner.jpyinterpreter.types.numeric.PythonInteger;
+
+public class PythonLikeTypeTest {
+
+    @Test
+    public void testAttributeLookupSeesChangesToAncestors() {
+        PythonLikeType parent = new PythonLikeType("Parent", "test/Parent", List.of(BuiltinTypes.BASE_TYPE));
+        PythonLikeType child = new PythonLikeType("Child", "test/Child", List.of(parent));
+
+        assertThat(child.__getAttributeOrNull("value")).isNull();
+
+        parent.__setAttribute("value", PythonInteger.ONE);
+        assertThat(child.__getAttributeOrNull("value")).isEqualTo(PythonInteger.ONE);
+
+        child.__setAttribute("value", PythonInteger.TWO);
+        assertThat(child.__getAttributeOrNull("value")).isEqualTo(PythonInteger.TWO);
+        assertThat(parent.__getAttributeOrNull("value")).isEqualTo(PythonInteger.ONE);
+
+        child.__deleteAttribute("value");
+        assertThat(child.__getAttributeOrNull("value")).isEqualTo(PythonInteger.ONE);
+
+        parent.__deleteAttribute("value");
+        assertThat(child.__getAttributeOrNull("value")).isNull();
+    }
+
+    @Test
+    public void testMethodTypeSeesChangesToAncestors() throws NoSuchMethodException {
+        PythonLikeType parent = new PythonLikeType("Parent", "test/Parent", List.of(BuiltinTypes.BASE_TYPE));
+        PythonLikeType child = new PythonLikeType("Child", "test/Child", List.of(parent));
+
+        assertThat(child.getMethodType("method").isEmpty()).isTrue();
+
+        PythonFunctionSignature signature =
+                PythonFunctionSignature.forMethod(PythonLikeObject.class.getMethod("$method$__str__"));
+        parent.addMethod("method", signature);
+
+        PythonKnownFunctionType methodType = child.getMethodType("method").orElseThrow();
+        assertThat(methodType.getOverloadFunctionSignatureList()).containsExactly(signature);
+        assertThat(child.getMethodType("method").get()).isSameAs(methodType);
+
+        parent.clearMethod("method");
+        assertThat(child.getMethodType("method").isEmpty()).isTrue();
+    }
+
+    @Test
+    public void testVersionStampChangesWithAncestors() {
+        PythonLikeType grandparent = new PythonLikeType("Grandparent", "test/Grandparent", List.of(BuiltinTypes.BASE_TYPE));
+        PythonLikeType parent = new PythonLikeType("Parent", "test/Parent", List.of(grandparent));
+        PythonLikeType child = new PythonLikeType("Child", "test/Child", List.of(parent));
+        PythonLikeType unrelated = new PythonLikeType("Unrelated", "test/Unrelated", List.of(BuiltinTypes.BASE_TYPE));
+
+        long parentVersionStamp = parent.getVersionStamp();
+        long childVersionStamp = child.getVersionStamp();
+
+        unrelated.__setAttribute("value", PythonInteger.ONE);
+        child.__setAttribute("value", PythonInteger.ONE);
+        assertThat(parent.getVersionStamp()).isEqualTo(parentVersionStamp);
+        assertThat(child.getVersionStamp()).isNotEqualTo(childVersionStamp);
+
+        childVersionStamp = child.getVersionStamp();
+        grandparent.__setAttribute("value", PythonInteger.TWO);
+        assertThat(parent.getVersionStamp()).isNotEqualTo(parentVersionStamp);
+        assertThat(child.getVersionStamp()).isNotEqualTo(childVersionStamp);
+    }
+}
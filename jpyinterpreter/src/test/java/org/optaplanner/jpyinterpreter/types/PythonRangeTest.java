@@ -0,0 +1,84 @@
+package org.optaplanner.jpyinterpreter.types;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.optaplanner.jpyinterpreter.types.collections.PythonIterator;
+import org.optaplanner.jpyinterpreter.types.errors.ValueError;
+import org.optaplanner.jpyinterpreter.types.numeric.PythonInteger;
+
+public class PythonRangeTest {
+
+    private static List<PythonInteger> iterate(PythonRange range) {
+        List<PythonInteger> out = new ArrayList<>();
+        PythonIterator<PythonInteger> iterator = range.getPythonIterator();
+        while (iterator.hasNext()) {
+            out.add(iterator.next());
+        }
+        return out;
+    }
+
+    @Test
+    public void testZeroStep() {
+        assertThatCode(() -> PythonRange.of(PythonInteger.ZERO, PythonInteger.TWO, PythonInteger.ZERO))
+                .isInstanceOf(ValueError.class)
+                .hasMessageContaining("range() arg 3 must not be zero");
+    }
+
+    @Test
+    public void testNextLong() {
+        PythonRange.LongRangeIterator iterator = new PythonRange.LongRangeIterator(Long.MAX_VALUE - 3, Long.MAX_VALUE, 2);
+        assertThat(iterator.nextLong()).isEqualTo(Long.MAX_VALUE - 3);
+        assertThat(iterator.nextLong()).isEqualTo(Long.MAX_VALUE - 1);
+        assertThat(iterator.hasNext()).isFalse();
+    }
+
+    @Test
+    public void testIterator() {
+        assertThat(iterate(PythonRange.of(PythonInteger.valueOf(3), PythonNone.INSTANCE, PythonInteger.ONE)))
+                .containsExactly(PythonInteger.ZERO, PythonInteger.ONE, PythonInteger.TWO);
+        assertThat(iterate(new PythonRange(PythonInteger.valueOf(5), PythonInteger.ZERO, PythonInteger.valueOf(-2))))
+                .containsExactly(PythonInteger.valueOf(5), PythonInteger.valueOf(3), PythonInteger.ONE);
+        assertThat(iterate(new PythonRange(PythonInteger.valueOf(5), PythonInteger.ZERO, PythonInteger.ONE))).isEmpty();
+    }
+
+    @Test
+    public void testIteratorNearLongBounds() {
+        assertThat(iterate(new PythonRange(PythonInteger.valueOf(Long.MAX_VALUE - 1), PythonInteger.valueOf(Long.MAX_VALUE),
+                PythonInteger.valueOf(Long.MAX_VALUE))))
+                .containsExactly(PythonInteger.valueOf(Long.MAX_VALUE - 1));
+        assertThat(iterate(new PythonRange(PythonInteger.valueOf(Long.MIN_VALUE + 1), PythonInteger.valueOf(Long.MIN_VALUE),
+                PythonInteger.valueOf(Long.MIN_VALUE))))
+                .containsExactly(PythonInteger.valueOf(Long.MIN_VALUE + 1));
+    }
+
+    @Test
+    public void testIteratorOutsideLongBounds() {
+        PythonInteger big = PythonInteger.valueOf(Long.MAX_VALUE).add(PythonInteger.ONE);
+        assertThat(iterate(new PythonRange(big, big.add(PythonInteger.TWO), PythonInteger.ONE)))
+                .containsExactly(big, big.add(PythonInteger.ONE));
+    }
+
+    @Test
+    public void testContains() {
+        PythonRange range = new PythonRange(PythonInteger.valueOf(1), PythonInteger.valueOf(10), PythonInteger.valueOf(3));
+        assertThat(range.contains(PythonInteger.valueOf(4))).isTrue();
+        assertThat(range.contains(PythonInteger.valueOf(5))).isFalse();
+        assertThat(range.contains(PythonInteger.valueOf(-2))).isFalse();
+
+        PythonRange reversed = new PythonRange(PythonInteger.valueOf(5), PythonInteger.valueOf(-5), PythonInteger.valueOf(-2));
+        assertThat(reversed.contains(PythonInteger.valueOf(-1))).isTrue();
+        assertThat(reversed.contains(PythonInteger.valueOf(7))).isFalse();
+        assertThat(reversed.contains(PythonInteger.ZERO)).isFalse();
+
+        PythonRange wide = new PythonRange(PythonInteger.valueOf(Long.MIN_VALUE), PythonInteger.valueOf(Long.MAX_VALUE),
+                PythonInteger.ONE);
+        assertThat(wide.contains(PythonInteger.valueOf(Long.MAX_VALUE - 1))).isTrue();
+        PythonInteger big = PythonInteger.valueOf(Long.MAX_VALUE).add(PythonInteger.ONE);
+        assertThat(new PythonRange(PythonInteger.ZERO, big.add(PythonInteger.ONE), PythonInteger.ONE).contains(big)).isTrue();
+    }
+}
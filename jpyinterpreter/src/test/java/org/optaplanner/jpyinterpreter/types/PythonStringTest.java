@@ -0,0 +1,92 @@
+package org.optaplanner.jpyinterpreter.types;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+import org.optaplanner.jpyinterpreter.types.collections.PythonIterator;
+import org.optaplanner.jpyinterpreter.types.numeric.PythonBoolean;
+import org.optaplanner.jpyinterpreter.types.numeric.PythonInteger;
+
+public class PythonStringTest {
+
+    @Test
+    public void testIntern() {
+        PythonString name = PythonString.intern("name");
+        assertThat(PythonString.intern("name")).isSameAs(name);
+        assertThat(name).isEqualTo(PythonString.valueOf("name"));
+    }
+
+    @Test
+    public void testHash() {
+        PythonString string = PythonString.valueOf("a long string to hash");
+        assertThat(string.$method$__hash__()).isSameAs(string.$method$__hash__());
+        assertThat(string.$method$__hash__().intValue()).isEqualTo("a long string to hash".hashCode());
+    }
+
+    @Test
+    public void testAsciiString() {
+        PythonString string = PythonString.valueOf("abcde");
+
+        assertThat(string.isAscii()).isEqualTo(PythonBoolean.TRUE);
+        assertThat(string.getLength()).isEqualTo(PythonInteger.valueOf(5));
+        assertThat(string.getCharAt(PythonInteger.valueOf(-1))).isEqualTo(PythonString.valueOf("e"));
+        assertThat(string.getCharAt(PythonInteger.ONE)).isSameAs(string.getCharAt(PythonInteger.ONE));
+        assertThat(string.getSubstring(new PythonSlice(PythonInteger.ONE, PythonInteger.valueOf(4), PythonNone.INSTANCE)))
+                .isEqualTo(PythonString.valueOf("bcd"));
+    }
+
+    @Test
+    public void testSurrogatePairs() {
+        // U+1F600 is encoded as two chars in Java
+        String grinning = new String(Character.toChars(0x1F600));
+        PythonString string = PythonString.valueOf("a" + grinning + "b" + grinning);
+
+        assertThat(string.isAscii()).isEqualTo(PythonBoolean.FALSE);
+        assertThat(string.getLength()).isEqualTo(PythonInteger.valueOf(4));
+        assertThat(string.getCharAt(PythonInteger.ONE)).isEqualTo(PythonString.valueOf(grinning));
+        assertThat(string.getCharAt(PythonInteger.TWO)).isEqualTo(PythonString.valueOf("b"));
+        assertThat(string.getSubstring(new PythonSlice(PythonInteger.ONE, PythonNone.INSTANCE, PythonInteger.TWO)))
+                .isEqualTo(PythonString.valueOf(grinning + grinning));
+        assertThat(string.getSubstring(new PythonSlice(PythonNone.INSTANCE, PythonNone.INSTANCE, PythonInteger.valueOf(-1))))
+                .isEqualTo(PythonString.valueOf(grinning + "b" + grinning + "a"));
+    }
+
+    @Test
+    public void testSurrogatePairsAreIndexedByCodePoint() {
+        String grinning = new String(Character.toChars(0x1F600));
+        PythonString string = PythonString.valueOf(grinning + "ab" + grinning + "ab");
+        PythonString ab = PythonString.valueOf("ab");
+
+        PythonIterator iterator = string.getIterator();
+        assertThat(iterator.nextPythonItem()).isEqualTo(PythonString.valueOf(grinning));
+        assertThat(iterator.nextPythonItem()).isEqualTo(PythonString.valueOf("a"));
+        assertThat(iterator.nextPythonItem()).isEqualTo(PythonString.valueOf("b"));
+        assertThat(iterator.nextPythonItem()).isEqualTo(PythonString.valueOf(grinning));
+
+        assertThat(string.length()).isEqualTo(6);
+        assertThat(string.findSubstringIndex(ab)).isEqualTo(PythonInteger.ONE);
+        assertThat(string.findSubstringIndex(ab, PythonInteger.TWO)).isEqualTo(PythonInteger.valueOf(4));
+        assertThat(string.findSubstringIndex(ab, PythonInteger.TWO, PythonInteger.valueOf(6)))
+                .isEqualTo(PythonInteger.valueOf(4));
+        assertThat(string.findSubstringIndex(ab, PythonInteger.TWO, PythonInteger.valueOf(5)))
+                .isEqualTo(PythonInteger.valueOf(-1));
+        assertThat(string.rightFindSubstringIndex(ab)).isEqualTo(PythonInteger.valueOf(4));
+        assertThat(string.rightFindSubstringIndex(ab, PythonInteger.ZERO, PythonInteger.valueOf(4)))
+                .isEqualTo(PythonInteger.ONE);
+        assertThat(string.findSubstringIndexOrError(PythonString.valueOf(grinning), PythonInteger.ONE))
+                .isEqualTo(PythonInteger.valueOf(3));
+        assertThat(string.rightFindSubstringIndexOrError(PythonString.valueOf("b"))).isEqualTo(PythonInteger.valueOf(5));
+        assertThat(string.count(ab, PythonInteger.TWO)).isEqualTo(PythonInteger.ONE);
+        assertThat(string.startsWith(PythonString.valueOf(grinning + "a"), PythonInteger.valueOf(3)))
+                .isEqualTo(PythonBoolean.TRUE);
+        assertThat(string.endsWith(PythonString.valueOf("ab" + grinning), PythonInteger.ZERO, PythonInteger.valueOf(4)))
+                .isEqualTo(PythonBoolean.TRUE);
+
+        assertThat(PythonString.valueOf(grinning).rightJustify(PythonInteger.valueOf(3), PythonString.valueOf(grinning)))
+                .isEqualTo(PythonString.valueOf(grinning + grinning + grinning));
+        assertThat(PythonString.valueOf(grinning + "a" + grinning).strip(PythonString.valueOf(grinning)))
+                .isEqualTo(PythonString.valueOf("a"));
+        assertThat(PythonString.valueOf(grinning + "\t").expandTabs(PythonInteger.valueOf(4)))
+                .isEqualTo(PythonString.valueOf(grinning + "   "));
+    }
+}
@@ -0,0 +1,142 @@
+package org.optaplanner.jpyinterpreter.types.collections;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.commons.collections4.OrderedMapIterator;
+import org.junit.jupiter.api.Test;
+
+public class CompactOrderedMapTest {
+
+    /**
+     * A key where every instance has the same hash
+     */
+    private static final class CollidingKey {
+        final int id;
+
+        CollidingKey(int id) {
+            this.id = id;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof CollidingKey && ((CollidingKey) o).id == id;
+        }
+
+        @Override
+        public int hashCode() {
+            return 1;
+        }
+    }
+
+    @Test
+    public void testInsertionOrder() {
+        CompactOrderedMap<String, Integer> map = new CompactOrderedMap<>();
+        map.put("c", 1);
+        map.put("a", 2);
+        map.put("b", 3);
+        map.put("a", 4);
+
+        assertThat(new ArrayList<>(map.keySet())).containsExactly("c", "a", "b");
+        assertThat(new ArrayList<>(map.values())).containsExactly(1, 4, 3);
+        assertThat(map.get("a")).isEqualTo(4);
+        assertThat(map.get("d")).isNull();
+        assertThat(map.toString()).isEqualTo("{c=1, a=4, b=3}");
+    }
+
+    @Test
+    public void testRemove() {
+        CompactOrderedMap<String, Integer> map = new CompactOrderedMap<>();
+        map.put("a", 1);
+        map.put("b", 2);
+        map.put("c", 3);
+
+        assertThat(map.remove("b")).isEqualTo(2);
+        assertThat(map.remove("b")).isNull();
+        assertThat(map.containsKey("b")).isFalse();
+        assertThat(map.size()).isEqualTo(2);
+
+        map.put("b", 4);
+        assertThat(new ArrayList<>(map.keySet())).containsExactly("a", "c", "b");
+        assertThat(map.firstKey()).isEqualTo("a");
+        assertThat(map.lastKey()).isEqualTo("b");
+        assertThat(map.nextKey("a")).isEqualTo("c");
+        assertThat(map.nextKey("b")).isNull();
+        assertThat(map.previousKey("b")).isEqualTo("c");
+        assertThat(map.previousKey("a")).isNull();
+    }
+
+    @Test
+    public void testManyEntries() {
+        CompactOrderedMap<Integer, Integer> map = new CompactOrderedMap<>();
+        int entryCount = 100_000;
+        for (int i = 0; i < entryCount; i++) {
+            map.put(i, -i);
+        }
+        for (int i = 0; i < entryCount; i += 2) {
+            map.remove(i);
+        }
+        // re-adding removed keys forces the removed entries to be compacted away
+        for (int i = 0; i < entryCount; i += 2) {
+            map.put(i, i);
+        }
+
+        assertThat(map.size()).isEqualTo(entryCount);
+        for (int i = 0; i < entryCount; i++) {
+            assertThat(map.get(i)).isEqualTo((i % 2 == 0) ? i : -i);
+        }
+
+        Iterator<Integer> keyIterator = map.keySet().iterator();
+        for (int i = 1; i < entryCount; i += 2) {
+            assertThat(keyIterator.next()).isEqualTo(i);
+        }
+        for (int i = 0; i < entryCount; i += 2) {
+            assertThat(keyIterator.next()).isEqualTo(i);
+        }
+        assertThat(keyIterator.hasNext()).isFalse();
+    }
+
+    @Test
+    public void testCollidingKeys() {
+        CompactOrderedMap<CollidingKey, Integer> map = new CompactOrderedMap<>();
+        for (int i = 0; i < 100; i++) {
+            map.put(new CollidingKey(i), i);
+        }
+        map.remove(new CollidingKey(50));
+
+        assertThat(map.size()).isEqualTo(99);
+        for (int i = 0; i < 100; i++) {
+            assertThat(map.get(new CollidingKey(i))).isEqualTo((i != 50) ? i : null);
+        }
+    }
+
+    @Test
+    public void testIterators() {
+        CompactOrderedMap<String, Integer> map = new CompactOrderedMap<>();
+        map.put("a", 1);
+        map.put("b", 2);
+        map.put("c", 3);
+
+        Iterator<Map.Entry<String, Integer>> entryIterator = map.entrySet().iterator();
+        entryIterator.next().setValue(10);
+        entryIterator.next();
+        entryIterator.remove();
+        assertThat(map).isEqualTo(Map.of("a", 10, "c", 3));
+
+        OrderedMapIterator<String, Integer> mapIterator = map.mapIterator();
+        assertThat(mapIterator.next()).isEqualTo("a");
+        assertThat(mapIterator.next()).isEqualTo("c");
+        assertThat(mapIterator.getValue()).isEqualTo(3);
+        assertThat(mapIterator.hasNext()).isFalse();
+        assertThat(mapIterator.previous()).isEqualTo("c");
+        assertThat(mapIterator.previous()).isEqualTo("a");
+        assertThat(mapIterator.hasPrevious()).isFalse();
+
+        List<Integer> values = new ArrayList<>(map.values());
+        assertThat(values).containsExactly(10, 3);
+    }
+}
@@ -0,0 +1,23 @@
+package org.optaplanner.jpyinterpreter.types.collections;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+import org.optaplanner.jpyinterpreter.types.numeric.PythonInteger;
+
+public class PythonLikeFrozenSetTest {
+
+    @Test
+    public void testHash() {
+        PythonLikeFrozenSet frozenSet = new PythonLikeFrozenSet();
+        frozenSet.reverseAdd(PythonInteger.ONE);
+        frozenSet.reverseAdd(PythonInteger.TWO);
+
+        PythonLikeFrozenSet equalFrozenSet = new PythonLikeFrozenSet();
+        equalFrozenSet.reverseAdd(PythonInteger.TWO);
+        equalFrozenSet.reverseAdd(PythonInteger.ONE);
+
+        assertThat(frozenSet.hashCode()).isEqualTo(equalFrozenSet.hashCode());
+        assertThat(frozenSet.$method$__hash__()).isSameAs(frozenSet.$method$__hash__());
+    }
+}
@@ -0,0 +1,32 @@
+package org.optaplanner.jpyinterpreter.types.collections;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+import org.optaplanner.jpyinterpreter.types.PythonString;
+import org.optaplanner.jpyinterpreter.types.numeric.PythonInteger;
+
+public class PythonLikeTupleTest {
+
+    @Test
+    public void testHash() {
+        PythonLikeTuple tuple = PythonLikeTuple.fromItems(PythonInteger.ONE, PythonString.valueOf("a"));
+        PythonLikeTuple equalTuple = PythonLikeTuple.fromItems(PythonInteger.ONE, PythonString.valueOf("a"));
+
+        assertThat(tuple.hashCode()).isEqualTo(equalTuple.hashCode());
+        assertThat(tuple.$method$__hash__()).isSameAs(tuple.$method$__hash__());
+        assertThat(tuple.$method$__hash__().intValue()).isEqualTo(tuple.hashCode());
+    }
+
+    @Test
+    public void testHashChangesWhenFilledIn() {
+        PythonLikeTuple tuple = new PythonLikeTuple(2);
+        int emptyHash = tuple.hashCode();
+
+        tuple.reverseAdd(PythonInteger.TWO);
+        tuple.reverseAdd(PythonInteger.ONE);
+
+        assertThat(tuple.hashCode()).isNotEqualTo(emptyHash);
+        assertThat(tuple.hashCode()).isEqualTo(PythonLikeTuple.fromItems(PythonInteger.ONE, PythonInteger.TWO).hashCode());
+    }
+}
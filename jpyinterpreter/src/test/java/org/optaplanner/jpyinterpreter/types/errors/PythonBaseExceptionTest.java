@@ -0,0 +1,76 @@
+package org.optaplanner.jpyinterpreter.types.errors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.optaplanner.jpyinterpreter.types.PythonNone;
+import org.optaplanner.jpyinterpreter.types.PythonString;
+import org.optaplanner.jpyinterpreter.types.collections.PythonLikeTuple;
+import org.optaplanner.jpyinterpreter.types.numeric.PythonInteger;
+
+public class PythonBaseExceptionTest {
+
+    @Test
+    public void testDefaultAttributes() {
+        PythonException exception = new PythonException(PythonException.EXCEPTION_TYPE, List.of(PythonInteger.ONE));
+
+        assertThat(exception.$getArgs()).isEqualTo(PythonLikeTuple.fromItems(PythonInteger.ONE));
+        assertThat(exception.__getAttributeOrNull("__cause__")).isEqualTo(PythonNone.INSTANCE);
+        assertThat(exception.__getAttributeOrNull("missing")).isNull();
+
+        ValueError cause = new ValueError("cause");
+        exception.initCause(cause);
+        assertThat(exception.__getAttributeOrNull("__cause__")).isSameAs(cause);
+
+        exception.__setAttribute("note", PythonInteger.TWO);
+        assertThat(exception.__getAttributeOrNull("note")).isEqualTo(PythonInteger.TWO);
+        exception.__deleteAttribute("note");
+        assertThat(exception.__getAttributeOrNull("note")).isNull();
+    }
+
+    @Test
+    public void testLazyMessage() {
+        int[] messageComputedCount = { 0 };
+        AttributeError error = new AttributeError(() -> {
+            messageComputedCount[0]++;
+            return "no attribute";
+        });
+        assertThat(messageComputedCount[0]).isZero();
+
+        assertThat(error.getMessage()).isEqualTo("no attribute");
+        assertThat(error.$getArgs()).isEqualTo(PythonLikeTuple.fromItems(PythonString.valueOf("no attribute")));
+        assertThat(messageComputedCount[0]).isEqualTo(1);
+    }
+
+    @Test
+    public void testStopIterationValueOf() {
+        assertThat(StopIteration.valueOf(PythonNone.INSTANCE)).isSameAs(StopIteration.getInstance());
+        assertThat(StopIteration.valueOf(PythonInteger.ONE).getValue()).isEqualTo(PythonInteger.ONE);
+    }
+
+    @Test
+    public void testSharedStopIterationCannotBeChanged() {
+        StopIteration shared = StopIteration.getInstance();
+        assertThat(shared.getValue()).isSameAs(PythonNone.INSTANCE);
+        assertThat(shared.$getArgs()).isEmpty();
+
+        assertThatCode(() -> shared.__setAttribute("note", PythonInteger.ONE)).isInstanceOf(TypeError.class);
+        assertThat(shared.__getAttributeOrNull("note")).isNull();
+
+        // raise ... from ... uses the exception returned by initCause, and can be done more than once
+        ValueError cause = new ValueError("cause");
+        for (int i = 0; i < 2; i++) {
+            Throwable raised = shared.initCause(cause);
+            assertThat(raised).isInstanceOf(StopIteration.class).isNotSameAs(shared);
+            assertThat(raised.getCause()).isSameAs(cause);
+        }
+        assertThat(shared.getCause()).isNull();
+        assertThat(shared.__getAttributeOrNull("__cause__")).isSameAs(PythonNone.INSTANCE);
+
+        shared.addSuppressed(cause);
+        assertThat(shared.getSuppressed()).isEmpty();
+    }
+}
@@ -0,0 +1,83 @@
+package org.optaplanner.jpyinterpreter.types.numeric;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigInteger;
+
+import org.junit.jupiter.api.Test;
+
+public class PythonIntegerTest {
+
+    @Test
+    public void testSmallValuesAreCached() {
+        assertThat(PythonInteger.valueOf(5)).isSameAs(PythonInteger.valueOf(5L));
+        assertThat(PythonInteger.valueOf(BigInteger.ZERO)).isSameAs(PythonInteger.ZERO);
+        assertThat(PythonInteger.valueOf(2).add(PythonInteger.valueOf(3))).isSameAs(PythonInteger.valueOf(5));
+        assertThat(PythonInteger.valueOf(100_000)).isNotSameAs(PythonInteger.valueOf(100_000));
+    }
+
+    @Test
+    public void testOverflowPromotesToBigInteger() {
+        PythonInteger max = PythonInteger.valueOf(Long.MAX_VALUE);
+        PythonInteger min = PythonInteger.valueOf(Long.MIN_VALUE);
+
+        assertThat(max.add(PythonInteger.ONE).getValue())
+                .isEqualTo(BigInteger.valueOf(Long.MAX_VALUE).add(BigInteger.ONE));
+        assertThat(min.subtract(PythonInteger.ONE).getValue())
+                .isEqualTo(BigInteger.valueOf(Long.MIN_VALUE).subtract(BigInteger.ONE));
+        assertThat(max.multiply(PythonInteger.TWO).getValue())
+                .isEqualTo(BigInteger.valueOf(Long.MAX_VALUE).multiply(BigInteger.TWO));
+        assertThat(min.negative().getValue()).isEqualTo(BigInteger.valueOf(Long.MIN_VALUE).negate());
+        assertThat(min.abs().getValue()).isEqualTo(BigInteger.valueOf(Long.MIN_VALUE).negate());
+        assertThat(PythonInteger.ONE.shiftLeft(PythonInteger.valueOf(64)).getValue())
+                .isEqualTo(BigInteger.ONE.shiftLeft(64));
+    }
+
+    @Test
+    public void testBigResultsThatFitInLongAreNormalized() {
+        PythonInteger big = PythonInteger.valueOf(Long.MAX_VALUE).add(PythonInteger.ONE);
+
+        assertThat(big.fitsInLong()).isFalse();
+        assertThat(big.subtract(PythonInteger.ONE).fitsInLong()).isTrue();
+        assertThat(big.subtract(PythonInteger.ONE)).isEqualTo(PythonInteger.valueOf(Long.MAX_VALUE));
+        assertThat(big.subtract(PythonInteger.ONE).hashCode()).isEqualTo(PythonInteger.valueOf(Long.MAX_VALUE).hashCode());
+    }
+
+    @Test
+    public void testModuloAndDivmod() {
+        assertThat(PythonInteger.valueOf(-7).modulo(PythonInteger.valueOf(3))).isEqualTo(PythonInteger.valueOf(2));
+        assertThat(PythonInteger.valueOf(7).modulo(PythonInteger.valueOf(-3))).isEqualTo(PythonInteger.valueOf(-2));
+        assertThat(PythonInteger.valueOf(-7).divmod(PythonInteger.valueOf(3)))
+                .containsExactly(PythonInteger.valueOf(-3), PythonInteger.valueOf(2));
+        assertThat(PythonInteger.valueOf(7).divmod(PythonInteger.valueOf(-3)))
+                .containsExactly(PythonInteger.valueOf(-3), PythonInteger.valueOf(-2));
+    }
+
+    @Test
+    public void testHash() {
+        assertThat(PythonInteger.valueOf(-1).$method$__hash__()).isEqualTo(PythonInteger.valueOf(-2));
+        assertThat(PythonInteger.valueOf((1L << 61) - 1).$method$__hash__()).isEqualTo(PythonInteger.ZERO);
+        assertThat(PythonInteger.valueOf(-(1L << 61)).$method$__hash__())
+                .isEqualTo(PythonNumber.computeHash(PythonInteger.valueOf(-(1L << 61)), PythonInteger.ONE));
+    }
+
+    @Test
+    public void testSignumAndCompareTo() {
+        PythonInteger big = PythonInteger.valueOf(Long.MAX_VALUE).add(PythonInteger.ONE);
+        PythonInteger negativeBig = big.negative().subtract(PythonInteger.TWO);
+
+        assertThat(PythonInteger.valueOf(-5).signum()).isEqualTo(-1);
+        assertThat(PythonInteger.ZERO.signum()).isZero();
+        assertThat(big.signum()).isEqualTo(1);
+        assertThat(negativeBig.signum()).isEqualTo(-1);
+
+        assertThat(PythonInteger.valueOf(3).compareTo(3L)).isZero();
+        assertThat(PythonInteger.valueOf(3).compareTo(4L)).isNegative();
+        assertThat(big.compareTo(Long.MAX_VALUE)).isPositive();
+        assertThat(negativeBig.compareTo(Long.MIN_VALUE)).isNegative();
+
+        assertThat(PythonInteger.valueOf(3).compareTo(PythonInteger.valueOf(-3))).isPositive();
+        assertThat(big.compareTo(PythonInteger.valueOf(Long.MAX_VALUE))).isPositive();
+        assertThat(negativeBig.compareTo(big)).isNegative();
+    }
+}
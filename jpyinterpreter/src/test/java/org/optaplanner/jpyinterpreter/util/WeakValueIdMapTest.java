@@ -0,0 +1,86 @@
+package org.optaplanner.jpyinterpreter.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+public class WeakValueIdMapTest {
+
+    @Test
+    public void testPutAndGet() {
+        WeakValueIdMap<String> map = new WeakValueIdMap<>();
+        String a = "a";
+        String b = "b";
+
+        assertThat(map.put(1L, a)).isNull();
+        assertThat(map.put(Integer.valueOf(2), b)).isNull();
+
+        assertThat(map.get(1L)).isSameAs(a);
+        assertThat(map.get(Long.valueOf(2L))).isSameAs(b);
+        assertThat(map.get(Integer.valueOf(1))).isSameAs(a);
+        assertThat(map.get("1")).isNull();
+        assertThat(map.get(3L)).isNull();
+        assertThat(map).hasSize(2);
+
+        assertThat(map.put(1L, b)).isSameAs(a);
+        assertThat(map.get(1L)).isSameAs(b);
+        assertThat(map).hasSize(2);
+    }
+
+    @Test
+    public void testRemove() {
+        WeakValueIdMap<String> map = new WeakValueIdMap<>();
+        String a = "a";
+        map.put(1L, a);
+
+        assertThat(map.remove(1L)).isSameAs(a);
+        assertThat(map.containsKey(1L)).isFalse();
+        assertThat(map.remove(1L)).isNull();
+        assertThat(map).isEmpty();
+    }
+
+    @Test
+    public void testResize() {
+        WeakValueIdMap<Object> map = new WeakValueIdMap<>();
+        List<Object> valueList = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            Object value = new Object();
+            valueList.add(value);
+            map.put(i * 16L, value);
+        }
+        for (int i = 0; i < 1000; i += 2) {
+            map.remove(i * 16L);
+        }
+
+        assertThat(map).hasSize(500);
+        assertThat(map.entrySet()).hasSize(500);
+        for (int i = 0; i < 1000; i++) {
+            if (i % 2 == 0) {
+                assertThat(map.containsKey(i * 16L)).isFalse();
+            } else {
+                assertThat(map.get(i * 16L)).isSameAs(valueList.get(i));
+            }
+        }
+    }
+
+    @Test
+    public void testCounters() {
+        WeakValueIdMap<String> map = new WeakValueIdMap<>();
+        String a = "a";
+        map.put(1L, a);
+
+        assertThat(map.getHitRate()).isZero();
+        map.get(1L);
+        map.get(1L);
+        map.get(1L);
+        map.get(2L);
+
+        assertThat(map.getHitCount()).isEqualTo(3L);
+        assertThat(map.getMissCount()).isEqualTo(1L);
+        assertThat(map.getHitRate()).isEqualTo(0.75);
+        assertThat(map.getEvictionCount()).isZero();
+    }
+}
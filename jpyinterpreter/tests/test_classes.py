@@ -869,3 +869,30 @@ def test_class_vargs_with_manatory_args():
     verifier.verify(1, 2, 3, expected_result=16)
     verifier.verify(2, 4, 6, expected_result=22)
     verifier.verify(1, 1, 1, expected_result=13)
+
+
+def test_get_attributes_on_python_objects_with_map():
+    from java.util import HashMap, ArrayList
+    from jpype import JProxy
+    from jpyinterpreter.jvm_setup import GetAttributesOnPythonObjectsWithMap
+    from org.optaplanner.jpyinterpreter.types import PythonString
+    from org.optaplanner.jpyinterpreter.types.numeric import PythonInteger
+    from org.optaplanner.jpyinterpreter.types.wrappers import OpaquePythonReference
+
+    class A:
+        def __init__(self, value, name=None):
+            self.value = value
+            if name is not None:
+                self.name = name
+
+    python_objects = ArrayList()
+    for python_object in (A(1, 'a'), A(2)):
+        python_objects.add(JProxy(OpaquePythonReference, inst=python_object, convert=True))
+
+    values = GetAttributesOnPythonObjectsWithMap().apply(python_objects, ['value', 'name'], HashMap())
+    assert len(values) == 4
+    assert values[0] == PythonInteger.valueOf(1)
+    assert values[1] == PythonString.valueOf('a')
+    assert values[2] == PythonInteger.valueOf(2)
+    # A missing attribute is looked up as null
+    assert values[3] is None
@@ -143,6 +143,7 @@ def test_len():
     len_verifier.verify('a', expected_result=1)
     len_verifier.verify('ab', expected_result=2)
     len_verifier.verify('cba', expected_result=3)
+    len_verifier.verify('\U0001f64fa', expected_result=2)   # Need surrogates in UTF-16
 
 
 def test_index():
@@ -443,6 +444,10 @@ def test_find():
     find_start_end_verifier.verify('abcabc', 'a', -2, -1, expected_result=-1)
     find_start_end_verifier.verify('abcabc', 'b', -2, -1, expected_result=4)
     find_start_end_verifier.verify('abcabc', 'c', -2, -1, expected_result=-1)
+
+    find_verifier.verify('\U0001f64fabc', 'b', expected_result=2)   # Need surrogates in UTF-16
+    find_start_verifier.verify('\U0001f64fabcabc', 'a', 2, expected_result=4)
+    find_start_end_verifier.verify('\U0001f64fabcabc', 'c', -4, -2, expected_result=3)
     find_start_end_verifier.verify('abcabc', 'd', -2, -1, expected_result=-1)
 
 
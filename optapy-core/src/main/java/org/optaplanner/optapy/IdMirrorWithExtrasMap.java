@@ -0,0 +1,409 @@
+package org.optaplanner.optapy;
+
+import java.util.AbstractCollection;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.function.BiConsumer;
+
+import org.optaplanner.jpyinterpreter.util.WeakValueIdMap;
+
+/**
+ * A map that mirrors another map from CPython object ids to the Java objects they map to
+ * (i.e. the reference maps used when wrapping and cloning), and stores additional entries on top of it.
+ * Reads see both the mirrored map and the extra entries; writes only go to the extra entries, and fail for
+ * keys in the mirrored map.
+ * Extra entries are kept in an open addressing table with primitive long keys, which is only allocated when the
+ * first extra entry is added. Lookups by long id, and iteration over the extra entries
+ * (see {@link #forEachExtra(ExtraEntryConsumer)}), do not allocate.
+ *
+ * @param <Value_> The type of the values
+ */
+public final class IdMirrorWithExtrasMap<Value_> extends AbstractMap<Number, Value_> {
+    private static final int INITIAL_CAPACITY = 16;
+    private static final Object NULL_VALUE = new Object();
+
+    private final Map<Number, Value_> delegateMap;
+
+    // Allocated on the first put; a null value marks an empty slot
+    private long[] extraKeys;
+    private Object[] extraValues;
+    private int extraSize;
+
+    // Not null while puts are recorded; see startRecordingPuts
+    private List<Value_> recordedValueList;
+
+    public IdMirrorWithExtrasMap(Map<Number, Value_> delegateMap) {
+        this.delegateMap = delegateMap;
+    }
+
+    @FunctionalInterface
+    public interface ExtraEntryConsumer<Value_> {
+        void accept(long key, Value_ value);
+    }
+
+    private static int hash(long key) {
+        long mixed = key * 0x9E3779B97F4A7C15L;
+        return (int) (mixed ^ (mixed >>> 32));
+    }
+
+    private int findExtraSlot(long key) {
+        if (extraKeys == null) {
+            return -1;
+        }
+        int mask = extraKeys.length - 1;
+        int slot = hash(key) & mask;
+        while (extraValues[slot] != null) {
+            if (extraKeys[slot] == key) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <Value_> Value_ unwrap(Object stored) {
+        return stored == NULL_VALUE ? null : (Value_) stored;
+    }
+
+    @SuppressWarnings("unchecked")
+    private Value_ getFromDelegate(long key) {
+        if (delegateMap instanceof IdMirrorWithExtrasMap) {
+            return ((IdMirrorWithExtrasMap<Value_>) delegateMap).get(key);
+        }
+        if (delegateMap instanceof WeakValueIdMap) {
+            return ((WeakValueIdMap<Value_>) delegateMap).get(key);
+        }
+        return delegateMap.get(key);
+    }
+
+    private boolean delegateContainsKey(long key) {
+        if (delegateMap instanceof IdMirrorWithExtrasMap) {
+            return ((IdMirrorWithExtrasMap<?>) delegateMap).containsKey(key);
+        }
+        if (delegateMap instanceof WeakValueIdMap) {
+            return ((WeakValueIdMap<?>) delegateMap).containsKey(key);
+        }
+        return delegateMap.containsKey(key);
+    }
+
+    public Value_ get(long key) {
+        int slot = findExtraSlot(key);
+        if (slot != -1) {
+            Value_ out = unwrap(extraValues[slot]);
+            if (out != null) {
+                return out;
+            }
+        }
+        return getFromDelegate(key);
+    }
+
+    public boolean containsKey(long key) {
+        return findExtraSlot(key) != -1 || delegateContainsKey(key);
+    }
+
+    public Value_ put(long key, Value_ value) {
+        if (delegateContainsKey(key)) {
+            throw new IllegalArgumentException("Cannot set value for key (" + key + ") because it is a mirrored from "
+                    + " map (" + delegateMap + ").");
+        }
+        if (recordedValueList != null && value != null) {
+            recordedValueList.add(value);
+        }
+        Object stored = (value == null) ? NULL_VALUE : value;
+        int slot = findExtraSlot(key);
+        if (slot != -1) {
+            Value_ old = unwrap(extraValues[slot]);
+            extraValues[slot] = stored;
+            return old;
+        }
+        ensureCapacityForInsert();
+        insert(key, stored);
+        return null;
+    }
+
+    public Value_ remove(long key) {
+        int slot = findExtraSlot(key);
+        if (slot == -1) {
+            return null;
+        }
+        Value_ old = unwrap(extraValues[slot]);
+        deleteSlot(slot);
+        return old;
+    }
+
+    private void ensureCapacityForInsert() {
+        if (extraKeys == null) {
+            extraKeys = new long[INITIAL_CAPACITY];
+            extraValues = new Object[INITIAL_CAPACITY];
+            return;
+        }
+        if ((extraSize + 1) * 4 > extraKeys.length * 3) {
+            long[] oldKeys = extraKeys;
+            Object[] oldValues = extraValues;
+            extraKeys = new long[oldKeys.length * 2];
+            extraValues = new Object[oldKeys.length * 2];
+            extraSize = 0;
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldValues[i] != null) {
+                    insert(oldKeys[i], oldValues[i]);
+                }
+            }
+        }
+    }
+
+    private void insert(long key, Object stored) {
+        int mask = extraKeys.length - 1;
+        int slot = hash(key) & mask;
+        while (extraValues[slot] != null) {
+            slot = (slot + 1) & mask;
+        }
+        extraKeys[slot] = key;
+        extraValues[slot] = stored;
+        extraSize++;
+    }
+
+    // Backward shift deletion, so lookups never need tombstones
+    private void deleteSlot(int slot) {
+        int mask = extraKeys.length - 1;
+        int hole = slot;
+        int current = (slot + 1) & mask;
+        while (extraValues[current] != null) {
+            int home = hash(extraKeys[current]) & mask;
+            // Move the entry into the hole if its home slot is not cyclically in (hole, current]
+            boolean isHomeAfterHole = (current > hole) ? (home > hole && home <= current)
+                    : (home > hole || home <= current);
+            if (!isHomeAfterHole) {
+                extraKeys[hole] = extraKeys[current];
+                extraValues[hole] = extraValues[current];
+                hole = current;
+            }
+            current = (current + 1) & mask;
+        }
+        extraValues[hole] = null;
+        extraSize--;
+    }
+
+    /**
+     * Calls consumer on every extra entry (i.e. every entry not in the mirrored map) without allocating.
+     */
+    public void forEachExtra(ExtraEntryConsumer<? super Value_> consumer) {
+        if (extraKeys == null) {
+            return;
+        }
+        for (int i = 0; i < extraKeys.length; i++) {
+            if (extraValues[i] != null) {
+                consumer.accept(extraKeys[i], unwrap(extraValues[i]));
+            }
+        }
+    }
+
+    public int extraSize() {
+        return extraSize;
+    }
+
+    /**
+     * Records the value of every entry put into this map until {@link #stopRecordingPuts()} is called.
+     * Used to find the wrappers created by a single call to
+     * {@link PythonWrapperGenerator#wrap(Class, org.optaplanner.jpyinterpreter.types.wrappers.OpaquePythonReference,
+     * Map, org.optaplanner.core.api.function.TriFunction)}.
+     */
+    void startRecordingPuts() {
+        recordedValueList = new ArrayList<>();
+    }
+
+    /**
+     * @return the values put into this map since {@link #startRecordingPuts()} was called, in the order they were put
+     */
+    List<Value_> stopRecordingPuts() {
+        List<Value_> out = recordedValueList;
+        recordedValueList = null;
+        return out;
+    }
+
+    @Override
+    public Value_ get(Object key) {
+        if (!(key instanceof Number)) {
+            return null;
+        }
+        return get(((Number) key).longValue());
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        if (!(key instanceof Number)) {
+            return false;
+        }
+        return containsKey(((Number) key).longValue());
+    }
+
+    @Override
+    public Value_ put(Number key, Value_ value) {
+        return put(key.longValue(), value);
+    }
+
+    @Override
+    public Value_ remove(Object key) {
+        if (!(key instanceof Number)) {
+            return null;
+        }
+        return remove(((Number) key).longValue());
+    }
+
+    @Override
+    public void putAll(Map<? extends Number, ? extends Value_> map) {
+        // forEach instead of keySet/entrySet, so an IdMirrorWithExtrasMap argument does not allocate an entry per key
+        map.forEach((key, value) -> {
+            if (delegateContainsKey(key.longValue())) {
+                throw new IllegalArgumentException("Cannot put all entries for map (" + map + ") because it shares "
+                        + " some keys with the mirrored map (" + delegateMap + ").");
+            }
+        });
+        map.forEach((key, value) -> put(key.longValue(), value));
+    }
+
+    @Override
+    public void clear() {
+        extraKeys = null;
+        extraValues = null;
+        extraSize = 0;
+    }
+
+    @Override
+    public int size() {
+        return delegateMap.size() + extraSize;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return extraSize == 0 && delegateMap.isEmpty();
+    }
+
+    @Override
+    public boolean containsValue(Object value) {
+        if (extraKeys != null) {
+            Object stored = (value == null) ? NULL_VALUE : value;
+            for (Object extraValue : extraValues) {
+                if (extraValue != null && extraValue.equals(stored)) {
+                    return true;
+                }
+            }
+        }
+        return delegateMap.containsValue(value);
+    }
+
+    @Override
+    public void forEach(BiConsumer<? super Number, ? super Value_> action) {
+        delegateMap.forEach(action);
+        forEachExtra(action::accept);
+    }
+
+    /**
+     * Iterates the extra table; subclasses map a slot to the item returned by next().
+     */
+    private abstract class ExtraSlotIterator<Item_> implements Iterator<Item_> {
+        private final Iterator<?> delegateIterator;
+        private int nextSlot = -1;
+
+        ExtraSlotIterator(Iterator<?> delegateIterator) {
+            this.delegateIterator = delegateIterator;
+            advance();
+        }
+
+        private void advance() {
+            nextSlot++;
+            if (extraKeys == null) {
+                nextSlot = Integer.MAX_VALUE;
+                return;
+            }
+            while (nextSlot < extraKeys.length && extraValues[nextSlot] == null) {
+                nextSlot++;
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return delegateIterator.hasNext() || (extraKeys != null && nextSlot < extraKeys.length);
+        }
+
+        @Override
+        public Item_ next() {
+            if (delegateIterator.hasNext()) {
+                return fromDelegate(delegateIterator.next());
+            }
+            if (extraKeys == null || nextSlot >= extraKeys.length) {
+                throw new NoSuchElementException();
+            }
+            int slot = nextSlot;
+            advance();
+            return fromSlot(slot);
+        }
+
+        abstract Item_ fromDelegate(Object delegateItem);
+
+        abstract Item_ fromSlot(int slot);
+    }
+
+    @Override
+    public Collection<Value_> values() {
+        return new AbstractCollection<>() {
+            @Override
+            public Iterator<Value_> iterator() {
+                return new ExtraSlotIterator<>(delegateMap.values().iterator()) {
+                    @Override
+                    @SuppressWarnings("unchecked")
+                    Value_ fromDelegate(Object delegateItem) {
+                        return (Value_) delegateItem;
+                    }
+
+                    @Override
+                    Value_ fromSlot(int slot) {
+                        return unwrap(extraValues[slot]);
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return IdMirrorWithExtrasMap.this.size();
+            }
+        };
+    }
+
+    /**
+     * Allocates an entry for every extra entry iterated; use {@link #forEachExtra(ExtraEntryConsumer)}
+     * or {@link #forEach(BiConsumer)} on hot paths.
+     */
+    @Override
+    public Set<Entry<Number, Value_>> entrySet() {
+        return new AbstractSet<>() {
+            @Override
+            public Iterator<Entry<Number, Value_>> iterator() {
+                return new ExtraSlotIterator<>(delegateMap.entrySet().iterator()) {
+                    @Override
+                    @SuppressWarnings("unchecked")
+                    Entry<Number, Value_> fromDelegate(Object delegateItem) {
+                        return (Entry<Number, Value_>) delegateItem;
+                    }
+
+                    @Override
+                    Entry<Number, Value_> fromSlot(int slot) {
+                        return new SimpleImmutableEntry<>(extraKeys[slot], unwrap(extraValues[slot]));
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return IdMirrorWithExtrasMap.this.size();
+            }
+        };
+    }
+}
@@ -0,0 +1,108 @@
+package org.optaplanner.optapy;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.optaplanner.jpyinterpreter.types.wrappers.OpaquePythonReference;
+
+/**
+ * A planning clone that was created entirely in Java by {@link PythonPlanningSolutionCloner}.
+ * Until it is materialized, the cloned {@link PythonObject}s and {@link PythonList}s have no CPython object;
+ * their Java state, copied when the clone was made, is the only state of the clone.
+ * The first time any of them is asked for its {@link OpaquePythonReference} (i.e. when the clone is read from Python),
+ * the CPython objects they were cloned from are planning cloned in a single call, and the Java state of the clone
+ * is written to them. Changes made to the cloned solution after the clone was made are therefore not seen by it.
+ */
+public final class LazyPythonPlanningClone {
+    // The first item is always the planning solution
+    private List<PythonObject> clonedObjectList = new ArrayList<>();
+    private List<PythonList<?>> clonedListList = new ArrayList<>();
+
+    // Maps every clone to the CPython object of the instance it was cloned from
+    private Map<Object, OpaquePythonReference> cloneToSourceMap = new IdentityHashMap<>();
+
+    private volatile boolean isMaterialized = false;
+    private boolean isMaterializing = false;
+
+    void addClonedObject(PythonObject clone, OpaquePythonReference source) {
+        clonedObjectList.add(clone);
+        cloneToSourceMap.put(clone, source);
+    }
+
+    void addClonedList(PythonList<?> clone, OpaquePythonReference source) {
+        clonedListList.add(clone);
+        cloneToSourceMap.put(clone, source);
+    }
+
+    public boolean isMaterialized() {
+        return isMaterialized;
+    }
+
+    /**
+     * @return the CPython object {@code clone} was planning cloned from, or null if this clone is materialized
+     *         (in which case {@code clone} has its own CPython object)
+     */
+    synchronized OpaquePythonReference getSourceReference(Object clone) {
+        if (isMaterialized) {
+            return null;
+        }
+        return cloneToSourceMap.get(clone);
+    }
+
+    /**
+     * Creates the CPython objects for this clone if they were not created yet.
+     * Reentrant calls (for instance, from the forceUpdate that syncs the clone's state)
+     * return immediately.
+     */
+    public void materialize() {
+        if (isMaterialized) {
+            return;
+        }
+        synchronized (this) {
+            if (isMaterialized || isMaterializing) {
+                return;
+            }
+            isMaterializing = true;
+            try {
+                List<OpaquePythonReference> sourceList =
+                        new ArrayList<>(clonedObjectList.size() + clonedListList.size());
+                for (PythonObject clonedObject : clonedObjectList) {
+                    sourceList.add(cloneToSourceMap.get(clonedObject));
+                }
+                for (PythonList<?> clonedList : clonedListList) {
+                    sourceList.add(cloneToSourceMap.get(clonedList));
+                }
+
+                List<OpaquePythonReference> pythonCloneList =
+                        PythonPlanningSolutionCloner.planningClonePythonObjects(sourceList);
+
+                for (int i = 0; i < clonedObjectList.size(); i++) {
+                    PythonPlanningSolutionCloner.setPythonReference(clonedObjectList.get(i), pythonCloneList.get(i));
+                }
+                int listOffset = clonedObjectList.size();
+                for (int i = 0; i < clonedListList.size(); i++) {
+                    clonedListList.get(i).setPythonListOpaqueReference(pythonCloneList.get(listOffset + i));
+                }
+
+                // The CPython objects were cloned from the current state of the sources, which may have changed
+                // since this clone was made; overwrite everything the clone tracks in Java (collections,
+                // planning variables, shadow variables and score) with the state it had when it was made
+                for (PythonList<?> clonedList : clonedListList) {
+                    clonedList.forceUpdate();
+                }
+                clonedObjectList.get(0).forceUpdate();
+
+                isMaterialized = true;
+
+                // Do not keep the instances we were cloned from alive
+                clonedObjectList = null;
+                clonedListList = null;
+                cloneToSourceMap = null;
+            } finally {
+                isMaterializing = false;
+            }
+        }
+    }
+}
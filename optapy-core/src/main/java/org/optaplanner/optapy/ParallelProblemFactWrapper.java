@@ -0,0 +1,287 @@
+package org.optaplanner.optapy;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+import org.optaplanner.core.api.domain.solution.ProblemFactCollectionProperty;
+import org.optaplanner.core.api.function.TriFunction;
+import org.optaplanner.jpyinterpreter.PythonLikeObject;
+import org.optaplanner.jpyinterpreter.types.wrappers.OpaquePythonReference;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Wraps the problem fact collections of a planning solution on a fork-join pool, before the solution itself
+ * is wrapped. Each collection is split into chunks; each chunk is wrapped by a worker into its own reference map,
+ * so workers only contend for CPython in the short calls that read an item. Once every chunk of every collection
+ * is done, the worker maps are merged into the solution's reference map and a {@link PythonList} is created for each
+ * collection, so wrapping the solution finds them instead of wrapping every item again.
+ * <p>
+ * Only collections whose items do not reference other Python objects are wrapped in parallel, since two workers
+ * could otherwise create two wrappers for the same referenced object. Other collections are left to
+ * {@link PythonWrapperGenerator#wrap(Class, OpaquePythonReference, Map, TriFunction)}.
+ */
+final class ParallelProblemFactWrapper {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ParallelProblemFactWrapper.class);
+
+    /**
+     * Pools are shared by every solver with the same parallelism; idle workers are reclaimed by the pool itself.
+     */
+    private static final Map<Integer, ForkJoinPool> parallelismToPool = new ConcurrentHashMap<>();
+
+    private static final ClassValue<List<ProblemFactCollectionGetter>> solutionClassToProblemFactCollectionGetters =
+            new ClassValue<>() {
+                @Override
+                protected List<ProblemFactCollectionGetter> computeValue(Class<?> solutionClass) {
+                    List<ProblemFactCollectionGetter> out = new ArrayList<>();
+                    for (Method method : solutionClass.getMethods()) {
+                        if (!method.isAnnotationPresent(ProblemFactCollectionProperty.class)
+                                || !List.class.isAssignableFrom(method.getReturnType())) {
+                            continue;
+                        }
+                        Class<?> itemClass = getListItemClass(method.getGenericReturnType());
+                        String pythonGetterName = getPythonGetterName(solutionClass, method.getName());
+                        if (itemClass != null && pythonGetterName != null && isLeafClass.get(itemClass)) {
+                            out.add(new ProblemFactCollectionGetter(pythonGetterName));
+                        }
+                    }
+                    return out;
+                }
+            };
+
+    /**
+     * True for generated classes whose instances do not reference other Python objects
+     * (i.e. wrapping an instance never wraps another object).
+     */
+    private static final ClassValue<Boolean> isLeafClass = new ClassValue<>() {
+        @Override
+        protected Boolean computeValue(Class<?> type) {
+            if (!PythonObject.class.isAssignableFrom(type)) {
+                return false;
+            }
+            for (Class<?> declaringClass = type; declaringClass != null
+                    && PythonObject.class.isAssignableFrom(declaringClass); declaringClass = declaringClass.getSuperclass()) {
+                for (Field field : declaringClass.getDeclaredFields()) {
+                    if (!field.getName().endsWith("$field")) {
+                        continue;
+                    }
+                    Class<?> fieldType = field.getType();
+                    if (fieldType == Object.class || fieldType.isArray() || PythonObject.class.isAssignableFrom(fieldType)
+                            || Collection.class.isAssignableFrom(fieldType) || Map.class.isAssignableFrom(fieldType)
+                            || OpaquePythonReference.class.isAssignableFrom(fieldType)) {
+                        return false;
+                    }
+                }
+            }
+            return true;
+        }
+    };
+
+    private static final class ProblemFactCollectionGetter {
+        private final String pythonGetterName;
+
+        private ProblemFactCollectionGetter(String pythonGetterName) {
+            this.pythonGetterName = pythonGetterName;
+        }
+    }
+
+    private static Class<?> getListItemClass(Type listType) {
+        if (listType instanceof ParameterizedType) {
+            Type[] typeArguments = ((ParameterizedType) listType).getActualTypeArguments();
+            if (typeArguments.length == 1 && typeArguments[0] instanceof Class) {
+                return (Class<?>) typeArguments[0];
+            }
+        }
+        return null;
+    }
+
+    /**
+     * The generated field of a getter is named after the Python getter; a Python getter named
+     * get_x has a Java getter named getX.
+     */
+    private static String getPythonGetterName(Class<?> solutionClass, String javaGetterName) {
+        List<String> candidateList = new ArrayList<>(2);
+        candidateList.add(javaGetterName);
+        if (javaGetterName.startsWith("get") && javaGetterName.length() > 3) {
+            candidateList.add("get_" + Character.toLowerCase(javaGetterName.charAt(3)) + javaGetterName.substring(4));
+        }
+        for (String candidate : candidateList) {
+            for (Class<?> declaringClass = solutionClass; declaringClass != null; declaringClass =
+                    declaringClass.getSuperclass()) {
+                try {
+                    declaringClass.getDeclaredField(candidate + "$field");
+                    return candidate;
+                } catch (NoSuchFieldException e) {
+                    // try the superclass
+                }
+            }
+        }
+        return null;
+    }
+
+    private final OpaquePythonReference problem;
+    private final Map<Number, Object> referenceMap;
+    private final TriFunction<OpaquePythonReference, String, Object, Object> pythonSetter;
+    private final int chunkSize;
+
+    ParallelProblemFactWrapper(OpaquePythonReference problem, Map<Number, Object> referenceMap,
+            TriFunction<OpaquePythonReference, String, Object, Object> pythonSetter, int chunkSize) {
+        this.problem = problem;
+        this.referenceMap = referenceMap;
+        this.pythonSetter = pythonSetter;
+        this.chunkSize = Math.max(1, chunkSize);
+    }
+
+    /**
+     * The result of wrapping the items in [start, end) of a collection.
+     */
+    private static final class ChunkResult {
+        // null if the chunk contained an item that cannot be wrapped in parallel
+        private final Object[] wrappedItems;
+        private final IdMirrorWithExtrasMap<Object> workerReferenceMap;
+        private final long durationInNanos;
+
+        private ChunkResult(Object[] wrappedItems, IdMirrorWithExtrasMap<Object> workerReferenceMap,
+                long durationInNanos) {
+            this.wrappedItems = wrappedItems;
+            this.workerReferenceMap = workerReferenceMap;
+            this.durationInNanos = durationInNanos;
+        }
+    }
+
+    private static final class CollectionJob {
+        private final String name;
+        private final OpaquePythonReference listReference;
+        private final List<OpaquePythonReference> itemReferenceList;
+        private final List<ForkJoinTask<ChunkResult>> chunkTaskList = new ArrayList<>();
+
+        private CollectionJob(String name, OpaquePythonReference listReference,
+                List<OpaquePythonReference> itemReferenceList) {
+            this.name = name;
+            this.listReference = listReference;
+            this.itemReferenceList = itemReferenceList;
+        }
+    }
+
+    static ForkJoinPool getPool(int parallelism) {
+        return parallelismToPool.computeIfAbsent(Math.max(1, parallelism), ForkJoinPool::new);
+    }
+
+    void wrapProblemFactCollections(Class<?> solutionClass, int parallelism) {
+        List<ProblemFactCollectionGetter> getterList = solutionClassToProblemFactCollectionGetters.get(solutionClass);
+        if (getterList.isEmpty()) {
+            return;
+        }
+        ForkJoinPool pool = getPool(parallelism);
+        List<CollectionJob> jobList = new ArrayList<>(getterList.size());
+        for (ProblemFactCollectionGetter getter : getterList) {
+            Object value = PythonWrapperGenerator.getValueFromPythonObject(problem, getter.pythonGetterName);
+            if (!(value instanceof OpaquePythonReference)) {
+                continue;
+            }
+            OpaquePythonReference listReference = (OpaquePythonReference) value;
+            CollectionJob job = new CollectionJob(getter.pythonGetterName, listReference,
+                    PythonWrapperGenerator.pythonArrayIdToIdArray.apply(listReference));
+            for (int start = 0; start < job.itemReferenceList.size(); start += chunkSize) {
+                int chunkStart = start;
+                int chunkEnd = Math.min(start + chunkSize, job.itemReferenceList.size());
+                job.chunkTaskList.add(pool.submit(() -> wrapChunk(job.itemReferenceList, chunkStart, chunkEnd)));
+            }
+            jobList.add(job);
+        }
+
+        // Workers read the shared reference map, so nothing can be merged into it until every chunk is done
+        List<List<ChunkResult>> chunkResultListList = new ArrayList<>(jobList.size());
+        for (CollectionJob job : jobList) {
+            List<ChunkResult> chunkResultList = new ArrayList<>(job.chunkTaskList.size());
+            for (ForkJoinTask<ChunkResult> chunkTask : job.chunkTaskList) {
+                chunkResultList.add(chunkTask.join());
+            }
+            chunkResultListList.add(chunkResultList);
+        }
+
+        for (int i = 0; i < jobList.size(); i++) {
+            CollectionJob job = jobList.get(i);
+            List<ChunkResult> chunkResultList = chunkResultListList.get(i);
+            long mergeStartTime = System.nanoTime();
+            long wrapTimeInNanos = 0L;
+            for (ChunkResult chunkResult : chunkResultList) {
+                wrapTimeInNanos += chunkResult.durationInNanos;
+            }
+            boolean isMerged = merge(job, chunkResultList);
+            LOGGER.debug("Wrapped problem fact collection ({}) with {} items in {} chunks: "
+                    + "{} ms wrapping (summed over workers), {} ms merging{}.",
+                    job.name, job.itemReferenceList.size(), chunkResultList.size(),
+                    wrapTimeInNanos / 1_000_000L, (System.nanoTime() - mergeStartTime) / 1_000_000L,
+                    isMerged ? "" : " (discarded, since it contains items that reference other objects)");
+        }
+    }
+
+    private ChunkResult wrapChunk(List<OpaquePythonReference> itemReferenceList, int start, int end) {
+        long startTime = System.nanoTime();
+        // Writes go to the worker map; the shared reference map is only written to after every worker is done
+        IdMirrorWithExtrasMap<Object> workerReferenceMap = new IdMirrorWithExtrasMap<>(referenceMap);
+        Object[] wrappedItems = new Object[end - start];
+        for (int i = start; i < end; i++) {
+            OpaquePythonReference itemReference = itemReferenceList.get(i);
+            Class<?> itemClass = PythonWrapperGenerator.getJavaClass(itemReference);
+            if (!isLeafClass.get(itemClass)) {
+                return new ChunkResult(null, workerReferenceMap, System.nanoTime() - startTime);
+            }
+            wrappedItems[i - start] = PythonWrapperGenerator.wrap(itemClass, itemReference, workerReferenceMap,
+                    pythonSetter);
+        }
+        return new ChunkResult(wrappedItems, workerReferenceMap, System.nanoTime() - startTime);
+    }
+
+    /**
+     * @return true if the collection was merged, false if it was discarded
+     */
+    private boolean merge(CollectionJob job, List<ChunkResult> chunkResultList) {
+        for (ChunkResult chunkResult : chunkResultList) {
+            if (chunkResult.wrappedItems == null) {
+                return false;
+            }
+        }
+
+        // The same object can be in several chunks (or collections); the first wrapper merged is used everywhere
+        Map<Object, Object> wrapperToCanonicalWrapperMap = new IdentityHashMap<>();
+        for (ChunkResult chunkResult : chunkResultList) {
+            chunkResult.workerReferenceMap.forEachExtra((id, wrapper) -> {
+                Object canonicalWrapper = referenceMap.get(id);
+                if (canonicalWrapper == null) {
+                    referenceMap.put(id, wrapper);
+                    canonicalWrapper = wrapper;
+                }
+                wrapperToCanonicalWrapperMap.put(wrapper, canonicalWrapper);
+            });
+        }
+
+        List<Object> cachedObjectList = new ArrayList<>(job.itemReferenceList.size());
+        List<PythonLikeObject> cachedPythonLikeObjectList = new ArrayList<>(job.itemReferenceList.size());
+        for (ChunkResult chunkResult : chunkResultList) {
+            for (Object wrappedItem : chunkResult.wrappedItems) {
+                Object canonicalWrapper = wrapperToCanonicalWrapperMap.getOrDefault(wrappedItem, wrappedItem);
+                cachedObjectList.add(canonicalWrapper);
+                cachedPythonLikeObjectList.add((PythonLikeObject) canonicalWrapper);
+            }
+        }
+
+        Number listId = PythonWrapperGenerator.pythonObjectToId.apply(job.listReference);
+        if (!referenceMap.containsKey(listId)) {
+            referenceMap.put(listId, new PythonList<>(job.listReference, referenceMap, pythonSetter,
+                    cachedObjectList, cachedPythonLikeObjectList));
+        }
+        return true;
+    }
+}
@@ -0,0 +1,54 @@
+package org.optaplanner.optapy;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.optaplanner.jpyinterpreter.types.wrappers.OpaquePythonReference;
+
+/**
+ * Collects attributes to set on Python Objects, so the attributes of every Python Object that are set
+ * with the same attribute names are set in a single call to CPython when the batch is flushed
+ * (see {@link PythonWrapperGenerator#setValuesOnPythonObjects(List, String[], Object[])}).
+ * Used by {@link PythonObject#forceUpdate(PythonAttributeBatch)} to update every entity of a collection at once.
+ */
+public final class PythonAttributeBatch {
+    private final Map<List<String>, Batch> attributeNamesToBatch = new LinkedHashMap<>();
+
+    private static final class Batch {
+        private final String[] attributeNames;
+        private final List<OpaquePythonReference> objectIdList = new ArrayList<>();
+        private final List<Object> valueList = new ArrayList<>();
+
+        private Batch(String[] attributeNames) {
+            this.attributeNames = attributeNames;
+        }
+    }
+
+    /**
+     * Adds attributes to set on a Python Object when this batch is flushed.
+     *
+     * @param objectId The Python Object to set the attributes on
+     * @param attributeNames The names of the setters to call
+     * @param values values[i] is the value to call attributeNames[i] with
+     */
+    public void add(OpaquePythonReference objectId, String[] attributeNames, Object[] values) {
+        Batch batch = attributeNamesToBatch.computeIfAbsent(Arrays.asList(attributeNames),
+                ignored -> new Batch(attributeNames));
+        batch.objectIdList.add(objectId);
+        batch.valueList.addAll(Arrays.asList(values));
+    }
+
+    /**
+     * Sets every attribute added since the last flush, in one call per distinct attribute names.
+     */
+    public void flush() {
+        for (Batch batch : attributeNamesToBatch.values()) {
+            PythonWrapperGenerator.setValuesOnPythonObjects(batch.objectIdList, batch.attributeNames,
+                    batch.valueList.toArray());
+        }
+        attributeNamesToBatch.clear();
+    }
+}
@@ -1,5 +1,6 @@
 package org.optaplanner.optapy;
 
+import java.util.concurrent.atomic.AtomicReferenceArray;
 import java.util.function.BiFunction;
 import java.util.function.Function;
 
@@ -11,6 +12,11 @@ import org.optaplanner.jpyinterpreter.types.wrappers.PythonObjectWrapper;
 @SuppressWarnings("unused")
 public class PythonComparable implements Comparable<PythonComparable>, OpaqueJavaReference {
 
+    // Number of compareTo results remembered by an immutable PythonComparable; must be a power of 2
+    private static final int COMPARE_CACHE_SIZE = 8;
+
+    private static final long HASH_COMPUTED_BIT = 1L << 32;
+
     // Compares two OpaquePythonReference
     private static BiFunction<OpaquePythonReference, OpaquePythonReference, Integer> pythonObjectCompareTo;
 
@@ -54,26 +60,103 @@ public class PythonComparable implements Comparable<PythonComparable>, OpaqueJav
 
     public final OpaquePythonReference reference;
 
+    /**
+     * If true, the Python object never changes after construction, so its hash and comparisons can be cached.
+     * Set for instances of classes decorated with {@code @problem_fact(immutable=True)}.
+     */
+    private final boolean isImmutable;
+
+    /**
+     * The id of the Python object; only used if isImmutable. Every conversion of a Python object to Java
+     * creates a new {@link OpaquePythonReference} proxy, so the identity of {@link #reference} cannot be used
+     * to tell if two PythonComparable are for the same Python object. Since {@link #reference} keeps
+     * the Python object alive, no other Python object can have this id while this PythonComparable exists.
+     */
+    private final long pythonId;
+
+    // 0 if not computed yet; otherwise the hash of the Python object in the low 32 bits and HASH_COMPUTED_BIT set.
+    // Only used if isImmutable.
+    private volatile long hash;
+
+    // Direct-mapped cache of compareTo results, indexed by the id of the other Python object;
+    // only used if isImmutable
+    private volatile AtomicReferenceArray<CompareResult> compareResultCache;
+
     public PythonComparable(OpaquePythonReference reference) {
+        this(reference, false, 0L);
+    }
+
+    public PythonComparable(OpaquePythonReference reference, boolean isImmutable, long pythonId) {
         this.reference = reference;
+        this.isImmutable = isImmutable;
+        this.pythonId = pythonId;
+    }
+
+    public boolean isImmutable() {
+        return isImmutable;
+    }
+
+    private boolean isSamePythonObject(PythonComparable other) {
+        return reference == other.reference || (isImmutable && other.isImmutable && pythonId == other.pythonId);
     }
 
     @Override
     public int compareTo(PythonComparable other) {
-        return pythonObjectCompareTo.apply(reference, other.reference);
+        if (!isImmutable || !other.isImmutable) {
+            return pythonObjectCompareTo.apply(reference, other.reference);
+        }
+        if (isSamePythonObject(other)) {
+            return 0;
+        }
+
+        AtomicReferenceArray<CompareResult> cache = compareResultCache;
+        if (cache == null) {
+            synchronized (this) {
+                cache = compareResultCache;
+                if (cache == null) {
+                    cache = new AtomicReferenceArray<>(COMPARE_CACHE_SIZE);
+                    compareResultCache = cache;
+                }
+            }
+        }
+        int index = Long.hashCode(other.pythonId) & (COMPARE_CACHE_SIZE - 1);
+        CompareResult cachedResult = cache.get(index);
+        if (cachedResult != null && cachedResult.otherPythonId == other.pythonId) {
+            return cachedResult.result;
+        }
+        int result = pythonObjectCompareTo.apply(reference, other.reference);
+        cache.set(index, new CompareResult(other, result));
+        return result;
     }
 
     @Override
     public boolean equals(Object other) {
         if (other instanceof PythonComparable) {
-            return pythonObjectEquals.apply(reference, ((PythonComparable) other).reference);
+            PythonComparable otherComparable = (PythonComparable) other;
+            if (isImmutable && otherComparable.isImmutable) {
+                if (isSamePythonObject(otherComparable)) {
+                    return true;
+                }
+                if (hashCode() != otherComparable.hashCode()) {
+                    return false;
+                }
+            }
+            return pythonObjectEquals.apply(reference, otherComparable.reference);
         }
         return false;
     }
 
     @Override
     public int hashCode() {
-        return pythonObjectHash.apply(reference);
+        if (!isImmutable) {
+            return pythonObjectHash.apply(reference);
+        }
+        long out = hash;
+        if (out == 0L) {
+            out = HASH_COMPUTED_BIT | (pythonObjectHash.apply(reference) & 0xFFFF_FFFFL);
+            hash = out;
+        }
+        return (int) out;
     }
 
     @Override
@@ -85,4 +168,17 @@ public class PythonComparable implements Comparable<PythonComparable>, OpaqueJav
     public PythonLikeObject proxy() {
         return new PythonObjectWrapper(reference);
     }
+
+    private static final class CompareResult {
+        private final long otherPythonId;
+        // Keeps the other Python object alive, so its id cannot be reused by another Python object
+        private final OpaquePythonReference otherReference;
+        private final int result;
+
+        private CompareResult(PythonComparable other, int result) {
+            this.otherPythonId = other.pythonId;
+            this.otherReference = other.reference;
+            this.result = result;
+        }
+    }
 }
@@ -6,9 +6,9 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.ListIterator;
 import java.util.Map;
-import java.util.Set;
 import java.util.function.BiFunction;
 import java.util.function.Function;
+import java.util.function.Predicate;
 
 import org.optaplanner.core.api.function.TriFunction;
 import org.optaplanner.jpyinterpreter.PythonLikeObject;
@@ -17,6 +17,22 @@ import org.optaplanner.jpyinterpreter.types.collections.PythonLikeList;
 import org.optaplanner.jpyinterpreter.types.wrappers.OpaquePythonReference;
 
 public class PythonList<T> extends PythonLikeList<T> implements PythonObject, List<T> {
+    private static volatile boolean useWriteBehind = false;
+
+    // Past this many pending changes, the whole list is sent instead of the change log
+    private static final int MAX_PENDING_CHANGE_COUNT = 32;
+
+    // Encoded in the low two bits of each pending change; the index is in the remaining bits
+    private static final int CHANGE_ADD_AT_INDEX = 0;
+    private static final int CHANGE_SET_AT_INDEX = 1;
+    private static final int CHANGE_REMOVE_AT_INDEX = 2;
+
+    // Guards pendingChangeListList and the change log of every list. Changes are sent by whichever thread
+    // next observes a list, which need not be the thread that made them.
+    private static final Object PENDING_CHANGE_LOCK = new Object();
+    private static final List<PythonList<?>> pendingChangeListList = new ArrayList<>();
+    private static volatile boolean isAnyChangePending = false;
+
     private static Function<OpaquePythonReference, Object> clearPythonList;
     private static Function<OpaquePythonReference, Integer> getPythonListLength;
     private static BiFunction<OpaquePythonReference, Integer, Object> getItemAtIndexInPythonList;
@@ -27,6 +43,8 @@ public class PythonList<T> extends PythonLikeList<T> implements PythonObject, Li
     private static BiFunction<OpaquePythonReference, Integer, Boolean> removeItemAtIndexFromPythonList;
     private static BiFunction<OpaquePythonReference, Object, Boolean> doesPythonListContainItem;
     private static TriFunction<OpaquePythonReference, Integer, Integer, OpaquePythonReference> slicePythonList;
+    private static BiFunction<OpaquePythonReference, List<Object>, Object> setPythonListItems;
+    private static TriFunction<OpaquePythonReference, int[], Object[], Object> applyChangesToPythonList;
 
     public static void setClearPythonList(Function<OpaquePythonReference, Object> clearPythonList) {
         PythonList.clearPythonList = clearPythonList;
@@ -75,14 +93,74 @@ public class PythonList<T> extends PythonLikeList<T> implements PythonObject, Li
         PythonList.slicePythonList = slicePythonList;
     }
 
+    public static void setSetPythonListItems(BiFunction<OpaquePythonReference, List<Object>, Object> setPythonListItems) {
+        PythonList.setPythonListItems = setPythonListItems;
+    }
+
+    public static void setApplyChangesToPythonList(
+            TriFunction<OpaquePythonReference, int[], Object[], Object> applyChangesToPythonList) {
+        PythonList.applyChangesToPythonList = applyChangesToPythonList;
+    }
+
+    public static boolean isUseWriteBehind() {
+        return useWriteBehind;
+    }
+
+    /**
+     * If true, changes made in Java are not sent to the CPython list immediately.
+     * Instead, they are recorded in a change log that is sent in a single call when
+     * Python next observes the list (see {@link #flushPendingChanges()}).
+     * If false, every change is sent to the CPython list immediately.
+     *
+     * @param useWriteBehind true to record changes, false to send them immediately. When switching to false,
+     *        pending changes are sent first.
+     */
+    public static void setUseWriteBehind(boolean useWriteBehind) {
+        if (!useWriteBehind) {
+            flushPendingChanges();
+        }
+        PythonList.useWriteBehind = useWriteBehind;
+    }
+
+    /**
+     * Sends the pending changes of every list to CPython, whichever thread made them.
+     * Called whenever a {@link PythonObject} is passed to Python.
+     */
+    public static void flushPendingChanges() {
+        if (!isAnyChangePending) {
+            return;
+        }
+        synchronized (PENDING_CHANGE_LOCK) {
+            if (pendingChangeListList.isEmpty()) {
+                return;
+            }
+            // Flushing converts items to CPython references, which can call this method again
+            PythonList<?>[] toFlush = pendingChangeListList.toArray(new PythonList<?>[0]);
+            pendingChangeListList.clear();
+            isAnyChangePending = false;
+            for (PythonList<?> pythonList : toFlush) {
+                pythonList.flush();
+            }
+        }
+    }
+
     private OpaquePythonReference pythonListOpaqueReference;
     private Map<Number, Object> idMap;
 
+    // Write-behind change log, guarded by PENDING_CHANGE_LOCK; encoded changes and their values (null for removals)
+    private int[] pendingChanges;
+    private Object[] pendingChangeValues;
+    private int pendingChangeCount = 0;
+    private boolean isPendingFullResync = false;
+
     private TriFunction<OpaquePythonReference, String, Object, Object> pythonSetter;
 
     private final List<Object> cachedObjectList;
     private final List<PythonLikeObject> cachedPythonLikeObjectList;
 
+    // Not null iff this list is part of a planning clone made in Java that may not have a CPython list yet
+    private final LazyPythonPlanningClone lazyPlanningClone;
+
     public PythonList(OpaquePythonReference pythonListOpaqueReference, Number id, Map<Number, Object> idMap,
             TriFunction<OpaquePythonReference, String, Object, Object> pythonSetter) {
         this.pythonListOpaqueReference = pythonListOpaqueReference;
@@ -91,6 +169,7 @@ public class PythonList<T> extends PythonLikeList<T> implements PythonObject, Li
         int size = getPythonListLength.apply(pythonListOpaqueReference);
         this.cachedObjectList = new ArrayList<>(size);
         this.cachedPythonLikeObjectList = getDelegate();
+        this.lazyPlanningClone = null;
         for (int i = 0; i < size; i++) {
             cachedObjectList.add(null);
             cachedPythonLikeObjectList.add(null);
@@ -108,13 +187,167 @@ public class PythonList<T> extends PythonLikeList<T> implements PythonObject, Li
         this.pythonSetter = pythonSetter;
         this.cachedObjectList = cachedObjectList;
         this.cachedPythonLikeObjectList = cachedPythonLikeObjectList;
+        this.lazyPlanningClone = null;
+    }
+
+    /**
+     * Creates a list whose items were already wrapped, used by {@link ParallelProblemFactWrapper}.
+     */
+    PythonList(OpaquePythonReference pythonListOpaqueReference, Map<Number, Object> idMap,
+            TriFunction<OpaquePythonReference, String, Object, Object> pythonSetter, List<Object> cachedObjectList,
+            List<PythonLikeObject> cachedPythonLikeObjectList) {
+        super(cachedPythonLikeObjectList);
+        this.pythonListOpaqueReference = pythonListOpaqueReference;
+        this.idMap = idMap;
+        this.pythonSetter = pythonSetter;
+        this.cachedObjectList = cachedObjectList;
+        this.cachedPythonLikeObjectList = cachedPythonLikeObjectList;
+        this.lazyPlanningClone = null;
+    }
+
+    /**
+     * Creates a planning clone of {@code source}, used by {@link PythonPlanningSolutionCloner} when cloning in Java.
+     * The clone has no CPython list until {@code lazyPlanningClone} is materialized.
+     */
+    PythonList(PythonList<?> source, List<Object> cachedObjectList, List<PythonLikeObject> cachedPythonLikeObjectList,
+            LazyPythonPlanningClone lazyPlanningClone) {
+        super(cachedPythonLikeObjectList);
+        this.pythonListOpaqueReference = null;
+        this.idMap = source.idMap;
+        this.pythonSetter = source.pythonSetter;
+        this.cachedObjectList = cachedObjectList;
+        this.cachedPythonLikeObjectList = cachedPythonLikeObjectList;
+        this.lazyPlanningClone = lazyPlanningClone;
+    }
+
+    List<Object> getCachedObjectList() {
+        return cachedObjectList;
+    }
+
+    List<PythonLikeObject> getCachedPythonLikeObjectList() {
+        return cachedPythonLikeObjectList;
+    }
+
+    /**
+     * @return the CPython list a planning clone of this list is cloned from. Unlike {@link #get__optapy_Id()},
+     *         this does not materialize this list if it is itself part of a lazy planning clone.
+     */
+    OpaquePythonReference getPlanningCloneSourceReference() {
+        if (lazyPlanningClone != null) {
+            OpaquePythonReference sourceReference = lazyPlanningClone.getSourceReference(this);
+            if (sourceReference != null) {
+                return sourceReference;
+            }
+        }
+        return pythonListOpaqueReference;
+    }
+
+    void setPythonListOpaqueReference(OpaquePythonReference pythonListOpaqueReference) {
+        this.pythonListOpaqueReference = pythonListOpaqueReference;
     }
 
     @Override
     public OpaquePythonReference get__optapy_Id() {
+        if (lazyPlanningClone != null) {
+            lazyPlanningClone.materialize();
+        }
+        flushPendingChanges();
         return pythonListOpaqueReference;
     }
 
+    private static Object toPythonItem(Object item) {
+        if (item instanceof PythonObject) {
+            return ((PythonObject) item).get__optapy_Id();
+        }
+        return item;
+    }
+
+    private boolean hasPendingChanges() {
+        return pendingChangeCount > 0 || isPendingFullResync;
+    }
+
+    /**
+     * @return true if the change should be sent to CPython immediately, false if it was recorded
+     *         (or does not need to be sent at all)
+     */
+    private boolean recordChange(int changeType, int index, Object value) {
+        if (pythonSetter == PythonWrapperGenerator.NONE_PYTHON_SETTER) {
+            return false;
+        }
+        if (!useWriteBehind) {
+            return true;
+        }
+        synchronized (PENDING_CHANGE_LOCK) {
+            markPending();
+            if (isPendingFullResync) {
+                return false;
+            }
+            if (pendingChangeCount == MAX_PENDING_CHANGE_COUNT) {
+                isPendingFullResync = true;
+                pendingChanges = null;
+                pendingChangeValues = null;
+                pendingChangeCount = 0;
+                return false;
+            }
+            if (pendingChanges == null) {
+                pendingChanges = new int[MAX_PENDING_CHANGE_COUNT];
+                pendingChangeValues = new Object[MAX_PENDING_CHANGE_COUNT];
+            }
+            pendingChanges[pendingChangeCount] = (index << 2) | changeType;
+            pendingChangeValues[pendingChangeCount] = value;
+            pendingChangeCount++;
+            return false;
+        }
+    }
+
+    private void recordFullResync() {
+        synchronized (PENDING_CHANGE_LOCK) {
+            markPending();
+            isPendingFullResync = true;
+            pendingChanges = null;
+            pendingChangeValues = null;
+            pendingChangeCount = 0;
+        }
+    }
+
+    private void markPending() {
+        if (!hasPendingChanges()) {
+            pendingChangeListList.add(this);
+            isAnyChangePending = true;
+        }
+    }
+
+    private void clearPendingChanges() {
+        isPendingFullResync = false;
+        pendingChanges = null;
+        pendingChangeValues = null;
+        pendingChangeCount = 0;
+    }
+
+    private void flush() {
+        if (isPendingFullResync) {
+            clearPendingChanges();
+            setAllItemsOnPythonList();
+        } else if (pendingChangeCount > 0) {
+            int[] changes = new int[pendingChangeCount];
+            Object[] values = new Object[pendingChangeCount];
+            System.arraycopy(pendingChanges, 0, changes, 0, pendingChangeCount);
+            for (int i = 0; i < pendingChangeCount; i++) {
+                values[i] = toPythonItem(pendingChangeValues[i]);
+            }
+            clearPendingChanges();
+            applyChangesToPythonList.apply(pythonListOpaqueReference, changes, values);
+        }
+    }
+
+    private void setAllItemsOnPythonList() {
+        List<Object> pythonItemList = new ArrayList<>(cachedObjectList.size());
+        for (Object item : cachedObjectList) {
+            pythonItemList.add(toPythonItem(item));
+        }
+        setPythonListItems.apply(pythonListOpaqueReference, pythonItemList);
+    }
+
     @Override
     public Map<Number, Object> get__optapy_reference_map() {
         return idMap;
@@ -122,6 +355,18 @@ public class PythonList<T> extends PythonLikeList<T> implements PythonObject, Li
 
     @Override
     public void forceUpdate() {
+        if (lazyPlanningClone != null) {
+            // Materializing writes every list of the clone
+            lazyPlanningClone.materialize();
+        }
+        // The whole list is rewritten, so any pending change is obsolete
+        synchronized (PENDING_CHANGE_LOCK) {
+            clearPendingChanges();
+        }
+        if (setPythonListItems != null) {
+            setAllItemsOnPythonList();
+            return;
+        }
         clearPythonList.apply(pythonListOpaqueReference);
         for (Object o : cachedObjectList) {
             if (o instanceof OpaquePythonReference) {
@@ -140,7 +385,7 @@ public class PythonList<T> extends PythonLikeList<T> implements PythonObject, Li
     }
 
     @Override
-    public void readFromPythonObject(Set doneSet, Map<Number, Object> referenceMap) {
+    public void readFromPythonObject(Predicate<Object> shouldRead, Map<Number, Object> referenceMap) {
 
     }
 
@@ -212,7 +457,7 @@ public class PythonList<T> extends PythonLikeList<T> implements PythonObject, Li
         cachedObjectList.add(t);
         cachedPythonLikeObjectList.add(JavaPythonTypeConversionImplementor.wrapJavaObject(t));
 
-        if (pythonSetter != PythonWrapperGenerator.NONE_PYTHON_SETTER) {
+        if (recordChange(CHANGE_ADD_AT_INDEX, cachedObjectList.size() - 1, t)) {
             if (t instanceof OpaquePythonReference) {
                 addItemToPythonList.apply(pythonListOpaqueReference, t);
             } else if (t instanceof PythonObject) {
@@ -226,10 +471,17 @@ public class PythonList<T> extends PythonLikeList<T> implements PythonObject, Li
 
     @Override
     public boolean remove(Object t) {
+        int index = cachedObjectList.indexOf(t);
         boolean out = cachedObjectList.remove(t);
         cachedPythonLikeObjectList.remove(JavaPythonTypeConversionImplementor.wrapJavaObject(t));
 
-        if (pythonSetter != PythonWrapperGenerator.NONE_PYTHON_SETTER) {
+        boolean isWriteBehind = useWriteBehind;
+        if (out && isWriteBehind && pythonSetter != PythonWrapperGenerator.NONE_PYTHON_SETTER) {
+            recordChange(CHANGE_REMOVE_AT_INDEX, index, null);
+            return true;
+        }
+
+        if (pythonSetter != PythonWrapperGenerator.NONE_PYTHON_SETTER && !isWriteBehind) {
             if (t instanceof OpaquePythonReference) {
                 return removeItemFromPythonList.apply(pythonListOpaqueReference, t);
             } else if (t instanceof PythonObject) {
@@ -296,7 +548,11 @@ public class PythonList<T> extends PythonLikeList<T> implements PythonObject, Li
         cachedPythonLikeObjectList.clear();
 
         if (pythonSetter != PythonWrapperGenerator.NONE_PYTHON_SETTER) {
-            clearPythonList.apply(pythonListOpaqueReference);
+            if (useWriteBehind) {
+                recordFullResync();
+            } else {
+                clearPythonList.apply(pythonListOpaqueReference);
+            }
         }
     }
 
@@ -311,7 +567,8 @@ public class PythonList<T> extends PythonLikeList<T> implements PythonObject, Li
             return (T) maybeResult;
         }
 
-        Object out = getItemAtIndexInPythonList.apply(pythonListOpaqueReference, i);
+        // Indices of the CPython list are only valid once it is up-to-date (which get__optapy_Id ensures)
+        Object out = getItemAtIndexInPythonList.apply(get__optapy_Id(), i);
 
         if (out instanceof Number || out instanceof Boolean || out instanceof String) {
             if (out instanceof Long) {
@@ -344,7 +601,7 @@ public class PythonList<T> extends PythonLikeList<T> implements PythonObject, Li
         cachedObjectList.set(i, t);
         cachedPythonLikeObjectList.set(i, JavaPythonTypeConversionImplementor.wrapJavaObject(t));
 
-        if (pythonSetter != PythonWrapperGenerator.NONE_PYTHON_SETTER) {
+        if (recordChange(CHANGE_SET_AT_INDEX, i, t)) {
             if (t instanceof OpaquePythonReference) {
                 setItemAtIndexInPythonList.apply(pythonListOpaqueReference, i, t);
             } else if (t instanceof PythonObject) {
@@ -361,7 +618,7 @@ public class PythonList<T> extends PythonLikeList<T> implements PythonObject, Li
         cachedObjectList.add(i, t);
         cachedPythonLikeObjectList.add(i, JavaPythonTypeConversionImplementor.wrapJavaObject(t));
 
-        if (pythonSetter != PythonWrapperGenerator.NONE_PYTHON_SETTER) {
+        if (recordChange(CHANGE_ADD_AT_INDEX, i, t)) {
             if (t instanceof OpaquePythonReference) {
                 addItemAtIndexInPythonList.apply(pythonListOpaqueReference, i, t);
             } else if (t instanceof PythonObject) {
@@ -378,7 +635,7 @@ public class PythonList<T> extends PythonLikeList<T> implements PythonObject, Li
         cachedObjectList.remove(i);
         cachedPythonLikeObjectList.remove(i);
 
-        if (pythonSetter != PythonWrapperGenerator.NONE_PYTHON_SETTER) {
+        if (recordChange(CHANGE_REMOVE_AT_INDEX, i, null)) {
             removeItemAtIndexFromPythonList.apply(pythonListOpaqueReference, i);
         }
         return out;
@@ -418,13 +675,13 @@ public class PythonList<T> extends PythonLikeList<T> implements PythonObject, Li
 
     @Override
     public List subList(int start, int end) {
-        return new PythonList(slicePythonList.apply(pythonListOpaqueReference, start, end), null, null, pythonSetter,
+        return new PythonList(slicePythonList.apply(get__optapy_Id(), start, end), null, null, pythonSetter,
                 cachedObjectList.subList(start, end), cachedPythonLikeObjectList.subList(start, end));
     }
 
     @Override
     public String toString() {
-        return PythonWrapperGenerator.getPythonObjectString(pythonListOpaqueReference);
+        return PythonWrapperGenerator.getPythonObjectString(get__optapy_Id());
     }
 
     public class PythonListIterator implements ListIterator {
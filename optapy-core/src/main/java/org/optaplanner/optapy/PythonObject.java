@@ -1,7 +1,7 @@
 package org.optaplanner.optapy;
 
 import java.util.Map;
-import java.util.Set;
+import java.util.function.Predicate;
 
 import org.optaplanner.core.api.function.TriFunction;
 import org.optaplanner.jpyinterpreter.PythonLikeObject;
@@ -32,9 +32,37 @@ public interface PythonObject extends PythonLikeObject {
 
     void forceUpdate();
 
-    void readFromPythonObject(Set doneSet, Map<Number, Object> referenceMap);
+    /**
+     * Does what {@link #forceUpdate()} does, except attributes it would set on Python Objects in a single call
+     * are added to attributeBatch instead, so the attributes of several PythonObjects can be set in a single call.
+     *
+     * @param attributeBatch The batch the caller flushes once every PythonObject was updated.
+     */
+    default void forceUpdate(PythonAttributeBatch attributeBatch) {
+        forceUpdate();
+    }
+
+    /**
+     * Reads the fields of this PythonObject, and of the PythonObjects it references, from the Python Object.
+     *
+     * @param shouldRead Called once with each PythonObject before it is read; returns true if it should be read
+     *        (and marks it as read), false if it was already read or does not need to be read.
+     * @param referenceMap The map of references to use for values read from the Python Object.
+     */
+    void readFromPythonObject(Predicate<Object> shouldRead, Map<Number, Object> referenceMap);
 
     void visitIds(Map<Number, Object> referenceMap);
 
     void $setFields(OpaquePythonReference reference, Number id, Map referenceMap, TriFunction setter);
+
+    /**
+     * Reads the value of the given variable from the Python Object and
+     * sets it on this PythonObject using its Java setter.
+     *
+     * @param variableName The name of the variable that was changed in Python
+     * @return true if this PythonObject has a variable with the given name, false otherwise.
+     */
+    default boolean $updateVariableFromPythonObject(String variableName) {
+        return false;
+    }
 }
@@ -1,27 +1,124 @@
 package org.optaplanner.optapy;
 
+import java.lang.reflect.Array;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Modifier;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Deque;
 import java.util.HashMap;
 import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.function.Function;
+import java.util.function.Predicate;
 
+import org.optaplanner.core.api.domain.entity.PlanningEntity;
+import org.optaplanner.core.api.domain.solution.PlanningSolution;
 import org.optaplanner.core.api.domain.solution.cloner.SolutionCloner;
 import org.optaplanner.core.api.function.TriFunction;
+import org.optaplanner.jpyinterpreter.CPythonBackedPythonInterpreter;
+import org.optaplanner.jpyinterpreter.PythonLikeObject;
+import org.optaplanner.jpyinterpreter.types.AbstractPythonLikeObject;
 import org.optaplanner.jpyinterpreter.types.CPythonBackedPythonLikeObject;
+import org.optaplanner.jpyinterpreter.types.PythonLikeType;
 import org.optaplanner.jpyinterpreter.types.wrappers.OpaquePythonReference;
 
 public class PythonPlanningSolutionCloner implements SolutionCloner<Object> {
-    // A function in python that deep clones a given OpaquePythonReference
-    private static Function<PythonObject, OpaquePythonReference> deepClonePythonObject;
+    // The field of CPythonBackedPythonLikeObject that holds its CPython object
+    private static final String CPYTHON_REFERENCE_FIELD_NAME = "$cpythonReference";
+
+    /**
+     * If true, solutions that only use Java setters (see {@link PythonSolver#onlyUseJavaSetters})
+     * are planning cloned in Java, and the CPython clone is only created when the clone is read from Python.
+     * If false, every clone is done by CPython.
+     */
+    private static volatile boolean useJavaPlanningClone = false;
+
+    // A function in python that planning clones a given OpaquePythonReference, and returns an array containing
+    // the clone, the ids of the Python objects that were cloned (long[]) and the ids of their clones (long[])
+    private static Function<PythonObject, Object[]> deepClonePythonObject;
+
+    // A function in python that planning clones a list of OpaquePythonReference (the first being the planning solution)
+    // using a shared memo, and return the clones in the same order
+    private static Function<List<OpaquePythonReference>, List<OpaquePythonReference>> planningClonePythonObjects;
+
+    // Excludes the fields of AbstractPythonLikeObject, which are copied by AbstractPythonLikeObject.$copyAttributesFrom
+    private static final ClassValue<Field[]> classToInstanceFields = new ClassValue<>() {
+        @Override
+        protected Field[] computeValue(Class<?> type) {
+            List<Field> out = new ArrayList<>();
+            for (Class<?> declaringClass = type; declaringClass != null && declaringClass != Object.class
+                    && declaringClass != AbstractPythonLikeObject.class; declaringClass = declaringClass.getSuperclass()) {
+                for (Field field : declaringClass.getDeclaredFields()) {
+                    if (!Modifier.isStatic(field.getModifiers())) {
+                        field.setAccessible(true);
+                        out.add(field);
+                    }
+                }
+            }
+            return out.toArray(new Field[0]);
+        }
+    };
+
+    private static final ClassValue<Boolean> classToIsPlanningCloned = new ClassValue<>() {
+        @Override
+        protected Boolean computeValue(Class<?> type) {
+            return PythonObject.class.isAssignableFrom(type) && (type.isAnnotationPresent(PlanningEntity.class)
+                    || type.isAnnotationPresent(PlanningSolution.class));
+        }
+    };
+
+    // null if the class cannot be instantiated without CPython
+    private static final ClassValue<Constructor<?>> classToCloneConstructor = new ClassValue<>() {
+        @Override
+        protected Constructor<?> computeValue(Class<?> type) {
+            try {
+                return type.getConstructor(PythonLikeType.class);
+            } catch (NoSuchMethodException e) {
+                return null;
+            }
+        }
+    };
+
+    public static boolean isUseJavaPlanningClone() {
+        return useJavaPlanningClone;
+    }
+
+    public static void setUseJavaPlanningClone(boolean useJavaPlanningClone) {
+        PythonPlanningSolutionCloner.useJavaPlanningClone = useJavaPlanningClone;
+    }
 
     @SuppressWarnings("unused")
-    public static void setDeepClonePythonObject(Function<PythonObject, OpaquePythonReference> cloner) {
+    public static void setDeepClonePythonObject(Function<PythonObject, Object[]> cloner) {
         deepClonePythonObject = cloner;
     }
 
+    @SuppressWarnings("unused")
+    public static void setPlanningClonePythonObjects(
+            Function<List<OpaquePythonReference>, List<OpaquePythonReference>> cloner) {
+        planningClonePythonObjects = cloner;
+    }
+
+    static List<OpaquePythonReference> planningClonePythonObjects(List<OpaquePythonReference> sourceList) {
+        return planningClonePythonObjects.apply(sourceList);
+    }
+
+    static void setPythonReference(PythonObject pythonObject, OpaquePythonReference reference) {
+        try {
+            pythonObject.getClass().getField(PythonWrapperGenerator.PYTHON_BINDING_FIELD_NAME).set(pythonObject, reference);
+        } catch (NoSuchFieldException | IllegalAccessException e) {
+            throw new IllegalStateException(e);
+        }
+        if (pythonObject instanceof CPythonBackedPythonLikeObject) {
+            ((CPythonBackedPythonLikeObject) pythonObject).$setCPythonReference(reference);
+        }
+    }
+
     @Override
     public Object cloneSolution(Object o) {
         // Deep clone the OpaquePythonReference
@@ -33,31 +130,59 @@ public class PythonPlanningSolutionCloner implements SolutionCloner<Object> {
         } catch (NoSuchFieldException | IllegalAccessException e) {
             throw new IllegalStateException(e);
         }
+
+        if (useJavaPlanningClone && pythonSetter == PythonWrapperGenerator.NONE_PYTHON_SETTER) {
+            // Java fields are the source of truth, so the clone can be done without CPython
+            Object out = new JavaPlanningCloner(toClone).cloneSolution();
+            if (out != null) {
+                return out;
+            }
+        }
+
         if (pythonSetter == PythonWrapperGenerator.NONE_PYTHON_SETTER) {
             toClone.forceUpdate();
         }
 
-        OpaquePythonReference planningClone = deepClonePythonObject.apply(toClone);
+        Object[] planningCloneAndIds = deepClonePythonObject.apply(toClone);
+        OpaquePythonReference planningClone = (OpaquePythonReference) planningCloneAndIds[0];
+        long[] originalIds = (long[]) planningCloneAndIds[1];
+        long[] cloneIds = (long[]) planningCloneAndIds[2];
+        Map<Number, Object> referenceMap = toClone.get__optapy_reference_map();
 
         // Wrap the deep cloned OpaquePythonReference into a new PythonObject
-        PythonObject out =
-                (PythonObject) PythonWrapperGenerator.wrap(o.getClass(), planningClone, toClone.get__optapy_reference_map(),
-                        pythonSetter);
-
-        Map<Number, Object> oldIdMap = new HashMap<>();
-        Map<Number, Object> newIdMap = new HashMap<>();
-        toClone.visitIds(oldIdMap);
-        out.visitIds(newIdMap);
-
-        for (Number id : oldIdMap.keySet()) {
-            if (!newIdMap.containsKey(id)) {
-                toClone.get__optapy_reference_map().remove(id);
-            } else {
-                newIdMap.remove(id);
+        // (which puts the wrappers of every planning cloned object into the reference map)
+        IdMirrorWithExtrasMap<Object> recordingReferenceMap = (referenceMap instanceof IdMirrorWithExtrasMap)
+                ? (IdMirrorWithExtrasMap<Object>) referenceMap
+                : null;
+        PythonObject out;
+        List<Object> createdWrapperList = null;
+        if (recordingReferenceMap != null) {
+            recordingReferenceMap.startRecordingPuts();
+        }
+        try {
+            out = (PythonObject) PythonWrapperGenerator.wrap(o.getClass(), planningClone, referenceMap, pythonSetter);
+        } finally {
+            if (recordingReferenceMap != null) {
+                createdWrapperList = recordingReferenceMap.stopRecordingPuts();
             }
         }
 
-        toClone.get__optapy_reference_map().putAll(newIdMap);
+        // Only the planning cloned objects changed identity; everything else is shared with toClone and is already
+        // in the reference map, so the bookkeeping below is proportional to the number of planning cloned objects,
+        // not to the number of problem facts
+        Set<Object> clonedWrapperSet = Collections.newSetFromMap(new IdentityHashMap<>(cloneIds.length));
+        for (long cloneId : cloneIds) {
+            Object clonedWrapper = referenceMap.get(cloneId);
+            if (clonedWrapper != null) {
+                clonedWrapperSet.add(clonedWrapper);
+            }
+        }
+        for (long originalId : originalIds) {
+            Object original = referenceMap.get(originalId);
+            if (original != null && !clonedWrapperSet.contains(original)) {
+                referenceMap.remove(originalId);
+            }
+        }
 
         // Mirror the reference map (not pass a reference to it)
         // so Score + list variables can be safely garbage collected in Python
@@ -65,17 +190,228 @@ public class PythonPlanningSolutionCloner implements SolutionCloner<Object> {
         //  which is used when cloning. If score/list variable was garbage collected by Python, another
         //  Python Object can have the same id, leading to the old value in the map being returned,
         //  causing an exception (or worse, a subtle bug))
-        Map<Number, Object> newReferenceMap = new MirrorWithExtrasMap<>(out.get__optapy_reference_map());
-        out.readFromPythonObject(Collections.newSetFromMap(new IdentityHashMap<>()),
+        IdMirrorWithExtrasMap<Object> newReferenceMap = new IdMirrorWithExtrasMap<>(out.get__optapy_reference_map());
+        out.readFromPythonObject(getShouldReadClonedWrapperPredicate(clonedWrapperSet, createdWrapperList),
                 newReferenceMap);
 
-        List<Object> referencedValues = new ArrayList<>(newReferenceMap.values());
+        // Shared objects did not change, so only the clone and what was read from it need to be read again
+        List<Object> referencedValues = new ArrayList<>(clonedWrapperSet.size() + newReferenceMap.extraSize());
+        for (Number cloneId : cloneIds) {
+            Object clonedWrapper = referenceMap.get(cloneId);
+            if (clonedWrapper != null) {
+                referencedValues.add(clonedWrapper);
+            }
+        }
+        newReferenceMap.forEachExtra((id, value) -> referencedValues.add(value));
+        List<CPythonBackedPythonLikeObject> toReadList = new ArrayList<>(referencedValues.size());
         for (Object value : referencedValues) {
             if (value instanceof CPythonBackedPythonLikeObject) {
-                ((CPythonBackedPythonLikeObject) value).$readFieldsFromCPythonReference();
+                toReadList.add((CPythonBackedPythonLikeObject) value);
             }
         }
+        CPythonBackedPythonInterpreter.readFieldsFromCPythonReferences(toReadList);
 
         return out;
     }
+
+    /**
+     * The predicate passed to {@link PythonObject#readFromPythonObject(Predicate, Map)} when reading a clone created
+     * by CPython. Objects shared with the cloned solution were already read, so only the planning cloned wrappers
+     * and the wrappers created when wrapping the clone are read, each once.
+     *
+     * @param clonedWrapperSet The wrappers of the planning cloned objects
+     * @param createdWrapperList The wrappers created when wrapping the clone, or null if they are unknown,
+     *        in which case every object is read once
+     */
+    static Predicate<Object> getShouldReadClonedWrapperPredicate(Set<Object> clonedWrapperSet,
+            List<Object> createdWrapperList) {
+        if (createdWrapperList == null) {
+            return Collections.newSetFromMap(new IdentityHashMap<>())::add;
+        }
+        Set<Object> unreadWrapperSet =
+                Collections.newSetFromMap(new IdentityHashMap<>(clonedWrapperSet.size() + createdWrapperList.size()));
+        unreadWrapperSet.addAll(clonedWrapperSet);
+        unreadWrapperSet.addAll(createdWrapperList);
+        return unreadWrapperSet::remove;
+    }
+
+    /**
+     * Planning clones the generated Java wrappers of a solution without calling CPython.
+     * The planning solution, planning entities, planning entity collections and lists owned
+     * by planning entities (i.e. list variables) are cloned; everything else (problem facts, scores)
+     * is shared with the original.
+     */
+    private static final class JavaPlanningCloner {
+        private final PythonObject toClone;
+        private final LazyPythonPlanningClone lazyPlanningClone = new LazyPythonPlanningClone();
+        private final Map<Object, Object> originalToCloneMap = new IdentityHashMap<>();
+        private final Deque<Object> originalsToCopyDeque = new ArrayDeque<>();
+        private boolean isSupported = true;
+
+        private JavaPlanningCloner(PythonObject toClone) {
+            this.toClone = toClone;
+        }
+
+        /**
+         * @return the clone, or null if the solution contains a class that cannot be cloned in Java
+         */
+        private Object cloneSolution() {
+            Object out = cloneIfNeeded(toClone, false, false);
+            while (isSupported && !originalsToCopyDeque.isEmpty()) {
+                Object original = originalsToCopyDeque.poll();
+                copyFields(original, originalToCloneMap.get(original));
+            }
+            return isSupported ? out : null;
+        }
+
+        private Object cloneIfNeeded(Object original, boolean isOwnedByEntity, boolean isOwnedBySolution) {
+            if (original == null) {
+                return null;
+            }
+            Object existingClone = originalToCloneMap.get(original);
+            if (existingClone != null) {
+                return existingClone;
+            }
+
+            if (classToIsPlanningCloned.get(original.getClass())) {
+                return clonePythonObject((PythonObject) original);
+            } else if (original instanceof PythonList) {
+                PythonList<?> originalList = (PythonList<?>) original;
+                if (isOwnedByEntity || (isOwnedBySolution && containsPlanningClonedItem(originalList))) {
+                    return clonePythonList(originalList);
+                }
+            } else if (original instanceof Object[] && isOwnedBySolution) {
+                Object[] originalArray = (Object[]) original;
+                if (classToIsPlanningCloned.get(originalArray.getClass().getComponentType())) {
+                    return cloneArray(originalArray);
+                }
+            }
+            return original;
+        }
+
+        private static boolean containsPlanningClonedItem(PythonList<?> list) {
+            // Collections are homogeneous, so it is enough to check the first item
+            for (Object item : list.getCachedObjectList()) {
+                if (item != null) {
+                    return classToIsPlanningCloned.get(item.getClass());
+                }
+            }
+            return false;
+        }
+
+        private Object clonePythonObject(PythonObject original) {
+            Constructor<?> constructor = classToCloneConstructor.get(original.getClass());
+            if (constructor == null) {
+                isSupported = false;
+                return original;
+            }
+            try {
+                PythonObject clone = (PythonObject) constructor.newInstance(
+                        original.getClass().getField(PythonWrapperGenerator.PYTHON_LIKE_TYPE_FIELD_NAME).get(null));
+                originalToCloneMap.put(original, clone);
+                originalsToCopyDeque.add(original);
+                lazyPlanningClone.addClonedObject(clone, getPlanningCloneSourceReference(original));
+                return clone;
+            } catch (InstantiationException | IllegalAccessException | InvocationTargetException
+                    | NoSuchFieldException e) {
+                throw new IllegalStateException("Unable to planning clone (" + original + ").", e);
+            }
+        }
+
+        private PythonList<?> clonePythonList(PythonList<?> original) {
+            List<Object> originalObjectList = original.getCachedObjectList();
+            List<PythonLikeObject> originalPythonLikeObjectList = original.getCachedPythonLikeObjectList();
+            List<Object> cloneObjectList = new ArrayList<>(originalObjectList.size());
+            List<PythonLikeObject> clonePythonLikeObjectList = new ArrayList<>(originalPythonLikeObjectList.size());
+
+            PythonList<?> clone = new PythonList<>(original, cloneObjectList, clonePythonLikeObjectList, lazyPlanningClone);
+            originalToCloneMap.put(original, clone);
+            lazyPlanningClone.addClonedList(clone, original.getPlanningCloneSourceReference());
+
+            for (Object item : originalObjectList) {
+                cloneObjectList.add(cloneIfNeeded(item, false, false));
+            }
+            for (PythonLikeObject item : originalPythonLikeObjectList) {
+                clonePythonLikeObjectList.add((PythonLikeObject) cloneIfNeeded(item, false, false));
+            }
+            return clone;
+        }
+
+        private Object[] cloneArray(Object[] original) {
+            Object[] clone = (Object[]) Array.newInstance(original.getClass().getComponentType(), original.length);
+            originalToCloneMap.put(original, clone);
+            for (int i = 0; i < original.length; i++) {
+                clone[i] = cloneIfNeeded(original[i], false, false);
+            }
+            return clone;
+        }
+
+        private void copyFields(Object original, Object clone) {
+            boolean isSolution = original == toClone;
+            boolean isEntity = !isSolution;
+            for (Field field : classToInstanceFields.get(original.getClass())) {
+                try {
+                    Object value = field.get(original);
+                    switch (field.getName()) {
+                        case PythonWrapperGenerator.LAZY_PLANNING_CLONE_FIELD_NAME:
+                            value = lazyPlanningClone;
+                            break;
+                        case PythonWrapperGenerator.PYTHON_BINDING_FIELD_NAME:
+                        case CPYTHON_REFERENCE_FIELD_NAME:
+                            // The clone has no CPython object until it is materialized
+                            value = null;
+                            break;
+                        case PythonWrapperGenerator.PYTHON_LIKE_VALUE_MAP_FIELD_NAME:
+                            // Attributes are per instance; the reference map and instance map are shared
+                            value = cloneAttributeMap((Map<?, ?>) value);
+                            break;
+                        default:
+                            value = cloneIfNeeded(value, isEntity, isSolution);
+                    }
+                    field.set(clone, value);
+                } catch (IllegalAccessException e) {
+                    throw new IllegalStateException("Unable to copy field (" + field + ") when planning cloning ("
+                            + original + ").", e);
+                }
+            }
+            if (original instanceof AbstractPythonLikeObject) {
+                // Attributes are per instance
+                ((AbstractPythonLikeObject) clone).$copyAttributesFrom((AbstractPythonLikeObject) original,
+                        value -> (PythonLikeObject) cloneIfNeeded(value, false, false));
+            }
+        }
+
+        private Map<Object, Object> cloneAttributeMap(Map<?, ?> original) {
+            if (original == null) {
+                return null;
+            }
+            Map<Object, Object> out = new HashMap<>(original.size());
+            for (Map.Entry<?, ?> entry : original.entrySet()) {
+                out.put(entry.getKey(), cloneIfNeeded(entry.getValue(), false, false));
+            }
+            return out;
+        }
+
+        /**
+         * @return the CPython object a planning clone of {@code pythonObject} is cloned from. Unlike
+         *         {@link PythonObject#get__optapy_Id()}, this does not materialize {@code pythonObject}
+         *         if it is itself part of a lazy planning clone.
+         */
+        private static OpaquePythonReference getPlanningCloneSourceReference(PythonObject pythonObject) {
+            try {
+                LazyPythonPlanningClone lazyPlanningClone = (LazyPythonPlanningClone) pythonObject.getClass()
+                        .getField(PythonWrapperGenerator.LAZY_PLANNING_CLONE_FIELD_NAME).get(pythonObject);
+                if (lazyPlanningClone != null) {
+                    OpaquePythonReference sourceReference = lazyPlanningClone.getSourceReference(pythonObject);
+                    if (sourceReference != null) {
+                        return sourceReference;
+                    }
+                }
+                return (OpaquePythonReference) pythonObject.getClass()
+                        .getField(PythonWrapperGenerator.PYTHON_BINDING_FIELD_NAME).get(pythonObject);
+            } catch (NoSuchFieldException | IllegalAccessException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    }
 }
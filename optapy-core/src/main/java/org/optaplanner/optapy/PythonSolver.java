@@ -5,12 +5,16 @@ import java.util.Collections;
 import java.util.IdentityHashMap;
 import java.util.Map;
 
+import org.optaplanner.core.api.function.TriFunction;
 import org.optaplanner.core.api.score.stream.ConstraintProvider;
 import org.optaplanner.jpyinterpreter.CPythonBackedPythonInterpreter;
 import org.optaplanner.jpyinterpreter.types.wrappers.OpaquePythonReference;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 @SuppressWarnings("unused")
 public class PythonSolver {
+    private static final Logger LOGGER = LoggerFactory.getLogger(PythonSolver.class);
 
     /**
      * If true, only use Java setters and only go back to CPython for cloning.
@@ -18,19 +22,84 @@ public class PythonSolver {
      */
     public static boolean onlyUseJavaSetters = false;
 
+    private static volatile boolean useParallelWrap = false;
+    private static volatile int parallelWrapThreadCount = Runtime.getRuntime().availableProcessors();
+    private static volatile int parallelWrapChunkSize = 4096;
+
+    public static boolean isUseParallelWrap() {
+        return useParallelWrap;
+    }
+
+    /**
+     * @param useParallelWrap If true, {@link #wrapProblem(Class, OpaquePythonReference)} wraps problem fact
+     *        collections in parallel before wrapping the rest of the problem (see {@link ParallelProblemFactWrapper}),
+     *        and logs how long each collection and phase took.
+     *        If false, the whole problem is wrapped on the calling thread.
+     */
+    public static void setUseParallelWrap(boolean useParallelWrap) {
+        PythonSolver.useParallelWrap = useParallelWrap;
+    }
+
+    public static int getParallelWrapThreadCount() {
+        return parallelWrapThreadCount;
+    }
+
+    /**
+     * @param parallelWrapThreadCount The number of threads used to wrap problem fact collections
+     *        when {@link #isUseParallelWrap()} is true.
+     */
+    public static void setParallelWrapThreadCount(int parallelWrapThreadCount) {
+        if (parallelWrapThreadCount < 1) {
+            throw new IllegalArgumentException("The parallelWrapThreadCount (" + parallelWrapThreadCount
+                    + ") must be at least 1.");
+        }
+        PythonSolver.parallelWrapThreadCount = parallelWrapThreadCount;
+    }
+
+    public static int getParallelWrapChunkSize() {
+        return parallelWrapChunkSize;
+    }
+
+    /**
+     * @param parallelWrapChunkSize The maximum number of items of a problem fact collection wrapped by a single task
+     *        when {@link #isUseParallelWrap()} is true.
+     */
+    public static void setParallelWrapChunkSize(int parallelWrapChunkSize) {
+        if (parallelWrapChunkSize < 1) {
+            throw new IllegalArgumentException("The parallelWrapChunkSize (" + parallelWrapChunkSize
+                    + ") must be at least 1.");
+        }
+        PythonSolver.parallelWrapChunkSize = parallelWrapChunkSize;
+    }
+
     public static Map<Number, Object> getNewReferenceMap() {
-        return new MirrorWithExtrasMap<>(CPythonBackedPythonInterpreter.pythonObjectIdToConvertedObjectMap);
+        return new IdMirrorWithExtrasMap<>(CPythonBackedPythonInterpreter.getPythonObjectIdToConvertedObjectMap());
     }
 
     public static Object wrapProblem(Class<?> solutionClass, OpaquePythonReference problem) {
         try {
             final boolean onlyUseJavaSettersForThisInstance = onlyUseJavaSetters;
             onlyUseJavaSetters = false;
-            PythonObject out = (PythonObject) PythonWrapperGenerator.wrap(solutionClass, problem,
-                    getNewReferenceMap(),
+            TriFunction<OpaquePythonReference, String, Object, Object> pythonSetter =
                     onlyUseJavaSettersForThisInstance ? PythonWrapperGenerator.NONE_PYTHON_SETTER
-                            : PythonWrapperGenerator.pythonObjectIdAndAttributeSetter);
+                            : PythonWrapperGenerator.pythonObjectIdAndAttributeSetter;
+            // Each solver run starts with an empty converted object map,
+            // so objects converted for a previous run are not kept alive or reused by this one
+            CPythonBackedPythonInterpreter.newPythonObjectIdToConvertedObjectMap();
+            Map<Number, Object> referenceMap = getNewReferenceMap();
+
+            final boolean useParallelWrapForThisInstance = useParallelWrap;
+            long startTime = System.nanoTime();
+            if (useParallelWrapForThisInstance) {
+                new ParallelProblemFactWrapper(problem, referenceMap, pythonSetter, parallelWrapChunkSize)
+                        .wrapProblemFactCollections(solutionClass, parallelWrapThreadCount);
+            }
+            long wrapStartTime = System.nanoTime();
+            PythonObject out = (PythonObject) PythonWrapperGenerator.wrap(solutionClass, problem, referenceMap,
+                    pythonSetter);
+            long visitIdsStartTime = System.nanoTime();
             out.visitIds(out.get__optapy_reference_map());
+            long readStartTime = System.nanoTime();
 
             // Mirror the reference map (not pass a reference to it)
             // so Score + list variables can be safely garbage collected in Python
@@ -38,8 +107,16 @@ public class PythonSolver {
             //  which is used when cloning. If score/list variable was garbage collected by Python, another
             //  Python Object can have the same id, leading to the old value in the map being returned,
             //  causing an exception (or worse, a subtle bug))
-            out.readFromPythonObject(Collections.newSetFromMap(new IdentityHashMap<>()),
-                    new MirrorWithExtrasMap<>(out.get__optapy_reference_map()));
+            out.readFromPythonObject(Collections.newSetFromMap(new IdentityHashMap<>())::add,
+                    new IdMirrorWithExtrasMap<>(out.get__optapy_reference_map()));
+            if (useParallelWrapForThisInstance) {
+                long endTime = System.nanoTime();
+                LOGGER.info("Wrapped problem in {} ms: {} ms for parallel problem fact collections, {} ms wrapping, "
+                        + "{} ms visiting ids, {} ms reading.",
+                        (endTime - startTime) / 1_000_000L, (wrapStartTime - startTime) / 1_000_000L,
+                        (visitIdsStartTime - wrapStartTime) / 1_000_000L, (readStartTime - visitIdsStartTime) / 1_000_000L,
+                        (endTime - readStartTime) / 1_000_000L);
+            }
             return out;
         } catch (Throwable t) {
             throw new OptaPyException("A problem occurred when wrapping the python problem (" +
@@ -64,8 +141,8 @@ public class PythonSolver {
             //  which is used when cloning. If score/list variable was garbage collected by Python, another
             //  Python Object can have the same id, leading to the old value in the map being returned,
             //  causing an exception (or worse, a subtle bug))
-            out.readFromPythonObject(Collections.newSetFromMap(new IdentityHashMap<>()),
-                    new MirrorWithExtrasMap<>(out.get__optapy_reference_map()));
+            out.readFromPythonObject(Collections.newSetFromMap(new IdentityHashMap<>())::add,
+                    new IdMirrorWithExtrasMap<>(out.get__optapy_reference_map()));
             return out;
         } catch (Throwable t) {
             throw new OptaPyException("A problem occurred when wrapping the python fact (" +
@@ -0,0 +1,98 @@
+package org.optaplanner.optapy;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * An on-disk cache of the bytecode of the classes generated by {@link PythonWrapperGenerator}
+ * for planning solutions, planning entities and problem facts.
+ * <p>
+ * Entries are keyed by the generated class name and a cache key computed in Python from the
+ * Python class (its source, annotations and the Java classes it references), so a changed
+ * Python class never loads stale bytecode. Any IO error when reading or writing the cache
+ * is logged and treated as a cache miss, since the class can always be generated again.
+ */
+public final class PythonWrapperClassCache {
+    private static final Logger LOGGER = LoggerFactory.getLogger(PythonWrapperClassCache.class);
+
+    /**
+     * Part of the name of every cache file. Increment it whenever {@link PythonWrapperGenerator} changes the
+     * classes it generates, so classes generated by an older version are never loaded.
+     */
+    static final int CACHE_FORMAT_VERSION = 3;
+
+    /**
+     * Where cached class files are read from and written to; null (the default) disables the cache
+     */
+    private static volatile Path cacheRootPath = null;
+
+    private PythonWrapperClassCache() {
+    }
+
+    public static Path getCacheRootPath() {
+        return cacheRootPath;
+    }
+
+    /**
+     * @param cacheRootPath The directory to read cached classes from and write generated classes to,
+     *        or null to disable the cache.
+     */
+    public static void setCacheRootPath(Path cacheRootPath) {
+        PythonWrapperClassCache.cacheRootPath = cacheRootPath;
+    }
+
+    private static Path getCacheFile(Path cacheRootPath, String className, String cacheKey) {
+        return cacheRootPath.resolve(className + "-v" + CACHE_FORMAT_VERSION + "-" + cacheKey + ".class");
+    }
+
+    private static boolean isValidCacheKey(String cacheKey) {
+        return cacheKey != null && cacheKey.matches("[0-9a-f]+");
+    }
+
+    /**
+     * @return the cached bytecode of the class, or null if it is not cached
+     */
+    static byte[] load(String className, String cacheKey) {
+        Path cacheRootPath = PythonWrapperClassCache.cacheRootPath;
+        if (cacheRootPath == null || !isValidCacheKey(cacheKey)) {
+            return null;
+        }
+        Path cacheFile = getCacheFile(cacheRootPath, className, cacheKey);
+        if (!Files.isRegularFile(cacheFile)) {
+            return null;
+        }
+        try {
+            return Files.readAllBytes(cacheFile);
+        } catch (IOException e) {
+            LOGGER.warn("Could not read cached class ({}); the class will be generated instead.", cacheFile, e);
+            return null;
+        }
+    }
+
+    static void store(String className, String cacheKey, byte[] bytecode) {
+        Path cacheRootPath = PythonWrapperClassCache.cacheRootPath;
+        if (cacheRootPath == null || !isValidCacheKey(cacheKey)) {
+            return;
+        }
+        Path cacheFile = getCacheFile(cacheRootPath, className, cacheKey);
+        try {
+            Files.createDirectories(cacheRootPath);
+            // Write to a temporary file first, so concurrent starts never read a partially written class
+            Path temporaryFile = Files.createTempFile(cacheRootPath, className, ".tmp");
+            try {
+                Files.write(temporaryFile, bytecode);
+                Files.move(temporaryFile, cacheFile, StandardCopyOption.REPLACE_EXISTING,
+                        StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(temporaryFile);
+            }
+        } catch (IOException e) {
+            LOGGER.warn("Could not cache class ({}); it will be generated again on the next start.", cacheFile, e);
+        }
+    }
+}
@@ -13,15 +13,16 @@ import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
 import java.lang.reflect.Proxy;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
-import java.util.Set;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.BiFunction;
 import java.util.function.Function;
+import java.util.function.Predicate;
 import java.util.function.Supplier;
 
 import org.objectweb.asm.Type;
@@ -81,7 +82,7 @@ public class PythonWrapperGenerator {
     private static Function<OpaquePythonReference, Class<?>> pythonGetJavaClass;
 
     // Maps a OpaquePythonReference that represents an array of objects to a list of its values
-    private static Function<OpaquePythonReference, List<OpaquePythonReference>> pythonArrayIdToIdArray;
+    static Function<OpaquePythonReference, List<OpaquePythonReference>> pythonArrayIdToIdArray;
 
     // Maps a OptaquePythonReference that represents an array of primitive types to their values
     private static Function<OpaquePythonReference, List<Object>> pythonArrayToJavaList;
@@ -92,6 +93,14 @@ public class PythonWrapperGenerator {
     // Sets an attribute on a OpaquePythonReference
     public static TriFunction<OpaquePythonReference, String, Object, Object> pythonObjectIdAndAttributeSetter;
 
+    // Reads several attributes on a OpaquePythonReference in a single call; the value of
+    // attributeNames[i] is at index i of the returned array
+    private static BiFunction<OpaquePythonReference, String[], Object[]> pythonObjectIdAndAttributeNamesToValues;
+
+    // Sets several attributes on several OpaquePythonReference in a single call; the value of
+    // attributeNames[j] on objectIds[i] is at index (i * attributeNames.length + j) of values
+    private static TriFunction<List<OpaquePythonReference>, String[], Object[], Object> pythonObjectIdsAndAttributesSetter;
+
     // These functions are used in Python to set fields to the corresponding Python function
     @SuppressWarnings("unused")
     public static void setPythonObjectToString(Function<OpaquePythonReference, String> pythonObjectToString) {
@@ -118,6 +127,71 @@ public class PythonWrapperGenerator {
         pythonObjectIdAndAttributeSetter.apply(objectId, attributeName, value);
     }
 
+    @SuppressWarnings("unused")
+    public static Object[] getValuesFromPythonObject(OpaquePythonReference objectId, String[] attributeNames) {
+        if (pythonObjectIdAndAttributeNamesToValues == null) {
+            Object[] out = new Object[attributeNames.length];
+            for (int i = 0; i < attributeNames.length; i++) {
+                out[i] = getValueFromPythonObject(objectId, attributeNames[i]);
+            }
+            return out;
+        }
+        return pythonObjectIdAndAttributeNamesToValues.apply(objectId, attributeNames);
+    }
+
+    public static void setValuesOnPythonObjects(List<OpaquePythonReference> objectIds, String[] attributeNames,
+            Object[] values) {
+        if (objectIds.isEmpty()) {
+            return;
+        }
+        if (pythonObjectIdsAndAttributesSetter == null) {
+            int index = 0;
+            for (OpaquePythonReference objectId : objectIds) {
+                for (String attributeName : attributeNames) {
+                    setValueOnPythonObject(objectId, attributeName, values[index++]);
+                }
+            }
+            return;
+        }
+        pythonObjectIdsAndAttributesSetter.apply(objectIds, attributeNames, values);
+    }
+
+    /**
+     * Calls {@link PythonObject#forceUpdate(PythonAttributeBatch)} on each of the planning entities.
+     */
+    @SuppressWarnings("unused")
+    public static void forceUpdatePythonObjects(Collection<?> pythonObjects, PythonAttributeBatch attributeBatch) {
+        for (Object pythonObject : pythonObjects) {
+            ((PythonObject) pythonObject).forceUpdate(attributeBatch);
+        }
+    }
+
+    /**
+     * Does what {@link PythonObject#readFromPythonObject(Predicate, Map)} does on each of the planning entities or
+     * problem facts, but reads the fields of all of them in one call per class
+     * (see {@link CPythonBackedPythonInterpreter#readFieldsFromCPythonReferences(List)}).
+     */
+    @SuppressWarnings("unused")
+    public static void readFromPythonObjects(Collection<?> pythonObjects, Predicate<Object> shouldRead,
+            Map<Number, Object> referenceMap) {
+        List<CPythonBackedPythonLikeObject> toReadList = new ArrayList<>(pythonObjects.size());
+        for (Object pythonObject : pythonObjects) {
+            if (!(pythonObject instanceof PythonObject)) {
+                continue;
+            }
+            if (!(pythonObject instanceof CPythonBackedPythonLikeObject)) {
+                ((PythonObject) pythonObject).readFromPythonObject(shouldRead, referenceMap);
+                continue;
+            }
+            if (shouldRead.test(pythonObject)) {
+                CPythonBackedPythonLikeObject toRead = (CPythonBackedPythonLikeObject) pythonObject;
+                toRead.$setInstanceMap((Map) referenceMap);
+                toReadList.add(toRead);
+            }
+        }
+        CPythonBackedPythonInterpreter.readFieldsFromCPythonReferences(toReadList);
+    }
+
     @SuppressWarnings("unused")
     public static void setListValueOnPythonObject(OpaquePythonReference objectId, String attributeName, List javaList,
             Map<Number, Object> idMap, TriFunction updatePythonValue) {
@@ -155,6 +229,18 @@ public class PythonWrapperGenerator {
         pythonObjectIdAndAttributeSetter = setter;
     }
 
+    @SuppressWarnings("unused")
+    public static void setPythonObjectIdAndAttributeNamesToValues(
+            BiFunction<OpaquePythonReference, String[], Object[]> function) {
+        pythonObjectIdAndAttributeNamesToValues = function;
+    }
+
+    @SuppressWarnings("unused")
+    public static void setPythonObjectIdsAndAttributesSetter(
+            TriFunction<List<OpaquePythonReference>, String[], Object[], Object> setter) {
+        pythonObjectIdsAndAttributesSetter = setter;
+    }
+
     @SuppressWarnings("unused")
     public static String getPythonObjectString(OpaquePythonReference pythonObject) {
         return pythonObjectToString.apply(pythonObject);
@@ -195,35 +281,38 @@ public class PythonWrapperGenerator {
     }
 
     @SuppressWarnings("unused") // used by variable listener/custom shadow variable on Python side
-    public static void updateVariableFromPythonObject(PythonObject object, String variableName)
-            throws IllegalAccessException, InvocationTargetException {
-        Object newValue;
-        try {
-            newValue = getValueFromPythonObject(object.get__optapy_Id(), "get_" + variableName);
-        } catch (OptaPyException e1) {
-            try {
-                newValue = getValueFromPythonObject(object.get__optapy_Id(),
-                        "get" + Character.toUpperCase(variableName.charAt(0)) + variableName.substring(1));
-            } catch (OptaPyException e2) {
-                throw new IllegalArgumentException(
-                        "Unable to find variable (" + variableName + ") on entity (" + object + ").");
-            }
+    public static void updateVariableFromPythonObject(PythonObject object, String variableName) {
+        if (!object.$updateVariableFromPythonObject(variableName)) {
+            throw new IllegalArgumentException("Unable to find variable (" + variableName + ") on entity (" + object + ").");
         }
-        String javaSetter = "set" + Character.toUpperCase(variableName.charAt(0)) + variableName.substring(1);
+    }
 
-        for (Method method : object.getClass().getMethods()) {
-            if (method.getName().equals(javaSetter)) {
-                // Need to check if (numeric) value is compatible with method parameter
-                // (in particular, newValue will be a Long if it is integral, but if the Method
-                //  expects an Integer it will throw an exception)
-                if (newValue != null && method.getParameterTypes()[0].equals(Integer.class) && !(newValue instanceof Integer)) {
-                    newValue = ((Number) newValue).intValue();
-                }
-                method.invoke(object, newValue);
-                return;
+    /**
+     * Converts a value returned by {@link #getValueFromPythonObject(OpaquePythonReference, String)} so it can
+     * be passed to a generated setter that takes {@code type}.
+     */
+    @SuppressWarnings("unused") // used by generated $updateVariableFromPythonObject
+    public static Object convertPythonValueToType(Object value, Class<?> type, Map<Number, Object> referenceMap,
+            TriFunction<OpaquePythonReference, String, Object, Object> pythonSetter) {
+        if (value == null || type.isInstance(value)) {
+            return value;
+        }
+        if (Integer.class.equals(type) && value instanceof Number) {
+            // newValue will be a Long if it is integral, but the setter expects an Integer
+            return ((Number) value).intValue();
+        }
+        if (value instanceof OpaquePythonReference) {
+            Class<?> actualClass;
+            if (type.isArray()) {
+                actualClass = type;
+            } else if (Collection.class.isAssignableFrom(type)) {
+                actualClass = List.class;
+            } else {
+                actualClass = getJavaClass((OpaquePythonReference) value);
             }
+            return wrap(actualClass, (OpaquePythonReference) value, referenceMap, pythonSetter);
         }
-        throw new IllegalArgumentException("Unable to find variable (" + variableName + ") on entity (" + object + ").");
+        return value;
     }
 
     @SuppressWarnings("unused")
@@ -284,6 +373,9 @@ public class PythonWrapperGenerator {
     static final String PYTHON_LIKE_VALUE_MAP_FIELD_NAME = "__optaplannerPythonLikeValueCacheMap";
     static final String PYTHON_LIKE_TYPE_FIELD_NAME = "$TYPE";
 
+    // Holds the LazyPythonPlanningClone of objects that were planning cloned in Java
+    static final String LAZY_PLANNING_CLONE_FIELD_NAME = "__optaplannerLazyPlanningClone";
+
     static final TriFunction<OpaquePythonReference, String, Object, Object> NONE_PYTHON_SETTER = (a, b, c) -> null;
 
     private static <T> T wrapArray(Class<T> javaClass, OpaquePythonReference object, Number id, Map<Number, Object> map,
@@ -701,6 +793,19 @@ public class PythonWrapperGenerator {
             boolean defineEqualsAndHashcode,
             List<List<Object>> optaplannerMethodAnnotations,
             Map<String, Object> planningEntityAnnotations) {
+        return definePlanningEntityClass(className, parentClass, defineEqualsAndHashcode, optaplannerMethodAnnotations,
+                planningEntityAnnotations, null);
+    }
+
+    /**
+     * @param cacheKey The key of the class in {@link PythonWrapperClassCache}, or null if the class should not be cached
+     */
+    @SuppressWarnings("unused")
+    public static Class<?> definePlanningEntityClass(String className, Class<?> parentClass,
+            boolean defineEqualsAndHashcode,
+            List<List<Object>> optaplannerMethodAnnotations,
+            Map<String, Object> planningEntityAnnotations,
+            String cacheKey) {
         if (classNameToBytecode.containsKey(className)) {
             try {
                 return asmClassLoader.loadClass(className);
@@ -709,6 +814,16 @@ public class PythonWrapperGenerator {
                         "Impossible State: the class (" + className + ") should exists since it was created");
             }
         }
+        byte[] cachedBytecode = PythonWrapperClassCache.load(className, cacheKey);
+        if (cachedBytecode != null) {
+            // The cached class references the pinning filter class, which holds a Python function
+            Object pinningFilter = planningEntityAnnotations.get("pinningFilter");
+            if (pinningFilter != null) {
+                defineWrapperFunction(className + "PinningFilter", PinningFilter.class, pinningFilter);
+            }
+            writeClassOutput(classNameToBytecode, className, cachedBytecode);
+            return createAndInitializeClass(className);
+        }
         AtomicReference<byte[]> classBytecodeHolder = new AtomicReference<>();
         ClassOutput classOutput = getClassOutput(classBytecodeHolder);
         try (ClassCreator classCreator = ClassCreator.builder()
@@ -734,17 +849,21 @@ public class PythonWrapperGenerator {
                     Map.class);
             FieldDescriptor pythonSetterField = getInheritedFieldDescriptor(classCreator, parentClass,
                     PYTHON_SETTER_FIELD_NAME, TriFunction.class);
+            FieldDescriptor lazyPlanningCloneField = getInheritedFieldDescriptor(classCreator, parentClass,
+                    LAZY_PLANNING_CLONE_FIELD_NAME, LazyPythonPlanningClone.class);
             FieldDescriptor pythonLikeTypeField =
                     classCreator.getFieldCreator(PYTHON_LIKE_TYPE_FIELD_NAME, PythonLikeType.class)
                             .setModifiers(Modifier.PUBLIC | Modifier.STATIC).getFieldDescriptor();
             generateWrapperMethods(classCreator, parentClass, GeneratedClassType.PLANNING_ENTITY,
-                    defineEqualsAndHashcode, valueField, referenceMapField,
+                    defineEqualsAndHashcode, false, valueField, referenceMapField,
                     pythonLikeValueMapField,
                     pythonSetterField,
+                    lazyPlanningCloneField,
                     pythonLikeTypeField,
                     optaplannerMethodAnnotations);
         }
         writeClassOutput(classNameToBytecode, className, classBytecodeHolder.get());
+        PythonWrapperClassCache.store(className, cacheKey, classBytecodeHolder.get());
         return createAndInitializeClass(className);
     }
 
@@ -752,6 +871,30 @@ public class PythonWrapperGenerator {
     public static Class<?> defineProblemFactClass(String className, Class<?> parentClass,
             boolean defineEqualsAndHashcode,
             List<List<Object>> optaplannerMethodAnnotations) {
+        return defineProblemFactClass(className, parentClass, defineEqualsAndHashcode, false,
+                optaplannerMethodAnnotations);
+    }
+
+    /**
+     * @param isImmutable If true, instances never change after construction, so the generated hashCode is cached
+     *        and the generated equals can return early on identity or hash mismatch.
+     */
+    @SuppressWarnings("unused")
+    public static Class<?> defineProblemFactClass(String className, Class<?> parentClass,
+            boolean defineEqualsAndHashcode, boolean isImmutable,
+            List<List<Object>> optaplannerMethodAnnotations) {
+        return defineProblemFactClass(className, parentClass, defineEqualsAndHashcode, isImmutable,
+                optaplannerMethodAnnotations, null);
+    }
+
+    /**
+     * @param cacheKey The key of the class in {@link PythonWrapperClassCache}, or null if the class should not be cached
+     */
+    @SuppressWarnings("unused")
+    public static Class<?> defineProblemFactClass(String className, Class<?> parentClass,
+            boolean defineEqualsAndHashcode, boolean isImmutable,
+            List<List<Object>> optaplannerMethodAnnotations,
+            String cacheKey) {
         if (classNameToBytecode.containsKey(className)) {
             try {
                 return asmClassLoader.loadClass(className);
@@ -760,6 +903,11 @@ public class PythonWrapperGenerator {
                         "Impossible State: the class (" + className + ") should exists since it was created");
             }
         }
+        byte[] cachedBytecode = PythonWrapperClassCache.load(className, cacheKey);
+        if (cachedBytecode != null) {
+            writeClassOutput(classNameToBytecode, className, cachedBytecode);
+            return createAndInitializeClass(className);
+        }
         AtomicReference<byte[]> classBytecodeHolder = new AtomicReference<>();
         ClassOutput classOutput = getClassOutput(classBytecodeHolder);
         try (ClassCreator classCreator = ClassCreator.builder()
@@ -777,15 +925,18 @@ public class PythonWrapperGenerator {
                     Map.class);
             FieldDescriptor pythonSetterField = getInheritedFieldDescriptor(classCreator, parentClass,
                     PYTHON_SETTER_FIELD_NAME, TriFunction.class);
+            FieldDescriptor lazyPlanningCloneField = getInheritedFieldDescriptor(classCreator, parentClass,
+                    LAZY_PLANNING_CLONE_FIELD_NAME, LazyPythonPlanningClone.class);
             FieldDescriptor pythonLikeTypeField =
                     classCreator.getFieldCreator(PYTHON_LIKE_TYPE_FIELD_NAME, PythonLikeType.class)
                             .setModifiers(Modifier.PUBLIC | Modifier.STATIC).getFieldDescriptor();
             generateWrapperMethods(classCreator, parentClass, GeneratedClassType.PROBLEM_FACT, defineEqualsAndHashcode,
-                    valueField, referenceMapField,
-                    pythonLikeValueMapField, pythonSetterField, pythonLikeTypeField,
+                    isImmutable, valueField, referenceMapField,
+                    pythonLikeValueMapField, pythonSetterField, lazyPlanningCloneField, pythonLikeTypeField,
                     optaplannerMethodAnnotations);
         }
         writeClassOutput(classNameToBytecode, className, classBytecodeHolder.get());
+        PythonWrapperClassCache.store(className, cacheKey, classBytecodeHolder.get());
         return createAndInitializeClass(className);
     }
 
@@ -793,6 +944,18 @@ public class PythonWrapperGenerator {
     public static Class<?> definePlanningSolutionClass(String className, Class<?> parentClass,
             boolean defineEqualsAndHashcode,
             List<List<Object>> optaplannerMethodAnnotations) {
+        return definePlanningSolutionClass(className, parentClass, defineEqualsAndHashcode, optaplannerMethodAnnotations,
+                null);
+    }
+
+    /**
+     * @param cacheKey The key of the class in {@link PythonWrapperClassCache}, or null if the class should not be cached
+     */
+    @SuppressWarnings("unused")
+    public static Class<?> definePlanningSolutionClass(String className, Class<?> parentClass,
+            boolean defineEqualsAndHashcode,
+            List<List<Object>> optaplannerMethodAnnotations,
+            String cacheKey) {
         if (classNameToBytecode.containsKey(className)) {
             try {
                 return asmClassLoader.loadClass(className);
@@ -801,6 +964,11 @@ public class PythonWrapperGenerator {
                         "Impossible State: the class (" + className + ") should exists since it was created");
             }
         }
+        byte[] cachedBytecode = PythonWrapperClassCache.load(className, cacheKey);
+        if (cachedBytecode != null) {
+            writeClassOutput(classNameToBytecode, className, cachedBytecode);
+            return createAndInitializeClass(className);
+        }
         AtomicReference<byte[]> classBytecodeHolder = new AtomicReference<>();
         ClassOutput classOutput = getClassOutput(classBytecodeHolder);
         try (ClassCreator classCreator = ClassCreator.builder()
@@ -819,15 +987,19 @@ public class PythonWrapperGenerator {
                     .setModifiers(Modifier.PUBLIC).getFieldDescriptor();
             FieldDescriptor pythonSetterField = classCreator.getFieldCreator(PYTHON_SETTER_FIELD_NAME, TriFunction.class)
                     .setModifiers(Modifier.PUBLIC).getFieldDescriptor();
+            FieldDescriptor lazyPlanningCloneField =
+                    classCreator.getFieldCreator(LAZY_PLANNING_CLONE_FIELD_NAME, LazyPythonPlanningClone.class)
+                            .setModifiers(Modifier.PUBLIC).getFieldDescriptor();
             FieldDescriptor pythonLikeTypeField =
                     classCreator.getFieldCreator(PYTHON_LIKE_TYPE_FIELD_NAME, PythonLikeType.class)
                             .setModifiers(Modifier.PUBLIC | Modifier.STATIC).getFieldDescriptor();
             generateWrapperMethods(classCreator, parentClass, GeneratedClassType.PLANNING_SOLUTION,
-                    defineEqualsAndHashcode, valueField, referenceMapField,
-                    pythonLikeValueMapField, pythonSetterField, pythonLikeTypeField,
+                    defineEqualsAndHashcode, false, valueField, referenceMapField,
+                    pythonLikeValueMapField, pythonSetterField, lazyPlanningCloneField, pythonLikeTypeField,
                     optaplannerMethodAnnotations);
         }
         writeClassOutput(classNameToBytecode, className, classBytecodeHolder.get());
+        PythonWrapperClassCache.store(className, cacheKey, classBytecodeHolder.get());
         return createAndInitializeClass(className);
     }
 
@@ -840,9 +1012,20 @@ public class PythonWrapperGenerator {
 
     // Generate PythonObject interface methods
     private static void generateAsPointer(ClassCreator classCreator, FieldDescriptor valueField,
-            FieldDescriptor referenceMapField, FieldDescriptor pythonLikeObjectValueField,
-            FieldDescriptor typeField) {
+            FieldDescriptor referenceMapField, FieldDescriptor lazyPlanningCloneField) {
         MethodCreator methodCreator = classCreator.getMethodCreator("get__optapy_Id", OpaquePythonReference.class);
+
+        // If this object was planning cloned in Java, the CPython object is only created when it is first requested
+        ResultHandle lazyPlanningClone = methodCreator.readInstanceField(lazyPlanningCloneField, methodCreator.getThis());
+        BytecodeCreator isLazyPlanningCloneBranch = methodCreator.ifNull(lazyPlanningClone).falseBranch();
+        isLazyPlanningCloneBranch.invokeVirtualMethod(
+                MethodDescriptor.ofMethod(LazyPythonPlanningClone.class, "materialize", void.class),
+                lazyPlanningClone);
+
+        // Python may read lists of this object, so they must be up-to-date
+        methodCreator.invokeStaticMethod(
+                MethodDescriptor.ofMethod(PythonList.class, "flushPendingChanges", void.class));
+
         ResultHandle valueResultHandle = methodCreator.readInstanceField(valueField, methodCreator.getThis());
         methodCreator.returnValue(valueResultHandle);
 
@@ -860,6 +1043,8 @@ public class PythonWrapperGenerator {
             List<FieldDescriptor> planningListVariableFieldList, List<String> planningListVariableSetterNameList,
             List<FieldDescriptor> planningScoreFieldList,
             List<String> planningScoreSetterNameList) {
+        MethodDescriptor forceUpdateWithBatchDescriptor =
+                MethodDescriptor.ofMethod(PythonObject.class, "forceUpdate", void.class, PythonAttributeBatch.class);
         MethodCreator methodCreator = classCreator.getMethodCreator("forceUpdate", void.class);
 
         switch (generatedClassType) {
@@ -867,49 +1052,18 @@ public class PythonWrapperGenerator {
                 break; // Do nothing
             }
             case PLANNING_ENTITY: {
-                boolean parentHasForceUpdate = false;
-                try {
-                    if (parentClass != null) {
-                        Method method = parentClass.getMethod("forceUpdate", void.class);
-                        parentHasForceUpdate = !Modifier.isAbstract(method.getModifiers());
-                    }
-                } catch (NoSuchMethodException e) {
-                    // ignore
-                }
-                if (parentHasForceUpdate) {
-                    methodCreator.invokeSpecialInterfaceMethod(MethodDescriptor.ofMethod(PythonObject.class, "forceUpdate",
-                            void.class),
-                            methodCreator.getThis());
-                }
-                ResultHandle thisObj = methodCreator.getThis();
-                ResultHandle opaquePythonReference = methodCreator.readInstanceField(valueField, methodCreator.getThis());
-                for (int i = 0; i < planningVariableFieldList.size(); i++) {
-                    FieldDescriptor planningVariableField = planningVariableFieldList.get(i);
-                    String setterName = planningVariableSetterNameList.get(i);
-
-                    methodCreator.invokeStaticMethod(
-                            MethodDescriptor.ofMethod(PythonWrapperGenerator.class, "setValueOnPythonObject", void.class,
-                                    OpaquePythonReference.class, String.class, Object.class),
-                            opaquePythonReference,
-                            methodCreator.load(setterName),
-                            methodCreator.readInstanceField(planningVariableField, thisObj));
-                }
-
-                for (int i = 0; i < planningListVariableFieldList.size(); i++) {
-                    FieldDescriptor planningListVariableField = planningListVariableFieldList.get(i);
-                    String setterName = planningListVariableSetterNameList.get(i);
-
-                    methodCreator.invokeStaticMethod(
-                            MethodDescriptor.ofMethod(PythonWrapperGenerator.class, "setListValueOnPythonObject", void.class,
-                                    OpaquePythonReference.class, String.class, List.class, Map.class, TriFunction.class),
-                            opaquePythonReference,
-                            methodCreator.load(setterName),
-                            methodCreator.readInstanceField(planningListVariableField, thisObj),
-                            methodCreator.invokeInterfaceMethod(
-                                    MethodDescriptor.ofMethod(PythonObject.class, "get__optapy_reference_map", Map.class),
-                                    thisObj),
-                            methodCreator.readInstanceField(pythonSetterField, thisObj));
-                }
+                // forceUpdate() updates this entity in a batch of its own;
+                // the planning solution updates all of its entities in a single batch
+                ResultHandle attributeBatch = methodCreator.newInstance(MethodDescriptor.ofConstructor(
+                        PythonAttributeBatch.class));
+                methodCreator.invokeInterfaceMethod(forceUpdateWithBatchDescriptor, methodCreator.getThis(),
+                        attributeBatch);
+                methodCreator.invokeVirtualMethod(MethodDescriptor.ofMethod(PythonAttributeBatch.class, "flush",
+                        void.class), attributeBatch);
+
+                generateForceUpdateWithBatch(classCreator, parentClass, pythonSetterField,
+                        planningVariableFieldList, planningVariableSetterNameList,
+                        planningListVariableFieldList, planningListVariableSetterNameList);
                 break;
             }
             case PLANNING_SOLUTION: {
@@ -921,51 +1075,27 @@ public class PythonWrapperGenerator {
                     methodCreator.invokeStaticMethod(
                             MethodDescriptor.ofMethod(PythonWrapperGenerator.class, "setValueOnPythonObject", void.class,
                                     OpaquePythonReference.class, String.class, Object.class),
-                            methodCreator.readInstanceField(valueField, methodCreator.getThis()),
+                            getPythonReference(methodCreator, thisObject),
                             methodCreator.load(setterName),
                             methodCreator.readInstanceField(planningScoreField, thisObject));
                 }
+
+                // Set the planning variables of every entity in one call per entity class
+                ResultHandle attributeBatch = methodCreator.newInstance(MethodDescriptor.ofConstructor(
+                        PythonAttributeBatch.class));
                 for (FieldDescriptor planningEntityField : planningEntityPropertyFieldList) {
-                    methodCreator.invokeInterfaceMethod(
-                            MethodDescriptor.ofMethod(PythonObject.class, "forceUpdate", void.class),
-                            methodCreator.readInstanceField(planningEntityField, thisObject));
+                    methodCreator.invokeInterfaceMethod(forceUpdateWithBatchDescriptor,
+                            methodCreator.readInstanceField(planningEntityField, thisObject), attributeBatch);
                 }
                 for (FieldDescriptor planningEntityCollectionField : planningEntityCollectionFieldList) {
-                    if (planningEntityCollectionField.getType().endsWith("[]")) {
-                        // Array
-                        AssignableResultHandle arrayIndex = methodCreator.createVariable(int.class);
-                        methodCreator.assign(arrayIndex, methodCreator.load(0));
-
-                        ResultHandle array = methodCreator.readInstanceField(planningEntityCollectionField, thisObject);
-                        ResultHandle arrayLength = methodCreator.arrayLength(array);
-
-                        WhileLoop arrayLoop =
-                                methodCreator.whileLoop(condition -> condition.ifIntegerLessThan(arrayIndex, arrayLength));
-                        try (BytecodeCreator arrayLoopBlock = arrayLoop.block()) {
-                            ResultHandle arrayElement = arrayLoopBlock.readArrayValue(array, arrayIndex);
-                            arrayLoopBlock.invokeInterfaceMethod(
-                                    MethodDescriptor.ofMethod(PythonObject.class, "forceUpdate", void.class), arrayElement);
-                            arrayLoopBlock.assign(arrayIndex, methodCreator.increment(arrayIndex));
-                        }
-                    } else {
-                        // Collection
-                        ResultHandle collection = methodCreator.readInstanceField(planningEntityCollectionField, thisObject);
-                        ResultHandle iterator = methodCreator.invokeInterfaceMethod(
-                                MethodDescriptor.ofMethod(Collection.class, "iterator",
-                                        Iterator.class),
-                                collection);
-                        WhileLoop iteratorLoop = methodCreator.whileLoop(condition -> condition.ifTrue(condition
-                                .invokeInterfaceMethod(MethodDescriptor.ofMethod(Iterator.class, "hasNext", boolean.class),
-                                        iterator)));
-                        try (BytecodeCreator iteratorLoopBlock = iteratorLoop.block()) {
-                            ResultHandle element = iteratorLoopBlock.invokeInterfaceMethod(
-                                    MethodDescriptor.ofMethod(Iterator.class, "next", Object.class),
-                                    iterator);
-                            iteratorLoopBlock.invokeInterfaceMethod(
-                                    MethodDescriptor.ofMethod(PythonObject.class, "forceUpdate", void.class), element);
-                        }
-                    }
+                    methodCreator.invokeStaticMethod(
+                            MethodDescriptor.ofMethod(PythonWrapperGenerator.class, "forceUpdatePythonObjects",
+                                    void.class, Collection.class, PythonAttributeBatch.class),
+                            readFieldAsCollection(methodCreator, planningEntityCollectionField, thisObject),
+                            attributeBatch);
                 }
+                methodCreator.invokeVirtualMethod(MethodDescriptor.ofMethod(PythonAttributeBatch.class, "flush",
+                        void.class), attributeBatch);
                 break;
             }
             default:
@@ -974,6 +1104,77 @@ public class PythonWrapperGenerator {
         methodCreator.returnValue(null);
     }
 
+    private static void generateForceUpdateWithBatch(ClassCreator classCreator, Class<?> parentClass,
+            FieldDescriptor pythonSetterField,
+            List<FieldDescriptor> planningVariableFieldList, List<String> planningVariableSetterNameList,
+            List<FieldDescriptor> planningListVariableFieldList, List<String> planningListVariableSetterNameList) {
+        MethodCreator methodCreator = classCreator.getMethodCreator("forceUpdate", void.class,
+                PythonAttributeBatch.class);
+        ResultHandle attributeBatch = methodCreator.getMethodParam(0);
+
+        boolean parentHasForceUpdate = false;
+        try {
+            if (parentClass != null) {
+                Method method = parentClass.getMethod("forceUpdate", void.class);
+                parentHasForceUpdate = !Modifier.isAbstract(method.getModifiers());
+            }
+        } catch (NoSuchMethodException e) {
+            // ignore
+        }
+        if (parentHasForceUpdate) {
+            methodCreator.invokeSpecialInterfaceMethod(MethodDescriptor.ofMethod(PythonObject.class, "forceUpdate",
+                    void.class),
+                    methodCreator.getThis());
+        }
+        ResultHandle thisObj = methodCreator.getThis();
+        ResultHandle opaquePythonReference = getPythonReference(methodCreator, thisObj);
+        if (!planningVariableFieldList.isEmpty()) {
+            // Every planning variable is set in the same call to CPython
+            ResultHandle setterNameArray = methodCreator.newArray(String.class, planningVariableFieldList.size());
+            ResultHandle valueArray = methodCreator.newArray(Object.class, planningVariableFieldList.size());
+            for (int i = 0; i < planningVariableFieldList.size(); i++) {
+                methodCreator.writeArrayValue(setterNameArray, i,
+                        methodCreator.load(planningVariableSetterNameList.get(i)));
+                methodCreator.writeArrayValue(valueArray, i,
+                        methodCreator.readInstanceField(planningVariableFieldList.get(i), thisObj));
+            }
+            methodCreator.invokeVirtualMethod(
+                    MethodDescriptor.ofMethod(PythonAttributeBatch.class, "add", void.class,
+                            OpaquePythonReference.class, String[].class, Object[].class),
+                    attributeBatch, opaquePythonReference, setterNameArray, valueArray);
+        }
+
+        for (int i = 0; i < planningListVariableFieldList.size(); i++) {
+            FieldDescriptor planningListVariableField = planningListVariableFieldList.get(i);
+            String setterName = planningListVariableSetterNameList.get(i);
+
+            methodCreator.invokeStaticMethod(
+                    MethodDescriptor.ofMethod(PythonWrapperGenerator.class, "setListValueOnPythonObject", void.class,
+                            OpaquePythonReference.class, String.class, List.class, Map.class, TriFunction.class),
+                    opaquePythonReference,
+                    methodCreator.load(setterName),
+                    methodCreator.readInstanceField(planningListVariableField, thisObj),
+                    methodCreator.invokeInterfaceMethod(
+                            MethodDescriptor.ofMethod(PythonObject.class, "get__optapy_reference_map", Map.class),
+                            thisObj),
+                    methodCreator.readInstanceField(pythonSetterField, thisObj));
+        }
+        methodCreator.returnValue(null);
+    }
+
+    /**
+     * Reads a planning entity or problem fact collection field, wrapping it in a list if it is an array.
+     */
+    private static ResultHandle readFieldAsCollection(BytecodeCreator bytecodeCreator, FieldDescriptor fieldDescriptor,
+            ResultHandle thisObject) {
+        ResultHandle fieldValue = bytecodeCreator.readInstanceField(fieldDescriptor, thisObject);
+        if (fieldDescriptor.getType().endsWith("[]")) {
+            return bytecodeCreator.invokeStaticMethod(MethodDescriptor.ofMethod(Arrays.class, "asList", List.class,
+                    Object[].class), fieldValue);
+        }
+        return fieldValue;
+    }
+
     private static void generateReadFromPythonObject(ClassCreator classCreator, GeneratedClassType generatedClassType,
             Class<?> parentClass,
             List<FieldDescriptor> planningEntityPropertyFieldList,
@@ -982,16 +1183,15 @@ public class PythonWrapperGenerator {
             List<FieldDescriptor> problemFactCollectionFieldList,
             List<FieldDescriptor> planningVariableFieldList,
             List<String> planningVariableSetterNameList) {
-        MethodCreator methodCreator = classCreator.getMethodCreator("readFromPythonObject", void.class, Set.class, Map.class);
+        MethodCreator methodCreator =
+                classCreator.getMethodCreator("readFromPythonObject", void.class, Predicate.class, Map.class);
 
-        ResultHandle doneSet = methodCreator.getMethodParam(0);
+        ResultHandle shouldRead = methodCreator.getMethodParam(0);
         ResultHandle referenceMap = methodCreator.getMethodParam(1);
-        ResultHandle alreadyHandled = methodCreator.invokeInterfaceMethod(
-                MethodDescriptor.ofMethod(Collection.class, "contains", boolean.class, Object.class),
-                methodCreator.getMethodParam(0), methodCreator.getThis());
-        methodCreator.ifTrue(alreadyHandled).trueBranch().returnValue(null);
-        methodCreator.invokeInterfaceMethod(MethodDescriptor.ofMethod(Collection.class, "add", boolean.class, Object.class),
-                methodCreator.getMethodParam(0), methodCreator.getThis());
+        ResultHandle isRead = methodCreator.invokeInterfaceMethod(
+                MethodDescriptor.ofMethod(Predicate.class, "test", boolean.class, Object.class),
+                shouldRead, methodCreator.getThis());
+        methodCreator.ifTrue(isRead).falseBranch().returnValue(null);
         methodCreator.invokeVirtualMethod(
                 MethodDescriptor.ofMethod(CPythonBackedPythonLikeObject.class, "$setInstanceMap", void.class, Map.class),
                 methodCreator.getThis(), methodCreator.getMethodParam(1));
@@ -1006,48 +1206,16 @@ public class PythonWrapperGenerator {
                 // planning entities
                 for (FieldDescriptor planningEntityField : planningEntityPropertyFieldList) {
                     methodCreator.invokeInterfaceMethod(
-                            MethodDescriptor.ofMethod(PythonObject.class, "readFromPythonObject", void.class, Set.class,
+                            MethodDescriptor.ofMethod(PythonObject.class, "readFromPythonObject", void.class, Predicate.class,
                                     Map.class),
-                            methodCreator.readInstanceField(planningEntityField, thisObject), doneSet, referenceMap);
+                            methodCreator.readInstanceField(planningEntityField, thisObject), shouldRead, referenceMap);
                 }
                 for (FieldDescriptor planningEntityCollectionField : planningEntityCollectionFieldList) {
-                    if (planningEntityCollectionField.getType().endsWith("[]")) {
-                        // Array
-                        AssignableResultHandle arrayIndex = methodCreator.createVariable(int.class);
-                        methodCreator.assign(arrayIndex, methodCreator.load(0));
-
-                        ResultHandle array = methodCreator.readInstanceField(planningEntityCollectionField, thisObject);
-                        ResultHandle arrayLength = methodCreator.arrayLength(array);
-
-                        WhileLoop arrayLoop =
-                                methodCreator.whileLoop(condition -> condition.ifIntegerLessThan(arrayIndex, arrayLength));
-                        try (BytecodeCreator arrayLoopBlock = arrayLoop.block()) {
-                            ResultHandle arrayElement = arrayLoopBlock.readArrayValue(array, arrayIndex);
-                            arrayLoopBlock.invokeInterfaceMethod(
-                                    MethodDescriptor.ofMethod(PythonObject.class, "readFromPythonObject", void.class, Set.class,
-                                            Map.class),
-                                    arrayElement, doneSet, referenceMap);
-                            arrayLoopBlock.assign(arrayIndex, methodCreator.increment(arrayIndex));
-                        }
-                    } else {
-                        // Collection
-                        ResultHandle iterator = methodCreator.invokeInterfaceMethod(
-                                MethodDescriptor.ofMethod(Collection.class, "iterator",
-                                        Iterator.class),
-                                methodCreator.readInstanceField(planningEntityCollectionField, thisObject));
-                        WhileLoop iteratorLoop = methodCreator.whileLoop(condition -> condition.ifTrue(condition
-                                .invokeInterfaceMethod(MethodDescriptor.ofMethod(Iterator.class, "hasNext", boolean.class),
-                                        iterator)));
-                        try (BytecodeCreator iteratorLoopBlock = iteratorLoop.block()) {
-                            ResultHandle element = iteratorLoopBlock.invokeInterfaceMethod(
-                                    MethodDescriptor.ofMethod(Iterator.class, "next", Object.class),
-                                    iterator);
-                            iteratorLoopBlock.invokeInterfaceMethod(
-                                    MethodDescriptor.ofMethod(PythonObject.class, "readFromPythonObject", void.class, Set.class,
-                                            Map.class),
-                                    element, doneSet, referenceMap);
-                        }
-                    }
+                    methodCreator.invokeStaticMethod(
+                            MethodDescriptor.ofMethod(PythonWrapperGenerator.class, "readFromPythonObjects", void.class,
+                                    Collection.class, Predicate.class, Map.class),
+                            readFieldAsCollection(methodCreator, planningEntityCollectionField, thisObject),
+                            shouldRead, referenceMap);
                 }
 
                 // problem facts
@@ -1057,55 +1225,18 @@ public class PythonWrapperGenerator {
                     methodCreator.ifTrue(isInstanceOfPythonObject)
                             .trueBranch()
                             .invokeInterfaceMethod(
-                                    MethodDescriptor.ofMethod(PythonObject.class, "readFromPythonObject", void.class, Set.class,
+                                    MethodDescriptor.ofMethod(PythonObject.class, "readFromPythonObject", void.class, Predicate.class,
                                             Map.class),
-                                    fieldValue, doneSet, referenceMap);
+                                    fieldValue, shouldRead, referenceMap);
                 }
 
                 for (FieldDescriptor problemFactCollectionField : problemFactCollectionFieldList) {
-                    if (problemFactCollectionField.getType().endsWith("[]")) {
-                        // Array
-                        AssignableResultHandle arrayIndex = methodCreator.createVariable(int.class);
-                        methodCreator.assign(arrayIndex, methodCreator.load(0));
-
-                        ResultHandle array = methodCreator.readInstanceField(problemFactCollectionField, thisObject);
-                        ResultHandle arrayLength = methodCreator.arrayLength(array);
-
-                        WhileLoop arrayLoop =
-                                methodCreator.whileLoop(condition -> condition.ifIntegerLessThan(arrayIndex, arrayLength));
-                        try (BytecodeCreator arrayLoopBlock = arrayLoop.block()) {
-                            ResultHandle arrayElement = arrayLoopBlock.readArrayValue(array, arrayIndex);
-                            ResultHandle isInstanceOfPythonObject = arrayLoopBlock.instanceOf(arrayElement, PythonObject.class);
-                            arrayLoopBlock.ifTrue(isInstanceOfPythonObject)
-                                    .trueBranch()
-                                    .invokeInterfaceMethod(
-                                            MethodDescriptor.ofMethod(PythonObject.class, "readFromPythonObject", void.class,
-                                                    Set.class, Map.class),
-                                            arrayElement, doneSet, referenceMap);
-                            arrayLoopBlock.assign(arrayIndex, methodCreator.increment(arrayIndex));
-                        }
-                    } else {
-                        // Collection
-                        ResultHandle iterator = methodCreator.invokeInterfaceMethod(
-                                MethodDescriptor.ofMethod(Collection.class, "iterator",
-                                        Iterator.class),
-                                methodCreator.readInstanceField(problemFactCollectionField, thisObject));
-                        WhileLoop iteratorLoop = methodCreator.whileLoop(condition -> condition.ifTrue(condition
-                                .invokeInterfaceMethod(MethodDescriptor.ofMethod(Iterator.class, "hasNext", boolean.class),
-                                        iterator)));
-                        try (BytecodeCreator iteratorLoopBlock = iteratorLoop.block()) {
-                            ResultHandle element = iteratorLoopBlock.invokeInterfaceMethod(
-                                    MethodDescriptor.ofMethod(Iterator.class, "next", Object.class),
-                                    iterator);
-                            ResultHandle isInstanceOfPythonObject = iteratorLoopBlock.instanceOf(element, PythonObject.class);
-                            iteratorLoopBlock.ifTrue(isInstanceOfPythonObject)
-                                    .trueBranch()
-                                    .invokeInterfaceMethod(
-                                            MethodDescriptor.ofMethod(PythonObject.class, "readFromPythonObject", void.class,
-                                                    Set.class, Map.class),
-                                            element, doneSet, referenceMap);
-                        }
-                    }
+                    // Problem facts that are not PythonObjects (such as ints) are skipped
+                    methodCreator.invokeStaticMethod(
+                            MethodDescriptor.ofMethod(PythonWrapperGenerator.class, "readFromPythonObjects", void.class,
+                                    Collection.class, Predicate.class, Map.class),
+                            readFieldAsCollection(methodCreator, problemFactCollectionField, thisObject),
+                            shouldRead, referenceMap);
                 }
                 break;
             }
@@ -1332,10 +1463,11 @@ public class PythonWrapperGenerator {
     @SuppressWarnings("unchecked")
     private static void generateWrapperMethods(ClassCreator classCreator, Class<?> parentClass,
             GeneratedClassType generatedClassType,
-            boolean defineEqualsAndHashcode, FieldDescriptor valueField,
+            boolean defineEqualsAndHashcode, boolean isImmutable, FieldDescriptor valueField,
             FieldDescriptor referenceMapField,
             FieldDescriptor pythonLikeValueMapField,
             FieldDescriptor pythonSetterField,
+            FieldDescriptor lazyPlanningCloneField,
             FieldDescriptor typeField,
             List<List<Object>> optaplannerMethodAnnotations) {
         boolean hasOptaPyParentClass = false;
@@ -1347,7 +1479,7 @@ public class PythonWrapperGenerator {
         }
 
         if (!hasOptaPyParentClass) {
-            generateAsPointer(classCreator, valueField, referenceMapField, pythonLikeValueMapField, typeField);
+            generateAsPointer(classCreator, valueField, referenceMapField, lazyPlanningCloneField);
         }
 
         // We only need to create methods/fields for methods with OptaPlanner annotations
@@ -1391,6 +1523,9 @@ public class PythonWrapperGenerator {
         createConstructor(classCreator, valueField, referenceMapField, pythonLikeValueMapField, pythonSetterField,
                 parentClass, fieldDescriptorList, returnTypeList);
 
+        createUpdateVariableFromPythonObject(classCreator, valueField, referenceMapField, pythonSetterField,
+                parentClass, fieldDescriptorList, returnTypeList);
+
         generateForceUpdate(classCreator, generatedClassType, parentClass, valueField, pythonSetterField,
                 planningEntityFieldList, planningEntityCollectionFieldList,
                 planningVariableFieldList, planningVariableSetterNameList,
@@ -1412,24 +1547,39 @@ public class PythonWrapperGenerator {
                 planningListVariableFieldList, planningListVariableSetterNameList);
 
         if (!hasOptaPyParentClass) {
-            createToString(classCreator, valueField);
+            createToString(classCreator);
         }
 
         if (defineEqualsAndHashcode) {
-            createEqualsAndHashcode(classCreator, valueField);
+            if (isImmutable) {
+                createCachedEqualsAndHashcode(classCreator, valueField);
+            } else {
+                createEqualsAndHashcode(classCreator);
+            }
         }
     }
 
-    private static void createToString(ClassCreator classCreator, FieldDescriptor valueField) {
+    private static void createToString(ClassCreator classCreator) {
         MethodCreator methodCreator =
                 classCreator.getMethodCreator(MethodDescriptor.ofMethod(classCreator.getClassName(), "toString", String.class));
         methodCreator.returnValue(methodCreator.invokeStaticMethod(
                 MethodDescriptor.ofMethod(PythonWrapperGenerator.class, "getPythonObjectString", String.class,
                         OpaquePythonReference.class),
-                methodCreator.readInstanceField(valueField, methodCreator.getThis())));
+                getPythonReference(methodCreator, methodCreator.getThis())));
+    }
+
+    /**
+     * Reads the CPython object of a wrapper through {@link PythonObject#get__optapy_Id()}, which creates it
+     * first if the wrapper is part of a {@link LazyPythonPlanningClone}. Reading the field directly would
+     * return null for such a wrapper.
+     */
+    private static ResultHandle getPythonReference(BytecodeCreator bytecodeCreator, ResultHandle pythonObject) {
+        return bytecodeCreator.invokeInterfaceMethod(
+                MethodDescriptor.ofMethod(PythonObject.class, "get__optapy_Id", OpaquePythonReference.class),
+                pythonObject);
     }
 
-    private static void createEqualsAndHashcode(ClassCreator classCreator, FieldDescriptor valueField) {
+    private static void createEqualsAndHashcode(ClassCreator classCreator) {
         // equals
         MethodCreator methodCreator =
                 classCreator.getMethodCreator(
@@ -1441,8 +1591,8 @@ public class PythonWrapperGenerator {
         bytecodeCreator.returnValue(bytecodeCreator.invokeStaticMethod(
                 MethodDescriptor.ofMethod(PythonComparable.class, "isPythonObjectEqualToOther", boolean.class,
                         OpaquePythonReference.class, OpaquePythonReference.class),
-                bytecodeCreator.readInstanceField(valueField, methodCreator.getThis()),
-                bytecodeCreator.readInstanceField(valueField, parameter)));
+                getPythonReference(bytecodeCreator, methodCreator.getThis()),
+                getPythonReference(bytecodeCreator, bytecodeCreator.checkCast(parameter, PythonObject.class))));
         bytecodeCreator = branchResult.falseBranch();
         bytecodeCreator.returnValue(bytecodeCreator.load(false));
 
@@ -1452,7 +1602,59 @@ public class PythonWrapperGenerator {
         methodCreator.returnValue(methodCreator.invokeStaticMethod(
                 MethodDescriptor.ofMethod(PythonComparable.class, "getPythonObjectHash", int.class,
                         OpaquePythonReference.class),
-                methodCreator.readInstanceField(valueField, methodCreator.getThis())));
+                getPythonReference(methodCreator, methodCreator.getThis())));
+    }
+
+    private static void createCachedEqualsAndHashcode(ClassCreator classCreator, FieldDescriptor valueField) {
+        // Same scheme as String.hash: $cachedHash is 0 until computed, $isHashZero is set if the hash is 0
+        FieldDescriptor cachedHashField = classCreator.getFieldCreator("$cachedHash", int.class).getFieldDescriptor();
+        FieldDescriptor isHashZeroField = classCreator.getFieldCreator("$isHashZero", boolean.class).getFieldDescriptor();
+
+        // hashCode
+        MethodCreator methodCreator =
+                classCreator.getMethodCreator(MethodDescriptor.ofMethod(classCreator.getClassName(), "hashCode", int.class));
+        ResultHandle cachedHash = methodCreator.readInstanceField(cachedHashField, methodCreator.getThis());
+        BytecodeCreator bytecodeCreator = methodCreator.ifIntegerEqual(cachedHash, methodCreator.load(0)).falseBranch();
+        bytecodeCreator.returnValue(cachedHash);
+        bytecodeCreator = methodCreator.ifTrue(methodCreator.readInstanceField(isHashZeroField, methodCreator.getThis()))
+                .trueBranch();
+        bytecodeCreator.returnValue(bytecodeCreator.load(0));
+
+        ResultHandle hash = methodCreator.invokeStaticMethod(
+                MethodDescriptor.ofMethod(PythonComparable.class, "getPythonObjectHash", int.class,
+                        OpaquePythonReference.class),
+                methodCreator.readInstanceField(valueField, methodCreator.getThis()));
+        BranchResult isHashZeroBranchResult = methodCreator.ifIntegerEqual(hash, methodCreator.load(0));
+        bytecodeCreator = isHashZeroBranchResult.trueBranch();
+        bytecodeCreator.writeInstanceField(isHashZeroField, bytecodeCreator.getThis(), bytecodeCreator.load(true));
+        bytecodeCreator = isHashZeroBranchResult.falseBranch();
+        bytecodeCreator.writeInstanceField(cachedHashField, bytecodeCreator.getThis(), hash);
+        methodCreator.returnValue(hash);
+
+        // equals
+        methodCreator =
+                classCreator.getMethodCreator(
+                        MethodDescriptor.ofMethod(classCreator.getClassName(), "equals", boolean.class, Object.class));
+        ResultHandle parameter = methodCreator.getMethodParam(0);
+        bytecodeCreator = methodCreator.ifReferencesEqual(methodCreator.getThis(), parameter).trueBranch();
+        bytecodeCreator.returnValue(bytecodeCreator.load(true));
+
+        bytecodeCreator = methodCreator.ifTrue(methodCreator.instanceOf(parameter, classCreator.getClassName()))
+                .falseBranch();
+        bytecodeCreator.returnValue(bytecodeCreator.load(false));
+
+        // Equal objects have equal hashes, so a hash mismatch means they are not equal
+        MethodDescriptor hashCodeMethod = MethodDescriptor.ofMethod(Object.class, "hashCode", int.class);
+        bytecodeCreator = methodCreator.ifIntegerEqual(
+                methodCreator.invokeVirtualMethod(hashCodeMethod, methodCreator.getThis()),
+                methodCreator.invokeVirtualMethod(hashCodeMethod, parameter)).falseBranch();
+        bytecodeCreator.returnValue(bytecodeCreator.load(false));
+
+        methodCreator.returnValue(methodCreator.invokeStaticMethod(
+                MethodDescriptor.ofMethod(PythonComparable.class, "isPythonObjectEqualToOther", boolean.class,
+                        OpaquePythonReference.class, OpaquePythonReference.class),
+                methodCreator.readInstanceField(valueField, methodCreator.getThis()),
+                methodCreator.readInstanceField(valueField, parameter)));
     }
 
     private static void createConstructor(ClassCreator classCreator, FieldDescriptor valueField,
@@ -1525,6 +1727,93 @@ public class PythonWrapperGenerator {
         methodCreator.returnValue(methodCreator.getThis());
     }
 
+    /**
+     * Generates $updateVariableFromPythonObject, which reads the getter for the given variable name
+     * from the Python object and calls the corresponding Java setter, i.e.
+     *
+     * <pre>
+     * if (variableName.equals("value") || variableName.equals("Value")) {
+     *     setValue((Value) convertPythonValueToType(getValueFromPythonObject(reference, "get_value"), Value.class, ...));
+     *     return true;
+     * }
+     * ...
+     * return super.$updateVariableFromPythonObject(variableName); // or false if there is no parent
+     * </pre>
+     */
+    private static void createUpdateVariableFromPythonObject(ClassCreator classCreator, FieldDescriptor valueField,
+            FieldDescriptor referenceMapField, FieldDescriptor pythonSetterField,
+            Class<?> parentClass, List<FieldDescriptor> fieldDescriptorList, List<Object> returnTypeList) {
+        MethodCreator methodCreator = classCreator.getMethodCreator("$updateVariableFromPythonObject", boolean.class,
+                String.class);
+        methodCreator.setModifiers(Modifier.PUBLIC);
+        ResultHandle variableName = methodCreator.getMethodParam(0);
+
+        for (int i = 0; i < fieldDescriptorList.size(); i++) {
+            FieldDescriptor fieldDescriptor = fieldDescriptorList.get(i);
+            Object returnType = returnTypeList.get(i);
+            String methodName = fieldDescriptor.getName().substring(0, fieldDescriptor.getName().length() - 6);
+            if (!methodName.startsWith("get")
+                    || (returnType instanceof Class && ((Class<?>) returnType).isPrimitive())) {
+                // No setter, or a setter that cannot take the converted value
+                continue;
+            }
+
+            String javaMethodName = methodName;
+            if (javaMethodName.startsWith("get_") && javaMethodName.length() >= 5) {
+                javaMethodName = "get" + Character.toUpperCase(javaMethodName.charAt(4)) + javaMethodName.substring(5);
+            }
+            String propertyName = javaMethodName.substring(3);
+            if (propertyName.isEmpty()) {
+                continue;
+            }
+
+            // The setter for variableName is "set" + capitalize(variableName)
+            List<String> variableNameList = new ArrayList<>(2);
+            variableNameList.add(propertyName);
+            String decapitalizedPropertyName = Character.toLowerCase(propertyName.charAt(0)) + propertyName.substring(1);
+            if (!decapitalizedPropertyName.equals(propertyName)) {
+                variableNameList.add(decapitalizedPropertyName);
+            }
+
+            for (String possibleVariableName : variableNameList) {
+                BytecodeCreator matchBranch = methodCreator.ifTrue(methodCreator.invokeVirtualMethod(
+                        MethodDescriptor.ofMethod(String.class, "equals", boolean.class, Object.class),
+                        methodCreator.load(possibleVariableName), variableName)).trueBranch();
+                ResultHandle thisObj = matchBranch.getThis();
+                ResultHandle pythonValue = matchBranch.invokeStaticMethod(
+                        MethodDescriptor.ofMethod(PythonWrapperGenerator.class, "getValueFromPythonObject", Object.class,
+                                OpaquePythonReference.class, String.class),
+                        getPythonReference(matchBranch, thisObj), matchBranch.load(methodName));
+                ResultHandle javaValue = matchBranch.invokeStaticMethod(
+                        MethodDescriptor.ofMethod(PythonWrapperGenerator.class, "convertPythonValueToType", Object.class,
+                                Object.class, Class.class, Map.class, TriFunction.class),
+                        pythonValue,
+                        (returnType instanceof Class) ? matchBranch.loadClass((Class<?>) returnType)
+                                : matchBranch.loadClass((String) returnType),
+                        matchBranch.readInstanceField(referenceMapField, thisObj),
+                        matchBranch.readInstanceField(pythonSetterField, thisObj));
+                matchBranch.invokeVirtualMethod(
+                        MethodDescriptor.ofMethod(classCreator.getClassName(), "set" + propertyName, void.class,
+                                returnType),
+                        thisObj, (returnType instanceof Class) ? matchBranch.checkCast(javaValue, (Class<?>) returnType)
+                                : matchBranch.checkCast(javaValue, (String) returnType));
+                matchBranch.returnValue(matchBranch.load(true));
+            }
+        }
+
+        try {
+            Method parentMethod = parentClass.getMethod("$updateVariableFromPythonObject", String.class);
+            if (!parentMethod.getDeclaringClass().isInterface()) {
+                methodCreator.returnValue(methodCreator.invokeSpecialMethod(MethodDescriptor.ofMethod(parentMethod),
+                        methodCreator.getThis(), variableName));
+                return;
+            }
+        } catch (NoSuchMethodException e) {
+            // Do nothing; parent is not a generated class
+        }
+        methodCreator.returnValue(methodCreator.load(false));
+    }
+
     private static void createInitMethod(ClassCreator classCreator, FieldDescriptor valueField,
             FieldDescriptor referenceMapField, FieldDescriptor pythonLikeValueMapField, FieldDescriptor pythonSetterField) {
         MethodCreator initCreator = classCreator.getMethodCreator("$init", void.class,
@@ -1566,6 +1855,27 @@ public class PythonWrapperGenerator {
 
         ResultHandle value = methodCreator.getMethodParam(0);
 
+        // Call every getter that is not a pointer lookup in a single call to CPython
+        List<String> bulkAttributeNameList = new ArrayList<>(fieldDescriptorList.size());
+        for (int i = 0; i < fieldDescriptorList.size(); i++) {
+            if (!isPointerReturnType(returnTypeList.get(i))) {
+                String fieldName = fieldDescriptorList.get(i).getName();
+                bulkAttributeNameList.add(fieldName.substring(0, fieldName.length() - 6));
+            }
+        }
+        ResultHandle bulkValues = null;
+        if (!bulkAttributeNameList.isEmpty()) {
+            ResultHandle attributeNameArray = methodCreator.newArray(String.class, bulkAttributeNameList.size());
+            for (int i = 0; i < bulkAttributeNameList.size(); i++) {
+                methodCreator.writeArrayValue(attributeNameArray, i, methodCreator.load(bulkAttributeNameList.get(i)));
+            }
+            bulkValues = methodCreator.invokeStaticMethod(
+                    MethodDescriptor.ofMethod(PythonWrapperGenerator.class, "getValuesFromPythonObject", Object[].class,
+                            OpaquePythonReference.class, String[].class),
+                    value, attributeNameArray);
+        }
+        int bulkIndex = 0;
+
         for (int i = 0; i < fieldDescriptorList.size(); i++) {
             FieldDescriptor fieldDescriptor = fieldDescriptorList.get(i);
             Object returnType = returnTypeList.get(i);
@@ -1593,10 +1903,7 @@ public class PythonWrapperGenerator {
                 }
             }
 
-            ResultHandle outResultHandle = methodCreator.invokeStaticMethod(
-                    MethodDescriptor.ofMethod(PythonWrapperGenerator.class, "getValueFromPythonObject", Object.class,
-                            OpaquePythonReference.class, String.class),
-                    value, methodCreator.load(methodName));
+            ResultHandle outResultHandle = methodCreator.readArrayValue(bulkValues, bulkIndex++);
 
             if (returnType instanceof Class) {
                 Class<?> returnTypeClass = (Class<?>) returnType;
@@ -1703,6 +2010,15 @@ public class PythonWrapperGenerator {
         methodCreator.returnValue(null);
     }
 
+    private static boolean isPointerReturnType(Object returnType) {
+        if (!(returnType instanceof Class)) {
+            return false;
+        }
+        Class<?> returnTypeClass = (Class<?>) returnType;
+        return returnTypeClass.equals(OpaquePythonReference.class) ||
+                (returnTypeClass.isArray() && returnTypeClass.getComponentType().equals(OpaquePythonReference.class));
+    }
+
     private static FieldDescriptor generateWrapperMethod(ClassCreator classCreator, Class<?> parentClass,
             FieldDescriptor valueField,
             FieldDescriptor pythonLikeAttributeField, FieldDescriptor pythonSetterField,
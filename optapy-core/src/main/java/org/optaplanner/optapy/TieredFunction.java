@@ -0,0 +1,483 @@
+package org.optaplanner.optapy;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.BiFunction;
+import java.util.function.BiPredicate;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.function.ToIntBiFunction;
+import java.util.function.ToIntFunction;
+
+import org.optaplanner.core.api.function.PentaFunction;
+import org.optaplanner.core.api.function.PentaPredicate;
+import org.optaplanner.core.api.function.QuadFunction;
+import org.optaplanner.core.api.function.QuadPredicate;
+import org.optaplanner.core.api.function.ToIntQuadFunction;
+import org.optaplanner.core.api.function.ToIntTriFunction;
+import org.optaplanner.core.api.function.TriFunction;
+import org.optaplanner.core.api.function.TriPredicate;
+import org.optaplanner.jpyinterpreter.PythonBytecodeToJavaBytecodeTranslator;
+import org.optaplanner.jpyinterpreter.PythonCompiledFunction;
+import org.optaplanner.jpyinterpreter.PythonLikeObject;
+import org.optaplanner.jpyinterpreter.types.CPythonBackedPythonLikeObject;
+import org.optaplanner.jpyinterpreter.types.PythonNone;
+import org.optaplanner.jpyinterpreter.types.PythonString;
+import org.optaplanner.jpyinterpreter.types.numeric.PythonBoolean;
+import org.optaplanner.jpyinterpreter.types.numeric.PythonFloat;
+import org.optaplanner.jpyinterpreter.types.numeric.PythonInteger;
+import org.optaplanner.jpyinterpreter.types.wrappers.OpaquePythonReference;
+import org.optaplanner.jpyinterpreter.types.wrappers.PythonObjectWrapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A constraint stream function that starts on a proxy to the original CPython function
+ * and switches to the translated Java bytecode as soon as its background translation finishes.
+ * <p>
+ * This allows the solver to start before every function of the constraint provider has been translated.
+ * If the translation fails, the function keeps using the CPython proxy.
+ * <p>
+ * The switch can happen in the middle of a solve, so group and join keys computed by the translated bytecode
+ * must be equal to the keys the proxy computed for the same arguments. The results of the translated bytecode are
+ * therefore converted to the types the proxy returns (see {@link #toInterpretedResult(Object)}); if a result
+ * cannot be converted, the function goes back to the proxy for good.
+ *
+ * @param <Delegate_> The functional interface this function implements
+ */
+public abstract class TieredFunction<Delegate_> {
+    private static final Logger LOGGER = LoggerFactory.getLogger(TieredFunction.class);
+
+    /**
+     * A single thread, so background translations do not compete with the solver for every core
+     */
+    private static final ExecutorService TRANSLATION_EXECUTOR = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "optapy-bytecode-translation");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * Returned by {@link #toInterpretedResult(Object)} for results the proxy would not return as an equal value
+     */
+    static final Object UNCONVERTIBLE_RESULT = new Object();
+
+    private String functionName;
+    private Supplier<? extends Delegate_> translator;
+    private CompletableFuture<Boolean> translationFuture;
+
+    protected final Delegate_ interpretedDelegate;
+    protected volatile Delegate_ delegate;
+
+    protected TieredFunction(Delegate_ interpretedDelegate, Supplier<? extends Delegate_> translator) {
+        this.interpretedDelegate = interpretedDelegate;
+        this.delegate = interpretedDelegate;
+        this.translator = translator;
+    }
+
+    /**
+     * Creates a {@link TieredFunction} for the given functional interface.
+     *
+     * @param functionalInterfaceType The functional interface to implement
+     * @param interpretedDelegate A proxy to the CPython function, used until the translation finishes
+     * @param pythonCompiledFunction The function to translate
+     * @param genericTypeArgumentList The generic type arguments of the functional interface
+     * @return A {@link TieredFunction} that implements functionalInterfaceType
+     */
+    public static TieredFunction<?> of(Class<?> functionalInterfaceType, Object interpretedDelegate,
+            PythonCompiledFunction pythonCompiledFunction, List<Class<?>> genericTypeArgumentList) {
+        return of(functionalInterfaceType, interpretedDelegate, pythonCompiledFunction.qualifiedName,
+                () -> PythonBytecodeToJavaBytecodeTranslator.translatePythonBytecode(pythonCompiledFunction,
+                        functionalInterfaceType, genericTypeArgumentList));
+    }
+
+    static TieredFunction<?> of(Class<?> functionalInterfaceType, Object interpretedDelegate, String functionName,
+            Supplier<?> translator) {
+        TieredFunction<?> out = create(functionalInterfaceType, interpretedDelegate, translator);
+        out.functionName = functionName;
+        return out;
+    }
+
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    private static TieredFunction<?> create(Class<?> functionalInterfaceType, Object interpretedDelegate,
+            Supplier<?> translator) {
+        if (functionalInterfaceType == Function.class) {
+            return new OfFunction(interpretedDelegate, translator);
+        } else if (functionalInterfaceType == BiFunction.class) {
+            return new OfBiFunction(interpretedDelegate, translator);
+        } else if (functionalInterfaceType == TriFunction.class) {
+            return new OfTriFunction(interpretedDelegate, translator);
+        } else if (functionalInterfaceType == QuadFunction.class) {
+            return new OfQuadFunction(interpretedDelegate, translator);
+        } else if (functionalInterfaceType == PentaFunction.class) {
+            return new OfPentaFunction(interpretedDelegate, translator);
+        } else if (functionalInterfaceType == Predicate.class) {
+            return new OfPredicate(interpretedDelegate, translator);
+        } else if (functionalInterfaceType == BiPredicate.class) {
+            return new OfBiPredicate(interpretedDelegate, translator);
+        } else if (functionalInterfaceType == TriPredicate.class) {
+            return new OfTriPredicate(interpretedDelegate, translator);
+        } else if (functionalInterfaceType == QuadPredicate.class) {
+            return new OfQuadPredicate(interpretedDelegate, translator);
+        } else if (functionalInterfaceType == PentaPredicate.class) {
+            return new OfPentaPredicate(interpretedDelegate, translator);
+        } else if (functionalInterfaceType == ToIntFunction.class) {
+            return new OfToIntFunction(interpretedDelegate, translator);
+        } else if (functionalInterfaceType == ToIntBiFunction.class) {
+            return new OfToIntBiFunction(interpretedDelegate, translator);
+        } else if (functionalInterfaceType == ToIntTriFunction.class) {
+            return new OfToIntTriFunction(interpretedDelegate, translator);
+        } else if (functionalInterfaceType == ToIntQuadFunction.class) {
+            return new OfToIntQuadFunction(interpretedDelegate, translator);
+        }
+        throw new IllegalArgumentException("Unsupported functional interface (" + functionalInterfaceType + ").");
+    }
+
+    /**
+     * Starts translating this function in the background. Does nothing if the translation was already started.
+     *
+     * @return A future that completes with true if the translation succeeded (this function uses it from then on),
+     *         or with false if the translation failed
+     */
+    public synchronized CompletableFuture<Boolean> translateInBackground() {
+        if (translationFuture == null) {
+            translationFuture = CompletableFuture.supplyAsync(this::translate, TRANSLATION_EXECUTOR);
+        }
+        return translationFuture;
+    }
+
+    private boolean translate() {
+        Delegate_ translated;
+        try {
+            translated = translator.get();
+        } catch (Throwable e) {
+            LOGGER.debug("Unable to translate function ({}); it will keep using the CPython function.",
+                    functionName, e);
+            return false;
+        } finally {
+            // The translated function (or the proxy) holds everything it needs
+            translator = null;
+        }
+        delegate = convertingResults(translated);
+        return true;
+    }
+
+    /**
+     * Wraps the translated function so it returns what the CPython proxy would return.
+     * Predicates and functions to int return primitives, which need no conversion.
+     *
+     * @param translated The translated function
+     * @return A function that calls translated and converts its results with {@link #toInterpretedResult(Object)}
+     */
+    protected Delegate_ convertingResults(Delegate_ translated) {
+        return translated;
+    }
+
+    /**
+     * Called when the translated function returned a result that cannot be converted;
+     * the proxy is used from now on, so every later key is computed by the proxy too.
+     */
+    protected final void useInterpretedDelegate(Object result) {
+        LOGGER.debug("Function ({}) returned a value ({}) of a type the CPython function does not return; "
+                + "it will use the CPython function from now on.", functionName, result.getClass());
+        delegate = interpretedDelegate;
+    }
+
+    /**
+     * Converts a result of the translated function to the value the CPython proxy returns for the same arguments
+     * (see {@code _convert_to_java_compatible_object} in jpype_type_conversions.py).
+     *
+     * @param result A result of the translated function
+     * @return The result as the CPython proxy returns it, or {@link #UNCONVERTIBLE_RESULT} if it has no such value
+     */
+    static Object toInterpretedResult(Object result) {
+        if (result == null || result instanceof PythonNone) {
+            return null;
+        }
+        if (result instanceof PythonObject || !(result instanceof PythonLikeObject)) {
+            // Planning entities, problem facts and Java objects are passed as is
+            return result;
+        }
+        if (result instanceof PythonBoolean) {
+            return ((PythonBoolean) result).getBooleanValue();
+        }
+        if (result instanceof PythonInteger) {
+            PythonInteger integer = (PythonInteger) result;
+            return integer.fitsInLong() ? (Object) integer.longValue() : integer.getValue();
+        }
+        if (result instanceof PythonFloat) {
+            return ((PythonFloat) result).getValue().doubleValue();
+        }
+        if (result instanceof PythonString) {
+            return ((PythonString) result).getValue();
+        }
+        if (result instanceof PythonObjectWrapper) {
+            return new PythonComparable(((PythonObjectWrapper) result).getWrappedObject());
+        }
+        if (result instanceof CPythonBackedPythonLikeObject) {
+            OpaquePythonReference reference = ((CPythonBackedPythonLikeObject) result).$getCPythonReference();
+            if (reference != null) {
+                // PythonComparable compares and hashes with the Python object, so it is equal to the one
+                // the proxy creates for the same Python object
+                return new PythonComparable(reference);
+            }
+        }
+        // Tuples, lists and objects created by the translated function have no CPython object to compare with
+        return UNCONVERTIBLE_RESULT;
+    }
+
+    public static final class OfFunction<A, Result_> extends TieredFunction<Function<A, Result_>>
+            implements Function<A, Result_> {
+        @SuppressWarnings({ "unchecked", "rawtypes" })
+        OfFunction(Object interpretedDelegate, Supplier<?> translator) {
+            super((Function<A, Result_>) interpretedDelegate, (Supplier) translator);
+        }
+
+        @Override
+        public Result_ apply(A a) {
+            return delegate.apply(a);
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        protected Function<A, Result_> convertingResults(Function<A, Result_> translated) {
+            return a -> {
+                Result_ translatedResult = translated.apply(a);
+                Object result = toInterpretedResult(translatedResult);
+                if (result == UNCONVERTIBLE_RESULT) {
+                    useInterpretedDelegate(translatedResult);
+                    return interpretedDelegate.apply(a);
+                }
+                return (Result_) result;
+            };
+        }
+    }
+
+    public static final class OfBiFunction<A, B, Result_> extends TieredFunction<BiFunction<A, B, Result_>>
+            implements BiFunction<A, B, Result_> {
+        @SuppressWarnings({ "unchecked", "rawtypes" })
+        OfBiFunction(Object interpretedDelegate, Supplier<?> translator) {
+            super((BiFunction<A, B, Result_>) interpretedDelegate, (Supplier) translator);
+        }
+
+        @Override
+        public Result_ apply(A a, B b) {
+            return delegate.apply(a, b);
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        protected BiFunction<A, B, Result_> convertingResults(BiFunction<A, B, Result_> translated) {
+            return (a, b) -> {
+                Result_ translatedResult = translated.apply(a, b);
+                Object result = toInterpretedResult(translatedResult);
+                if (result == UNCONVERTIBLE_RESULT) {
+                    useInterpretedDelegate(translatedResult);
+                    return interpretedDelegate.apply(a, b);
+                }
+                return (Result_) result;
+            };
+        }
+    }
+
+    public static final class OfTriFunction<A, B, C, Result_> extends TieredFunction<TriFunction<A, B, C, Result_>>
+            implements TriFunction<A, B, C, Result_> {
+        @SuppressWarnings({ "unchecked", "rawtypes" })
+        OfTriFunction(Object interpretedDelegate, Supplier<?> translator) {
+            super((TriFunction<A, B, C, Result_>) interpretedDelegate, (Supplier) translator);
+        }
+
+        @Override
+        public Result_ apply(A a, B b, C c) {
+            return delegate.apply(a, b, c);
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        protected TriFunction<A, B, C, Result_> convertingResults(TriFunction<A, B, C, Result_> translated) {
+            return (a, b, c) -> {
+                Result_ translatedResult = translated.apply(a, b, c);
+                Object result = toInterpretedResult(translatedResult);
+                if (result == UNCONVERTIBLE_RESULT) {
+                    useInterpretedDelegate(translatedResult);
+                    return interpretedDelegate.apply(a, b, c);
+                }
+                return (Result_) result;
+            };
+        }
+    }
+
+    public static final class OfQuadFunction<A, B, C, D, Result_>
+            extends TieredFunction<QuadFunction<A, B, C, D, Result_>>
+            implements QuadFunction<A, B, C, D, Result_> {
+        @SuppressWarnings({ "unchecked", "rawtypes" })
+        OfQuadFunction(Object interpretedDelegate, Supplier<?> translator) {
+            super((QuadFunction<A, B, C, D, Result_>) interpretedDelegate, (Supplier) translator);
+        }
+
+        @Override
+        public Result_ apply(A a, B b, C c, D d) {
+            return delegate.apply(a, b, c, d);
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        protected QuadFunction<A, B, C, D, Result_> convertingResults(QuadFunction<A, B, C, D, Result_> translated) {
+            return (a, b, c, d) -> {
+                Result_ translatedResult = translated.apply(a, b, c, d);
+                Object result = toInterpretedResult(translatedResult);
+                if (result == UNCONVERTIBLE_RESULT) {
+                    useInterpretedDelegate(translatedResult);
+                    return interpretedDelegate.apply(a, b, c, d);
+                }
+                return (Result_) result;
+            };
+        }
+    }
+
+    public static final class OfPentaFunction<A, B, C, D, E, Result_>
+            extends TieredFunction<PentaFunction<A, B, C, D, E, Result_>>
+            implements PentaFunction<A, B, C, D, E, Result_> {
+        @SuppressWarnings({ "unchecked", "rawtypes" })
+        OfPentaFunction(Object interpretedDelegate, Supplier<?> translator) {
+            super((PentaFunction<A, B, C, D, E, Result_>) interpretedDelegate, (Supplier) translator);
+        }
+
+        @Override
+        public Result_ apply(A a, B b, C c, D d, E e) {
+            return delegate.apply(a, b, c, d, e);
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        protected PentaFunction<A, B, C, D, E, Result_> convertingResults(PentaFunction<A, B, C, D, E, Result_> translated) {
+            return (a, b, c, d, e) -> {
+                Result_ translatedResult = translated.apply(a, b, c, d, e);
+                Object result = toInterpretedResult(translatedResult);
+                if (result == UNCONVERTIBLE_RESULT) {
+                    useInterpretedDelegate(translatedResult);
+                    return interpretedDelegate.apply(a, b, c, d, e);
+                }
+                return (Result_) result;
+            };
+        }
+    }
+
+    public static final class OfPredicate<A> extends TieredFunction<Predicate<A>> implements Predicate<A> {
+        @SuppressWarnings({ "unchecked", "rawtypes" })
+        OfPredicate(Object interpretedDelegate, Supplier<?> translator) {
+            super((Predicate<A>) interpretedDelegate, (Supplier) translator);
+        }
+
+        @Override
+        public boolean test(A a) {
+            return delegate.test(a);
+        }
+    }
+
+    public static final class OfBiPredicate<A, B> extends TieredFunction<BiPredicate<A, B>>
+            implements BiPredicate<A, B> {
+        @SuppressWarnings({ "unchecked", "rawtypes" })
+        OfBiPredicate(Object interpretedDelegate, Supplier<?> translator) {
+            super((BiPredicate<A, B>) interpretedDelegate, (Supplier) translator);
+        }
+
+        @Override
+        public boolean test(A a, B b) {
+            return delegate.test(a, b);
+        }
+    }
+
+    public static final class OfTriPredicate<A, B, C> extends TieredFunction<TriPredicate<A, B, C>>
+            implements TriPredicate<A, B, C> {
+        @SuppressWarnings({ "unchecked", "rawtypes" })
+        OfTriPredicate(Object interpretedDelegate, Supplier<?> translator) {
+            super((TriPredicate<A, B, C>) interpretedDelegate, (Supplier) translator);
+        }
+
+        @Override
+        public boolean test(A a, B b, C c) {
+            return delegate.test(a, b, c);
+        }
+    }
+
+    public static final class OfQuadPredicate<A, B, C, D> extends TieredFunction<QuadPredicate<A, B, C, D>>
+            implements QuadPredicate<A, B, C, D> {
+        @SuppressWarnings({ "unchecked", "rawtypes" })
+        OfQuadPredicate(Object interpretedDelegate, Supplier<?> translator) {
+            super((QuadPredicate<A, B, C, D>) interpretedDelegate, (Supplier) translator);
+        }
+
+        @Override
+        public boolean test(A a, B b, C c, D d) {
+            return delegate.test(a, b, c, d);
+        }
+    }
+
+    public static final class OfPentaPredicate<A, B, C, D, E> extends TieredFunction<PentaPredicate<A, B, C, D, E>>
+            implements PentaPredicate<A, B, C, D, E> {
+        @SuppressWarnings({ "unchecked", "rawtypes" })
+        OfPentaPredicate(Object interpretedDelegate, Supplier<?> translator) {
+            super((PentaPredicate<A, B, C, D, E>) interpretedDelegate, (Supplier) translator);
+        }
+
+        @Override
+        public boolean test(A a, B b, C c, D d, E e) {
+            return delegate.test(a, b, c, d, e);
+        }
+    }
+
+    public static final class OfToIntFunction<A> extends TieredFunction<ToIntFunction<A>> implements ToIntFunction<A> {
+        @SuppressWarnings({ "unchecked", "rawtypes" })
+        OfToIntFunction(Object interpretedDelegate, Supplier<?> translator) {
+            super((ToIntFunction<A>) interpretedDelegate, (Supplier) translator);
+        }
+
+        @Override
+        public int applyAsInt(A a) {
+            return delegate.applyAsInt(a);
+        }
+    }
+
+    public static final class OfToIntBiFunction<A, B> extends TieredFunction<ToIntBiFunction<A, B>>
+            implements ToIntBiFunction<A, B> {
+        @SuppressWarnings({ "unchecked", "rawtypes" })
+        OfToIntBiFunction(Object interpretedDelegate, Supplier<?> translator) {
+            super((ToIntBiFunction<A, B>) interpretedDelegate, (Supplier) translator);
+        }
+
+        @Override
+        public int applyAsInt(A a, B b) {
+            return delegate.applyAsInt(a, b);
+        }
+    }
+
+    public static final class OfToIntTriFunction<A, B, C> extends TieredFunction<ToIntTriFunction<A, B, C>>
+            implements ToIntTriFunction<A, B, C> {
+        @SuppressWarnings({ "unchecked", "rawtypes" })
+        OfToIntTriFunction(Object interpretedDelegate, Supplier<?> translator) {
+            super((ToIntTriFunction<A, B, C>) interpretedDelegate, (Supplier) translator);
+        }
+
+        @Override
+        public int applyAsInt(A a, B b, C c) {
+            return delegate.applyAsInt(a, b, c);
+        }
+    }
+
+    public static final class OfToIntQuadFunction<A, B, C, D> extends TieredFunction<ToIntQuadFunction<A, B, C, D>>
+            implements ToIntQuadFunction<A, B, C, D> {
+        @SuppressWarnings({ "unchecked", "rawtypes" })
+        OfToIntQuadFunction(Object interpretedDelegate, Supplier<?> translator) {
+            super((ToIntQuadFunction<A, B, C, D>) interpretedDelegate, (Supplier) translator);
+        }
+
+        @Override
+        public int applyAsInt(A a, B b, C c, D d) {
+            return delegate.applyAsInt(a, b, c, d);
+        }
+    }
+}
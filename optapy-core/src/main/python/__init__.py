@@ -10,5 +10,6 @@ use init before decorators and any optapy.types imports.
 
 from .annotations import *
 from .optaplanner_api_wrappers import *
-from .optaplanner_java_interop import init, _planning_clone, set_class_output_directory
+from .optaplanner_java_interop import init, _planning_clone, set_class_output_directory, \
+    set_wrapper_class_cache_directory
 from .constraint_stream import BytecodeTranslation
@@ -571,20 +571,33 @@ def planning_entity(entity_class: Type = None, /, *, pinning_filter: Callable =
         return planning_entity_wrapper
 
 
-def problem_fact(fact_class: Type) -> Type:
+def problem_fact(fact_class: Type = None, /, *, immutable: bool = False) -> Union[Type, Callable[[Type], Type]]:
     """Specifies that a class is a problem fact.
 
     A problem fact must not change during solving (except through a ProblemFactChange event).
     The constraints in a ConstraintProvider rely on problem facts for ConstraintFactory.from(Class).
     Do not annotate a planning entity as a problem fact:
     they are automatically available as facts for ConstraintFactory.from(Class)
+
+    Optional Parameters: @:param immutable: If True, instances of the class never change once created, so their
+    hash is only computed once, and equals/comparisons can be answered without calling Python when possible.
+    Only set it if __eq__, __hash__ and the comparison methods do not depend on mutable state.
     """
     ensure_init()
-    from jpyinterpreter import force_update_type
-    out = JImplements('org.optaplanner.jpyinterpreter.types.wrappers.OpaquePythonReference')(fact_class)
-    out.__optapy_java_class = _generate_problem_fact_class(fact_class)
-    force_update_type(out, out.__optapy_java_class.getField('$TYPE').get(None))
-    return out
+
+    def problem_fact_wrapper(fact_class_argument):
+        from jpyinterpreter import force_update_type
+        if immutable:
+            fact_class_argument.__optapy_immutable = True
+        out = JImplements('org.optaplanner.jpyinterpreter.types.wrappers.OpaquePythonReference')(fact_class_argument)
+        out.__optapy_java_class = _generate_problem_fact_class(fact_class_argument)
+        force_update_type(out, out.__optapy_java_class.getField('$TYPE').get(None))
+        return out
+
+    if fact_class:  # Called as @problem_fact
+        return problem_fact_wrapper(fact_class)
+    else:  # Called as @problem_fact(immutable=True)
+        return problem_fact_wrapper
 
 
 def planning_solution(planning_solution_class: Type) -> Type:
@@ -668,6 +681,7 @@ def constraint_provider(constraint_provider_function: Callable[['_ConstraintFact
                 constraint_stream.convert_to_java = function_bytecode_translation
                 out = function(constraint_stream.PythonConstraintFactory(constraint_factory,
                                                                          function_bytecode_translation))
+                constraint_stream.translate_tiered_functions_in_background()
                 if function_bytecode_translation is not BytecodeTranslation.NONE:
                     PythonSolver.onlyUseJavaSetters = constraint_stream.all_translated_successfully
                 else:
@@ -42,10 +42,16 @@ class BytecodeTranslation(Enum):
     """
     Always use original Python implementation; bytecode translation will not occur
     """
+    TIERED = 'TIERED'
+    """
+    Start with the original Python implementation, and switch to bytecode translation once the function has been
+    translated in the background. Functions that cannot be translated keep using the original Python implementation.
+    """
 
 
 function_bytecode_translation: BytecodeTranslation = BytecodeTranslation.IF_POSSIBLE
 all_translated_successfully = True
+tiered_functions_to_translate = []
 logger = logging.getLogger('optapy')
 
 def _check_if_bytecode_translation_possible():
@@ -108,6 +114,39 @@ class PythonPentaPredicate:
         return self.delegate(argument1, argument2, argument3, argument4, argument5)
 
 
+def _tiered_cast(function, interpreted_function, java_function_type, type_args):
+    global all_translated_successfully
+    from java.util import ArrayList
+    from org.optaplanner.optapy import TieredFunction
+    from jpyinterpreter import get_function_bytecode_object
+
+    # Until translated, the function reads the CPython objects, so they must be kept up to date
+    all_translated_successfully = False
+    try:
+        _check_if_bytecode_translation_possible()
+        python_compiled_function = get_function_bytecode_object(function)
+    except:  # noqa
+        return interpreted_function
+
+    type_arg_list = ArrayList()
+    for type_arg in type_args:
+        type_arg_list.add(type_arg)
+    out = TieredFunction.of(java_function_type, interpreted_function, python_compiled_function, type_arg_list)
+    tiered_functions_to_translate.append(out)
+    return out
+
+
+def translate_tiered_functions_in_background():
+    """
+    Starts the background translation of the functions created with BytecodeTranslation.TIERED.
+    Translation is deferred until the constraints are defined, so it does not slow down defining them.
+    """
+    global tiered_functions_to_translate
+    for tiered_function in tiered_functions_to_translate:
+        tiered_function.translateInBackground()
+    tiered_functions_to_translate = []
+
+
 def _check_if_type_args_are_python_object_wrappers(type_args):
     global function_bytecode_translation, all_translated_successfully
     from org.optaplanner.jpyinterpreter.types.wrappers import PythonObjectWrapper
@@ -132,6 +171,15 @@ def function_cast(function, *type_args):
 
         return default_function_cast(function, arg_count)
 
+    if function_bytecode_translation is BytecodeTranslation.TIERED:
+        from java.util.function import Function, BiFunction
+        from org.optaplanner.core.api.function import TriFunction, QuadFunction, PentaFunction
+        from org.optaplanner.jpyinterpreter import PythonLikeObject
+
+        return _tiered_cast(function, default_function_cast(function, arg_count),
+                            (Function, BiFunction, TriFunction, QuadFunction, PentaFunction)[arg_count - 1],
+                            (*type_args, PythonLikeObject))
+
     if function_bytecode_translation is not BytecodeTranslation.NONE:
         from java.util.function import Function, BiFunction
         from org.optaplanner.core.api.function import TriFunction, QuadFunction, PentaFunction
@@ -186,6 +234,14 @@ def predicate_cast(predicate, *type_args):
 
         return default_predicate_cast(predicate, arg_count)
 
+    if function_bytecode_translation is BytecodeTranslation.TIERED:
+        from java.util.function import Predicate, BiPredicate
+        from org.optaplanner.core.api.function import TriPredicate, QuadPredicate, PentaPredicate
+
+        return _tiered_cast(predicate, default_predicate_cast(predicate, arg_count),
+                            (Predicate, BiPredicate, TriPredicate, QuadPredicate, PentaPredicate)[arg_count - 1],
+                            type_args)
+
     if function_bytecode_translation is not BytecodeTranslation.NONE:
         from java.util.function import Predicate, BiPredicate
         from org.optaplanner.core.api.function import TriPredicate, QuadPredicate, PentaPredicate
@@ -238,6 +294,14 @@ def to_int_function_cast(function, *type_args):
 
         return default_to_int_function_cast(function, arg_count)
 
+    if function_bytecode_translation is BytecodeTranslation.TIERED:
+        from java.util.function import ToIntFunction, ToIntBiFunction
+        from org.optaplanner.core.api.function import ToIntTriFunction, ToIntQuadFunction
+
+        return _tiered_cast(function, default_to_int_function_cast(function, arg_count),
+                            (ToIntFunction, ToIntBiFunction, ToIntTriFunction, ToIntQuadFunction)[arg_count - 1],
+                            type_args)
+
     if function_bytecode_translation is not BytecodeTranslation.NONE:
         from java.util.function import ToIntFunction, ToIntBiFunction
         from org.optaplanner.core.api.function import ToIntTriFunction, ToIntQuadFunction
@@ -192,7 +192,7 @@ def _convert_to_java_compatible_object(item):
     from org.optaplanner.optapy import PythonComparable  # noqa
     if _has_java_class(item) or item is None:
         return item
-    return PythonComparable(_proxy(item))
+    return PythonComparable(_proxy(item), getattr(type(item), '__optapy_immutable', False), id(item))
 
 
 @JConversion('java.lang.Class', exact=type)
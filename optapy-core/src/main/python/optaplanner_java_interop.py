@@ -1,3 +1,4 @@
+import hashlib
 import inspect
 import pathlib
 import jpype
@@ -55,38 +56,55 @@ def _get_python_object_from_id(item_id):
     return item_id
 
 
-def _get_python_object_attribute(object_id, name):
-    """Gets an attribute from a Python Object"""
+def _get_attribute_reader():
+    """Returns a function that reads an attribute from a Python Object and converts it to a Java object
+
+    The Java classes it needs are imported once, so it should be reused when reading several attributes.
+    """
     import java.lang.Object
     import java.util.Collection
     import org.optaplanner.core.api.score.Score
-    from org.optaplanner.optapy import PythonComparable
-    the_object = object_id
-    python_object_getter = getattr(the_object, str(name))
-    if not callable(python_object_getter):
-        from org.optaplanner.optapy import OptaPyException  # noqa
-        error = (f'The attribute {name} on {object_id}is not callable (got {python_object_getter}, '
-                 f'expecting a function). You might have overridden the function {name} with a value.')
-        raise OptaPyException(error)
-    try:
-        python_object = python_object_getter()
-        if python_object is None:
-            return None
-        elif isinstance(python_object, (str, bool, int, float, complex, java.util.Collection,
-                                        org.optaplanner.core.api.score.Score)):
-            out = JObject(python_object, java.lang.Object)
-            return out
-        elif hasattr(python_object_getter, '__optaplannerPlanningId'):
-            return PythonComparable(
-                JProxy(org.optaplanner.jpyinterpreter.types.wrappers.OpaquePythonReference, inst=python_object,
-                       convert=True))
-        else:
-            return JProxy(org.optaplanner.jpyinterpreter.types.wrappers.OpaquePythonReference, inst=python_object,
-                          convert=True)
-    except Exception as e:
-        from org.optaplanner.optapy import OptaPyException  # noqa
-        error = f'An exception occur when calling {str(name)} on {str(the_object)}: {str(e)}. Check the code.'
-        raise OptaPyException(error)
+    from org.optaplanner.jpyinterpreter.types.wrappers import OpaquePythonReference  # noqa
+    from org.optaplanner.optapy import PythonComparable, OptaPyException  # noqa
+    java_value_types = (str, bool, int, float, complex, java.util.Collection, org.optaplanner.core.api.score.Score)
+
+    def read_attribute(the_object, name):
+        python_object_getter = getattr(the_object, name)
+        if not callable(python_object_getter):
+            error = (f'The attribute {name} on {the_object}is not callable (got {python_object_getter}, '
+                     f'expecting a function). You might have overridden the function {name} with a value.')
+            raise OptaPyException(error)
+        try:
+            python_object = python_object_getter()
+            if python_object is None:
+                return None
+            elif isinstance(python_object, java_value_types):
+                return JObject(python_object, java.lang.Object)
+            elif hasattr(python_object_getter, '__optaplannerPlanningId'):
+                return PythonComparable(JProxy(OpaquePythonReference, inst=python_object, convert=True),
+                                        _is_immutable_type(type(python_object)), id(python_object))
+            else:
+                return JProxy(OpaquePythonReference, inst=python_object, convert=True)
+        except Exception as e:
+            error = f'An exception occur when calling {name} on {str(the_object)}: {str(e)}. Check the code.'
+            raise OptaPyException(error)
+
+    return read_attribute
+
+
+def _get_python_object_attribute(object_id, name):
+    """Gets an attribute from a Python Object"""
+    return _get_attribute_reader()(object_id, str(name))
+
+
+def _get_python_object_attributes(object_id, names):
+    """Gets several attributes from a Python Object in a single call
+
+    :return: A Java Object array, where the value of names[i] is at index i
+    """
+    import java.lang.Object
+    read_attribute = _get_attribute_reader()
+    return JArray(java.lang.Object)([read_attribute(object_id, str(name)) for name in names])
 
 
 def _get_python_array_to_id_array(the_object: List):
@@ -108,18 +126,40 @@ def _get_python_object_java_class(the_object):
     return None
 
 
-def _set_python_object_attribute(object_id: int, name: str, value: Any) -> None:
-    """Sets an attribute on an Python Object"""
+def _get_attribute_writer():
+    """Returns a function that sets an attribute on a Python Object to a value from Java
+
+    The Java classes it needs are imported once, so it should be reused when setting several attributes.
+    """
     from org.optaplanner.optapy import PythonObject  # noqa
     from org.optaplanner.jpyinterpreter.types.wrappers import PythonObjectWrapper
 
-    the_object = object_id
-    the_value = value
-    if isinstance(the_value, PythonObject):
-        the_value = value.get__optapy_Id()
-    elif isinstance(the_value, PythonObjectWrapper):
-        the_value = value.getWrappedObject()
-    getattr(the_object, str(name))(the_value)
+    def write_attribute(the_object, name, value):
+        if isinstance(value, PythonObject):
+            value = value.get__optapy_Id()
+        elif isinstance(value, PythonObjectWrapper):
+            value = value.getWrappedObject()
+        getattr(the_object, name)(value)
+
+    return write_attribute
+
+
+def _set_python_object_attribute(object_id: int, name: str, value: Any) -> None:
+    """Sets an attribute on an Python Object"""
+    _get_attribute_writer()(object_id, str(name), value)
+
+
+def _set_python_objects_attributes(object_ids, names, values) -> None:
+    """Sets several attributes on several Python Objects in a single call
+
+    The value for names[j] on object_ids[i] is values[i * len(names) + j].
+    """
+    write_attribute = _get_attribute_writer()
+    attribute_names = [str(name) for name in names]
+    attribute_count = len(attribute_names)
+    for i, object_id in enumerate(object_ids):
+        for j, name in enumerate(attribute_names):
+            write_attribute(object_id, name, values[i * attribute_count + j])
 
 
 def _deep_clone_python_object(the_object: Any):
@@ -130,18 +170,52 @@ def _deep_clone_python_object(the_object: Any):
     garbage collected.
 
     :parameter the_object: the object to be cloned.
-    :return: An OpaquePythonReference of the cloned Python Object
+    :return: A Java Object array containing an OpaquePythonReference of the cloned Python Object,
+             the ids of the Python Objects that were planning cloned, and the ids of their clones
+             (in the same order)
     """
+    import java.lang.Object
     import org.optaplanner.jpyinterpreter.types.wrappers.OpaquePythonReference
     from org.optaplanner.optapy import PythonWrapperGenerator  # noqa
     item = PythonWrapperGenerator.getPythonObject(the_object)
     run_id = item._optapy_solver_run_id  # noqa ; cannot use __ since then we cannot access it here
-    the_clone = _planning_clone(item, dict())
+    memo = dict()
+    the_clone = _planning_clone(item, memo)
 
     # Only need to keep two references: the best solution, and the working solution
     solver_run_id_to_refs[run_id].append(the_clone)  # add the new working solution
     solver_run_id_to_refs[run_id].pop(0)  # pop the old best solution
-    return JProxy(org.optaplanner.jpyinterpreter.types.wrappers.OpaquePythonReference, inst=the_clone, convert=True)
+
+    out = JArray(java.lang.Object)(3)
+    out[0] = JProxy(org.optaplanner.jpyinterpreter.types.wrappers.OpaquePythonReference, inst=the_clone, convert=True)
+    out[1] = JArray(JLong)(list(memo.keys()))
+    out[2] = JArray(JLong)([id(clone) for clone in memo.values()])
+    return out
+
+
+def _planning_clone_python_objects(originals):
+    """Planning clones several Python Objects that belong to the same planning clone
+
+    Used to materialize a planning clone that was created in Java. All objects share
+    the same memo, so references between them are preserved.
+
+    :parameter originals: A list of OpaquePythonReference; the first one is the planning solution.
+    :return: A list of OpaquePythonReference of the cloned Python Objects, in the same order as originals
+    """
+    import java.util.ArrayList
+    import org.optaplanner.jpyinterpreter.types.wrappers.OpaquePythonReference
+    memo = dict()
+    clones = [_planning_clone(original, memo) for original in originals]
+    run_id = originals[0]._optapy_solver_run_id  # noqa ; cannot use __ since then we cannot access it here
+
+    # Only need to keep two references: the best solution, and the working solution
+    solver_run_id_to_refs[run_id].append(clones[0])
+    solver_run_id_to_refs[run_id].pop(0)
+
+    out = java.util.ArrayList()
+    for clone in clones:
+        out.add(JProxy(org.optaplanner.jpyinterpreter.types.wrappers.OpaquePythonReference, inst=clone, convert=True))
+    return out
 
 
 def _is_deep_planning_clone(object):
@@ -178,7 +252,11 @@ def _planning_clone(item, memo):
         if isinstance(item, MutableSequence):
             return out
         else:
-            return tuple(out)
+            # The memo must map to the clone itself, not to the list used to build it (which is discarded,
+            # so its id can be reused by another object)
+            out = tuple(out)
+            memo[item_id] = out
+            return out
     elif isinstance(item, Set):
         out = set()
         memo[item_id] = out
@@ -301,6 +379,24 @@ def _slice_python_list(the_list: List, start: int, end: int):
     return the_list[start:end]
 
 
+def _set_python_list_items(the_list: List, items):
+    the_list[:] = list(items)
+
+
+def _apply_changes_to_python_list(the_list: List, encoded_changes, values):
+    # Each change is (index << 2) | change_type; see PythonList.recordChange
+    for i in range(len(encoded_changes)):
+        change = int(encoded_changes[i])
+        change_type = change & 3
+        index = change >> 2
+        if change_type == 0:
+            the_list.insert(index, values[i])
+        elif change_type == 1:
+            the_list[index] = values[i]
+        else:
+            the_list.pop(index)
+
+
 def _compare_python_objects(a, b):
     from jpype import JInt
     if a < b:
@@ -362,9 +458,15 @@ def init(*args, path: List[str] = None, include_optaplanner_jars: bool = True, l
         JObject(PythonBiFunction(_get_python_object_attribute), java.util.function.BiFunction))
     PythonWrapperGenerator.setPythonObjectIdAndAttributeSetter(JObject(PythonTriFunction(_set_python_object_attribute),
                                                                        org.optaplanner.core.api.function.TriFunction))
+    PythonWrapperGenerator.setPythonObjectIdAndAttributeNamesToValues(
+        JObject(PythonBiFunction(_get_python_object_attributes), java.util.function.BiFunction))
+    PythonWrapperGenerator.setPythonObjectIdsAndAttributesSetter(
+        JObject(PythonTriFunction(_set_python_objects_attributes), org.optaplanner.core.api.function.TriFunction))
 
     PythonPlanningSolutionCloner.setDeepClonePythonObject(JObject(PythonFunction(_deep_clone_python_object),
                                                                   java.util.function.Function))
+    PythonPlanningSolutionCloner.setPlanningClonePythonObjects(JObject(PythonFunction(_planning_clone_python_objects),
+                                                                       java.util.function.Function))
 
     PythonList.setClearPythonList(JObject(PythonFunction(_clear_python_list), java.util.function.Function))
     PythonList.setGetPythonListLength(JObject(PythonFunction(_python_list_length), java.util.function.Function))
@@ -384,6 +486,10 @@ def init(*args, path: List[str] = None, include_optaplanner_jars: bool = True, l
                                                     java.util.function.BiFunction))
     PythonList.setSlicePythonList(JObject(PythonTriFunction(_slice_python_list),
                                           org.optaplanner.core.api.function.TriFunction))
+    PythonList.setSetPythonListItems(JObject(PythonBiFunction(_set_python_list_items),
+                                             java.util.function.BiFunction))
+    PythonList.setApplyChangesToPythonList(JObject(PythonTriFunction(_apply_changes_to_python_list),
+                                                   org.optaplanner.core.api.function.TriFunction))
 
     PythonComparable.setPythonObjectCompareTo(JObject(PythonBiFunction(_compare_python_objects),
                                                       java.util.function.BiFunction))
@@ -414,6 +520,21 @@ def set_class_output_directory(path: pathlib.Path):
     PythonBytecodeToJavaBytecodeTranslator.classOutputRootPath = path
 
 
+def set_wrapper_class_cache_directory(path: pathlib.Path):
+    """Sets the directory where the Java classes generated for the domain are cached
+
+    On later starts, the Java class of a @planning_solution, @planning_entity or @problem_fact
+    is loaded from this directory instead of being generated, provided its Python class did not change.
+
+    :param path: The directory to read cached classes from and write generated classes to,
+                 or None to disable the cache.
+    """
+    ensure_init()
+
+    from org.optaplanner.optapy import PythonWrapperClassCache # noqa
+    PythonWrapperClassCache.setCacheRootPath(path)
+
+
 solver_run_id_to_refs = dict()
 """Maps solver run id to solution clones it references"""
 
@@ -1040,6 +1161,11 @@ def _compose_unique_class_name(class_identifier: str):
     return unique_class_name
 
 
+def _is_immutable_type(python_type):
+    """Return True iff instances of python_type were declared to never change (see @problem_fact(immutable=True))"""
+    return getattr(python_type, '__optapy_immutable', False)
+
+
 def _does_class_define_eq_or_hashcode(python_class):
     return '__eq__' in python_class.__dict__ or '__hash__' in python_class.__dict__
 
@@ -1054,6 +1180,96 @@ def compile_and_get_class(python_class):
         return parent_class
 
 
+def _describe_for_cache_key(value) -> str:
+    """Describes an annotation value in a way that is stable between runs (i.e. does not contain memory addresses)"""
+    import java.lang
+    import java.util.List
+    import java.util.Map
+    if value is None or isinstance(value, (bool, int, float, str)):
+        return repr(value)
+    if isinstance(value, (java.lang.Number, java.lang.Boolean, java.lang.CharSequence, java.lang.Enum)):
+        return f'{value.getClass().getName()} {value}'
+    if isinstance(value, java.lang.Class):
+        return f'class {value.getName()}'
+    if isinstance(value, java.util.List):
+        return '[' + ','.join(_describe_for_cache_key(item) for item in value) + ']'
+    if isinstance(value, java.util.Map):
+        items = sorted(f'{key}={_describe_for_cache_key(value.get(key))}' for key in value.keySet())
+        return '{' + ','.join(items) + '}'
+    if isinstance(value, type):
+        return f'type {value.__module__}.{value.__qualname__}'
+    if callable(value) and hasattr(value, '__qualname__'):
+        return f'function {getattr(value, "__module__", None)}.{value.__qualname__}'
+    return f'{type(value).__module__}.{type(value).__qualname__}'
+
+
+def _get_functions_of_class_attribute(attribute):
+    if isinstance(attribute, (staticmethod, classmethod)):
+        attribute = attribute.__func__
+    if isinstance(attribute, property):
+        return [function for function in (attribute.fget, attribute.fset, attribute.fdel)
+                if inspect.isfunction(function)]
+    return [attribute] if inspect.isfunction(attribute) else []
+
+
+def _get_cache_key_sources(python_class) -> List[str]:
+    """Returns the names and sources of everything the Java class generated for python_class is translated from
+
+    That is every class in the MRO of python_class (except builtins), and the functions and classes
+    referenced by name from their methods.
+
+    :raises OSError, TypeError: if the source of a class in the MRO is not available.
+    """
+    mro = [cls for cls in python_class.__mro__ if cls.__module__ != 'builtins']
+    sources = []
+    name_to_referenced_object = dict()
+    for cls in mro:
+        sources.append(f'{cls.__module__}.{cls.__qualname__}')
+        sources.append(inspect.getsource(cls))
+        for attribute in vars(cls).values():
+            for function in _get_functions_of_class_attribute(attribute):
+                for name in function.__code__.co_names:
+                    referenced_object = function.__globals__.get(name)
+                    if (inspect.isfunction(referenced_object) or inspect.isclass(referenced_object)) \
+                            and referenced_object not in mro:
+                        name_to_referenced_object[f'{referenced_object.__module__}.'
+                                                  f'{referenced_object.__qualname__}'] = referenced_object
+    for name in sorted(name_to_referenced_object):
+        sources.append(name)
+        try:
+            sources.append(inspect.getsource(name_to_referenced_object[name]))
+        except (OSError, TypeError):
+            # Builtins and objects not defined in a source file; only their name is known
+            pass
+    return sources
+
+
+def _get_wrapper_class_cache_key(python_class, class_name: str, parent_class, *options):
+    """Computes the key of the generated Java class for python_class in PythonWrapperClassCache
+
+    :return: A hex digest of everything the generated class depends on, or None if the class cannot be cached
+             (the cache is disabled, or the source of a class in the MRO of python_class is not available).
+    """
+    from org.optaplanner.optapy import PythonWrapperClassCache # noqa
+    if PythonWrapperClassCache.getCacheRootPath() is None:
+        return None
+    try:
+        sources = _get_cache_key_sources(python_class)
+    except (OSError, TypeError):
+        return None
+    try:
+        optapy_version = importlib.metadata.version('optapy')
+    except importlib.metadata.PackageNotFoundError:
+        optapy_version = None
+    key_parts = [optapy_version, class_name, parent_class.getName(), *sources]
+    key_parts.extend(_describe_for_cache_key(option) for option in options)
+    digest = hashlib.sha256()
+    for key_part in key_parts:
+        digest.update(str(key_part).encode('utf-8'))
+        digest.update(b'\0')
+    return digest.hexdigest()
+
+
 def _generate_problem_fact_class(python_class):
     ensure_init()
     from org.optaplanner.optapy import PythonWrapperGenerator  # noqa
@@ -1062,11 +1278,17 @@ def _generate_problem_fact_class(python_class):
     optaplanner_annotations = _get_optaplanner_annotations(python_class)
     parent_class = compile_and_get_class(python_class)
     has_eq_and_hashcode = _does_class_define_eq_or_hashcode(python_class)
+    is_immutable = _is_immutable_type(python_class)
+    class_name = _compose_unique_class_name(class_identifier)
+    cache_key = _get_wrapper_class_cache_key(python_class, class_name, parent_class, 'problem_fact',
+                                             has_eq_and_hashcode, is_immutable, optaplanner_annotations)
 
-    out = PythonWrapperGenerator.defineProblemFactClass(_compose_unique_class_name(class_identifier),
+    out = PythonWrapperGenerator.defineProblemFactClass(class_name,
                                                         parent_class,
                                                         has_eq_and_hashcode,
-                                                        optaplanner_annotations)
+                                                        is_immutable,
+                                                        optaplanner_annotations,
+                                                        cache_key)
     class_identifier_to_java_class_map[class_identifier] = out
     force_update_type(python_class, out.getField('$TYPE').get(None))
     return out
@@ -1080,11 +1302,16 @@ def _generate_planning_entity_class(python_class: Type, annotation_data: Dict[st
     optaplanner_annotations = _get_optaplanner_annotations(python_class)
     parent_class = compile_and_get_class(python_class)
     has_eq_and_hashcode = _does_class_define_eq_or_hashcode(python_class)
-    out = PythonWrapperGenerator.definePlanningEntityClass(_compose_unique_class_name(class_identifier),
+    java_annotation_data = _to_java_map(annotation_data)
+    class_name = _compose_unique_class_name(class_identifier)
+    cache_key = _get_wrapper_class_cache_key(python_class, class_name, parent_class, 'planning_entity',
+                                             has_eq_and_hashcode, optaplanner_annotations, java_annotation_data)
+    out = PythonWrapperGenerator.definePlanningEntityClass(class_name,
                                                            parent_class,
                                                            has_eq_and_hashcode,
                                                            optaplanner_annotations,
-                                                           _to_java_map(annotation_data))
+                                                           java_annotation_data,
+                                                           cache_key)
     class_identifier_to_java_class_map[class_identifier] = out
     force_update_type(python_class, out.getField('$TYPE').get(None))
     return out
@@ -1098,10 +1325,14 @@ def _generate_planning_solution_class(python_class: Type) -> JClass:
     optaplanner_annotations = _get_optaplanner_annotations(python_class)
     parent_class = compile_and_get_class(python_class)
     has_eq_and_hashcode = _does_class_define_eq_or_hashcode(python_class)
-    out = PythonWrapperGenerator.definePlanningSolutionClass(_compose_unique_class_name(class_identifier),
+    class_name = _compose_unique_class_name(class_identifier)
+    cache_key = _get_wrapper_class_cache_key(python_class, class_name, parent_class, 'planning_solution',
+                                             has_eq_and_hashcode, optaplanner_annotations)
+    out = PythonWrapperGenerator.definePlanningSolutionClass(class_name,
                                                              parent_class,
                                                              has_eq_and_hashcode,
-                                                             optaplanner_annotations)
+                                                             optaplanner_annotations,
+                                                             cache_key)
     class_identifier_to_java_class_map[class_identifier] = out
     force_update_type(python_class, out.getField('$TYPE').get(None))
     return out
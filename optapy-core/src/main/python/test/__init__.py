@@ -3,7 +3,7 @@ from jpype import JProxy
 
 from ..jpype_type_conversions import PythonBiFunction
 from ..optaplanner_java_interop import get_class
-from ..constraint_stream import PythonConstraintFactory, BytecodeTranslation
+from ..constraint_stream import PythonConstraintFactory, BytecodeTranslation, translate_tiered_functions_in_background
 
 if TYPE_CHECKING:
     # These imports require a JVM to be running, so only import if type checking
@@ -61,10 +61,12 @@ class ConstraintVerifier(Generic[Solution_]):
         if constraint_function is None:
             return MultiConstraintVerification(self.delegate.verifyThat())
         else:
-            return SingleConstraintVerification(self.delegate.verifyThat(
-                PythonBiFunction(lambda _, constraint_factory:
-                                 constraint_function(PythonConstraintFactory(constraint_factory,
-                                                                             self.bytecode_translation)))))
+            def define_constraint(_, constraint_factory):
+                out = constraint_function(PythonConstraintFactory(constraint_factory, self.bytecode_translation))
+                translate_tiered_functions_in_background()
+                return out
+
+            return SingleConstraintVerification(self.delegate.verifyThat(PythonBiFunction(define_constraint)))
 
 
 class SingleConstraintVerification(Generic[Solution_]):
@@ -0,0 +1,151 @@
+package org.optaplanner.optapy;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.optaplanner.jpyinterpreter.util.WeakValueIdMap;
+
+public class IdMirrorWithExtrasMapTest {
+
+    private static WeakValueIdMap<String> getBaseMap() {
+        WeakValueIdMap<String> baseMap = new WeakValueIdMap<>();
+        baseMap.put(1L, "1");
+        baseMap.put(2L, "2");
+        return baseMap;
+    }
+
+    @Test
+    public void testGet() {
+        WeakValueIdMap<String> baseMap = getBaseMap();
+        IdMirrorWithExtrasMap<String> mirrorMap = new IdMirrorWithExtrasMap<>(baseMap);
+
+        assertThat(mirrorMap.get(1L)).isEqualTo("1");
+        assertThat(mirrorMap.get(Integer.valueOf(2))).isEqualTo("2");
+        assertThat(mirrorMap.get(3L)).isNull();
+        assertThat(mirrorMap.get("1")).isNull();
+    }
+
+    @Test
+    public void testPut() {
+        WeakValueIdMap<String> baseMap = getBaseMap();
+        IdMirrorWithExtrasMap<String> mirrorMap = new IdMirrorWithExtrasMap<>(baseMap);
+
+        mirrorMap.put(3L, "3");
+
+        assertThat(baseMap.containsKey(3L)).isFalse();
+        assertThat(mirrorMap.get(1L)).isEqualTo("1");
+        assertThat(mirrorMap.get(2L)).isEqualTo("2");
+        assertThat(mirrorMap.get(3L)).isEqualTo("3");
+        assertThat(mirrorMap).hasSize(3);
+        assertThat(mirrorMap.extraSize()).isEqualTo(1);
+    }
+
+    @Test
+    public void testInvalidPut() {
+        WeakValueIdMap<String> baseMap = getBaseMap();
+        IdMirrorWithExtrasMap<String> mirrorMap = new IdMirrorWithExtrasMap<>(baseMap);
+
+        assertThatCode(() -> mirrorMap.put(1L, "3")).isInstanceOf(IllegalArgumentException.class);
+        assertThat(baseMap).isEqualTo(Map.of(1L, "1", 2L, "2"));
+        assertThat(mirrorMap).isEqualTo(Map.of(1L, "1", 2L, "2"));
+    }
+
+    @Test
+    public void testPutAll() {
+        WeakValueIdMap<String> baseMap = getBaseMap();
+        IdMirrorWithExtrasMap<String> mirrorMap = new IdMirrorWithExtrasMap<>(baseMap);
+        IdMirrorWithExtrasMap<String> otherMap = new IdMirrorWithExtrasMap<>(new HashMap<>());
+        otherMap.put(4L, "4");
+
+        mirrorMap.putAll(Map.of(3L, "3"));
+        mirrorMap.putAll(otherMap);
+
+        assertThat(baseMap.containsKey(3L)).isFalse();
+        assertThat(baseMap.containsKey(4L)).isFalse();
+        assertThat(mirrorMap).isEqualTo(Map.of(1L, "1", 2L, "2", 3L, "3", 4L, "4"));
+        assertThat(mirrorMap.extraSize()).isEqualTo(2);
+    }
+
+    @Test
+    public void testInvalidPutAll() {
+        WeakValueIdMap<String> baseMap = getBaseMap();
+        IdMirrorWithExtrasMap<String> mirrorMap = new IdMirrorWithExtrasMap<>(baseMap);
+
+        assertThatCode(() -> mirrorMap.putAll(Map.of(3L, "3", 1L, "3"))).isInstanceOf(IllegalArgumentException.class);
+        assertThat(mirrorMap).isEqualTo(Map.of(1L, "1", 2L, "2"));
+    }
+
+    @Test
+    public void testRemove() {
+        WeakValueIdMap<String> baseMap = getBaseMap();
+        IdMirrorWithExtrasMap<String> mirrorMap = new IdMirrorWithExtrasMap<>(baseMap);
+        mirrorMap.put(3L, "3");
+
+        assertThat(mirrorMap.remove(3L)).isEqualTo("3");
+        assertThat(mirrorMap.remove(1L)).isNull();
+        assertThat(mirrorMap).isEqualTo(Map.of(1L, "1", 2L, "2"));
+    }
+
+    @Test
+    public void testManyExtras() {
+        IdMirrorWithExtrasMap<Object> mirrorMap = new IdMirrorWithExtrasMap<>(new WeakValueIdMap<>());
+        List<Object> valueList = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            Object value = new Object();
+            valueList.add(value);
+            mirrorMap.put(i * 16L, value);
+        }
+        for (int i = 0; i < 1000; i += 2) {
+            mirrorMap.remove(i * 16L);
+        }
+
+        assertThat(mirrorMap).hasSize(500);
+        for (int i = 0; i < 1000; i++) {
+            if (i % 2 == 0) {
+                assertThat(mirrorMap.containsKey(i * 16L)).isFalse();
+            } else {
+                assertThat(mirrorMap.get(i * 16L)).isSameAs(valueList.get(i));
+            }
+        }
+
+        Map<Long, Object> extraMap = new HashMap<>();
+        mirrorMap.forEachExtra(extraMap::put);
+        assertThat(extraMap).hasSize(500);
+        assertThat(mirrorMap.entrySet()).hasSize(500);
+        assertThat(mirrorMap.values()).containsExactlyInAnyOrderElementsOf(extraMap.values());
+    }
+
+    @Test
+    public void testClear() {
+        WeakValueIdMap<String> baseMap = getBaseMap();
+        IdMirrorWithExtrasMap<String> mirrorMap = new IdMirrorWithExtrasMap<>(baseMap);
+        mirrorMap.put(3L, "3");
+
+        mirrorMap.clear();
+
+        assertThat(mirrorMap).isEqualTo(Map.of(1L, "1", 2L, "2"));
+        assertThat(baseMap).isEqualTo(Map.of(1L, "1", 2L, "2"));
+    }
+
+    @Test
+    public void testRecordingPuts() {
+        WeakValueIdMap<String> baseMap = getBaseMap();
+        IdMirrorWithExtrasMap<String> mirrorMap = new IdMirrorWithExtrasMap<>(baseMap);
+        mirrorMap.put(3L, "3");
+
+        mirrorMap.startRecordingPuts();
+        mirrorMap.put(4L, "4");
+        mirrorMap.put(5L, "5");
+        assertThat(mirrorMap.stopRecordingPuts()).containsExactly("4", "5");
+
+        mirrorMap.put(6L, "6");
+        assertThat(mirrorMap.stopRecordingPuts()).isNull();
+        assertThat(mirrorMap.extraSize()).isEqualTo(4);
+    }
+}
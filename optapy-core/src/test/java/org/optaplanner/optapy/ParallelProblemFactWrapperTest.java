@@ -0,0 +1,198 @@
+package org.optaplanner.optapy;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.optaplanner.core.api.domain.solution.ProblemFactCollectionProperty;
+import org.optaplanner.core.api.function.TriFunction;
+import org.optaplanner.jpyinterpreter.types.AbstractPythonLikeObject;
+import org.optaplanner.jpyinterpreter.types.wrappers.OpaquePythonReference;
+
+public class ParallelProblemFactWrapperTest {
+    private static final AtomicInteger wrappedFactCount = new AtomicInteger();
+
+    private static final class FakeReference implements OpaquePythonReference {
+        private final long id;
+        private final Class<?> javaClass;
+        private final List<OpaquePythonReference> itemList;
+        private final Map<String, Object> attributeMap = new HashMap<>();
+
+        private FakeReference(long id, Class<?> javaClass, List<OpaquePythonReference> itemList) {
+            this.id = id;
+            this.javaClass = javaClass;
+            this.itemList = itemList;
+        }
+    }
+
+    public static class Fact extends AbstractPythonLikeObject implements PythonObject {
+        public long value$field;
+
+        private final OpaquePythonReference reference;
+        private final Map<Number, Object> referenceMap;
+
+        @SuppressWarnings("unchecked")
+        public Fact(OpaquePythonReference reference, Number id, Map referenceMap, TriFunction setter) {
+            super(OBJECT_TYPE);
+            this.reference = reference;
+            this.referenceMap = referenceMap;
+            this.value$field = id.longValue();
+            referenceMap.put(id, this);
+            wrappedFactCount.incrementAndGet();
+        }
+
+        @Override
+        public OpaquePythonReference get__optapy_Id() {
+            return reference;
+        }
+
+        @Override
+        public Map<Number, Object> get__optapy_reference_map() {
+            return referenceMap;
+        }
+
+        @Override
+        public void forceUpdate() {
+        }
+
+        @Override
+        public void readFromPythonObject(Predicate<Object> shouldRead, Map<Number, Object> referenceMap) {
+        }
+
+        @Override
+        public void visitIds(Map<Number, Object> referenceMap) {
+        }
+
+        @Override
+        public void $setFields(OpaquePythonReference reference, Number id, Map referenceMap, TriFunction setter) {
+        }
+    }
+
+    public static class Solution {
+        public List<Fact> get_facts$field;
+        public List<Fact> get_others$field;
+
+        @ProblemFactCollectionProperty
+        public List<Fact> getFacts() {
+            return get_facts$field;
+        }
+
+        @ProblemFactCollectionProperty
+        public List<Fact> getOthers() {
+            return get_others$field;
+        }
+    }
+
+    /**
+     * Fails the test if anything is written to it while a worker could still be reading it.
+     */
+    private static final class CheckedReferenceMap extends HashMap<Number, Object> {
+        private final int expectedWrappedFactCount;
+        private int putCount = 0;
+        private int putWhileWrappingCount = 0;
+
+        private CheckedReferenceMap(int expectedWrappedFactCount) {
+            this.expectedWrappedFactCount = expectedWrappedFactCount;
+        }
+
+        @Override
+        public Object put(Number key, Object value) {
+            putCount++;
+            if (wrappedFactCount.get() != expectedWrappedFactCount) {
+                putWhileWrappingCount++;
+            }
+            return super.put(key, value);
+        }
+    }
+
+    private static List<OpaquePythonReference> createItemList(long firstId, int size) {
+        List<OpaquePythonReference> out = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            out.add(new FakeReference(firstId + i, Fact.class, null));
+        }
+        return out;
+    }
+
+    @BeforeEach
+    public void setUp() {
+        wrappedFactCount.set(0);
+        PythonWrapperGenerator.setPythonObjectToId(reference -> ((FakeReference) reference).id);
+        PythonWrapperGenerator.setPythonGetJavaClass(reference -> {
+            FakeReference fakeReference = (FakeReference) reference;
+            if (fakeReference.id >= 1000L) {
+                // Keep the workers of the second collection busy while the first collection is done
+                try {
+                    Thread.sleep(1L);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            return fakeReference.javaClass;
+        });
+        PythonWrapperGenerator.setPythonArrayIdToIdArray(reference -> ((FakeReference) reference).itemList);
+        PythonWrapperGenerator.setPythonObjectIdAndAttributeNameToValue(
+                (reference, attributeName) -> ((FakeReference) reference).attributeMap.get(attributeName));
+    }
+
+    @AfterEach
+    public void tearDown() {
+        PythonWrapperGenerator.setPythonObjectToId(null);
+        PythonWrapperGenerator.setPythonGetJavaClass(null);
+        PythonWrapperGenerator.setPythonArrayIdToIdArray(null);
+        PythonWrapperGenerator.setPythonObjectIdAndAttributeNameToValue(null);
+    }
+
+    @Test
+    public void testWrapProblemFactCollections() {
+        List<OpaquePythonReference> factList = createItemList(0L, 100);
+        List<OpaquePythonReference> otherList = createItemList(1000L, 100);
+        // The same object in both collections is wrapped by two workers, but only one wrapper may be used
+        OpaquePythonReference sharedFact = factList.get(42);
+        otherList.set(0, sharedFact);
+
+        FakeReference factListReference = new FakeReference(-1L, List.class, factList);
+        FakeReference otherListReference = new FakeReference(-2L, List.class, otherList);
+        FakeReference problem = new FakeReference(-3L, Solution.class, null);
+        problem.attributeMap.put("get_facts", factListReference);
+        problem.attributeMap.put("get_others", otherListReference);
+
+        CheckedReferenceMap referenceMap = new CheckedReferenceMap(200);
+        new ParallelProblemFactWrapper(problem, referenceMap, PythonWrapperGenerator.NONE_PYTHON_SETTER, 7)
+                .wrapProblemFactCollections(Solution.class, 4);
+
+        assertThat(wrappedFactCount.get()).isEqualTo(200);
+        assertThat(referenceMap.putCount).isPositive();
+        assertThat(referenceMap.putWhileWrappingCount).isZero();
+
+        assertThat(referenceMap.get(-1L)).isInstanceOf(PythonList.class);
+        assertThat(referenceMap.get(-2L)).isInstanceOf(PythonList.class);
+        List<Object> wrappedFactList = ((PythonList<?>) referenceMap.get(-1L)).getCachedObjectList();
+        List<Object> wrappedOtherList = ((PythonList<?>) referenceMap.get(-2L)).getCachedObjectList();
+        assertThat(wrappedFactList).hasSize(100);
+        assertThat(wrappedOtherList).hasSize(100);
+        for (int i = 0; i < 100; i++) {
+            assertThat(((Fact) wrappedFactList.get(i)).value$field).isEqualTo(i);
+            assertThat(wrappedFactList.get(i)).isSameAs(referenceMap.get((long) i));
+        }
+        for (int i = 1; i < 100; i++) {
+            assertThat(((Fact) wrappedOtherList.get(i)).value$field).isEqualTo(1000L + i);
+            assertThat(wrappedOtherList.get(i)).isSameAs(referenceMap.get(1000L + i));
+        }
+        assertThat(wrappedOtherList.get(0)).isSameAs(wrappedFactList.get(42));
+    }
+
+    @Test
+    public void testPoolIsReused() {
+        assertThat(ParallelProblemFactWrapper.getPool(3)).isSameAs(ParallelProblemFactWrapper.getPool(3));
+        assertThat(ParallelProblemFactWrapper.getPool(0)).isSameAs(ParallelProblemFactWrapper.getPool(1));
+        assertThat(ParallelProblemFactWrapper.getPool(2).getParallelism()).isEqualTo(2);
+    }
+}
@@ -0,0 +1,148 @@
+package org.optaplanner.optapy;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.optaplanner.jpyinterpreter.types.wrappers.OpaquePythonReference;
+
+public class PythonComparableTest {
+    /**
+     * Stands in for a JProxy; a new one is created every time the same Python object is converted to Java.
+     */
+    private static final class FakeProxy implements OpaquePythonReference {
+        private final FakePythonObject pythonObject;
+
+        private FakeProxy(FakePythonObject pythonObject) {
+            this.pythonObject = pythonObject;
+        }
+    }
+
+    /**
+     * Stands in for a CPython object.
+     */
+    private static final class FakePythonObject {
+        private final long id;
+        private final int value;
+
+        private FakePythonObject(long id, int value) {
+            this.id = id;
+            this.value = value;
+        }
+    }
+
+    private final AtomicInteger compareToCallCount = new AtomicInteger();
+    private final AtomicInteger equalsCallCount = new AtomicInteger();
+    private final AtomicInteger hashCallCount = new AtomicInteger();
+
+    private static int valueOf(OpaquePythonReference reference) {
+        return ((FakeProxy) reference).pythonObject.value;
+    }
+
+    @BeforeEach
+    public void setUp() {
+        PythonComparable.setPythonObjectCompareTo((a, b) -> {
+            compareToCallCount.incrementAndGet();
+            return Integer.compare(valueOf(a), valueOf(b));
+        });
+        PythonComparable.setPythonObjectEquals((a, b) -> {
+            equalsCallCount.incrementAndGet();
+            return valueOf(a) == valueOf(b);
+        });
+        PythonComparable.setPythonObjectHash(reference -> {
+            hashCallCount.incrementAndGet();
+            return valueOf(reference);
+        });
+    }
+
+    @AfterEach
+    public void tearDown() {
+        PythonComparable.setPythonObjectCompareTo(null);
+        PythonComparable.setPythonObjectEquals(null);
+        PythonComparable.setPythonObjectHash(null);
+    }
+
+    private static PythonComparable convert(FakePythonObject pythonObject, boolean isImmutable) {
+        return new PythonComparable(new FakeProxy(pythonObject), isImmutable, pythonObject.id);
+    }
+
+    @Test
+    public void testImmutableCachesHitForDifferentProxies() {
+        FakePythonObject a = new FakePythonObject(1L, 10);
+        FakePythonObject b = new FakePythonObject(2L, 20);
+        FakePythonObject c = new FakePythonObject(3L, 10);
+        PythonComparable comparableA = convert(a, true);
+
+        // Same Python object, converted again
+        assertThat(comparableA).isEqualTo(convert(a, true));
+        assertThat(comparableA.compareTo(convert(a, true))).isZero();
+        assertThat(equalsCallCount.get()).isZero();
+        assertThat(compareToCallCount.get()).isZero();
+
+        for (int i = 0; i < 5; i++) {
+            assertThat(comparableA.compareTo(convert(b, true))).isNegative();
+            assertThat(comparableA.hashCode()).isEqualTo(10);
+        }
+        assertThat(compareToCallCount.get()).isEqualTo(1);
+        assertThat(hashCallCount.get()).isEqualTo(1);
+
+        // Equal, but a different Python object
+        assertThat(comparableA).isEqualTo(convert(c, true));
+        assertThat(equalsCallCount.get()).isEqualTo(1);
+        // Different hashes, so Python is not asked
+        assertThat(comparableA).isNotEqualTo(convert(b, true));
+        assertThat(equalsCallCount.get()).isEqualTo(1);
+    }
+
+    @Test
+    public void testMutableIsNeverCached() {
+        FakePythonObject a = new FakePythonObject(1L, 10);
+        FakePythonObject b = new FakePythonObject(2L, 20);
+        PythonComparable comparableA = convert(a, false);
+
+        for (int i = 0; i < 5; i++) {
+            assertThat(comparableA.compareTo(convert(b, false))).isNegative();
+            assertThat(comparableA.compareTo(convert(b, true))).isNegative();
+            assertThat(comparableA.hashCode()).isEqualTo(10);
+            assertThat(comparableA).isEqualTo(convert(a, false));
+        }
+        assertThat(compareToCallCount.get()).isEqualTo(10);
+        assertThat(hashCallCount.get()).isEqualTo(5);
+        assertThat(equalsCallCount.get()).isEqualTo(5);
+    }
+
+    @Test
+    public void testImmutableCacheFromManyThreads() throws InterruptedException {
+        List<FakePythonObject> pythonObjectList = new ArrayList<>();
+        for (int i = 0; i < 32; i++) {
+            pythonObjectList.add(new FakePythonObject(i, i));
+        }
+        PythonComparable comparable = convert(new FakePythonObject(100L, 16), true);
+        AtomicInteger wrongResultCount = new AtomicInteger();
+
+        List<Thread> threadList = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            Thread thread = new Thread(() -> {
+                for (int j = 0; j < 1000; j++) {
+                    FakePythonObject other = pythonObjectList.get(j % pythonObjectList.size());
+                    int expected = Integer.compare(16, other.value);
+                    if (Integer.signum(comparable.compareTo(convert(other, true))) != expected
+                            || comparable.hashCode() != 16) {
+                        wrongResultCount.incrementAndGet();
+                    }
+                }
+            });
+            threadList.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threadList) {
+            thread.join();
+        }
+        assertThat(wrongResultCount.get()).isZero();
+    }
+}
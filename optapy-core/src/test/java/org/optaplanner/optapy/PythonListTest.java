@@ -0,0 +1,157 @@
+package org.optaplanner.optapy;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.optaplanner.core.api.function.TriFunction;
+import org.optaplanner.jpyinterpreter.PythonLikeObject;
+import org.optaplanner.jpyinterpreter.types.wrappers.OpaquePythonReference;
+
+public class PythonListTest {
+    private static final TriFunction<OpaquePythonReference, String, Object, Object> PYTHON_SETTER = (a, b, c) -> null;
+
+    /**
+     * Stands in for a CPython list.
+     */
+    private static final class FakePythonList implements OpaquePythonReference {
+        private final List<Object> itemList = new ArrayList<>();
+    }
+
+    private final AtomicInteger applyChangesCallCount = new AtomicInteger();
+    private final AtomicInteger setItemsCallCount = new AtomicInteger();
+
+    @BeforeEach
+    public void setUp() {
+        PythonList.setAddItemToPythonList((list, item) -> ((FakePythonList) list).itemList.add(item));
+        PythonList.setSetItemAtIndexInPythonList((list, index, item) -> ((FakePythonList) list).itemList.set(index, item));
+        PythonList.setApplyChangesToPythonList((list, changes, values) -> {
+            applyChangesCallCount.incrementAndGet();
+            List<Object> itemList = ((FakePythonList) list).itemList;
+            for (int i = 0; i < changes.length; i++) {
+                int index = changes[i] >> 2;
+                switch (changes[i] & 3) {
+                    case 0:
+                        itemList.add(index, values[i]);
+                        break;
+                    case 1:
+                        itemList.set(index, values[i]);
+                        break;
+                    default:
+                        itemList.remove(index);
+                }
+            }
+            return null;
+        });
+        PythonList.setSetPythonListItems((list, items) -> {
+            setItemsCallCount.incrementAndGet();
+            ((FakePythonList) list).itemList.clear();
+            ((FakePythonList) list).itemList.addAll(items);
+            return null;
+        });
+    }
+
+    @AfterEach
+    public void tearDown() {
+        PythonList.setUseWriteBehind(false);
+        PythonList.setAddItemToPythonList(null);
+        PythonList.setSetItemAtIndexInPythonList(null);
+        PythonList.setApplyChangesToPythonList(null);
+        PythonList.setSetPythonListItems(null);
+    }
+
+    private static PythonList<Object> createList(FakePythonList fakePythonList) {
+        return new PythonList<>(fakePythonList, new IdMirrorWithExtrasMap<>(new HashMap<>()), PYTHON_SETTER,
+                new ArrayList<>(), new ArrayList<PythonLikeObject>());
+    }
+
+    @Test
+    public void testChangesAreSentImmediatelyWithoutWriteBehind() {
+        PythonList.setUseWriteBehind(false);
+        FakePythonList fakePythonList = new FakePythonList();
+        PythonList<Object> pythonList = createList(fakePythonList);
+
+        pythonList.add("a");
+        pythonList.add("b");
+        pythonList.set(0, "c");
+
+        assertThat(fakePythonList.itemList).containsExactly("c", "b");
+        assertThat(applyChangesCallCount.get()).isZero();
+    }
+
+    @Test
+    public void testWriteBehindChangesAreSentInOneCall() {
+        PythonList.setUseWriteBehind(true);
+        FakePythonList fakePythonList = new FakePythonList();
+        PythonList<Object> pythonList = createList(fakePythonList);
+
+        pythonList.add("a");
+        pythonList.add("b");
+        pythonList.add(1, "c");
+        pythonList.set(0, "d");
+        pythonList.remove(2);
+        assertThat(fakePythonList.itemList).isEmpty();
+
+        assertThat(pythonList.get__optapy_Id()).isSameAs(fakePythonList);
+        assertThat(fakePythonList.itemList).containsExactly("d", "c");
+        assertThat(applyChangesCallCount.get()).isEqualTo(1);
+    }
+
+    @Test
+    public void testWriteBehindChangesAreSentByAnyThread() throws InterruptedException {
+        PythonList.setUseWriteBehind(true);
+        FakePythonList fakePythonList = new FakePythonList();
+        PythonList<Object> pythonList = createList(fakePythonList);
+
+        Thread writer = new Thread(() -> {
+            pythonList.add("a");
+            pythonList.add("b");
+        });
+        writer.start();
+        writer.join();
+        assertThat(fakePythonList.itemList).isEmpty();
+
+        // This thread did not change the list, but must still see the changes of the writer
+        PythonList.flushPendingChanges();
+        assertThat(fakePythonList.itemList).containsExactly("a", "b");
+    }
+
+    @Test
+    public void testTooManyChangesResyncTheWholeList() {
+        PythonList.setUseWriteBehind(true);
+        FakePythonList fakePythonList = new FakePythonList();
+        PythonList<Object> pythonList = createList(fakePythonList);
+
+        List<Object> expected = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            pythonList.add(i);
+            expected.add(i);
+        }
+        PythonList.flushPendingChanges();
+
+        assertThat(fakePythonList.itemList).isEqualTo(expected);
+        assertThat(applyChangesCallCount.get()).isZero();
+        assertThat(setItemsCallCount.get()).isEqualTo(1);
+    }
+
+    @Test
+    public void testDisablingWriteBehindSendsPendingChanges() {
+        PythonList.setUseWriteBehind(true);
+        FakePythonList fakePythonList = new FakePythonList();
+        PythonList<Object> pythonList = createList(fakePythonList);
+
+        pythonList.add("a");
+        PythonList.setUseWriteBehind(false);
+        assertThat(PythonList.isUseWriteBehind()).isFalse();
+        assertThat(fakePythonList.itemList).containsExactly("a");
+
+        pythonList.add("b");
+        assertThat(fakePythonList.itemList).containsExactly("a", "b");
+    }
+}
@@ -0,0 +1,318 @@
+package org.optaplanner.optapy;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Predicate;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.optaplanner.core.api.domain.entity.PlanningEntity;
+import org.optaplanner.core.api.domain.solution.PlanningSolution;
+import org.optaplanner.core.api.function.TriFunction;
+import org.optaplanner.jpyinterpreter.PythonLikeObject;
+import org.optaplanner.jpyinterpreter.types.AbstractPythonLikeObject;
+import org.optaplanner.jpyinterpreter.types.PythonLikeType;
+import org.optaplanner.jpyinterpreter.types.wrappers.OpaquePythonReference;
+
+public class PythonPlanningSolutionClonerTest {
+    /**
+     * Stands in for a CPython object.
+     */
+    private static final class FakePythonObject implements OpaquePythonReference {
+        private final Map<String, Object> attributeMap = new HashMap<>();
+    }
+
+    /**
+     * Stands in for a CPython list.
+     */
+    private static final class FakePythonList implements OpaquePythonReference {
+        private final List<Object> itemList = new ArrayList<>();
+    }
+
+    /**
+     * Mimics the class generated by {@link PythonWrapperGenerator} for a planning entity.
+     */
+    @PlanningEntity
+    public static class Entity extends AbstractPythonLikeObject implements PythonObject {
+        public static final PythonLikeType $TYPE = new PythonLikeType("Entity", Entity.class);
+
+        public OpaquePythonReference __optaplannerPythonValue;
+        public TriFunction<OpaquePythonReference, String, Object, Object> _optaplannerPythonSetter;
+        public LazyPythonPlanningClone __optaplannerLazyPlanningClone;
+        public Map<Number, Object> referenceMap;
+        public String value;
+
+        public Entity(PythonLikeType type) {
+            super(type);
+        }
+
+        @Override
+        public OpaquePythonReference get__optapy_Id() {
+            if (__optaplannerLazyPlanningClone != null) {
+                __optaplannerLazyPlanningClone.materialize();
+            }
+            return __optaplannerPythonValue;
+        }
+
+        @Override
+        public Map<Number, Object> get__optapy_reference_map() {
+            return referenceMap;
+        }
+
+        @Override
+        public void forceUpdate() {
+            ((FakePythonObject) get__optapy_Id()).attributeMap.put("value", value);
+        }
+
+        @Override
+        public void readFromPythonObject(Predicate<Object> shouldRead, Map<Number, Object> referenceMap) {
+        }
+
+        @Override
+        public void visitIds(Map<Number, Object> referenceMap) {
+        }
+
+        @Override
+        public void $setFields(OpaquePythonReference reference, Number id, Map referenceMap, TriFunction setter) {
+        }
+    }
+
+    /**
+     * Mimics the class generated by {@link PythonWrapperGenerator} for a planning solution.
+     */
+    @PlanningSolution
+    public static class Solution extends AbstractPythonLikeObject implements PythonObject {
+        public static final PythonLikeType $TYPE = new PythonLikeType("Solution", Solution.class);
+
+        public OpaquePythonReference __optaplannerPythonValue;
+        public TriFunction<OpaquePythonReference, String, Object, Object> _optaplannerPythonSetter;
+        public LazyPythonPlanningClone __optaplannerLazyPlanningClone;
+        public Map<Number, Object> referenceMap;
+        public PythonList<Entity> entityList;
+        public int score;
+
+        public Solution(PythonLikeType type) {
+            super(type);
+        }
+
+        @Override
+        public OpaquePythonReference get__optapy_Id() {
+            if (__optaplannerLazyPlanningClone != null) {
+                __optaplannerLazyPlanningClone.materialize();
+            }
+            return __optaplannerPythonValue;
+        }
+
+        @Override
+        public Map<Number, Object> get__optapy_reference_map() {
+            return referenceMap;
+        }
+
+        @Override
+        public void forceUpdate() {
+            ((FakePythonObject) get__optapy_Id()).attributeMap.put("score", score);
+            for (Entity entity : entityList) {
+                entity.forceUpdate();
+            }
+        }
+
+        @Override
+        public void readFromPythonObject(Predicate<Object> shouldRead, Map<Number, Object> referenceMap) {
+        }
+
+        @Override
+        public void visitIds(Map<Number, Object> referenceMap) {
+        }
+
+        @Override
+        public void $setFields(OpaquePythonReference reference, Number id, Map referenceMap, TriFunction setter) {
+        }
+    }
+
+    private static Object planningCloneFakePythonObject(Object original, Map<Object, Object> memo) {
+        if (!(original instanceof OpaquePythonReference)) {
+            return original;
+        }
+        Object existingClone = memo.get(original);
+        if (existingClone != null) {
+            return existingClone;
+        }
+        if (original instanceof FakePythonList) {
+            FakePythonList clone = new FakePythonList();
+            memo.put(original, clone);
+            for (Object item : ((FakePythonList) original).itemList) {
+                clone.itemList.add(planningCloneFakePythonObject(item, memo));
+            }
+            return clone;
+        }
+        FakePythonObject clone = new FakePythonObject();
+        memo.put(original, clone);
+        ((FakePythonObject) original).attributeMap.forEach(
+                (name, value) -> clone.attributeMap.put(name, planningCloneFakePythonObject(value, memo)));
+        return clone;
+    }
+
+    private Map<Number, Object> referenceMap;
+
+    @BeforeEach
+    public void setUp() {
+        referenceMap = new IdMirrorWithExtrasMap<>(new HashMap<>());
+        PythonPlanningSolutionCloner.setUseJavaPlanningClone(true);
+        PythonPlanningSolutionCloner.setPlanningClonePythonObjects(sourceList -> {
+            Map<Object, Object> memo = new IdentityHashMap<>();
+            List<OpaquePythonReference> out = new ArrayList<>(sourceList.size());
+            for (OpaquePythonReference source : sourceList) {
+                out.add((OpaquePythonReference) planningCloneFakePythonObject(source, memo));
+            }
+            return out;
+        });
+        PythonList.setSetPythonListItems((list, items) -> {
+            ((FakePythonList) list).itemList.clear();
+            ((FakePythonList) list).itemList.addAll(items);
+            return null;
+        });
+    }
+
+    @AfterEach
+    public void tearDown() {
+        PythonPlanningSolutionCloner.setUseJavaPlanningClone(false);
+        PythonPlanningSolutionCloner.setPlanningClonePythonObjects(null);
+        PythonList.setSetPythonListItems(null);
+    }
+
+    private Entity createEntity(String value) {
+        Entity entity = new Entity(Entity.$TYPE);
+        FakePythonObject pythonEntity = new FakePythonObject();
+        pythonEntity.attributeMap.put("value", value);
+        entity.__optaplannerPythonValue = pythonEntity;
+        entity._optaplannerPythonSetter = PythonWrapperGenerator.NONE_PYTHON_SETTER;
+        entity.referenceMap = referenceMap;
+        entity.value = value;
+        return entity;
+    }
+
+    private Solution createSolution(Entity... entities) {
+        FakePythonList pythonEntityList = new FakePythonList();
+        List<Object> entityList = new ArrayList<>();
+        List<PythonLikeObject> entityPythonLikeObjectList = new ArrayList<>();
+        for (Entity entity : entities) {
+            pythonEntityList.itemList.add(entity.__optaplannerPythonValue);
+            entityList.add(entity);
+            entityPythonLikeObjectList.add(entity);
+        }
+
+        Solution solution = new Solution(Solution.$TYPE);
+        FakePythonObject pythonSolution = new FakePythonObject();
+        pythonSolution.attributeMap.put("entity_list", pythonEntityList);
+        pythonSolution.attributeMap.put("score", 0);
+        solution.__optaplannerPythonValue = pythonSolution;
+        solution._optaplannerPythonSetter = PythonWrapperGenerator.NONE_PYTHON_SETTER;
+        solution.referenceMap = referenceMap;
+        solution.entityList = new PythonList<>(pythonEntityList, referenceMap, PythonWrapperGenerator.NONE_PYTHON_SETTER,
+                entityList, entityPythonLikeObjectList);
+        return solution;
+    }
+
+    @Test
+    public void testJavaPlanningCloneIsMadeWhenCloned() {
+        Entity entityA = createEntity("1");
+        Entity entityB = createEntity("2");
+        Solution workingSolution = createSolution(entityA, entityB);
+        FakePythonObject workingPythonSolution = (FakePythonObject) workingSolution.__optaplannerPythonValue;
+
+        Solution clone = (Solution) new PythonPlanningSolutionCloner().cloneSolution(workingSolution);
+        assertThat(clone).isNotSameAs(workingSolution);
+        assertThat(clone.__optaplannerLazyPlanningClone.isMaterialized()).isFalse();
+        // Not materialized, so the clone does not refer to the CPython objects of the working solution
+        assertThat(clone.__optaplannerPythonValue).isNull();
+        Entity clonedEntityA = clone.entityList.get(0);
+        assertThat(clonedEntityA).isNotSameAs(entityA);
+        assertThat(clonedEntityA.__optaplannerPythonValue).isNull();
+
+        // The solver keeps changing the working solution, and syncs it with CPython
+        entityA.value = "3";
+        workingSolution.score = -1;
+        workingSolution.entityList.remove(1);
+        workingSolution.forceUpdate();
+        workingSolution.entityList.forceUpdate();
+        assertThat(workingPythonSolution.attributeMap.get("score")).isEqualTo(-1);
+
+        // Reading the clone from Python shows the working solution as it was when it was cloned
+        FakePythonObject pythonClone = (FakePythonObject) clone.get__optapy_Id();
+        assertThat(clone.__optaplannerLazyPlanningClone.isMaterialized()).isTrue();
+        assertThat(pythonClone).isNotSameAs(workingPythonSolution);
+        assertThat(pythonClone.attributeMap.get("score")).isEqualTo(0);
+
+        FakePythonList pythonCloneEntityList = (FakePythonList) pythonClone.attributeMap.get("entity_list");
+        assertThat(pythonCloneEntityList).isSameAs(clone.entityList.get__optapy_Id());
+        assertThat(pythonCloneEntityList.itemList).containsExactly(clonedEntityA.get__optapy_Id(),
+                clone.entityList.get(1).get__optapy_Id());
+        assertThat(((FakePythonObject) clonedEntityA.get__optapy_Id()).attributeMap.get("value")).isEqualTo("1");
+        assertThat(((FakePythonObject) clone.entityList.get(1).get__optapy_Id()).attributeMap.get("value"))
+                .isEqualTo("2");
+
+        // The working solution is unchanged
+        assertThat(workingSolution.__optaplannerPythonValue).isSameAs(workingPythonSolution);
+        assertThat(((FakePythonObject) entityA.__optaplannerPythonValue).attributeMap.get("value")).isEqualTo("3");
+    }
+
+    @Test
+    public void testJavaPlanningCloneOfUnmaterializedClone() {
+        Solution workingSolution = createSolution(createEntity("1"));
+        FakePythonObject workingPythonSolution = (FakePythonObject) workingSolution.__optaplannerPythonValue;
+
+        Solution clone = (Solution) new PythonPlanningSolutionCloner().cloneSolution(workingSolution);
+        Solution cloneOfClone = (Solution) new PythonPlanningSolutionCloner().cloneSolution(clone);
+        // Cloning a clone does not materialize it
+        assertThat(clone.__optaplannerLazyPlanningClone.isMaterialized()).isFalse();
+
+        cloneOfClone.entityList.get(0).value = "2";
+        FakePythonObject pythonCloneOfClone = (FakePythonObject) cloneOfClone.get__optapy_Id();
+        assertThat(pythonCloneOfClone).isNotSameAs(workingPythonSolution);
+        assertThat(((FakePythonObject) cloneOfClone.entityList.get(0).get__optapy_Id()).attributeMap.get("value"))
+                .isEqualTo("2");
+        assertThat(clone.__optaplannerLazyPlanningClone.isMaterialized()).isFalse();
+        assertThat(clone.entityList.get(0).value).isEqualTo("1");
+    }
+
+    @Test
+    public void testShouldReadClonedWrapperPredicate() {
+        Object sharedFact = new Object();
+        Object clonedEntity = new Object();
+        Object createdWrapper = new Object();
+        Set<Object> clonedWrapperSet = Collections.newSetFromMap(new IdentityHashMap<>());
+        clonedWrapperSet.add(clonedEntity);
+
+        Predicate<Object> shouldRead = PythonPlanningSolutionCloner.getShouldReadClonedWrapperPredicate(
+                clonedWrapperSet, List.of(clonedEntity, createdWrapper));
+
+        // Shared objects were already read when the cloned solution was read
+        assertThat(shouldRead.test(sharedFact)).isFalse();
+        // Planning cloned and newly created wrappers are read once
+        assertThat(shouldRead.test(clonedEntity)).isTrue();
+        assertThat(shouldRead.test(createdWrapper)).isTrue();
+        assertThat(shouldRead.test(clonedEntity)).isFalse();
+        assertThat(shouldRead.test(createdWrapper)).isFalse();
+        // The cloned wrapper set is not modified
+        assertThat(clonedWrapperSet).containsExactly(clonedEntity);
+    }
+
+    @Test
+    public void testShouldReadClonedWrapperPredicateWithoutCreatedWrappers() {
+        Object sharedFact = new Object();
+        Predicate<Object> shouldRead = PythonPlanningSolutionCloner.getShouldReadClonedWrapperPredicate(
+                Collections.emptySet(), null);
+
+        // Without knowing which wrappers were created, every object is read once
+        assertThat(shouldRead.test(sharedFact)).isTrue();
+        assertThat(shouldRead.test(sharedFact)).isFalse();
+    }
+}
@@ -0,0 +1,72 @@
+package org.optaplanner.optapy;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+public class PythonWrapperClassCacheTest {
+    private static final byte[] BYTECODE = { (byte) 0xCA, (byte) 0xFE, (byte) 0xBA, (byte) 0xBE };
+
+    @AfterEach
+    public void tearDown() {
+        PythonWrapperClassCache.setCacheRootPath(null);
+    }
+
+    @Test
+    public void testStoreAndLoad() throws IOException {
+        Path cacheRootPath = Files.createTempDirectory("optapy-cache").resolve("classes");
+        PythonWrapperClassCache.setCacheRootPath(cacheRootPath);
+        assertThat(PythonWrapperClassCache.getCacheRootPath()).isEqualTo(cacheRootPath);
+
+        assertThat(PythonWrapperClassCache.load("MyClass", "abc123")).isNull();
+        PythonWrapperClassCache.store("MyClass", "abc123", BYTECODE);
+        assertThat(PythonWrapperClassCache.load("MyClass", "abc123")).isEqualTo(BYTECODE);
+        assertThat(PythonWrapperClassCache.load("MyClass", "abc124")).isNull();
+        assertThat(PythonWrapperClassCache.load("OtherClass", "abc123")).isNull();
+
+        try (Stream<Path> cacheFiles = Files.list(cacheRootPath)) {
+            assertThat(cacheFiles.map(path -> path.getFileName().toString()).collect(Collectors.toList()))
+                    .containsExactly("MyClass-v" + PythonWrapperClassCache.CACHE_FORMAT_VERSION + "-abc123.class");
+        }
+    }
+
+    @Test
+    public void testDisabled() throws IOException {
+        Path cacheRootPath = Files.createTempDirectory("optapy-cache");
+        PythonWrapperClassCache.setCacheRootPath(cacheRootPath);
+        PythonWrapperClassCache.store("MyClass", "abc123", BYTECODE);
+
+        // No cache key (the source of the Python class is not available)
+        PythonWrapperClassCache.store("OtherClass", null, BYTECODE);
+        assertThat(PythonWrapperClassCache.load("OtherClass", null)).isNull();
+
+        // Not a hex digest, so it could escape the cache directory
+        PythonWrapperClassCache.store("OtherClass", "../abc", BYTECODE);
+        assertThat(PythonWrapperClassCache.load("OtherClass", "../abc")).isNull();
+
+        PythonWrapperClassCache.setCacheRootPath(null);
+        assertThat(PythonWrapperClassCache.load("MyClass", "abc123")).isNull();
+        PythonWrapperClassCache.store("MyClass", "def456", BYTECODE);
+
+        try (Stream<Path> cacheFiles = Files.list(cacheRootPath)) {
+            assertThat(cacheFiles.collect(Collectors.toList())).hasSize(1);
+        }
+    }
+
+    @Test
+    public void testUnwritableCacheIsACacheMiss() throws IOException {
+        // The cache directory cannot be created, since a file is in the way
+        Path cacheRootPath = Files.createTempFile("optapy-cache", ".txt");
+        PythonWrapperClassCache.setCacheRootPath(cacheRootPath);
+
+        PythonWrapperClassCache.store("MyClass", "abc123", BYTECODE);
+        assertThat(PythonWrapperClassCache.load("MyClass", "abc123")).isNull();
+    }
+}
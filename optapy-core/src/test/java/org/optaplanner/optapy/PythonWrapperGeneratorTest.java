@@ -0,0 +1,130 @@
+package org.optaplanner.optapy;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.optaplanner.jpyinterpreter.types.wrappers.OpaquePythonReference;
+
+public class PythonWrapperGeneratorTest {
+    /**
+     * Stands in for a CPython object.
+     */
+    private static final class FakePythonObject implements OpaquePythonReference {
+        private final Map<String, Object> attributeMap = new HashMap<>();
+    }
+
+    private final AtomicInteger singleAttributeCallCount = new AtomicInteger();
+    private final AtomicInteger bulkCallCount = new AtomicInteger();
+
+    @BeforeEach
+    public void setUp() {
+        PythonWrapperGenerator.setPythonObjectIdAndAttributeNameToValue((reference, attributeName) -> {
+            singleAttributeCallCount.incrementAndGet();
+            return ((FakePythonObject) reference).attributeMap.get(attributeName);
+        });
+        PythonWrapperGenerator.setPythonObjectIdAndAttributeSetter((reference, attributeName, value) -> {
+            singleAttributeCallCount.incrementAndGet();
+            ((FakePythonObject) reference).attributeMap.put(attributeName, value);
+            return null;
+        });
+    }
+
+    @AfterEach
+    public void tearDown() {
+        PythonWrapperGenerator.setPythonObjectIdAndAttributeNameToValue(null);
+        PythonWrapperGenerator.setPythonObjectIdAndAttributeSetter(null);
+        PythonWrapperGenerator.setPythonObjectIdAndAttributeNamesToValues(null);
+        PythonWrapperGenerator.setPythonObjectIdsAndAttributesSetter(null);
+    }
+
+    private void setBulkFunctions() {
+        PythonWrapperGenerator.setPythonObjectIdAndAttributeNamesToValues((reference, attributeNames) -> {
+            bulkCallCount.incrementAndGet();
+            List<Object> out = new ArrayList<>(attributeNames.length);
+            for (String attributeName : attributeNames) {
+                out.add(((FakePythonObject) reference).attributeMap.get(attributeName));
+            }
+            return out.toArray();
+        });
+        PythonWrapperGenerator.setPythonObjectIdsAndAttributesSetter((references, attributeNames, values) -> {
+            bulkCallCount.incrementAndGet();
+            int index = 0;
+            for (OpaquePythonReference reference : references) {
+                for (String attributeName : attributeNames) {
+                    ((FakePythonObject) reference).attributeMap.put(attributeName, values[index++]);
+                }
+            }
+            return null;
+        });
+    }
+
+    private static void assertValues(FakePythonObject pythonObject, FakePythonObject otherPythonObject) {
+        PythonWrapperGenerator.setValuesOnPythonObjects(List.of(pythonObject, otherPythonObject),
+                new String[] { "set_a", "set_b", "set_c" },
+                new Object[] { 1, "two", null, 4, "five", 6 });
+        assertThat(pythonObject.attributeMap.get("set_a")).isEqualTo(1);
+        assertThat(pythonObject.attributeMap.get("set_b")).isEqualTo("two");
+        assertThat(pythonObject.attributeMap).containsKey("set_c");
+        assertThat(otherPythonObject.attributeMap.get("set_a")).isEqualTo(4);
+        assertThat(otherPythonObject.attributeMap.get("set_b")).isEqualTo("five");
+        assertThat(otherPythonObject.attributeMap.get("set_c")).isEqualTo(6);
+        PythonWrapperGenerator.setValuesOnPythonObjects(List.of(), new String[] { "set_a" }, new Object[0]);
+
+        pythonObject.attributeMap.put("get_a", 3);
+        pythonObject.attributeMap.put("get_b", "four");
+        assertThat(PythonWrapperGenerator.getValuesFromPythonObject(pythonObject, new String[] { "get_b", "get_a" }))
+                .containsExactly("four", 3);
+        assertThat(PythonWrapperGenerator.getValuesFromPythonObject(pythonObject, new String[0])).isEmpty();
+    }
+
+    @Test
+    public void testBulkAttributesUseOneCall() {
+        setBulkFunctions();
+        assertValues(new FakePythonObject(), new FakePythonObject());
+
+        // One call for the non-empty set, and one per get
+        assertThat(bulkCallCount.get()).isEqualTo(3);
+        assertThat(singleAttributeCallCount.get()).isZero();
+    }
+
+    @Test
+    public void testBulkAttributesWithoutBulkFunctions() {
+        assertValues(new FakePythonObject(), new FakePythonObject());
+
+        assertThat(bulkCallCount.get()).isZero();
+        assertThat(singleAttributeCallCount.get()).isEqualTo(8);
+    }
+
+    @Test
+    public void testAttributeBatch() {
+        setBulkFunctions();
+        FakePythonObject a = new FakePythonObject();
+        FakePythonObject b = new FakePythonObject();
+        FakePythonObject c = new FakePythonObject();
+
+        PythonAttributeBatch attributeBatch = new PythonAttributeBatch();
+        attributeBatch.add(a, new String[] { "set_x", "set_y" }, new Object[] { 1, 2 });
+        attributeBatch.add(b, new String[] { "set_x", "set_y" }, new Object[] { 3, 4 });
+        attributeBatch.add(c, new String[] { "set_z" }, new Object[] { 5 });
+        assertThat(bulkCallCount.get()).isZero();
+
+        attributeBatch.flush();
+        // One call per distinct attribute names
+        assertThat(bulkCallCount.get()).isEqualTo(2);
+        assertThat(a.attributeMap).isEqualTo(Map.of("set_x", 1, "set_y", 2));
+        assertThat(b.attributeMap).isEqualTo(Map.of("set_x", 3, "set_y", 4));
+        assertThat(c.attributeMap).isEqualTo(Map.of("set_z", 5));
+
+        // Flushing clears the batch
+        attributeBatch.flush();
+        assertThat(bulkCallCount.get()).isEqualTo(2);
+    }
+}
@@ -0,0 +1,94 @@
+package org.optaplanner.optapy;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.Test;
+import org.optaplanner.jpyinterpreter.types.PythonNone;
+import org.optaplanner.jpyinterpreter.types.PythonString;
+import org.optaplanner.jpyinterpreter.types.collections.PythonLikeTuple;
+import org.optaplanner.jpyinterpreter.types.numeric.PythonBoolean;
+import org.optaplanner.jpyinterpreter.types.numeric.PythonFloat;
+import org.optaplanner.jpyinterpreter.types.numeric.PythonInteger;
+
+@SuppressWarnings("unchecked")
+public class TieredFunctionTest {
+
+    private static Function<Object, Object> createFunction(Supplier<?> translator) {
+        return (Function<Object, Object>) TieredFunction.of(Function.class, (Function<Object, Object>) a -> "interpreted",
+                "function", translator);
+    }
+
+    private static boolean translate(Object function) {
+        return ((TieredFunction<?>) function).translateInBackground().join();
+    }
+
+    @Test
+    public void testTranslationIsUsedAsSoonAsItFinishes() {
+        Function<Object, Object> function = createFunction(() -> (Function<Object, Object>) a -> "translated");
+
+        assertThat(function.apply(1)).isEqualTo("interpreted");
+        assertThat(translate(function)).isTrue();
+        assertThat(function.apply(1)).isEqualTo("translated");
+    }
+
+    @Test
+    public void testTranslatedResultsAreConvertedToInterpretedResults() {
+        Function<Object, Object> function = createFunction(() -> (Function<Object, Object>) a -> a);
+        assertThat(translate(function)).isTrue();
+
+        assertThat(function.apply(PythonInteger.valueOf(1))).isEqualTo(1L);
+        assertThat(function.apply(PythonBoolean.TRUE)).isEqualTo(true);
+        assertThat(function.apply(PythonFloat.valueOf(1.5))).isEqualTo(1.5);
+        assertThat(function.apply(PythonString.valueOf("a"))).isEqualTo("a");
+        assertThat(function.apply(PythonNone.INSTANCE)).isNull();
+
+        Object javaObject = new Object();
+        assertThat(function.apply(javaObject)).isSameAs(javaObject);
+    }
+
+    @Test
+    public void testUnconvertibleResultSwitchesBackToInterpretedFunction() {
+        AtomicInteger translatedCallCount = new AtomicInteger();
+        Function<Object, Object> function = createFunction(() -> (Function<Object, Object>) a -> {
+            translatedCallCount.incrementAndGet();
+            return a;
+        });
+        assertThat(translate(function)).isTrue();
+
+        assertThat(function.apply(PythonInteger.valueOf(1))).isEqualTo(1L);
+        assertThat(function.apply(PythonLikeTuple.fromItems(PythonInteger.ONE))).isEqualTo("interpreted");
+        assertThat(function.apply(PythonInteger.valueOf(1))).isEqualTo("interpreted");
+        assertThat(translatedCallCount.get()).isEqualTo(2);
+    }
+
+    @Test
+    public void testFailedTranslationKeepsInterpretedFunction() {
+        Function<Object, Object> function = createFunction(() -> {
+            throw new UnsupportedOperationException("Unsupported opcode");
+        });
+
+        assertThat(translate(function)).isFalse();
+        assertThat(function.apply(1)).isEqualTo("interpreted");
+    }
+
+    @Test
+    public void testTranslationIsOnlyStartedOnce() {
+        AtomicInteger translationCount = new AtomicInteger();
+        Predicate<Object> predicate = (Predicate<Object>) TieredFunction.of(Predicate.class,
+                (Predicate<Object>) a -> false, "predicate", () -> {
+                    translationCount.incrementAndGet();
+                    return (Predicate<Object>) a -> true;
+                });
+        TieredFunction<?> tieredFunction = (TieredFunction<?>) predicate;
+
+        assertThat(tieredFunction.translateInBackground()).isSameAs(tieredFunction.translateInBackground());
+        assertThat(tieredFunction.translateInBackground().join()).isTrue();
+        assertThat(predicate.test(1)).isTrue();
+        assertThat(translationCount.get()).isEqualTo(1);
+    }
+}
@@ -195,6 +195,22 @@ def test_clone_solution_with_immutable_collections():
     assert b.get_value() is val1
 
 
+def test_clone_memo_maps_immutable_collections_to_their_clone():
+    val1 = ExampleValue("1")
+    a = ExampleEntity("a", val1)
+    b = ExampleEntity("b", val1)
+
+    original_entity_list = (a, b)
+    original_solution = ExampleSolution("solution", (val1,), original_entity_list, optapy.score.SimpleScore.ONE)
+
+    memo = dict()
+    clone_solution = optapy._planning_clone(original_solution, memo)
+    assert isinstance(clone_solution.entity_list, tuple)
+    assert memo[id(original_entity_list)] is clone_solution.entity_list
+    assert memo[id(a)] is clone_solution.entity_list[0]
+    assert memo[id(b)] is clone_solution.entity_list[1]
+
+
 def test_clone_solution_with_sets():
     val1 = ExampleValue("1")
     val2 = ExampleValue("2")
@@ -887,3 +903,72 @@ def test_supports_entity_to_solution_backlinking():
     clone_solution.get_entity_list()[0].set_value(val2)
     assert clone_solution.get_entity_list()[0].get_value() is val2
     assert a.get_value() is None
+
+
+def test_java_planning_clone():
+    import optapy.config
+    import optapy.constraint
+    from org.optaplanner.optapy import PythonPlanningSolutionCloner  # noqa
+
+    @optapy.planning_entity
+    class Entity:
+        def __init__(self, code, value=None):
+            self.code = code
+            self.value = value
+
+        @optapy.planning_variable(int, value_range_provider_refs=['value_range'])
+        def get_value(self):
+            return self.value
+
+        def set_value(self, value):
+            self.value = value
+
+    @optapy.constraint_provider
+    def my_constraints(constraint_factory: optapy.constraint.ConstraintFactory):
+        return [
+            constraint_factory.for_each(Entity)
+                .reward('Maximize value', optapy.score.SimpleScore.ONE, lambda entity: entity.value),
+        ]
+
+    @optapy.planning_solution
+    class Solution:
+        def __init__(self, entity, value_range, score=None):
+            self.entity = entity
+            self.value_range = value_range
+            self.score = score
+
+        @optapy.planning_entity_collection_property(Entity)
+        def get_entity(self):
+            return self.entity
+
+        @optapy.problem_fact_collection_property(int)
+        @optapy.value_range_provider(range_id='value_range')
+        def get_value_range(self):
+            return self.value_range
+
+        @optapy.planning_score(optapy.score.SimpleScore)
+        def get_score(self) -> optapy.score.SimpleScore:
+            return self.score
+
+        def set_score(self, score):
+            self.score = score
+
+    solver_config = optapy.config.solver.SolverConfig()
+    termination_config = optapy.config.solver.termination.TerminationConfig()
+    termination_config.setBestScoreLimit('9')
+    solver_config.withSolutionClass(Solution) \
+        .withEntityClasses(Entity) \
+        .withConstraintProviderClass(my_constraints) \
+        .withTerminationConfig(termination_config)
+
+    problem = Solution([Entity('A'), Entity('B'), Entity('C')], [1, 2, 3])
+    PythonPlanningSolutionCloner.setUseJavaPlanningClone(True)
+    try:
+        solution = optapy.solver_factory_create(solver_config).buildSolver().solve(problem)
+    finally:
+        PythonPlanningSolutionCloner.setUseJavaPlanningClone(False)
+
+    assert solution is not problem
+    assert solution.get_score().getScore() == 9
+    assert [entity.code for entity in solution.entity] == ['A', 'B', 'C']
+    assert [entity.value for entity in solution.entity] == [3, 3, 3]
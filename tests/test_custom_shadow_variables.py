@@ -1,3 +1,4 @@
+import pytest
 from typing import Optional
 import optapy
 import optapy.constraint
@@ -231,3 +232,121 @@ def test_custom_shadow_variable_with_variable_listener_ref():
     assert solution.score.getScore() == 1
     assert solution.entity_list[0].value == 2
     assert solution.entity_list[0].value_squared == 4
+
+
+def _solve_with_shadow_variable_listener(after_variable_changed):
+    @optapy.problem_fact
+    class Parity:
+        def __init__(self, name):
+            self.name = name
+
+    even = Parity('even')
+    odd = Parity('odd')
+
+    @optapy.variable_listener
+    class MyVariableListener:
+        def afterVariableChanged(self, score_director: ScoreDirector, entity: 'MyPlanningEntity'):
+            after_variable_changed(score_director, entity, even, odd)
+
+        def beforeVariableChanged(self, score_director: ScoreDirector, entity: 'MyPlanningEntity'):
+            pass
+
+        def beforeEntityAdded(self, score_director: ScoreDirector, entity: 'MyPlanningEntity'):
+            pass
+
+        def afterEntityAdded(self, score_director: ScoreDirector, entity: 'MyPlanningEntity'):
+            pass
+
+        def beforeEntityRemoved(self, score_director: ScoreDirector, entity: 'MyPlanningEntity'):
+            pass
+
+        def afterEntityRemoved(self, score_director: ScoreDirector, entity: 'MyPlanningEntity'):
+            pass
+
+    @optapy.planning_entity
+    class MyPlanningEntity:
+        def __init__(self):
+            self.value = None
+            self.parity = None
+
+        @optapy.planning_variable(int, value_range_provider_refs=['value_range'])
+        def get_value(self):
+            return self.value
+
+        def set_value(self, new_value):
+            self.value = new_value
+
+        @optapy.custom_shadow_variable(Parity, variable_listener_class=MyVariableListener,
+                                       sources=[optapy.planning_variable_reference('value')])
+        def get_parity(self):
+            return self.parity
+
+        def set_parity(self, parity):
+            self.parity = parity
+
+    @optapy.constraint_provider
+    def my_constraints(constraint_factory: optapy.constraint.ConstraintFactory):
+        return [
+            constraint_factory.for_each(MyPlanningEntity)
+            .filter(lambda entity: entity.parity.name == 'even')
+            .reward('Value is even', optapy.score.SimpleScore.ONE)
+        ]
+
+    @optapy.planning_solution
+    class MySolution:
+        def __init__(self, entity_list, value_list, score=None):
+            self.entity_list = entity_list
+            self.value_list = value_list
+            self.score = score
+
+        @optapy.planning_entity_collection_property(MyPlanningEntity)
+        def get_entity_list(self):
+            return self.entity_list
+
+        @optapy.problem_fact_collection_property(int)
+        @optapy.value_range_provider('value_range')
+        def get_value_list(self):
+            return self.value_list
+
+        @optapy.planning_score(optapy.score.SimpleScore)
+        def get_score(self):
+            return self.score
+
+        def set_score(self, score):
+            self.score = score
+
+    solver_config = optapy.config.solver.SolverConfig() \
+        .withSolutionClass(MySolution) \
+        .withEntityClasses(MyPlanningEntity) \
+        .withConstraintProviderClass(my_constraints) \
+        .withTerminationConfig(optapy.config.solver.termination.TerminationConfig()
+                               .withBestScoreLimit('2'))
+
+    solver = optapy.solver_factory_create(solver_config).buildSolver()
+    return solver.solve(MySolution([MyPlanningEntity(), MyPlanningEntity()], [1, 2, 3]))
+
+
+def test_custom_shadow_variable_of_problem_fact_type():
+    def after_variable_changed(score_director, entity, even, odd):
+        score_director.beforeVariableChanged(entity, 'parity')
+        if entity.value is None:
+            entity.parity = None
+        else:
+            entity.parity = even if entity.value % 2 == 0 else odd
+        # Updates the Java wrapper from the Python object, so the constraint sees the new parity
+        score_director.afterVariableChanged(entity, 'parity')
+
+    solution = _solve_with_shadow_variable_listener(after_variable_changed)
+    assert solution.score.getScore() == 2
+    for entity in solution.entity_list:
+        assert entity.value == 2
+        assert entity.parity.name == 'even'
+
+
+def test_custom_shadow_variable_unknown_variable():
+    def after_variable_changed(score_director, entity, even, odd):
+        entity.parity = even
+        score_director.afterVariableChanged(entity, 'missing')
+
+    with pytest.raises(Exception, match=r'Unable to find variable \(missing\)'):
+        _solve_with_shadow_variable_listener(after_variable_changed)
@@ -0,0 +1,174 @@
+import optapy
+import optapy.types
+import optapy.score
+import optapy.config
+import optapy.constraint
+from optapy.optaplanner_java_interop import ensure_init, _get_python_object_attributes, \
+    _set_python_objects_attributes
+
+
+class Holder:
+    def __init__(self, number, text, other=None):
+        self.number = number
+        self.text = text
+        self.other = other
+
+    def get_number(self):
+        return self.number
+
+    def set_number(self, number):
+        self.number = number
+
+    def get_text(self):
+        return self.text
+
+    def set_text(self, text):
+        self.text = text
+
+    def get_other(self):
+        return self.other
+
+    def set_other(self, other):
+        self.other = other
+
+
+def test_get_python_object_attributes():
+    ensure_init()
+    other = Holder(2, 'b')
+    holder = Holder(1, 'a', other)
+
+    values = _get_python_object_attributes(holder, ['get_text', 'get_other', 'get_number'])
+    assert len(values) == 3
+    assert values[0] == 'a'
+    # Proxies are created with convert=True, so they are converted back when read in Python
+    assert values[1] is other
+    assert values[2] == 1
+
+    assert list(_get_python_object_attributes(Holder(None, None), ['get_number', 'get_text'])) == [None, None]
+
+
+def test_set_python_objects_attributes():
+    ensure_init()
+    import java.lang.Object
+    from java.util import ArrayList
+    from jpype import JArray, JProxy
+    from org.optaplanner.jpyinterpreter.types.wrappers import OpaquePythonReference, PythonObjectWrapper  # noqa
+    other = Holder(2, 'b')
+    first = Holder(1, 'a')
+    second = Holder(1, 'a')
+    object_ids = ArrayList()
+    object_ids.add(JProxy(OpaquePythonReference, inst=first, convert=True))
+    object_ids.add(JProxy(OpaquePythonReference, inst=second, convert=True))
+
+    # The values of the first object come first
+    values = JArray(java.lang.Object)([3, 'c',
+                                       PythonObjectWrapper(JProxy(OpaquePythonReference, inst=other, convert=True)),
+                                       4, 'd', None])
+    _set_python_objects_attributes(object_ids, ['set_number', 'set_text', 'set_other'], values)
+    assert first.number == 3
+    assert first.text == 'c'
+    assert first.other is other
+    assert second.number == 4
+    assert second.text == 'd'
+    assert second.other is None
+
+    _set_python_objects_attributes(ArrayList(), ['set_number'], JArray(java.lang.Object)([]))
+
+
+def test_multiple_planning_variables_are_read_and_set():
+    @optapy.problem_fact
+    class Value:
+        def __init__(self, code, weight):
+            self.code = code
+            self.weight = weight
+
+        def get_code(self):
+            return self.code
+
+        def get_weight(self):
+            return self.weight
+
+    @optapy.planning_entity
+    class Entity:
+        def __init__(self, code, first=None, second=None, third=None):
+            self.code = code
+            self.first = first
+            self.second = second
+            self.third = third
+
+        @optapy.planning_variable(Value, value_range_provider_refs=['value_range'])
+        def get_first(self):
+            return self.first
+
+        def set_first(self, first):
+            self.first = first
+
+        @optapy.planning_variable(Value, value_range_provider_refs=['value_range'])
+        def get_second(self):
+            return self.second
+
+        def set_second(self, second):
+            self.second = second
+
+        @optapy.planning_variable(int, value_range_provider_refs=['int_range'])
+        def get_third(self):
+            return self.third
+
+        def set_third(self, third):
+            self.third = third
+
+    @optapy.constraint_provider
+    def my_constraints(constraint_factory: optapy.constraint.ConstraintFactory):
+        return [
+            constraint_factory.for_each(Entity)
+                .reward('Maximize weight', optapy.score.SimpleScore.ONE,
+                        lambda entity: entity.first.weight + 2 * entity.second.weight + entity.third)
+        ]
+
+    @optapy.planning_solution
+    class Solution:
+        def __init__(self, entities, values, ints, score=None):
+            self.entities = entities
+            self.values = values
+            self.ints = ints
+            self.score = score
+
+        @optapy.planning_entity_collection_property(Entity)
+        def get_entities(self):
+            return self.entities
+
+        @optapy.problem_fact_collection_property(Value)
+        @optapy.value_range_provider(range_id='value_range')
+        def get_values(self):
+            return self.values
+
+        @optapy.problem_fact_collection_property(int)
+        @optapy.value_range_provider(range_id='int_range')
+        def get_ints(self):
+            return self.ints
+
+        @optapy.planning_score(optapy.score.SimpleScore)
+        def get_score(self):
+            return self.score
+
+        def set_score(self, score):
+            self.score = score
+
+    solver_config = optapy.config.solver.SolverConfig()
+    termination_config = optapy.config.solver.termination.TerminationConfig()
+    termination_config.setBestScoreLimit('34')
+    solver_config.withSolutionClass(Solution) \
+        .withEntityClasses(Entity) \
+        .withConstraintProviderClass(my_constraints) \
+        .withTerminationConfig(termination_config)
+
+    light = Value('light', 1)
+    heavy = Value('heavy', 5)
+    problem = Solution([Entity('A'), Entity('B')], [light, heavy], [1, 2])
+    solution = optapy.solver_factory_create(solver_config).buildSolver().solve(problem)
+
+    assert solution.get_score().getScore() == 34
+    for entity in solution.get_entities():
+        assert entity.first.code == 'heavy'
+        assert entity.second.code == 'heavy'
+        assert entity.third == 2
@@ -0,0 +1,58 @@
+import optapy
+import optapy.types
+import inspect
+from optapy.optaplanner_java_interop import _get_cache_key_sources
+
+
+def offset(value):
+    return value + 1
+
+
+class ValueHolder:
+    def __init__(self, value):
+        self.value = value
+
+
+class BaseFact:
+    def get_offset_value(self):
+        return offset(self.value)
+
+
+@optapy.problem_fact
+class Fact(BaseFact):
+    def __init__(self, value):
+        self.value = value
+
+    @property
+    def holder(self):
+        return ValueHolder(self.value)
+
+
+def test_cache_key_sources_include_parent_classes():
+    sources = _get_cache_key_sources(Fact)
+    assert inspect.getsource(Fact) in sources
+    assert inspect.getsource(BaseFact) in sources
+    # object is a builtin, so it has no source
+    assert 'builtins.object' not in sources
+
+
+def test_cache_key_sources_include_referenced_functions_and_classes():
+    sources = _get_cache_key_sources(Fact)
+    assert f'{__name__}.offset' in sources
+    assert inspect.getsource(offset) in sources
+    assert f'{__name__}.ValueHolder' in sources
+    assert inspect.getsource(ValueHolder) in sources
+
+
+def test_cache_key_sources_are_stable():
+    assert _get_cache_key_sources(Fact) == _get_cache_key_sources(Fact)
+
+
+def test_set_wrapper_class_cache_directory(tmp_path):
+    from org.optaplanner.optapy import PythonWrapperClassCache  # noqa
+    optapy.set_wrapper_class_cache_directory(tmp_path)
+    try:
+        assert str(PythonWrapperClassCache.getCacheRootPath()) == str(tmp_path)
+    finally:
+        optapy.set_wrapper_class_cache_directory(None)
+    assert PythonWrapperClassCache.getCacheRootPath() is None